@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+#
+# Compara a inicialização do jar padrão com a do perfil de produção (AOT + CDS + perfil Spring "prod").
+#
+# Para cada configuração, a aplicação é iniciada RUNS vezes e são medidos:
+#   - o tempo até a primeira requisição atendida (TTFR), do início do processo até a primeira
+#     resposta de BENCH_URL;
+#   - a memória residente (RSS) do processo logo após essa resposta.
+# O resultado é a mediana das execuções.
+#
+# Uso: scripts/startup-benchmark.sh [execuções]
+#   PORT       porta usada pela aplicação (padrão 18090)
+#   BENCH_URL  requisição medida (padrão: um CSV de 10 linhas, que passa por consulta e formato)
+#   SKIP_BUILD se definida, reaproveita os artefatos de target/startup e target/prod/app
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18090}
+BENCH_URL=${BENCH_URL:-"http://localhost:${PORT}/report?format=csv&limit=10"}
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+OUT=target/startup
+JAR=file-converter-0.0.1-SNAPSHOT.jar
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    ./mvnw -B -q package -DskipTests
+    mkdir -p "$OUT"
+    cp "target/$JAR" "$OUT/baseline.jar"
+    # O arquivo CDS só vale para os jars exatos do treino (caminho e data): o perfil prod roda de target/prod/app.
+    ./mvnw -B -q -Pprod clean package -DskipTests >"$OUT/build.log"
+fi
+
+# Inicia a aplicação com o comando recebido, espera a primeira resposta e imprime "ttfr_ms rss_kb".
+measure() {
+    local start pid elapsed rss
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" >"$OUT/app.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$BENCH_URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "A aplicação terminou antes de responder; veja $OUT/app.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run() {
+    local name=$1 samples
+    shift
+    samples=$(for _ in $(seq "$RUNS"); do measure "$@"; done)
+    printf '%-10s %10s %10s\n' "$name" \
+        "$(cut -d' ' -f1 <<<"$samples" | median)" \
+        "$(( $(cut -d' ' -f2 <<<"$samples" | median) / 1024 ))"
+}
+
+printf '%-10s %10s %10s\n' "config" "ttfr_ms" "rss_mb"
+run baseline "$JAVA" -jar "$OUT/baseline.jar"
+(
+    cd target/prod/app
+    OUT=../../startup run prod "$JAVA" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -jar "$JAR" --spring.profiles.active=prod
+)
@@ -0,0 +1,116 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.FileConverterApplication;
+
+/**
+ * Importação de um CSV de {@code rows} linhas numa tabela que já tem {@code rows} transações, com e sem
+ * deduplicação. Em {@code new}, nenhuma linha do arquivo existe na tabela (o caso comum, em que o filtro de
+ * Bloom evita a consulta ao banco); em {@code repeated}, o arquivo é o mesmo já importado, e com
+ * deduplicação todas as linhas são conferidas no banco e descartadas.
+ * <p>
+ * Antes de cada importação, as linhas gravadas pela anterior são apagadas e o filtro é reconstruído, fora
+ * da medição.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class TransactionImportBenchmark {
+
+    private static final String[] CATEGORIES = { "Alimentação", "Transporte", "Lazer", "Saúde", "Moradia", "" };
+
+    @Param({ "100000" })
+    public int rows;
+
+    @Param({ "false", "true" })
+    public boolean deduplicate;
+
+    @Param({ "new", "repeated" })
+    public String content;
+
+    private ConfigurableApplicationContext context;
+    private TransactionImportService importService;
+    private TransactionDedupIndex dedupIndex;
+    private JdbcTemplate jdbc;
+    private byte[] file;
+    private long seededMaxId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(FileConverterApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:import-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.data-locations=optional:classpath:none.sql",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN");
+        importService = context.getBean(TransactionImportService.class);
+        dedupIndex = context.getBean(TransactionDedupIndex.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        byte[] seeded = csv(rows, 1);
+        importService.importFile("csv", new ByteArrayInputStream(seeded), false);
+        seededMaxId = jdbc.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        file = content.equals("repeated") ? seeded : csv(rows, 2);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbc.update("DELETE FROM transactions WHERE id > ?", seededMaxId);
+        dedupIndex.invalidate();
+        dedupIndex.open().close();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportResult importFile() {
+        return importService.importFile("csv", new ByteArrayInputStream(file), deduplicate);
+    }
+
+    // Transações determinísticas por semente, no layout do relatório CSV; sementes diferentes não se repetem.
+    private static byte[] csv(int rows, int seed) {
+        Random random = new Random(seed);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        StringBuilder csv = new StringBuilder(rows * 48).append("date;description;value;category\n");
+        for (int i = 0; i < rows; i++) {
+            long cents = random.nextLong(-50_000, 1_000_000);
+            long absolute = Math.abs(cents);
+            csv.append(start.plusDays(random.nextInt(3 * 365)))
+                    .append(";Compra ").append(seed).append('-').append(i).append(';')
+                    .append(cents < 0 ? "-" : "").append(absolute / 100).append(absolute % 100 < 10 ? ",0" : ",")
+                    .append(absolute % 100).append(';')
+                    .append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.io.OutputStream;
+
+/**
+ * OutputStream que descarta o conteúdo e apenas conta os bytes recebidos,
+ * para medir a renderização sem o custo de I/O.
+ */
+final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    long count() {
+        return count;
+    }
+}
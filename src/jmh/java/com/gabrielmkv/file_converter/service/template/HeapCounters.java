@@ -0,0 +1,63 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Contadores auxiliares reportados junto com cada benchmark: bytes produzidos por
+ * relatório e pico de heap ocupado durante a iteração.
+ * <p>
+ * O pico é a soma dos picos dos pools de heap, zerados no início de cada iteração. Como inclui
+ * o eden, que enche até o próximo GC, também é reportado o pico só da old generation
+ * ({@code peakOldGenBytes}), que mostra quanto sobreviveu aos GCs de young gen.
+ * A taxa de alocação é obtida pelo profiler {@code -prof gc}.
+ * </p>
+ */
+@AuxCounters(AuxCounters.Type.EVENTS)
+@State(Scope.Thread)
+public class HeapCounters {
+
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    private static final List<MemoryPoolMXBean> OLD_GEN_POOLS = HEAP_POOLS.stream()
+            .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+            .toList();
+
+    public long outputBytes;
+    public long peakHeapBytes;
+    public long peakOldGenBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        System.gc();
+        HEAP_POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+        outputBytes = 0;
+        peakHeapBytes = 0;
+        peakOldGenBytes = 0;
+    }
+
+    void record(long bytes) {
+        outputBytes = bytes;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        peakHeapBytes = Math.max(peakHeapBytes, peak);
+
+        long oldGenPeak = 0;
+        for (MemoryPoolMXBean pool : OLD_GEN_POOLS) {
+            oldGenPeak += pool.getPeakUsage().getUsed();
+        }
+        peakOldGenBytes = Math.max(peakOldGenBytes, oldGenPeak);
+    }
+}
@@ -0,0 +1,89 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.partition.PartitionedTransactionReader;
+
+/**
+ * Escalabilidade da leitura particionada com a quantidade de faixas lidas ao mesmo tempo
+ * ({@code report.partition.parallelism}; 1 é o cursor único): {@link #read} mede só a leitura
+ * entregue em ordem e {@link #generateReport} a geração completa do CSV, cuja renderização é
+ * barata o bastante para que a leitura domine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ReportPartitionBenchmark {
+
+    @Param({ "1000000" })
+    public int rows;
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = SeededDatabase.start(rows,
+                "--report.partition.parallelism=" + parallelism,
+                "--spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public long read(HeapCounters counters, Blackhole blackhole) {
+        PartitionedTransactionReader reader = context.getBean(PartitionedTransactionReader.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        long count = transactionTemplate.execute(status -> {
+            long read = 0;
+            try (Stream<TransactionRow> transactions = reader.streamRows(TransactionFilter.ALL)) {
+                for (TransactionRow transaction : (Iterable<TransactionRow>) transactions::iterator) {
+                    blackhole.consume(transaction);
+                    read++;
+                }
+            }
+            return read;
+        });
+        counters.record(0);
+        return count;
+    }
+
+    @Benchmark
+    public long generateReport(HeapCounters counters) {
+        CountingOutputStream out = new CountingOutputStream();
+        context.getBean("csv", ReportGeneratorTemplate.class).generateReport(out);
+        counters.record(out.count());
+        return out.count();
+    }
+}
@@ -0,0 +1,78 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gabrielmkv.file_converter.config.ReportPdfProperties;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.impl.ReportPDF;
+
+/**
+ * Mede a alocação por linha da renderização PDF, nos modos que rodam na própria thread
+ * do benchmark ({@code single} e {@code chunked}).
+ * <p>
+ * O contador {@code allocatedBytesPerRow} usa a contagem de bytes alocados pela thread
+ * corrente, então não depende da amostragem do {@code -prof gc}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ReportPdfAllocationBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Param({ "100000" })
+    public int rows;
+
+    @Param({ "single", "chunked" })
+    public String mode;
+
+    private List<TransactionRow> transactions;
+    private ReportGeneratorTemplate strategy;
+
+    /**
+     * Bytes alocados por linha na última renderização da iteração.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class AllocationCounters {
+
+        public long allocatedBytesPerRow;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = TransactionDataset.generate(rows);
+        strategy = new ReportPDF(new ReportPdfProperties(
+                ReportPdfProperties.Mode.valueOf(mode.toUpperCase()), 20000, 1));
+    }
+
+    @Benchmark
+    public long generateContent(AllocationCounters counters) {
+        CountingOutputStream out = new CountingOutputStream();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        strategy.generateContent(transactions.stream(), out);
+        counters.allocatedBytesPerRow = (THREADS.getCurrentThreadAllocatedBytes() - before) / rows;
+        return out.count();
+    }
+}
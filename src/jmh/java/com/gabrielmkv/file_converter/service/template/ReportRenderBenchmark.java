@@ -0,0 +1,79 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gabrielmkv.file_converter.config.ReportPdfProperties;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.impl.ReportArrow;
+import com.gabrielmkv.file_converter.service.impl.ReportCSV;
+import com.gabrielmkv.file_converter.service.impl.ReportJSON;
+import com.gabrielmkv.file_converter.service.impl.ReportNDJSON;
+import com.gabrielmkv.file_converter.service.impl.ReportPDF;
+import com.gabrielmkv.file_converter.service.impl.ReportParquet;
+import com.gabrielmkv.file_converter.service.impl.ReportXLSX;
+import com.gabrielmkv.file_converter.service.parquet.TransactionParquetWriter;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Mede apenas a etapa de renderização ({@code generateContent}) de cada estratégia,
+ * a partir de uma massa sintética já carregada em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", "--add-opens=java.base/java.nio=ALL-UNNAMED" })
+public class ReportRenderBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    @Param({ "csv", "json", "ndjson", "parquet", "arrow", "xlsx", "pdf" })
+    public String format;
+
+    private List<TransactionRow> transactions;
+    private ReportGeneratorTemplate strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = TransactionDataset.generate(rows);
+        strategy = createStrategy(format);
+    }
+
+    @Benchmark
+    public long generateContent(HeapCounters counters) {
+        CountingOutputStream out = new CountingOutputStream();
+        strategy.generateContent(transactions.stream(), out);
+        counters.record(out.count());
+        return out.count();
+    }
+
+    static ReportGeneratorTemplate createStrategy(String format) {
+        return switch (format) {
+            case "csv" -> new ReportCSV(false);
+            case "json" -> new ReportJSON(JsonMapper.builder().build());
+            case "ndjson" -> new ReportNDJSON(JsonMapper.builder().build());
+            case "parquet" -> new ReportParquet(100_000, TransactionParquetWriter.Codec.UNCOMPRESSED);
+            case "arrow" -> new ReportArrow(65_536);
+            case "xlsx" -> new ReportXLSX(1_048_575, 1);
+            case "pdf" -> new ReportPDF(new ReportPdfProperties(ReportPdfProperties.Mode.CHUNKED, 20000, 4));
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + format);
+        };
+    }
+}
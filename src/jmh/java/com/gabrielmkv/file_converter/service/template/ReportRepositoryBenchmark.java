@@ -0,0 +1,97 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Benchmarks ponta a ponta contra o H2: {@link #query} mede só a leitura pelo
+ * {@link TransactionRepository} e {@link #generateReport} mede leitura mais renderização,
+ * de modo que o custo de cada etapa apareça separado.
+ * <p>
+ * A leitura é medida pelos dois caminhos: {@code entity} carrega entidades {@link Transaction}
+ * (desanexadas uma a uma, como os relatórios faziam antes) e {@code projection} lê as projeções
+ * {@link TransactionRow} usadas hoje pelos relatórios. O pico de heap de cada um aparece em
+ * {@code peakHeapBytes}.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ReportRepositoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Format {
+
+        @Param({ "csv", "json", "pdf" })
+        public String format;
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReadPath {
+
+        @Param({ "entity", "projection" })
+        public String path;
+    }
+
+    @Benchmark
+    public long query(SeededDatabase database, ReadPath readPath, HeapCounters counters, Blackhole blackhole) {
+        TransactionRepository repository = database.getBean(TransactionRepository.class);
+        EntityManager entityManager = database.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(database.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        long rows = transactionTemplate.execute(status -> {
+            long count = 0;
+            if ("entity".equals(readPath.path)) {
+                try (Stream<Transaction> transactions = repository.streamMatching(TransactionFilter.ALL)) {
+                    for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                        entityManager.detach(transaction);
+                        blackhole.consume(transaction);
+                        count++;
+                    }
+                }
+            } else {
+                try (Stream<TransactionRow> transactions = repository.streamRows(TransactionFilter.ALL)) {
+                    for (TransactionRow transaction : (Iterable<TransactionRow>) transactions::iterator) {
+                        blackhole.consume(transaction);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        counters.record(0);
+        return rows;
+    }
+
+    @Benchmark
+    public long generateReport(SeededDatabase database, Format format, HeapCounters counters) {
+        CountingOutputStream out = new CountingOutputStream();
+        database.getBean(format.format, ReportGeneratorTemplate.class).generateReport(out);
+        counters.record(out.count());
+        return out.count();
+    }
+}
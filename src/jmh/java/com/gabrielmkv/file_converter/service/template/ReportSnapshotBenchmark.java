@@ -0,0 +1,77 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshotService;
+
+/**
+ * Geração completa dos relatórios CSV e JSON lidos do banco ({@code database}) ou do snapshot colunar
+ * fora do heap ({@code snapshot}), com tabelas de tamanhos diferentes. Com {@code -prof gc}, a alocação
+ * por relatório mostra o custo das linhas lidas do banco, que cresce com a tabela; no snapshot, ela
+ * fica constante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ReportSnapshotBenchmark {
+
+    @Param({ "100000", "1000000" })
+    public int rows;
+
+    @Param({ "database", "snapshot" })
+    public String source;
+
+    @Param({ "csv", "json" })
+    public String format;
+
+    private ConfigurableApplicationContext context;
+    private ReportGeneratorTemplate strategy;
+
+    @Setup(Level.Trial)
+    public void start() throws InterruptedException {
+        context = SeededDatabase.start(rows, "--report.snapshot.enabled=" + source.equals("snapshot"));
+        strategy = context.getBean(format, ReportGeneratorTemplate.class);
+        if (source.equals("snapshot")) {
+            // A carga inicial roda em segundo plano; até terminar, os relatórios são lidos do banco.
+            TransactionSnapshotService snapshots = context.getBean(TransactionSnapshotService.class);
+            TransactionSnapshot.Cursor cursor;
+            while ((cursor = snapshots.open(TransactionFilter.ALL)) == null) {
+                Thread.sleep(100);
+            }
+            cursor.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public long generateReport(HeapCounters counters) {
+        CountingOutputStream out = new CountingOutputStream();
+        strategy.generateReport(out);
+        counters.record(out.count());
+        return out.count();
+    }
+}
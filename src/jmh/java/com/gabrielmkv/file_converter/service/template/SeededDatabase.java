@@ -0,0 +1,71 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.FileConverterApplication;
+
+/**
+ * Contexto Spring completo (sem servidor web) sobre um H2 em memória populado com
+ * {@code rows} transações sintéticas. Compartilhado pelos benchmarks que passam pelo
+ * {@code TransactionRepository}.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = start(rows);
+    }
+
+    /**
+     * Sobe o contexto e popula o banco.
+     *
+     * @param rows A quantidade de transações.
+     * @param properties Propriedades adicionais da aplicação ({@code --nome=valor}).
+     * @return O contexto iniciado.
+     */
+    static ConfigurableApplicationContext start(int rows, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                // Só o schema (sequência de row_version); as transações de exemplo não são carregadas.
+                "--spring.sql.init.data-locations=optional:classpath:none.sql",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(properties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FileConverterApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        TransactionDataset.insert(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    <T> T getBean(String name, Class<T> type) {
+        return context.getBean(name, type);
+    }
+}
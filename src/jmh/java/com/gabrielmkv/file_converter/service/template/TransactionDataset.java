@@ -0,0 +1,95 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Gera massas de transações sintéticas e determinísticas para os benchmarks.
+ * <p>
+ * As descrições têm entre 1 e 6 palavras (cerca de 8 a 70 caracteres, com acentuação),
+ * os valores usam escala 2 como a coluna {@code value_brl} e as categorias vêm de um
+ * conjunto pequeno, como nos dados reais.
+ * </p>
+ */
+final class TransactionDataset {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 5 * 365;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final String[] CATEGORIES = {
+            "Alimentação", "Transporte", "Contas Fixas", "Lazer", "Saúde",
+            "Educação", "Pets", "Moradia", "Receita", "Vestuário" };
+
+    private static final String[] WORDS = {
+            "Supermercado", "Posto", "Pagamento", "Restaurante", "Farmácia", "Mensalidade",
+            "Assinatura", "Corrida", "Padaria", "Ingresso", "Livro", "Ração", "Internet",
+            "Academia", "Família", "Centro", "Shopping", "Parcela", "Transferência", "PIX",
+            "Japonês", "Técnico", "da Esquina", "BH", "Uber", "Netflix", "Spotify" };
+
+    private TransactionDataset() {
+    }
+
+    /**
+     * Gera {@code rows} transações em memória.
+     *
+     * @param rows Quantidade de transações.
+     * @return Lista com as transações geradas, com ids sequenciais.
+     */
+    static List<TransactionRow> generate(int rows) {
+        Random random = new Random(rows);
+        List<TransactionRow> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            transactions.add(row(random, i, rows));
+        }
+        return transactions;
+    }
+
+    /**
+     * Insere {@code rows} transações na tabela {@code transactions} em lotes JDBC,
+     * sem manter a massa inteira em memória.
+     *
+     * @param jdbc O JdbcTemplate do banco alvo.
+     * @param rows Quantidade de transações.
+     */
+    static void insert(JdbcTemplate jdbc, int rows) {
+        Random random = new Random(rows);
+        for (int start = 0; start < rows; start += INSERT_BATCH_SIZE) {
+            int end = Math.min(rows, start + INSERT_BATCH_SIZE);
+            List<Object[]> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                TransactionRow transaction = row(random, i, rows);
+                batch.add(new Object[] {
+                        Date.valueOf(transaction.date()), transaction.description(),
+                        transaction.value(), transaction.category() });
+            }
+            jdbc.batchUpdate("INSERT INTO transactions (transaction_date, description, value_brl, category) "
+                    + "VALUES (?, ?, ?, ?)", batch);
+        }
+    }
+
+    private static TransactionRow row(Random random, int index, int rows) {
+        LocalDate date = FIRST_DATE.plusDays((long) index * DAYS / rows);
+        String description = description(random);
+        BigDecimal value = BigDecimal.valueOf(random.nextLong(-500_000, 1_000_000), 2);
+        return new TransactionRow(index + 1L, date, description, value, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+    }
+
+    private static String description(Random random) {
+        int words = 1 + random.nextInt(6);
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < words; i++) {
+            description.append(i == words - 1 && random.nextInt(4) == 0 ? " - " : " ");
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+}
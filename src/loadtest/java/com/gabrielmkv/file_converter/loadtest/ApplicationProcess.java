@@ -0,0 +1,179 @@
+package com.gabrielmkv.file_converter.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A aplicação sob teste, executada a partir do jar numa JVM separada, como em produção.
+ * <p>
+ * O banco H2 em memória sobe só com o schema (sem as 13 transações de {@code transactions-data.sql}) e é
+ * populado pela própria API de importação, com um CSV de transações sintéticas gerado com semente fixa.
+ * O limite de requisições por cliente é desligado, já que toda a carga vem do mesmo endereço; os demais
+ * limites do controle de admissão continuam valendo e aparecem como erros (503). O cache de relatórios
+ * também é desligado: as requisições se repetem, e com ele o teste mediria acertos de cache em vez da
+ * geração.
+ * </p>
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final String[] CATEGORIES = { "Alimentação", "Transporte", "Lazer", "Saúde", "Moradia", "Educação" };
+
+    private final Process process;
+    private final HttpClient client;
+    private final URI baseUri;
+
+    private ApplicationProcess(Process process, HttpClient client, int port) {
+        this.process = process;
+        this.client = client;
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    /**
+     * Inicia a aplicação numa porta livre e aguarda o health check.
+     *
+     * @param config Os parâmetros do teste.
+     * @param client O cliente HTTP.
+     * @param log O arquivo de saída da aplicação.
+     * @return A aplicação pronta para receber requisições.
+     */
+    static ApplicationProcess start(LoadTestConfig config, HttpClient client, Path log)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(LoadTestConfig.split(config.jvmArgs()));
+        command.addAll(List.of("-jar", config.jar().toString(),
+                "--server.port=" + port,
+                "--spring.sql.init.data-locations=optional:classpath:none.sql",
+                "--report.admission.rate-limit.requests-per-minute=0",
+                "--report.cache.enabled=false"));
+        command.addAll(LoadTestConfig.split(config.appArgs()));
+
+        Files.createDirectories(log.getParent());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process, client, port);
+        try {
+            application.awaitHealthy(log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    /**
+     * @param pathAndQuery O caminho da requisição, com a query string.
+     * @return A URI na aplicação.
+     */
+    URI uri(String pathAndQuery) {
+        return baseUri.resolve(pathAndQuery);
+    }
+
+    /**
+     * Gera {@code rows} transações num CSV e as importa pela API.
+     *
+     * @param rows A quantidade de transações.
+     * @param directory Onde o CSV é gerado.
+     * @return A resposta da importação.
+     */
+    String seed(int rows, Path directory) throws IOException, InterruptedException {
+        Path csv = directory.resolve("seed-" + rows + ".csv");
+        if (!Files.exists(csv)) {
+            writeDataset(csv, rows);
+        }
+
+        String boundary = "loadtest-" + System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(uri("/transactions/import"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString("--" + boundary + "\r\n"
+                                + "Content-Disposition: form-data; name=\"file\"; filename=\"seed.csv\"\r\n"
+                                + "Content-Type: text/csv\r\n\r\n"),
+                        HttpRequest.BodyPublishers.ofFile(csv),
+                        HttpRequest.BodyPublishers.ofString("\r\n--" + boundary + "--\r\n")))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao popular o banco (" + response.statusCode() + "): " + response.body());
+        }
+        return response.body();
+    }
+
+    /**
+     * Encerra a aplicação, aguardando o desligamento.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void awaitHealthy(Path log) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou durante a inicialização; veja " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Ainda subindo.
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("A aplicação não respondeu em " + STARTUP_TIMEOUT + "; veja " + log);
+    }
+
+    /**
+     * Transações no layout do relatório CSV: datas de 2023 a 2025, valores de -500,00 a 9.999,99 e
+     * descrições e categorias com alguns textos que exigem aspas.
+     */
+    private static void writeDataset(Path csv, int rows) throws IOException {
+        Files.createDirectories(csv.getParent());
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("date;description;value;category\n");
+            for (int i = 0; i < rows; i++) {
+                long cents = random.nextLong(-50_000, 1_000_000);
+                writer.write(start.plusDays(random.nextInt(3 * 365)).toString());
+                writer.write(i % 10 == 0 ? ";\"Compra; parcela " + i + "\";" : ";Compra " + i + ";");
+                long absolute = Math.abs(cents);
+                writer.write((cents < 0 ? "-" : "") + absolute / 100 + (absolute % 100 < 10 ? ",0" : ",") + absolute % 100);
+                writer.write(';');
+                writer.write(i % 50 == 0 ? "" : CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gabrielmkv.file_converter.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades de sistema {@code loadtest.*} (definidas pelo perfil
+ * Maven {@code loadtest}).
+ *
+ * @param jar O jar da aplicação.
+ * @param jvmArgs Opções da JVM da aplicação, separadas por espaço.
+ * @param appArgs Argumentos adicionais da aplicação ({@code --nome=valor}), separados por espaço.
+ * @param rows Transações geradas e importadas antes da carga.
+ * @param formats Formatos requisitados, em rodízio por cada cliente.
+ * @param query Parâmetros acrescentados a todas as requisições (ex.: {@code category=Cat1}), ou vazio.
+ * @param concurrency Clientes simultâneos, cada um com uma requisição por vez.
+ * @param warmup Duração do aquecimento, cujas requisições não são medidas.
+ * @param duration Duração da medição.
+ * @param requestTimeout Tempo máximo de cada requisição.
+ * @param thresholds Arquivo com os limites de aprovação.
+ * @param output Arquivo JSON do resultado.
+ */
+record LoadTestConfig(Path jar, String jvmArgs, String appArgs, int rows, List<String> formats, String query,
+        int concurrency, Duration warmup, Duration duration, Duration requestTimeout, Path thresholds, Path output) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Path.of(required("loadtest.jar")),
+                System.getProperty("loadtest.jvm-args", ""),
+                System.getProperty("loadtest.app-args", ""),
+                Integer.getInteger("loadtest.rows", 100_000),
+                Arrays.stream(System.getProperty("loadtest.formats", "csv,json,pdf").split(","))
+                        .map(String::trim)
+                        .filter(format -> !format.isEmpty())
+                        .toList(),
+                System.getProperty("loadtest.query", ""),
+                Integer.getInteger("loadtest.concurrency", 4),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                Duration.parse(System.getProperty("loadtest.request-timeout", "PT2M")),
+                Path.of(required("loadtest.thresholds")),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest/result.json")));
+    }
+
+    /**
+     * @return Os argumentos separados por espaço, sem os vazios.
+     */
+    static List<String> split(String args) {
+        return Arrays.stream(args.trim().split("\\s+")).filter(arg -> !arg.isEmpty()).toList();
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Propriedade obrigatória ausente: " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,209 @@
+package com.gabrielmkv.file_converter.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Teste de carga ponta a ponta do endpoint {@code /report}.
+ * <p>
+ * Sobe a aplicação a partir do jar, importa um conjunto de transações sintéticas e mantém
+ * {@code concurrency} clientes em laço fechado, cada um requisitando os formatos em rodízio e lendo o corpo
+ * inteiro de cada resposta. Só as requisições iniciadas depois do aquecimento entram na medição. O
+ * resultado (latências por formato e no total, vazão, taxa de erro e as estatísticas da JVM e do pool de
+ * conexões do servidor) é gravado em JSON e conferido contra os limites de {@link Thresholds}; se algum
+ * for violado, o processo termina com código 1, o que falha o build.
+ * </p>
+ * <p>
+ * Diferente dos benchmarks JMH, que medem a geração dentro do processo, este teste passa pelo Tomcat, pelo
+ * controle de admissão, pelo pool de conexões e pela rede, onde regressões de concorrência aparecem.
+ * </p>
+ */
+public final class ReportLoadTest {
+
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(500);
+
+    private ReportLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper mapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        Path workDirectory = config.output().toAbsolutePath().getParent();
+
+        ObjectNode result;
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                ApplicationProcess application = ApplicationProcess.start(config, client,
+                        workDirectory.resolve("app.log"))) {
+            log("Importando " + config.rows() + " transações...");
+            application.seed(config.rows(), workDirectory);
+            result = run(config, application, client, mapper);
+        }
+
+        ArrayNode checks = new Thresholds(config.thresholds()).evaluate(result, mapper);
+        boolean passed = true;
+        for (JsonNode check : checks) {
+            passed &= check.path("passed").asBoolean();
+        }
+        result.set("thresholds", checks);
+        result.put("passed", passed);
+        Files.createDirectories(workDirectory);
+        mapper.writeValue(config.output().toFile(), result);
+
+        log("Resultado em " + config.output());
+        for (JsonNode check : checks) {
+            if (!check.path("passed").asBoolean()) {
+                log("Limite violado: " + check.path("metric").asString() + " = " + check.path("actual").asDouble()
+                        + " (" + check.path("bound").asString() + " " + check.path("limit").asDouble() + ")");
+            }
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static ObjectNode run(LoadTestConfig config, ApplicationProcess application, HttpClient client,
+            ObjectMapper mapper) throws IOException, InterruptedException {
+        List<HttpRequest> requests = config.formats().stream()
+                .map(format -> HttpRequest.newBuilder(application.uri("/report?format=" + format
+                                + (config.query().isEmpty() ? "" : "&" + config.query())))
+                        .timeout(config.requestTimeout())
+                        .build())
+                .toList();
+
+        long measureStart = System.nanoTime() + config.warmup().toNanos();
+        long measureEnd = measureStart + config.duration().toNanos();
+        List<Client> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            Client worker = new Client(client, requests, i, measureStart, measureEnd);
+            clients.add(worker);
+            threads.add(Thread.ofVirtual().name("loadtest-client-" + i).start(worker));
+        }
+
+        log("Aquecendo por " + config.warmup() + "...");
+        Thread.sleep(config.warmup());
+        ServerStats server = new ServerStats(application, client, mapper, SAMPLE_INTERVAL);
+        server.start();
+        log("Medindo por " + config.duration() + " com " + config.concurrency() + " clientes...");
+        // O timeout da requisição só vale até os cabeçalhos; um corpo que para no meio é interrompido aqui.
+        long deadline = measureEnd + config.requestTimeout().toNanos();
+        for (Thread thread : threads) {
+            if (!thread.join(Duration.ofNanos(Math.max(1, deadline - System.nanoTime())))) {
+                thread.interrupt();
+                thread.join();
+            }
+        }
+        ObjectNode serverResult = server.finish();
+
+        double seconds = config.duration().toNanos() / 1e9;
+        RequestStats total = new RequestStats();
+        Map<String, RequestStats> perFormat = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RequestStats format = new RequestStats();
+            for (Client worker : clients) {
+                format.merge(worker.stats[i]);
+            }
+            total.merge(format);
+            perFormat.put(config.formats().get(i), format);
+        }
+
+        ObjectNode result = mapper.createObjectNode();
+        ObjectNode parameters = result.putObject("config");
+        parameters.put("rows", config.rows());
+        parameters.put("concurrency", config.concurrency());
+        parameters.put("query", config.query());
+        parameters.put("warmup", config.warmup().toString());
+        parameters.put("duration", config.duration().toString());
+        parameters.put("jvmArgs", config.jvmArgs());
+        parameters.put("appArgs", config.appArgs());
+        ObjectNode formats = result.putObject("formats");
+        perFormat.forEach((format, stats) -> formats.set(format, stats.toJson(mapper, seconds)));
+        result.set("total", total.toJson(mapper, seconds));
+        result.set("server", serverResult);
+        return result;
+    }
+
+    private static void log(String message) {
+        System.out.println("[loadtest] " + message);
+    }
+
+    /**
+     * Um cliente em laço fechado: envia a próxima requisição assim que termina de ler a anterior, até o fim
+     * da medição. Cada cliente começa num formato diferente, para que todos sejam requisitados ao mesmo tempo.
+     */
+    private static final class Client implements Runnable {
+
+        private final HttpClient client;
+        private final List<HttpRequest> requests;
+        private final RequestStats[] stats;
+        private final long measureStart;
+        private final long measureEnd;
+        private int next;
+
+        Client(HttpClient client, List<HttpRequest> requests, int offset, long measureStart, long measureEnd) {
+            this.client = client;
+            this.requests = requests;
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+            this.stats = new RequestStats[requests.size()];
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = new RequestStats();
+            }
+            this.next = offset % requests.size();
+        }
+
+        @Override
+        public void run() {
+            byte[] buffer = new byte[64 * 1024];
+            while (System.nanoTime() < measureEnd) {
+                int index = next;
+                next = (next + 1) % requests.size();
+                long start = System.nanoTime();
+                boolean measured = start >= measureStart;
+                try {
+                    HttpResponse<InputStream> response = client.send(requests.get(index),
+                            HttpResponse.BodyHandlers.ofInputStream());
+                    long size = 0;
+                    try (InputStream body = response.body()) {
+                        for (int read; (read = body.read(buffer)) != -1;) {
+                            size += read;
+                        }
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (!measured) {
+                        continue;
+                    }
+                    if (response.statusCode() / 100 == 2) {
+                        stats[index].success(elapsed, size, response.statusCode());
+                    } else {
+                        stats[index].failure(Integer.toString(response.statusCode()));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    if (measured) {
+                        stats[index].failure(e.getClass().getSimpleName());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gabrielmkv.file_converter.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Requisições medidas de um formato (ou de todos): latências das respostas bem-sucedidas, bytes recebidos
+ * e a contagem de cada resultado (status HTTP ou exceção). Cada cliente tem as suas, somadas ao final com
+ * {@link #merge}; instâncias não são thread-safe.
+ */
+final class RequestStats {
+
+    private long[] latencies = new long[1024];
+    private int successes;
+    private long errors;
+    private long bytes;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    /**
+     * Registra uma resposta 2xx.
+     *
+     * @param nanos O tempo do envio até o último byte do corpo.
+     * @param size Os bytes do corpo.
+     * @param status O status HTTP.
+     */
+    void success(long nanos, long size, int status) {
+        if (successes == latencies.length) {
+            latencies = Arrays.copyOf(latencies, successes * 2);
+        }
+        latencies[successes++] = nanos;
+        bytes += size;
+        outcomes.merge(Integer.toString(status), 1L, Long::sum);
+    }
+
+    /**
+     * Registra uma resposta de erro ou uma falha da requisição.
+     *
+     * @param outcome O status HTTP ou o nome da exceção.
+     */
+    void failure(String outcome) {
+        errors++;
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    void merge(RequestStats other) {
+        if (successes + other.successes > latencies.length) {
+            latencies = Arrays.copyOf(latencies, successes + other.successes);
+        }
+        System.arraycopy(other.latencies, 0, latencies, successes, other.successes);
+        successes += other.successes;
+        bytes += other.bytes;
+        errors += other.errors;
+        other.outcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+    }
+
+    /**
+     * @param mapper Cria o nó JSON.
+     * @param seconds A duração da medição.
+     * @return Requisições, erros, taxa de erro, vazão, bytes, latências (ms) e resultados.
+     */
+    ObjectNode toJson(ObjectMapper mapper, double seconds) {
+        long requests = successes + errors;
+        long[] sorted = Arrays.copyOf(latencies, successes);
+        Arrays.sort(sorted);
+
+        ObjectNode result = mapper.createObjectNode();
+        result.put("requests", requests);
+        result.put("errors", errors);
+        result.put("errorRate", requests == 0 ? 0 : (double) errors / requests);
+        result.put("throughput", requests / seconds);
+        result.put("bytes", bytes);
+        ObjectNode latency = result.putObject("latencyMs");
+        latency.put("p50", percentile(sorted, 50));
+        latency.put("p95", percentile(sorted, 95));
+        latency.put("p99", percentile(sorted, 99));
+        latency.put("max", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        latency.put("mean", Arrays.stream(sorted).average().orElse(0) / 1e6);
+        ObjectNode counts = result.putObject("outcomes");
+        outcomes.forEach(counts::put);
+        return result;
+    }
+
+    // Percentil pelo método do posto mais próximo, em milissegundos.
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,129 @@
+package com.gabrielmkv.file_converter.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Estatísticas da JVM e do pool de conexões da aplicação durante a medição, lidas do actuator
+ * ({@code /actuator/metrics}).
+ * <p>
+ * Heap usado, threads vivas e conexões ativas e aguardando no pool são amostrados periodicamente, e o
+ * resultado guarda o maior valor visto; pausas de GC são a diferença entre o início e o fim da medição.
+ * Threads e conexões aguardando revelam esgotamento das threads do servlet e do pool, que os benchmarks
+ * JMH não exercitam.
+ * </p>
+ */
+final class ServerStats implements AutoCloseable {
+
+    private final ApplicationProcess application;
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final Duration interval;
+
+    private Thread sampler;
+    private volatile boolean running;
+
+    private double heapUsedMax;
+    private double threadsLiveMax;
+    private double connectionsActiveMax;
+    private double connectionsPendingMax;
+    private int samples;
+
+    private double gcCountStart;
+    private double gcTimeStart;
+
+    ServerStats(ApplicationProcess application, HttpClient client, ObjectMapper mapper, Duration interval) {
+        this.application = application;
+        this.client = client;
+        this.mapper = mapper;
+        this.interval = interval;
+    }
+
+    /**
+     * Registra as pausas de GC até aqui e começa a amostragem.
+     */
+    void start() throws IOException, InterruptedException {
+        gcCountStart = metric("jvm.gc.pause", null, "COUNT");
+        gcTimeStart = metric("jvm.gc.pause", null, "TOTAL_TIME");
+        running = true;
+        sampler = Thread.ofVirtual().name("loadtest-server-stats").start(() -> {
+            while (running) {
+                try {
+                    sample();
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    // Amostra perdida; a próxima tenta de novo.
+                }
+            }
+        });
+    }
+
+    /**
+     * Encerra a amostragem e monta o resultado.
+     *
+     * @return As estatísticas do servidor no período medido.
+     */
+    ObjectNode finish() throws IOException, InterruptedException {
+        close();
+        sample();
+        ObjectNode result = mapper.createObjectNode();
+        result.put("heapUsedMaxBytes", (long) heapUsedMax);
+        result.put("heapMaxBytes", (long) metric("jvm.memory.max", "area:heap", "VALUE"));
+        result.put("gcPauseCount", (long) (metric("jvm.gc.pause", null, "COUNT") - gcCountStart));
+        result.put("gcPauseTotalMs", Math.round((metric("jvm.gc.pause", null, "TOTAL_TIME") - gcTimeStart) * 1000));
+        result.put("threadsLiveMax", (long) threadsLiveMax);
+        result.put("dbConnectionsActiveMax", (long) connectionsActiveMax);
+        result.put("dbConnectionsPendingMax", (long) connectionsPendingMax);
+        result.put("samples", samples);
+        return result;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (sampler != null) {
+            sampler.interrupt();
+            sampler.join();
+            sampler = null;
+        }
+    }
+
+    private synchronized void sample() throws IOException, InterruptedException {
+        heapUsedMax = Math.max(heapUsedMax, metric("jvm.memory.used", "area:heap", "VALUE"));
+        threadsLiveMax = Math.max(threadsLiveMax, metric("jvm.threads.live", null, "VALUE"));
+        connectionsActiveMax = Math.max(connectionsActiveMax, metric("hikaricp.connections.active", null, "VALUE"));
+        connectionsPendingMax = Math.max(connectionsPendingMax, metric("hikaricp.connections.pending", null, "VALUE"));
+        samples++;
+    }
+
+    /**
+     * Lê uma estatística de uma métrica do actuator; métricas ainda não registradas (por exemplo, nenhuma
+     * pausa de GC) valem 0.
+     */
+    private double metric(String name, String tag, String statistic) throws IOException, InterruptedException {
+        String path = "/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(application.uri(path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return 0;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Métrica " + name + " indisponível: " + response.statusCode());
+        }
+        for (JsonNode measurement : mapper.readTree(response.body()).path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asString())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gabrielmkv.file_converter.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+
+/**
+ * Limites de aprovação do teste de carga, num arquivo de propriedades.
+ * <p>
+ * Cada chave é o caminho de um valor numérico do resultado, separado por pontos, seguido de {@code .max}
+ * ou {@code .min}; por exemplo, {@code formats.pdf.latencyMs.p99.max=20000} ou
+ * {@code total.throughput.min=1}. Limites de formatos que não fizeram parte do teste são ignorados;
+ * qualquer outro caminho sem valor numérico no resultado é um erro, para que um limite com o nome
+ * errado não passe despercebido.
+ * </p>
+ */
+final class Thresholds {
+
+    private final Properties limits = new Properties();
+
+    Thresholds(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            limits.load(reader);
+        }
+    }
+
+    /**
+     * Confere o resultado contra os limites.
+     *
+     * @param result O resultado do teste.
+     * @param mapper Cria os nós JSON.
+     * @return Um item por limite aplicado, com o valor medido e se foi atendido.
+     */
+    ArrayNode evaluate(JsonNode result, ObjectMapper mapper) {
+        ArrayNode checks = mapper.createArrayNode();
+        for (String key : new TreeSet<>(limits.stringPropertyNames())) {
+            int separator = key.lastIndexOf('.');
+            String bound = key.substring(separator + 1);
+            if (separator < 0 || !bound.equals("max") && !bound.equals("min")) {
+                throw new IllegalArgumentException("Limite inválido (use <caminho>.max ou <caminho>.min): " + key);
+            }
+            String metric = key.substring(0, separator);
+            String[] path = metric.split("\\.");
+            if (path[0].equals("formats") && path.length > 1 && !result.path("formats").has(path[1])) {
+                continue;
+            }
+            JsonNode actual = result.at("/" + String.join("/", path));
+            if (!actual.isNumber()) {
+                throw new IllegalArgumentException("Limite sem valor numérico no resultado: " + key);
+            }
+            double limit = Double.parseDouble(limits.getProperty(key).trim());
+            double value = actual.asDouble();
+            checks.addObject()
+                    .put("metric", metric)
+                    .put("bound", bound)
+                    .put("limit", limit)
+                    .put("actual", value)
+                    .put("passed", bound.equals("max") ? value <= limit : value >= limit);
+        }
+        return checks;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gabrielmkv.file_converter.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,8 +10,10 @@ import io.swagger.v3.oas.models.info.Info;
 
 /**
  * Configuração do OpenAPI (Swagger) para documentação da API.
+ * Desligada junto com o springdoc ({@code springdoc.api-docs.enabled=false}), como no perfil {@code prod}.
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class OpenApiConfig {
     
     /**
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do controle de admissão dos relatórios. Habilita as propriedades {@code report.admission}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportAdmissionProperties.class)
+public class ReportAdmissionConfig {
+
+}
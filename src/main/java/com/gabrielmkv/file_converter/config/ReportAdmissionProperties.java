@@ -0,0 +1,46 @@
+package com.gabrielmkv.file_converter.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações do controle de admissão dos relatórios (prefixo {@code report.admission}).
+ *
+ * @param enabled Habilita os limites de concorrência e de taxa.
+ * @param permits Relatórios gerados ao mesmo tempo, por formato (ex.: {@code permits.pdf=2}).
+ * @param defaultPermits Relatórios gerados ao mesmo tempo nos formatos sem valor em {@code permits}.
+ * @param queueCapacity Requisições aguardando vaga, por formato; acima disso a resposta é 503.
+ * @param queueTimeout Tempo máximo de espera por uma vaga antes de responder 503.
+ * @param largeReportRows Quantidade estimada de linhas a partir da qual o relatório é considerado grande.
+ * @param largeReportPermits Relatórios grandes gerados ao mesmo tempo, somando todos os formatos.
+ * @param retryAfter Valor do cabeçalho Retry-After nas respostas 503.
+ * @param rateLimit Limite de requisições por cliente.
+ */
+@ConfigurationProperties(prefix = "report.admission")
+public record ReportAdmissionProperties(boolean enabled, Map<String, Integer> permits, int defaultPermits,
+        int queueCapacity, Duration queueTimeout, long largeReportRows, int largeReportPermits, Duration retryAfter,
+        RateLimit rateLimit) {
+
+    public ReportAdmissionProperties {
+        permits = permits == null ? Map.of() : Map.copyOf(permits);
+    }
+
+    /**
+     * @param format O formato do relatório.
+     * @return A quantidade de relatórios do formato gerados ao mesmo tempo.
+     */
+    public int permitsFor(String format) {
+        return permits.getOrDefault(format, defaultPermits);
+    }
+
+    /**
+     * Limite de requisições por cliente (token bucket), identificado pelo endereço de origem.
+     *
+     * @param requestsPerMinute Requisições por minuto repostas ao cliente; zero desabilita o limite.
+     * @param burst Requisições que o cliente pode fazer de uma vez.
+     */
+    public record RateLimit(int requestsPerMinute, int burst) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração dos pacotes de relatórios. Habilita as propriedades {@code report.bundle}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportBundleProperties.class)
+public class ReportBundleConfig {
+
+}
@@ -0,0 +1,17 @@
+package com.gabrielmkv.file_converter.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações dos pacotes de relatórios em vários formatos (prefixo {@code report.bundle}).
+ *
+ * @param batchRows Quantidade de linhas de cada lote entregue aos formatos.
+ * @param ringBatches Quantidade de lotes que cada formato pode acumular antes de a leitura esperar por ele.
+ * @param compressionLevel O nível de compressão das entradas do ZIP (0 a 9).
+ * @param spoolDir Diretório onde ficam os formatos gerados enquanto aguardam sua vez no ZIP.
+ */
+@ConfigurationProperties(prefix = "report.bundle")
+public record ReportBundleProperties(int batchRows, int ringBatches, int compressionLevel, Path spoolDir) {
+}
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do cache de relatórios. Habilita as propriedades {@code report.cache}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportCacheProperties.class)
+public class ReportCacheConfig {
+
+}
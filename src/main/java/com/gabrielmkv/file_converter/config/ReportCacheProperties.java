@@ -0,0 +1,23 @@
+package com.gabrielmkv.file_converter.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configurações do cache de relatórios (prefixo {@code report.cache}).
+ *
+ * @param enabled Habilita o cache e o suporte a ETag.
+ * @param maxMemory Tamanho máximo somado dos relatórios mantidos em memória.
+ * @param maxEntrySize Tamanho máximo de um relatório mantido em memória; a cópia de um relatório maior
+ *                     é abandonada assim que passa do limite (ou vai para o disco, com o spill habilitado).
+ * @param spillEnabled Permite armazenar em disco relatórios maiores que {@code spillThreshold}.
+ * @param spillThreshold Tamanho a partir do qual o relatório vai para o disco.
+ * @param maxDisk Tamanho máximo somado dos relatórios mantidos em disco.
+ * @param spillDir Diretório dos relatórios em disco.
+ */
+@ConfigurationProperties(prefix = "report.cache")
+public record ReportCacheProperties(boolean enabled, DataSize maxMemory, DataSize maxEntrySize, boolean spillEnabled,
+        DataSize spillThreshold, DataSize maxDisk, Path spillDir) {
+}
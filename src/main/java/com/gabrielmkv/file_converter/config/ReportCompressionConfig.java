@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração da compressão de relatórios. Habilita as propriedades {@code report.compression}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportCompressionProperties.class)
+public class ReportCompressionConfig {
+
+}
@@ -0,0 +1,16 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configurações da compressão dos relatórios (prefixo {@code report.compression}).
+ *
+ * @param enabled Habilita a compressão negociada pelo cabeçalho Accept-Encoding.
+ * @param gzipLevel Nível do gzip, de 1 (mais rápido) a 9 (menor arquivo).
+ * @param zstdLevel Nível do zstd, de 1 (mais rápido) a 22 (menor arquivo).
+ * @param minSize Relatórios menores que este tamanho são enviados sem compressão.
+ */
+@ConfigurationProperties(prefix = "report.compression")
+public record ReportCompressionProperties(boolean enabled, int gzipLevel, int zstdLevel, DataSize minSize) {
+}
@@ -0,0 +1,16 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração da execução assíncrona de relatórios.
+ * Habilita as propriedades {@code report.jobs} e o agendamento da limpeza de jobs expirados.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReportJobProperties.class)
+public class ReportJobConfig {
+
+}
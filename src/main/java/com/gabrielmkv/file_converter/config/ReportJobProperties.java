@@ -0,0 +1,18 @@
+package com.gabrielmkv.file_converter.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações dos jobs assíncronos de relatório (prefixo {@code report.jobs}).
+ *
+ * @param concurrency Quantidade máxima de relatórios gerados ao mesmo tempo.
+ * @param queueCapacity Quantidade máxima de jobs aguardando execução.
+ * @param spoolDir Diretório onde os arquivos gerados são armazenados.
+ * @param ttl Tempo que um job finalizado e seu arquivo são mantidos.
+ */
+@ConfigurationProperties(prefix = "report.jobs")
+public record ReportJobProperties(int concurrency, int queueCapacity, Path spoolDir, Duration ttl) {
+}
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração da leitura particionada. Habilita as propriedades {@code report.partition}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportPartitionProperties.class)
+public class ReportPartitionConfig {
+
+}
@@ -0,0 +1,17 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações da leitura particionada dos relatórios (prefixo {@code report.partition}).
+ *
+ * @param parallelism Quantidade de faixas lidas ao mesmo tempo, cada uma numa conexão do pool; 1 desabilita e 0
+ *        usa a quantidade de processadores (até 4).
+ * @param minRows Relatórios com menos linhas que isso são lidos por um único cursor.
+ * @param sliceRows Quantidade aproximada de linhas de cada faixa.
+ * @param bufferRows Linhas que cada faixa pode ler à frente da renderização antes de esperar por ela.
+ * @param maxReports Relatórios lidos de forma particionada ao mesmo tempo; os demais usam um único cursor.
+ */
+@ConfigurationProperties(prefix = "report.partition")
+public record ReportPartitionProperties(int parallelism, long minRows, int sliceRows, int bufferRows, int maxReports) {
+}
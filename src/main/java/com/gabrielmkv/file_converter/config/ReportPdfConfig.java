@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração da geração de PDF. Habilita as propriedades {@code report.pdf}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportPdfProperties.class)
+public class ReportPdfConfig {
+
+}
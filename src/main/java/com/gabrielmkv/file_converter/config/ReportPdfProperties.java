@@ -0,0 +1,27 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações da geração de relatórios PDF (prefixo {@code report.pdf}).
+ *
+ * @param mode Estratégia de montagem da tabela.
+ * @param segmentRows Quantidade mínima de linhas de cada segmento renderizado no modo {@code parallel};
+ *                    o segmento se estende até a próxima quebra de página.
+ * @param parallelism Quantidade de segmentos renderizados ao mesmo tempo no modo {@code parallel}.
+ */
+@ConfigurationProperties(prefix = "report.pdf")
+public record ReportPdfProperties(Mode mode, int segmentRows, int parallelism) {
+
+    /**
+     * Estratégias de montagem da tabela de transações.
+     */
+    public enum Mode {
+        /** Uma única tabela com todas as linhas, adicionada ao final. */
+        SINGLE,
+        /** A tabela é adicionada página a página, liberando da memória as linhas já escritas. */
+        CHUNKED,
+        /** Faixas de linhas são renderizadas em paralelo como PDFs separados e depois concatenadas. */
+        PARALLEL
+    }
+}
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do snapshot colunar das transações. Habilita as propriedades {@code report.snapshot}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportSnapshotProperties.class)
+public class ReportSnapshotConfig {
+
+}
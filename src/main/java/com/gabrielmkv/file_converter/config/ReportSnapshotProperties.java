@@ -0,0 +1,31 @@
+package com.gabrielmkv.file_converter.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações do snapshot colunar das transações em memória (prefixo {@code report.snapshot}).
+ *
+ * @param enabled Mantém o snapshot e gera os relatórios CSV, JSON e NDJSON a partir dele.
+ * @param storage Onde ficam as colunas, sempre fora do heap.
+ * @param directory Diretório dos arquivos mapeados no modo {@code mapped}.
+ * @param fetchSize Linhas buscadas por ida ao banco ao carregar o snapshot.
+ * @param checkInterval Por quanto tempo o snapshot é usado sem conferir a tabela, se a aplicação não
+ *        escreveu nela; alterações feitas por fora aparecem dentro desse intervalo. Zero confere a cada relatório.
+ */
+@ConfigurationProperties(prefix = "report.snapshot")
+public record ReportSnapshotProperties(boolean enabled, Storage storage, Path directory, int fetchSize,
+        Duration checkInterval) {
+
+    /**
+     * Armazenamento das colunas do snapshot.
+     */
+    public enum Storage {
+        /** Buffers diretos, limitados por {@code -XX:MaxDirectMemorySize}. */
+        DIRECT,
+        /** Arquivos temporários mapeados em memória, que o sistema operacional pode descarregar para o disco. */
+        MAPPED
+    }
+}
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração da importação de transações. Habilita as propriedades {@code transactions.import}.
+ */
+@Configuration
+@EnableConfigurationProperties(TransactionImportProperties.class)
+public class TransactionImportConfig {
+
+}
@@ -0,0 +1,27 @@
+package com.gabrielmkv.file_converter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações da importação de transações (prefixo {@code transactions.import}).
+ *
+ * @param batchSize Quantidade de linhas enviadas ao banco em cada lote JDBC.
+ * @param commitInterval Quantidade de linhas entre commits.
+ * @param maxErrors Quantidade máxima de erros detalhados no resultado da importação.
+ * @param dedup Descarte de linhas já existentes na tabela.
+ */
+@ConfigurationProperties(prefix = "transactions.import")
+public record TransactionImportProperties(int batchSize, int commitInterval, int maxErrors, Dedup dedup) {
+
+    /**
+     * Deduplicação pela impressão digital de (data, descrição, valor, categoria).
+     *
+     * @param enabled Deduplica as importações que não informarem {@code deduplicate}.
+     * @param checkBatchSize Linhas possivelmente repetidas conferidas no banco por consulta.
+     * @param expectedRows Capacidade mínima do filtro de Bloom, em linhas.
+     * @param falsePositiveRate Taxa de falsos positivos do filtro na capacidade; cada falso positivo custa
+     *        uma conferência no banco.
+     */
+    public record Dedup(boolean enabled, int checkBatchSize, long expectedRows, double falsePositiveRate) {
+    }
+}
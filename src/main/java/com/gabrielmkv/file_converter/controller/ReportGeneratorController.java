@@ -1,5 +1,6 @@
 package com.gabrielmkv.file_converter.controller;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -8,13 +9,39 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.gabrielmkv.file_converter.exception.InvalidReportQueryException;
 import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.exception.ReportOverloadedException;
+import com.gabrielmkv.file_converter.repository.TransactionCursor;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.service.admission.ReportAdmission;
+import com.gabrielmkv.file_converter.service.bundle.ReportBundleService;
+import com.gabrielmkv.file_converter.service.cache.CachedReport;
+import com.gabrielmkv.file_converter.service.cache.ReportCache;
+import com.gabrielmkv.file_converter.service.cache.ReportCacheKey;
+import com.gabrielmkv.file_converter.service.cache.ReportCacheStats;
+import com.gabrielmkv.file_converter.service.compression.CompressingOutputStream;
+import com.gabrielmkv.file_converter.service.compression.ContentCoding;
+import com.gabrielmkv.file_converter.service.compression.ReportCompression;
+import com.gabrielmkv.file_converter.service.delta.TransactionVersionHorizon;
 import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.ReportStrategies;
+import com.gabrielmkv.file_converter.service.template.SummaryRenderer;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,32 +52,344 @@ import java.util.Map;
 @RequestMapping("/report")
 public class ReportGeneratorController {
 
+    /**
+     * Cabeçalho com o cursor da próxima página, presente quando há mais transações após o limite.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Cabeçalho das exportações incrementais com a versão a ser usada em {@code sinceVersion} na próxima consulta.
+     */
+    public static final String NEXT_WATERMARK_HEADER = "X-Next-Watermark";
+
+    @Autowired
+    private ReportStrategies service;
+
+    @Autowired
+    private ReportCache reportCache;
+
     @Autowired
-    private Map<String, ReportGeneratorTemplate> service;
+    private TransactionRepository repository;
+
+    @Autowired
+    private ReportCompression compression;
+
+    @Autowired
+    private ReportAdmission admission;
+
+    @Autowired
+    private ReportBundleService bundleService;
+
+    @Autowired
+    private TransactionVersionHorizon versionHorizon;
 
     /**
      * Gera um relatório de transações no formato solicitado.
+     * <p>
+     * Com o cache habilitado, a resposta traz um ETag derivado do formato, da versão dos dados e da
+     * compressão negociada: requisições com {@code If-None-Match} correspondente recebem 304 sem gerar
+     * o relatório, e relatórios já gerados para a mesma versão são servidos do cache.
+     * </p>
+     * <p>
+     * Os filtros são aplicados pelo banco. Com {@code limit}, a resposta traz o cabeçalho
+     * {@value #NEXT_CURSOR_HEADER} quando há mais transações; seu valor é usado em {@code after}
+     * para buscar a próxima página.
+     * </p>
+     * <p>
+     * Com {@code sinceVersion}, a exportação é incremental: só saem as transações inseridas ou alteradas
+     * depois daquela versão, e o cabeçalho {@value #NEXT_WATERMARK_HEADER} traz a versão para a próxima
+     * consulta. Sem alterações, a resposta é 204 com a mesma versão.
+     * </p>
+     * <p>
+     * A resposta é comprimida durante a geração conforme o {@code Accept-Encoding} (zstd ou gzip),
+     * quando passa do tamanho mínimo configurado. Formatos com extensão {@code .gz} ou {@code .zst}
+     * (ex.: {@code csv.gz}, {@code ndjson.zst}) são baixados como arquivos comprimidos.
+     * </p>
+     * <p>
+     * Relatórios que precisam ser gerados passam pelo {@link ReportAdmission}: a geração aguarda uma
+     * vaga do formato e responde 503 se a fila estiver cheia ou a espera se esgotar; clientes acima do
+     * limite de requisições recebem 429. Ambos trazem o cabeçalho Retry-After.
+     * </p>
      * 
-     * @param type O formato do arquivo desejado (pdf, csv, json).
-     * @return ResponseEntity contendo os bytes do arquivo gerado.
+     * @param type O formato do arquivo desejado (pdf, csv, json, ndjson, parquet, arrow, xlsx),
+     *             opcionalmente seguido de {@code .gz} ou {@code .zst}.
+     * @param filter Os critérios de seleção das transações.
+     * @param request A requisição, usada para avaliar os cabeçalhos If-None-Match e Accept-Encoding.
+     * @param servletRequest A requisição, de onde vem o endereço do cliente para o limite de requisições.
+     * @param servletResponse A resposta, onde o Content-Encoding é definido quando a compressão começa.
+     * @return ResponseEntity cujo corpo escreve o arquivo diretamente na resposta HTTP,
+     *         à medida que as transações são lidas do banco.
      */
-    @Operation(summary = "Gera relatório de transações", description = "Busca todas as transações do banco e gera um arquivo no formato especificado.")
+    @Operation(summary = "Gera relatório de transações", description = "Busca as transações do banco, opcionalmente filtradas e paginadas, e gera um arquivo no formato especificado.")
     @GetMapping
-    public ResponseEntity<byte[]> reportGenerate(
-            @Parameter(description = "Formato do arquivo: pdf | csv (faz download) ou json (abre no browser)") @RequestParam(name = "format") String type) {
-        ReportGeneratorTemplate strategy = service.get(type);
+    public ResponseEntity<StreamingResponseBody> reportGenerate(
+            @Parameter(description = "Formato do arquivo: pdf | csv | ndjson | parquet | arrow | xlsx (faz download) ou json (abre no browser); acrescente .gz ou .zst para baixar comprimido") @RequestParam(name = "format") String type,
+            @ParameterObject TransactionFilter filter,
+            WebRequest request,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) throws IOException {
+        admission.checkRateLimit(servletRequest.getRemoteAddr());
+
+        ContentCoding artifact = ContentCoding.fromExtension(type);
+        String format = artifact != null ? type.substring(0, type.length() - artifact.extension().length()) : type;
+        ReportGeneratorTemplate strategy = service.get(format);
 
         if (strategy == null) {
             throw new ReportGenerationException("Formato de relatório não suportado: " + type);
         }
 
-        byte[] report = strategy.generateReport();
+        Long watermark = filter.isDelta() ? nextWatermark(filter) : null;
+        if (filter.isDelta() && watermark == null) {
+            return noChanges(filter);
+        }
+        TransactionFilter selection = watermark != null ? filter.withUntilVersion(watermark) : filter;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(artifact != null ? artifact.mimeType() : strategy.getMimeType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        (artifact != null ? "attachment" : strategy.getContentDisposition()) + "; filename=relatorio." + type);
+
+        boolean negotiated = artifact == null && compression.isEnabled();
+        ContentCoding coding = negotiated ? compression.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) : null;
+        if (negotiated) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (watermark != null) {
+            response.header(NEXT_WATERMARK_HEADER, watermark.toString());
+        } else if (selection.limit() != null) {
+            TransactionCursor next = repository.nextCursor(selection);
+            if (next != null) {
+                response.header(NEXT_CURSOR_HEADER, next.toString());
+            }
+        }
+
+        if (!reportCache.isEnabled()) {
+            return response.body(admitted(format, selection, servletResponse,
+                    compressed(out -> strategy.generateReport(out, selection), artifact, coding, servletResponse)));
+        }
+
+        ReportCacheKey key = reportCache.key(format, selection.toParameters());
+
+        String etag = key.etag(artifact != null ? artifact : coding);
+
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        response.eTag(etag);
+
+        CachedReport cached = reportCache.get(key);
+        InputStream content = cached != null ? cached.openStream() : null;
+
+        if (content != null) {
+            StreamingResponseBody body = out -> {
+                try (content) {
+                    content.transferTo(out);
+                }
+            };
+            if (artifact == null && (coding == null || cached.size() < compression.minSize())) {
+                return response.contentLength(cached.size()).body(body);
+            }
+            return response.body(compressed(body, artifact, coding, servletResponse));
+        }
+
+        return response.body(admitted(format, selection, servletResponse, compressed(
+                out -> reportCache.generateAndCache(key, out, capture -> strategy.generateReport(capture, selection)),
+                artifact, coding, servletResponse)));
+    }
+
+    /**
+     * Gera um relatório de resumo: totais (quantidade, soma, média, mínimo e máximo) das transações
+     * agrupadas por categoria e/ou período, calculados pelo banco com GROUP BY.
+     * <p>
+     * Aceita os mesmos filtros de seleção do relatório completo, exceto ordenação e paginação,
+     * e a mesma compressão (Accept-Encoding ou extensão {@code .gz}/{@code .zst} no formato).
+     * </p>
+     *
+     * @param type O formato do arquivo desejado (pdf, csv ou json).
+     * @param groupBy Os agrupamentos: category e/ou um período (day, month ou year).
+     * @param filter Os critérios de seleção das transações.
+     * @param request A requisição, usada para avaliar o cabeçalho Accept-Encoding.
+     * @param servletRequest A requisição, de onde vem o endereço do cliente para o limite de requisições.
+     * @param servletResponse A resposta, onde o Content-Encoding é definido quando a compressão começa.
+     * @return ResponseEntity cujo corpo escreve o resumo na resposta HTTP.
+     */
+    @Operation(summary = "Gera relatório de resumo", description = "Agrupa as transações por categoria e/ou dia, mês ou ano no banco e gera um arquivo com quantidade, soma, média, mínimo e máximo de cada grupo.")
+    @GetMapping("/summary")
+    public ResponseEntity<StreamingResponseBody> summaryGenerate(
+            @Parameter(description = "Formato do arquivo: pdf | csv | json; acrescente .gz ou .zst para baixar comprimido") @RequestParam(name = "format") String type,
+            @Parameter(description = "Agrupamentos, separados por vírgula: category, day, month, year") @RequestParam(name = "groupBy") List<String> groupBy,
+            @ParameterObject TransactionFilter filter,
+            WebRequest request,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) {
+        admission.checkRateLimit(servletRequest.getRemoteAddr());
+
+        ContentCoding artifact = ContentCoding.fromExtension(type);
+        String format = artifact != null ? type.substring(0, type.length() - artifact.extension().length()) : type;
+        ReportGeneratorTemplate strategy = service.get(format);
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(strategy.getMimeType()))
+        if (!(strategy instanceof SummaryRenderer)) {
+            throw new InvalidReportQueryException("Formato de resumo não suportado: " + type + " (use pdf, csv ou json)");
+        }
+        if (filter.isKeysetOrdered() || filter.limit() != null) {
+            throw new InvalidReportQueryException("Ordenação e paginação não se aplicam ao relatório de resumo");
+        }
+        TransactionGrouping grouping = TransactionGrouping.parse(groupBy);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(artifact != null ? artifact.mimeType() : strategy.getMimeType()))
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        strategy.getContentDisposition() + "; filename=relatorio." + type)
-                .body(report);
+                        (artifact != null ? "attachment" : strategy.getContentDisposition()) + "; filename=resumo." + type);
+
+        ContentCoding coding = null;
+        if (artifact == null && compression.isEnabled()) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            coding = compression.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        return response.body(compressed(out -> strategy.generateSummaryReport(out, filter, grouping),
+                artifact, coding, servletResponse));
+    }
+
+    /**
+     * Gera um pacote ZIP com o relatório de transações em vários formatos.
+     * <p>
+     * As transações são lidas do banco uma única vez e entregues a todos os formatos, gerados em
+     * paralelo. O primeiro formato da lista é enviado enquanto é gerado; os demais entram no ZIP à
+     * medida que terminam. A geração passa pelo {@link ReportAdmission} como o formato {@code bundle}.
+     * </p>
+     * <p>
+     * Aceita a exportação incremental ({@code sinceVersion}) como o relatório completo.
+     * </p>
+     *
+     * @param formats Os formatos desejados (pdf, csv, json, ndjson, parquet, arrow, xlsx).
+     * @param filter Os critérios de seleção das transações.
+     * @param servletRequest A requisição, de onde vem o endereço do cliente para o limite de requisições.
+     * @param servletResponse A resposta, descartada se a geração não obtiver vaga.
+     * @return ResponseEntity cujo corpo escreve o ZIP diretamente na resposta HTTP.
+     */
+    @Operation(summary = "Gera pacote ZIP com relatórios em vários formatos", description = "Lê as transações uma única vez e gera os formatos pedidos em paralelo, um arquivo por formato dentro do ZIP.")
+    @GetMapping("/bundle")
+    public ResponseEntity<StreamingResponseBody> bundleGenerate(
+            @Parameter(description = "Formatos separados por vírgula: pdf, csv, json, ndjson, parquet, arrow, xlsx") @RequestParam(name = "formats", defaultValue = "csv,json,pdf") List<String> formats,
+            @ParameterObject TransactionFilter filter,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) {
+        admission.checkRateLimit(servletRequest.getRemoteAddr());
+
+        Map<String, ReportGeneratorTemplate> strategies = new LinkedHashMap<>();
+        for (String format : formats) {
+            ReportGeneratorTemplate strategy = service.get(format);
+            if (strategy == null) {
+                throw new InvalidReportQueryException("Formato de relatório não suportado: " + format);
+            }
+            strategies.put(format, strategy);
+        }
+        if (strategies.isEmpty()) {
+            throw new InvalidReportQueryException("Informe ao menos um formato para o pacote");
+        }
+
+        Long watermark = filter.isDelta() ? nextWatermark(filter) : null;
+        if (filter.isDelta() && watermark == null) {
+            return noChanges(filter);
+        }
+        TransactionFilter selection = watermark != null ? filter.withUntilVersion(watermark) : filter;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=relatorio.zip");
+
+        if (watermark != null) {
+            response.header(NEXT_WATERMARK_HEADER, watermark.toString());
+        } else if (selection.limit() != null) {
+            TransactionCursor next = repository.nextCursor(selection);
+            if (next != null) {
+                response.header(NEXT_CURSOR_HEADER, next.toString());
+            }
+        }
+
+        return response.body(admitted("bundle", selection, servletResponse,
+                out -> bundleService.generateBundle(out, strategies, selection)));
+    }
+
+    /**
+     * Retorna as métricas do cache de relatórios.
+     * 
+     * @return Acertos, falhas, descartes e ocupação do cache.
+     */
+    @Operation(summary = "Métricas do cache de relatórios")
+    @GetMapping("/cache")
+    public ReportCacheStats cacheStats() {
+        return reportCache.stats();
+    }
+
+    /**
+     * Calcula a versão até a qual a exportação incremental vai: a última linha alterada (ou da página,
+     * com {@code limit}), sem passar das versões de importações ainda não confirmadas. O piso entra na
+     * consulta, e não só no resultado: se todas as alterações estiverem acima dele, não há o que exportar.
+     *
+     * @return A próxima marca d'água, ou {@code null} se nada mudou desde {@code sinceVersion}.
+     */
+    private Long nextWatermark(TransactionFilter filter) {
+        long since = filter.sinceVersion();
+        long watermark = versionHorizon.bounded(floor -> {
+            long until = filter.untilVersion() == null ? floor : Math.min(filter.untilVersion(), floor);
+            Long last = repository.lastVersion(until == Long.MAX_VALUE ? filter : filter.withUntilVersion(until));
+            return last == null ? since : last;
+        });
+        return watermark > since ? watermark : null;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> noChanges(TransactionFilter filter) {
+        return ResponseEntity.noContent()
+                .header(NEXT_WATERMARK_HEADER, filter.sinceVersion().toString())
+                .build();
+    }
+
+    /**
+     * Obtém a vaga de geração já na thread que escreve o corpo, para que a espera na fila não ocupe a
+     * thread da requisição, e a mantém até o corpo terminar de ser escrito, mesmo que a escrita falhe.
+     * A estimativa de tamanho também é feita ali. Sem vaga, nada foi escrito: os cabeçalhos do relatório
+     * são descartados e a exceção vira um 503.
+     */
+    private StreamingResponseBody admitted(String format, TransactionFilter filter, HttpServletResponse servletResponse,
+            StreamingResponseBody body) {
+        return out -> {
+            ReportAdmission.Permit permit;
+            try {
+                permit = admission.admit(format, filter);
+            } catch (ReportOverloadedException e) {
+                if (!servletResponse.isCommitted()) {
+                    servletResponse.reset();
+                }
+                throw e;
+            }
+            try (permit) {
+                body.writeTo(out);
+            }
+        };
+    }
+
+    /**
+     * Envolve o corpo da resposta na compressão pedida: sempre, para os artefatos {@code .gz}/{@code .zst},
+     * ou a partir do tamanho mínimo, para a compressão negociada. O cache continua recebendo o relatório
+     * sem compressão, pois a captura fica entre a estratégia e o compressor.
+     */
+    private StreamingResponseBody compressed(StreamingResponseBody body, ContentCoding artifact, ContentCoding coding,
+            HttpServletResponse servletResponse) {
+        if (artifact == null && coding == null) {
+            return body;
+        }
+        return out -> {
+            try (CompressingOutputStream compressed = artifact != null
+                    ? compression.compress(out, artifact)
+                    : compression.compressAboveMinSize(out, coding,
+                            () -> servletResponse.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token()))) {
+                body.writeTo(compressed);
+                compressed.finish();
+            }
+        };
     }
 
 }
@@ -0,0 +1,106 @@
+package com.gabrielmkv.file_converter.controller;
+
+import java.net.URI;
+
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.service.job.ReportJob;
+import com.gabrielmkv.file_converter.service.job.ReportJobService;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.ReportStrategies;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+
+
+/**
+ * Controlador REST para geração assíncrona de relatórios.
+ * Permite criar um job, acompanhar seu progresso, baixar o arquivo gerado e cancelar.
+ */
+@RestController
+@RequestMapping("/report/jobs")
+public class ReportJobController {
+
+    private final ReportJobService jobService;
+    private final ReportStrategies service;
+
+    public ReportJobController(ReportJobService jobService, ReportStrategies service) {
+        this.jobService = jobService;
+        this.service = service;
+    }
+
+    /**
+     * Cria um job de geração de relatório.
+     *
+     * @param type O formato do arquivo desejado (pdf, csv, json, ndjson, parquet, arrow, xlsx).
+     * @param filter Os critérios de seleção das transações.
+     * @return 202 (Accepted) com o job criado e o endereço para acompanhamento.
+     */
+    @Operation(summary = "Cria um job de relatório", description = "Enfileira a geração do relatório e retorna o id do job. Retorna 429 se a fila estiver cheia.")
+    @PostMapping
+    public ResponseEntity<ReportJob> createJob(
+            @Parameter(description = "Formato do arquivo: pdf | csv | json | ndjson | parquet | arrow | xlsx") @RequestParam(name = "format") String type,
+            @ParameterObject TransactionFilter filter) {
+        ReportJob job = jobService.submit(type, filter);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/report/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Consulta o estado e o progresso de um job.
+     *
+     * @param id O identificador do job.
+     * @return O job com estado, linhas renderizadas e total de linhas.
+     */
+    @Operation(summary = "Consulta um job de relatório", description = "Retorna o estado e o progresso (linhas renderizadas / total).")
+    @GetMapping("/{id}")
+    public ReportJob getJob(@PathVariable String id) {
+        return jobService.get(id);
+    }
+
+    /**
+     * Baixa o arquivo de um job concluído.
+     *
+     * @param id O identificador do job.
+     * @return O arquivo gerado, ou 409 (Conflict) se o job ainda não terminou.
+     */
+    @Operation(summary = "Baixa o relatório de um job", description = "Disponível apenas para jobs com estado COMPLETED.")
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String id) {
+        Resource file = new FileSystemResource(jobService.getFile(id));
+        ReportJob job = jobService.get(id);
+        ReportGeneratorTemplate strategy = service.get(job.getFormat());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(strategy.getMimeType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=relatorio." + job.getFormat())
+                .body(file);
+    }
+
+    /**
+     * Cancela um job na fila ou em execução.
+     *
+     * @param id O identificador do job.
+     * @return O job após o cancelamento.
+     */
+    @Operation(summary = "Cancela um job de relatório")
+    @DeleteMapping("/{id}")
+    public ReportJob cancelJob(@PathVariable String id) {
+        return jobService.cancel(id);
+    }
+}
@@ -0,0 +1,102 @@
+package com.gabrielmkv.file_converter.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.gabrielmkv.file_converter.exception.ImportFailedException;
+import com.gabrielmkv.file_converter.exception.InvalidImportFileException;
+import com.gabrielmkv.file_converter.service.importer.ImportFailure;
+import com.gabrielmkv.file_converter.service.importer.ImportResult;
+import com.gabrielmkv.file_converter.service.importer.TransactionImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Controlador REST para importação de arquivos de transações.
+ * Aceita CSV (mesmo layout do relatório CSV) ou array JSON, enviados como upload
+ * multipart ou diretamente no corpo da requisição.
+ */
+@RestController
+@RequestMapping("/transactions/import")
+public class TransactionImportController {
+
+    private final TransactionImportService importService;
+
+    public TransactionImportController(TransactionImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Importa um arquivo enviado como upload multipart.
+     *
+     * @param file O arquivo (.csv ou .json).
+     * @param format O formato, quando não puder ser deduzido pela extensão.
+     * @param deduplicate Se linhas já gravadas devem ser descartadas (padrão: transactions.import.dedup.enabled).
+     * @return O resultado da importação.
+     */
+    @Operation(summary = "Importa transações de um arquivo", description = "Lê o arquivo linha a linha e grava em lotes. Linhas inválidas são reportadas sem interromper a importação; uma falha de leitura ou do banco responde com as linhas já confirmadas (rowsCommitted) e a última linha do arquivo confirmada (lastCommittedRow); com deduplicação, linhas iguais a transações já gravadas são descartadas e contadas em rowsDuplicated.")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportResult importUpload(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Formato do arquivo: csv | json (opcional)") @RequestParam(name = "format", required = false) String format,
+            @Parameter(description = "Descarta linhas iguais (data, descrição, valor e categoria) a transações já gravadas (opcional)") @RequestParam(name = "deduplicate", required = false) Boolean deduplicate)
+            throws IOException {
+        String resolved = format != null ? format : formatFromName(file.getOriginalFilename());
+
+        try (InputStream in = file.getInputStream()) {
+            return importService.importFile(resolved, in, deduplicate);
+        }
+    }
+
+    /**
+     * Importa o arquivo enviado diretamente no corpo da requisição (text/csv ou application/json),
+     * sem armazenamento intermediário.
+     *
+     * @param contentType O tipo do conteúdo enviado.
+     * @param request A requisição, de onde o corpo é lido em fluxo.
+     * @param deduplicate Se linhas já gravadas devem ser descartadas (padrão: transactions.import.dedup.enabled).
+     * @return O resultado da importação.
+     */
+    @Operation(summary = "Importa transações do corpo da requisição")
+    @PostMapping(consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    public ImportResult importBody(@RequestHeader("Content-Type") String contentType, HttpServletRequest request,
+            @Parameter(description = "Descarta linhas iguais (data, descrição, valor e categoria) a transações já gravadas (opcional)") @RequestParam(name = "deduplicate", required = false) Boolean deduplicate)
+            throws IOException {
+        String format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON) ? "json" : "csv";
+        return importService.importFile(format, request.getInputStream(), deduplicate);
+    }
+
+    /**
+     * Responde a uma importação interrompida com as linhas já confirmadas e a posição do arquivo até onde
+     * foram confirmadas, para que o restante possa ser reenviado.
+     */
+    @ExceptionHandler(ImportFailedException.class)
+    public ResponseEntity<ImportFailure> importFailed(ImportFailedException e) {
+        return ResponseEntity.status(e.getStatus()).body(e.getFailure());
+    }
+
+    private static String formatFromName(String name) {
+        if (name != null) {
+            String lower = name.toLowerCase();
+            if (lower.endsWith(".csv")) {
+                return "csv";
+            }
+            if (lower.endsWith(".json")) {
+                return "json";
+            }
+        }
+        throw new InvalidImportFileException("Não foi possível identificar o formato do arquivo: " + name);
+    }
+}
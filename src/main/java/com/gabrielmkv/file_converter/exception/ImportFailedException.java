@@ -0,0 +1,33 @@
+package com.gabrielmkv.file_converter.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.gabrielmkv.file_converter.service.importer.ImportFailure;
+
+/**
+ * Exceção lançada quando uma importação é interrompida (arquivo ilegível ou falha do banco).
+ * <p>
+ * As linhas confirmadas antes da falha permanecem no banco; o {@link ImportFailure} informa quantas são e
+ * até que linha do arquivo a importação foi confirmada, para que o restante possa ser reenviado.
+ * Retorna status HTTP 400 (Bad Request) quando o arquivo é inválido e 500 nas demais falhas.
+ * </p>
+ */
+public class ImportFailedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final ImportFailure failure;
+
+    public ImportFailedException(HttpStatus status, ImportFailure failure, Throwable cause) {
+        super(failure.message(), cause);
+        this.status = status;
+        this.failure = failure;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public ImportFailure getFailure() {
+        return failure;
+    }
+}
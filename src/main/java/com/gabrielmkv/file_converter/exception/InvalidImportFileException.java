@@ -0,0 +1,22 @@
+package com.gabrielmkv.file_converter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o arquivo enviado para importação não pode ser lido
+ * (formato desconhecido, cabeçalho ausente ou estrutura inválida).
+ * Retorna status HTTP 400 (Bad Request).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportFileException extends RuntimeException {
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+
+    public InvalidImportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
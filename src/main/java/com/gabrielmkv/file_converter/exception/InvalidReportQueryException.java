@@ -0,0 +1,21 @@
+package com.gabrielmkv.file_converter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando os parâmetros de consulta de um relatório são inválidos.
+ * Retorna status HTTP 400 (Bad Request).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReportQueryException extends RuntimeException {
+
+    public InvalidReportQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidReportQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.gabrielmkv.file_converter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando um job de relatório não existe ou já expirou.
+ * Retorna status HTTP 404 (Not Found).
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReportJobNotFoundException extends RuntimeException {
+
+    public ReportJobNotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.gabrielmkv.file_converter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada ao tentar baixar o arquivo de um job que ainda não foi concluído.
+ * Retorna status HTTP 409 (Conflict).
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReportJobNotReadyException extends RuntimeException {
+
+    public ReportJobNotReadyException(String message) {
+        super(message);
+    }
+
+}
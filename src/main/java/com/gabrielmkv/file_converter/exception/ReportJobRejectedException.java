@@ -0,0 +1,17 @@
+package com.gabrielmkv.file_converter.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a fila de jobs de relatório está cheia.
+ * Retorna status HTTP 429 (Too Many Requests).
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ReportJobRejectedException extends RuntimeException {
+
+    public ReportJobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
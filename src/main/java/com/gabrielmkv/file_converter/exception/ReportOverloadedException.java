@@ -0,0 +1,28 @@
+package com.gabrielmkv.file_converter.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exceção lançada quando não há vaga para gerar o relatório: a fila do formato está cheia
+ * ou a espera por uma vaga excedeu o tempo limite.
+ * Retorna status HTTP 503 (Service Unavailable) com o cabeçalho Retry-After.
+ */
+public class ReportOverloadedException extends ResponseStatusException {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public ReportOverloadedException(String message, Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.gabrielmkv.file_converter.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exceção lançada quando um cliente excede o limite de requisições de relatório.
+ * Retorna status HTTP 429 (Too Many Requests) com o cabeçalho Retry-After.
+ */
+public class ReportRateLimitedException extends ResponseStatusException {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public ReportRateLimitedException(String message, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+}
@@ -7,20 +7,40 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 /**
  * Representa uma transação financeira no sistema.
  * Esta entidade mapeia os dados de transações (data, descrição, valor e categoria)
  * para a tabela 'transactions' no banco de dados.
+ * <p>
+ * A coluna {@code row_version} é preenchida pelo banco, a partir da sequência
+ * {@code transactions_version_seq}, a cada insert e update (ver {@code transactions-schema.sql}).
+ * É a marca d'água das exportações incrementais.
+ * </p>
+ * <p>
+ * A coluna {@code fingerprint} guarda o hash de (data, descrição, valor, categoria) usado pela importação
+ * com deduplicação (ver {@code TransactionKey}).
+ * </p>
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_date_id", columnList = "transaction_date, id"),
+        @Index(name = "idx_transactions_category", columnList = "category"),
+        @Index(name = "idx_transactions_row_version", columnList = "row_version"),
+        @Index(name = "idx_transactions_fingerprint", columnList = "fingerprint")
+})
+@EntityListeners(TransactionChangeListener.class)
 @JsonPropertyOrder({"date", "description", "value", "category"})
 public class Transaction {
     
@@ -37,6 +57,13 @@ public class Transaction {
     private BigDecimal value;
     @Column(name = "category")
     private String category;
+    @Column(name = "row_version", nullable = false, insertable = false, updatable = false)
+    @Generated(event = { EventType.INSERT, EventType.UPDATE })
+    @JsonIgnore
+    private Long rowVersion;
+    @Column(name = "fingerprint")
+    @JsonIgnore
+    private Long fingerprint;
 
     public Long getId() {
         return id;
@@ -68,5 +95,14 @@ public class Transaction {
     public void setCategory(String category) {
         this.category = category;
     }
+    public Long getRowVersion() {
+        return rowVersion;
+    }
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+    public void setFingerprint(Long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
 
 }
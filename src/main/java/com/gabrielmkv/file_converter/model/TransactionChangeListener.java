@@ -0,0 +1,44 @@
+package com.gabrielmkv.file_converter.model;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.gabrielmkv.file_converter.service.importer.TransactionKey;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Listener JPA que publica um {@link TransactionChangedEvent} a cada escrita de {@link Transaction}, com o
+ * qual a versão dos dados avança e os totais diários e o filtro de deduplicação são marcados para
+ * reconstrução.
+ * <p>
+ * O Hibernate obtém o listener do contexto do Spring ({@code SpringBeanContainer}), que injeta o publicador.
+ * </p>
+ */
+public class TransactionChangeListener {
+
+    private final ApplicationEventPublisher events;
+
+    public TransactionChangeListener(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateFingerprint(Transaction transaction) {
+        // Sem os campos obrigatórios o banco rejeita a escrita de qualquer forma.
+        if (transaction.getDate() != null && transaction.getDescription() != null && transaction.getValue() != null) {
+            transaction.setFingerprint(TransactionKey.of(transaction).fingerprint());
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Transaction transaction) {
+        events.publishEvent(new TransactionChangedEvent(transaction));
+    }
+}
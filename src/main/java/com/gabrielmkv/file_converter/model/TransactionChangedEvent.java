@@ -0,0 +1,11 @@
+package com.gabrielmkv.file_converter.model;
+
+/**
+ * Evento publicado pelo {@link TransactionChangeListener} a cada {@link Transaction} inserida, alterada ou
+ * removida pelo JPA, para que os componentes que derivam dados da tabela de transações se marquem como
+ * desatualizados.
+ *
+ * @param transaction A transação escrita.
+ */
+public record TransactionChangedEvent(Transaction transaction) {
+}
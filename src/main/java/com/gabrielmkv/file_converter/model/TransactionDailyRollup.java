@@ -0,0 +1,67 @@
+package com.gabrielmkv.file_converter.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Totais pré-calculados das transações por dia e categoria.
+ * <p>
+ * A tabela 'transaction_daily_rollup' é mantida por
+ * {@link com.gabrielmkv.file_converter.service.summary.TransactionRollup}: reconstruída na
+ * inicialização e atualizada a cada lote importado. Resumos por categoria, mês ou ano são
+ * calculados sobre ela, que tem uma linha por dia e categoria em vez de uma por transação.
+ * </p>
+ */
+@Entity
+@Table(name = "transaction_daily_rollup", indexes = {
+        @Index(name = "idx_rollup_date_category", columnList = "rollup_date, category")
+})
+public class TransactionDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate date;
+    @Column(name = "category")
+    private String category;
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+    @Column(name = "value_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal sum;
+    @Column(name = "value_min", nullable = false, precision = 10, scale = 2)
+    private BigDecimal min;
+    @Column(name = "value_max", nullable = false, precision = 10, scale = 2)
+    private BigDecimal max;
+
+    public Long getId() {
+        return id;
+    }
+    public LocalDate getDate() {
+        return date;
+    }
+    public String getCategory() {
+        return category;
+    }
+    public long getCount() {
+        return count;
+    }
+    public BigDecimal getSum() {
+        return sum;
+    }
+    public BigDecimal getMin() {
+        return min;
+    }
+    public BigDecimal getMax() {
+        return max;
+    }
+
+}
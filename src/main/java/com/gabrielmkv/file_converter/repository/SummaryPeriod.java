@@ -0,0 +1,37 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Períodos de agrupamento dos relatórios de resumo.
+ */
+public enum SummaryPeriod {
+
+    DAY(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+    MONTH(DateTimeFormatter.ofPattern("yyyy-MM")),
+    YEAR(DateTimeFormatter.ofPattern("yyyy"));
+
+    private final DateTimeFormatter format;
+
+    SummaryPeriod(DateTimeFormatter format) {
+        this.format = format;
+    }
+
+    /**
+     * @return O nome do período em minúsculas, usado como parâmetro e como título de coluna.
+     */
+    public String label() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Formata o início do período: {@code 2026-02-15}, {@code 2026-02} ou {@code 2026}.
+     *
+     * @param start O primeiro dia do período.
+     * @return O período formatado.
+     */
+    public String format(LocalDate start) {
+        return format.format(start);
+    }
+}
@@ -0,0 +1,36 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.gabrielmkv.file_converter.exception.InvalidReportQueryException;
+
+/**
+ * Posição de uma transação na ordenação (data, id), usada na paginação por keyset.
+ * Representada textualmente como {@code yyyy-MM-dd:id}.
+ *
+ * @param date A data da transação.
+ * @param id O id da transação.
+ */
+public record TransactionCursor(LocalDate date, long id) {
+
+    /**
+     * @param value O cursor no formato {@code yyyy-MM-dd:id}.
+     * @return O cursor correspondente.
+     * @throws InvalidReportQueryException se o formato for inválido.
+     */
+    public static TransactionCursor parse(String value) {
+        int separator = value.lastIndexOf(':');
+        try {
+            return new TransactionCursor(LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new InvalidReportQueryException("Cursor inválido: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return date + ":" + id;
+    }
+}
@@ -0,0 +1,16 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Quantidade e limites (ids e datas) das transações selecionadas por um filtro, usados para
+ * dividir uma leitura em faixas.
+ *
+ * @param count A quantidade de transações.
+ * @param minId O menor id, ou {@code null} se nenhuma transação for selecionada.
+ * @param maxId O maior id.
+ * @param minDate A menor data.
+ * @param maxDate A maior data.
+ */
+public record TransactionExtent(long count, Long minId, Long maxId, LocalDate minDate, LocalDate maxDate) {
+}
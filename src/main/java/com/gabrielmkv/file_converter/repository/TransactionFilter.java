@@ -0,0 +1,146 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.gabrielmkv.file_converter.exception.InvalidReportQueryException;
+
+import io.swagger.v3.oas.annotations.Parameter;
+
+/**
+ * Critérios de seleção das transações de um relatório, recebidos como parâmetros de consulta.
+ * <p>
+ * Sem ordenação nem paginação, as transações seguem a ordem de id. Com {@code sort},
+ * {@code limit} ou {@code after}, a ordem passa a ser (data, id), que permite a paginação
+ * por keyset: cada página informa o cursor da última linha, usado em {@code after} para
+ * buscar a próxima sem OFFSET.
+ * </p>
+ * <p>
+ * Com {@code sinceVersion}, a consulta é incremental: só entram as transações inseridas ou alteradas
+ * depois daquela versão ({@code row_version}), na ordem de versão, lidas pelo índice da coluna.
+ * {@code limit} continua valendo; ordenação por data e cursor não se aplicam.
+ * </p>
+ *
+ * @param from Data inicial (inclusive).
+ * @param to Data final (inclusive).
+ * @param category Categorias aceitas.
+ * @param minValue Valor mínimo (inclusive).
+ * @param maxValue Valor máximo (inclusive).
+ * @param sort Ordenação por data: asc ou desc.
+ * @param limit Quantidade máxima de transações.
+ * @param after Cursor da última transação da página anterior ({@code yyyy-MM-dd:id}).
+ * @param sinceVersion Versão já recebida (exclusiva): seleciona apenas as transações alteradas depois dela.
+ * @param untilVersion Versão final (inclusiva) de uma consulta incremental.
+ */
+public record TransactionFilter(
+        @Parameter(description = "Data inicial (yyyy-MM-dd)") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Data final (yyyy-MM-dd)") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(description = "Categorias, separadas por vírgula") List<String> category,
+        @Parameter(description = "Valor mínimo") BigDecimal minValue,
+        @Parameter(description = "Valor máximo") BigDecimal maxValue,
+        @Parameter(description = "Ordenação por data: asc | desc") String sort,
+        @Parameter(description = "Quantidade máxima de transações") Integer limit,
+        @Parameter(description = "Cursor da página anterior (yyyy-MM-dd:id)") String after,
+        @Parameter(description = "Exportação incremental: última versão recebida (cabeçalho X-Next-Watermark)") Long sinceVersion,
+        @Parameter(description = "Exportação incremental: versão final (inclusiva)") Long untilVersion) {
+
+    /**
+     * Filtro que seleciona todas as transações, em ordem de id.
+     */
+    public static final TransactionFilter ALL = new TransactionFilter(null, null, null, null, null, null, null, null, null, null);
+
+    public TransactionFilter {
+        category = category == null || category.isEmpty() ? null : List.copyOf(category);
+        if (sort != null && !sort.equalsIgnoreCase("asc") && !sort.equalsIgnoreCase("desc")) {
+            throw new InvalidReportQueryException("Ordenação inválida: " + sort + " (use asc ou desc)");
+        }
+        if (limit != null && limit <= 0) {
+            throw new InvalidReportQueryException("O limite deve ser maior que zero");
+        }
+        if (after != null) {
+            TransactionCursor.parse(after);
+        }
+        if (sinceVersion != null && sinceVersion < 0 || untilVersion != null && untilVersion < 0) {
+            throw new InvalidReportQueryException("A versão não pode ser negativa");
+        }
+        if (untilVersion != null && sinceVersion == null) {
+            throw new InvalidReportQueryException("untilVersion exige sinceVersion");
+        }
+        if (sinceVersion != null && (sort != null || after != null)) {
+            throw new InvalidReportQueryException("Ordenação e cursor não se aplicam à exportação incremental");
+        }
+    }
+
+    /**
+     * @return {@code true} se a consulta for incremental ({@code sinceVersion} informado).
+     */
+    public boolean isDelta() {
+        return sinceVersion != null;
+    }
+
+    /**
+     * @param version A versão final da consulta incremental.
+     * @return Uma cópia do filtro limitada a {@code version}.
+     */
+    public TransactionFilter withUntilVersion(long version) {
+        return new TransactionFilter(from, to, category, minValue, maxValue, sort, limit, after, sinceVersion, version);
+    }
+
+    /**
+     * @return Uma cópia do filtro sem {@code limit}.
+     */
+    public TransactionFilter withoutLimit() {
+        return new TransactionFilter(from, to, category, minValue, maxValue, sort, null, after, sinceVersion, untilVersion);
+    }
+
+    /**
+     * @return {@code true} se as transações devem seguir a ordem (data, id) em vez do id (ou da versão,
+     *         nas consultas incrementais).
+     */
+    public boolean isKeysetOrdered() {
+        return !isDelta() && (sort != null || limit != null || after != null);
+    }
+
+    /**
+     * @return {@code true} se a ordenação por data for decrescente.
+     */
+    public boolean isDescending() {
+        return "desc".equalsIgnoreCase(sort);
+    }
+
+    /**
+     * @return O cursor de {@code after}, ou {@code null} se não informado.
+     */
+    public TransactionCursor cursor() {
+        return after == null ? null : TransactionCursor.parse(after);
+    }
+
+    /**
+     * @return Os critérios informados, para compor chaves de cache.
+     */
+    public Map<String, Object> toParameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        putIfPresent(parameters, "from", from);
+        putIfPresent(parameters, "to", to);
+        putIfPresent(parameters, "category", category);
+        putIfPresent(parameters, "minValue", minValue);
+        putIfPresent(parameters, "maxValue", maxValue);
+        putIfPresent(parameters, "sort", sort == null ? null : sort.toLowerCase());
+        putIfPresent(parameters, "limit", limit);
+        putIfPresent(parameters, "after", after);
+        putIfPresent(parameters, "sinceVersion", sinceVersion);
+        putIfPresent(parameters, "untilVersion", untilVersion);
+        return parameters;
+    }
+
+    private static void putIfPresent(Map<String, Object> parameters, String name, Object value) {
+        if (value != null) {
+            parameters.put(name, value);
+        }
+    }
+}
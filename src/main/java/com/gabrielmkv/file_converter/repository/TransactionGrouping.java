@@ -0,0 +1,63 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.gabrielmkv.file_converter.exception.InvalidReportQueryException;
+
+/**
+ * Agrupamento de um relatório de resumo: por categoria, por período ou pelos dois.
+ *
+ * @param byCategory Se as transações são agrupadas por categoria.
+ * @param period O período de agrupamento, ou {@code null} se não houver.
+ */
+public record TransactionGrouping(boolean byCategory, SummaryPeriod period) {
+
+    public TransactionGrouping {
+        if (!byCategory && period == null) {
+            throw new InvalidReportQueryException("Informe ao menos um agrupamento: category, day, month ou year");
+        }
+    }
+
+    /**
+     * Interpreta o parâmetro {@code groupBy} (ex.: {@code category,month}).
+     *
+     * @param groupBy Os agrupamentos informados.
+     * @return O agrupamento correspondente.
+     * @throws InvalidReportQueryException se houver agrupamento desconhecido ou mais de um período.
+     */
+    public static TransactionGrouping parse(List<String> groupBy) {
+        boolean byCategory = false;
+        SummaryPeriod period = null;
+
+        for (String value : groupBy == null ? List.<String>of() : groupBy) {
+            String name = value.trim().toLowerCase(Locale.ROOT);
+            if (name.equals("category")) {
+                byCategory = true;
+                continue;
+            }
+            SummaryPeriod parsed = switch (name) {
+                case "day" -> SummaryPeriod.DAY;
+                case "month" -> SummaryPeriod.MONTH;
+                case "year" -> SummaryPeriod.YEAR;
+                default -> throw new InvalidReportQueryException(
+                        "Agrupamento inválido: " + value + " (use category, day, month ou year)");
+            };
+            if (period != null && period != parsed) {
+                throw new InvalidReportQueryException("Informe apenas um período de agrupamento (day, month ou year)");
+            }
+            period = parsed;
+        }
+        return new TransactionGrouping(byCategory, period);
+    }
+
+    /**
+     * @return O agrupamento no formato do parâmetro {@code groupBy}, para compor chaves de cache.
+     */
+    public String toParameter() {
+        if (period == null) {
+            return "category";
+        }
+        return byCategory ? "category," + period.label() : period.label();
+    }
+}
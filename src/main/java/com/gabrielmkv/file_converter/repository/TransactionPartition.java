@@ -0,0 +1,20 @@
+package com.gabrielmkv.file_converter.repository;
+
+/**
+ * Faixa de uma leitura particionada: o intervalo {@code [lower, upper)} de ids ou de datas (em dias
+ * desde 1970-01-01), combinado às demais condições do filtro. As faixas de uma consulta não se
+ * sobrepõem, e lidas em sequência reproduzem a ordenação da consulta inteira.
+ *
+ * @param key A coluna dividida em faixas.
+ * @param lower O início da faixa (inclusive).
+ * @param upper O fim da faixa (exclusive).
+ */
+public record TransactionPartition(Key key, long lower, long upper) {
+
+    /**
+     * Coluna usada para dividir a consulta: o id na ordem padrão e a data na ordem (data, id).
+     */
+    public enum Key {
+        ID, DATE
+    }
+}
@@ -0,0 +1,92 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.model.TransactionDailyRollup;
+
+/**
+ * Consultas filtradas de transações, implementadas com a Criteria API a partir das
+ * {@link TransactionSpecifications}.
+ */
+public interface TransactionQueries {
+
+    /**
+     * Percorre, via cursor, as transações que atendem ao filtro, na ordem definida por ele.
+     * O stream deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param filter Os critérios de seleção.
+     * @return Stream com as transações selecionadas.
+     */
+    Stream<Transaction> streamMatching(TransactionFilter filter);
+
+    /**
+     * Percorre, via cursor, as mesmas linhas de {@link #streamMatching}, mas como projeções
+     * {@link TransactionRow} montadas diretamente das colunas, sem entidades gerenciadas.
+     * É o caminho de leitura dos relatórios. O stream deve ser consumido dentro de uma
+     * transação e fechado ao final.
+     *
+     * @param filter Os critérios de seleção.
+     * @return Stream com as linhas selecionadas.
+     */
+    Stream<TransactionRow> streamRows(TransactionFilter filter);
+
+    /**
+     * Percorre, via cursor, as linhas de {@link #streamRows(TransactionFilter)} restritas a uma faixa de
+     * ids ou datas, na mesma ordem. Cada faixa pode ser lida numa transação (e conexão) própria.
+     *
+     * @param filter Os critérios de seleção, sem {@code limit}.
+     * @param partition A faixa a ser lida.
+     * @return Stream com as linhas da faixa.
+     */
+    Stream<TransactionRow> streamRows(TransactionFilter filter, TransactionPartition partition);
+
+    /**
+     * Calcula a quantidade e os limites de id e data das transações que atendem ao filtro, numa única
+     * consulta de agregação.
+     *
+     * @param filter Os critérios de seleção; {@code limit} é ignorado.
+     * @return A quantidade e os limites das transações selecionadas.
+     */
+    TransactionExtent extent(TransactionFilter filter);
+
+    /**
+     * Calcula o cursor da próxima página de uma consulta paginada. Lê apenas as chaves
+     * (data, id) das linhas da página atual, a partir do cursor informado.
+     *
+     * @param filter Os critérios de seleção, com {@code limit} definido.
+     * @return O cursor da última linha da página, ou {@code null} se não houver próxima página.
+     */
+    TransactionCursor nextCursor(TransactionFilter filter);
+
+    /**
+     * Calcula a versão da última linha de uma consulta incremental, respeitando {@code limit}.
+     * Lê apenas o índice de {@code row_version}, então o custo depende do tamanho da diferença,
+     * não da tabela.
+     *
+     * @param filter Os critérios de seleção, com {@code sinceVersion} definido.
+     * @return A maior versão selecionada, ou {@code null} se nenhuma transação mudou.
+     */
+    Long lastVersion(TransactionFilter filter);
+
+    /**
+     * Calcula os totais das transações que atendem ao filtro, agrupados no banco por
+     * categoria e/ou período (GROUP BY), sem carregar as entidades.
+     *
+     * @param filter Os critérios de seleção; ordenação e paginação são ignoradas.
+     * @param grouping O agrupamento dos totais.
+     * @return Os grupos, ordenados por período e categoria.
+     */
+    List<TransactionSummary> summarize(TransactionFilter filter, TransactionGrouping grouping);
+
+    /**
+     * Calcula os mesmos totais de {@link #summarize} a partir dos totais diários pré-calculados
+     * ({@link TransactionDailyRollup}). Só considera os filtros de data e categoria.
+     *
+     * @param filter Os critérios de seleção; apenas datas e categorias são aplicadas.
+     * @param grouping O agrupamento dos totais.
+     * @return Os grupos, ordenados por período e categoria.
+     */
+    List<TransactionSummary> summarizeRollup(TransactionFilter filter, TransactionGrouping grouping);
+}
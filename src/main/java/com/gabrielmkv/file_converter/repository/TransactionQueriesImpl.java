@@ -0,0 +1,213 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.model.TransactionDailyRollup;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.LocalDateField;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Implementação de {@link TransactionQueries}, incorporada ao {@link TransactionRepository}.
+ */
+class TransactionQueriesImpl implements TransactionQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Transaction> streamMatching(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = cb.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.where(TransactionSpecifications.matching(filter).toPredicate(root, query, cb))
+                .orderBy(TransactionSpecifications.ordering(cb, root, filter));
+
+        TypedQuery<Transaction> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (filter.limit() != null) {
+            typedQuery.setMaxResults(filter.limit());
+        }
+        return typedQuery.getResultStream();
+    }
+
+    @Override
+    public Stream<TransactionRow> streamRows(TransactionFilter filter) {
+        return streamRows(filter, null);
+    }
+
+    @Override
+    public Stream<TransactionRow> streamRows(TransactionFilter filter, TransactionPartition partition) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionRow> query = cb.createQuery(TransactionRow.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Specification<Transaction> matching = TransactionSpecifications.matching(filter);
+        if (partition != null) {
+            matching = matching.and(TransactionSpecifications.within(partition));
+        }
+
+        query.select(cb.construct(TransactionRow.class, root.get("id"), root.get("date"), root.get("description"),
+                        root.get("value"), root.get("category")))
+                .where(matching.toPredicate(root, query, cb))
+                .orderBy(TransactionSpecifications.ordering(cb, root, filter));
+
+        TypedQuery<TransactionRow> typedQuery = entityManager.createQuery(query);
+        if (filter.limit() != null) {
+            typedQuery.setMaxResults(filter.limit());
+        }
+        return typedQuery.getResultStream();
+    }
+
+    @Override
+    public TransactionExtent extent(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+        Path<Long> id = root.get("id");
+        Path<LocalDate> date = root.get("date");
+
+        query.multiselect(cb.count(root), cb.min(id), cb.max(id), cb.least(date), cb.greatest(date))
+                .where(TransactionSpecifications.matching(filter).toPredicate(root, query, cb));
+
+        Tuple extent = entityManager.createQuery(query).getSingleResult();
+        return new TransactionExtent(extent.get(0, Long.class), extent.get(1, Long.class), extent.get(2, Long.class),
+                extent.get(3, LocalDate.class), extent.get(4, LocalDate.class));
+    }
+
+    @Override
+    public TransactionCursor nextCursor(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.multiselect(root.get("date"), root.get("id"))
+                .where(TransactionSpecifications.matching(filter).toPredicate(root, query, cb))
+                .orderBy(TransactionSpecifications.ordering(cb, root, filter));
+
+        // A última linha da página e a seguinte, que indica se há próxima página.
+        List<Tuple> keys = entityManager.createQuery(query)
+                .setFirstResult(filter.limit() - 1)
+                .setMaxResults(2)
+                .getResultList();
+
+        if (keys.size() < 2) {
+            return null;
+        }
+        return new TransactionCursor(keys.get(0).get(0, LocalDate.class), keys.get(0).get(1, Long.class));
+    }
+
+    @Override
+    public Long lastVersion(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Path<Long> version = root.get("rowVersion");
+        Predicate matching = TransactionSpecifications.matching(filter).toPredicate(root, query, cb);
+
+        if (filter.limit() == null) {
+            return entityManager.createQuery(query.select(cb.max(version)).where(matching)).getSingleResult();
+        }
+
+        // Com limite, a versão da última linha da página; se a diferença for menor que a página, a maior versão.
+        List<Long> last = entityManager.createQuery(query.select(version).where(matching).orderBy(cb.asc(version)))
+                .setFirstResult(filter.limit() - 1)
+                .setMaxResults(1)
+                .getResultList();
+        if (!last.isEmpty()) {
+            return last.getFirst();
+        }
+        return lastVersion(filter.withoutLimit());
+    }
+
+    @Override
+    public List<TransactionSummary> summarize(TransactionFilter filter, TransactionGrouping grouping) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+        Path<BigDecimal> value = root.get("value");
+
+        query.where(TransactionSpecifications.matching(filter).toPredicate(root, query, cb));
+        return summarize(cb, query, root, grouping, cb.count(root), cb.sum(value), cb.min(value), cb.max(value));
+    }
+
+    @Override
+    public List<TransactionSummary> summarizeRollup(TransactionFilter filter, TransactionGrouping grouping) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TransactionDailyRollup> root = query.from(TransactionDailyRollup.class);
+
+        query.where(TransactionSpecifications.<TransactionDailyRollup>dateAndCategory(filter).toPredicate(root, query, cb));
+        return summarize(cb, query, root, grouping, cb.sum(root.<Long>get("count")), cb.sum(root.<BigDecimal>get("sum")),
+                cb.min(root.<BigDecimal>get("min")), cb.max(root.<BigDecimal>get("max")));
+    }
+
+    /**
+     * Agrupa pelas chaves do agrupamento (ano/mês extraídos da data para períodos maiores que o dia)
+     * e converte cada grupo em um {@link TransactionSummary}.
+     */
+    private List<TransactionSummary> summarize(CriteriaBuilder cb, CriteriaQuery<Tuple> query, Root<?> root,
+            TransactionGrouping grouping, Expression<Long> count, Expression<BigDecimal> sum, Expression<BigDecimal> min,
+            Expression<BigDecimal> max) {
+        Path<LocalDate> date = root.get("date");
+        List<Expression<?>> keys = new ArrayList<>();
+
+        if (grouping.period() == SummaryPeriod.DAY) {
+            keys.add(date);
+        } else if (grouping.period() != null) {
+            keys.add(cb.extract(LocalDateField.YEAR, date));
+            if (grouping.period() == SummaryPeriod.MONTH) {
+                keys.add(cb.extract(LocalDateField.MONTH, date));
+            }
+        }
+        if (grouping.byCategory()) {
+            keys.add(root.get("category"));
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(keys);
+        selections.addAll(List.of(count, sum, min, max));
+        query.multiselect(selections)
+                .groupBy(keys)
+                .orderBy(keys.stream().map(cb::asc).toList());
+
+        int metrics = keys.size();
+        return entityManager.createQuery(query).getResultStream()
+                .map(tuple -> new TransactionSummary(
+                        grouping.byCategory() ? tuple.get(metrics - 1, String.class) : null,
+                        periodStart(tuple, grouping.period()),
+                        tuple.get(metrics, Long.class),
+                        tuple.get(metrics + 1, BigDecimal.class),
+                        tuple.get(metrics + 2, BigDecimal.class),
+                        tuple.get(metrics + 3, BigDecimal.class)))
+                .toList();
+    }
+
+    private static LocalDate periodStart(Tuple tuple, SummaryPeriod period) {
+        if (period == null) {
+            return null;
+        }
+        return switch (period) {
+            case DAY -> tuple.get(0, LocalDate.class);
+            case MONTH -> LocalDate.of(tuple.get(0, Integer.class), tuple.get(1, Integer.class), 1);
+            case YEAR -> LocalDate.of(tuple.get(0, Integer.class), 1, 1);
+        };
+    }
+}
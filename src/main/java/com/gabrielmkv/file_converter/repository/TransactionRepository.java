@@ -1,13 +1,41 @@
 package com.gabrielmkv.file_converter.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import com.gabrielmkv.file_converter.model.Transaction;
 
 /**
  * Repositório Spring Data JPA para a entidade {@link Transaction}.
- * Fornece métodos para operações de banco de dados (CRUD) com transações.
+ * Fornece métodos para operações de banco de dados (CRUD) com transações, além das
+ * consultas filtradas por {@link org.springframework.data.jpa.domain.Specification} e de
+ * {@link TransactionQueries}.
  */
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionQueries {
+
+    /**
+     * Retorna a quantidade de linhas, o maior id e a maior versão da tabela em uma única consulta.
+     * Usado para detectar inserções, remoções e alterações feitas fora do JPA.
+     *
+     * @return As estatísticas atuais da tabela.
+     */
+    @Query("select count(t) as rowCount, coalesce(max(t.id), 0) as maxId, coalesce(max(t.rowVersion), 0) as maxVersion"
+            + " from Transaction t")
+    TableStats tableStats();
+
+    /**
+     * Projeção com a quantidade de linhas, o maior id e a maior versão ({@code row_version}) da tabela
+     * de transações.
+     */
+    interface TableStats {
+
+        long getRowCount();
+
+        long getMaxId();
+
+        long getMaxVersion();
+    }
+
 }
@@ -0,0 +1,33 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.gabrielmkv.file_converter.model.Transaction;
+
+/**
+ * Projeção somente leitura de uma {@link Transaction}, usada na exportação de relatórios.
+ * <p>
+ * É montada pelo banco a partir das colunas da tabela (expressão de construtor da Criteria API),
+ * sem criar entidades gerenciadas: nada entra no contexto de persistência nem é guardado para
+ * dirty checking. As anotações de serialização repetem as da entidade, de modo que os relatórios
+ * continuam idênticos.
+ * </p>
+ *
+ * @param id O id da transação.
+ * @param date A data da ocorrência.
+ * @param description A descrição.
+ * @param value O valor em reais (escala 2).
+ * @param category A categoria, ou {@code null}.
+ */
+@JsonPropertyOrder({"date", "description", "value", "category"})
+public record TransactionRow(
+        @JsonIgnore long id,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+        String description,
+        BigDecimal value,
+        String category) {
+}
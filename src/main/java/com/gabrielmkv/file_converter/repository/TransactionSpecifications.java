@@ -0,0 +1,136 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Specifications JPA que traduzem um {@link TransactionFilter} em condições SQL,
+ * de modo que a filtragem seja feita pelo banco usando os índices de data e categoria.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Monta a condição correspondente ao filtro, incluindo a posição do cursor quando informado.
+     *
+     * @param filter Os critérios de seleção.
+     * @return A Specification com todas as condições combinadas.
+     */
+    public static Specification<Transaction> matching(TransactionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = dateAndCategoryPredicates(filter, root, cb);
+
+            if (filter.minValue() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("value"), filter.minValue()));
+            }
+            if (filter.maxValue() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("value"), filter.maxValue()));
+            }
+
+            if (filter.sinceVersion() != null) {
+                predicates.add(cb.greaterThan(root.get("rowVersion"), filter.sinceVersion()));
+            }
+            if (filter.untilVersion() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("rowVersion"), filter.untilVersion()));
+            }
+
+            TransactionCursor cursor = filter.cursor();
+            if (cursor != null) {
+                predicates.add(after(cb, root, cursor, filter.isDescending()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Monta apenas as condições de data e categoria do filtro. Serve a qualquer entidade com os
+     * atributos {@code date} e {@code category}, como os totais diários usados nos resumos.
+     *
+     * @param <T> O tipo da entidade.
+     * @param filter Os critérios de seleção; valores e cursor são ignorados.
+     * @return A Specification com as condições de data e categoria.
+     */
+    public static <T> Specification<T> dateAndCategory(TransactionFilter filter) {
+        return (root, query, cb) -> cb.and(dateAndCategoryPredicates(filter, root, cb).toArray(Predicate[]::new));
+    }
+
+    /**
+     * Restringe a consulta a uma faixa de ids ou datas, usada nas leituras particionadas.
+     *
+     * @param partition A faixa {@code [lower, upper)}.
+     * @return A Specification da faixa.
+     */
+    public static Specification<Transaction> within(TransactionPartition partition) {
+        return (root, query, cb) -> switch (partition.key()) {
+            case ID -> cb.and(cb.greaterThanOrEqualTo(root.get("id"), partition.lower()),
+                    cb.lessThan(root.get("id"), partition.upper()));
+            case DATE -> cb.and(cb.greaterThanOrEqualTo(root.get("date"), LocalDate.ofEpochDay(partition.lower())),
+                    cb.lessThan(root.get("date"), LocalDate.ofEpochDay(partition.upper())));
+        };
+    }
+
+    /**
+     * Ordenação correspondente ao filtro: versão para consultas incrementais, (data, id) para
+     * consultas paginadas ou ordenadas, ou apenas id nos demais casos.
+     *
+     * @param cb O CriteriaBuilder da consulta.
+     * @param root A raiz da consulta.
+     * @param filter Os critérios de seleção.
+     * @return A lista de ordenações.
+     */
+    public static List<Order> ordering(CriteriaBuilder cb, Root<Transaction> root, TransactionFilter filter) {
+        if (filter.isDelta()) {
+            return List.of(cb.asc(root.get("rowVersion")));
+        }
+        if (!filter.isKeysetOrdered()) {
+            return List.of(cb.asc(root.get("id")));
+        }
+        if (filter.isDescending()) {
+            return List.of(cb.desc(root.get("date")), cb.desc(root.get("id")));
+        }
+        return List.of(cb.asc(root.get("date")), cb.asc(root.get("id")));
+    }
+
+    private static List<Predicate> dateAndCategoryPredicates(TransactionFilter filter, Root<?> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDate> date = root.get("date");
+
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(date, filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(date, filter.to()));
+        }
+        if (filter.category() != null) {
+            predicates.add(root.get("category").in(filter.category()));
+        }
+        return predicates;
+    }
+
+    // (date, id) > (d, i) escrito de forma que o banco consiga usar o índice em transaction_date.
+    private static Predicate after(CriteriaBuilder cb, Root<Transaction> root, TransactionCursor cursor, boolean descending) {
+        Path<LocalDate> date = root.get("date");
+        Path<Long> id = root.get("id");
+
+        if (descending) {
+            return cb.and(cb.lessThanOrEqualTo(date, cursor.date()),
+                    cb.or(cb.lessThan(date, cursor.date()), cb.lessThan(id, cursor.id())));
+        }
+        return cb.and(cb.greaterThanOrEqualTo(date, cursor.date()),
+                cb.or(cb.greaterThan(date, cursor.date()), cb.greaterThan(id, cursor.id())));
+    }
+}
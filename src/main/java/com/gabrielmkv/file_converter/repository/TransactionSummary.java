@@ -0,0 +1,26 @@
+package com.gabrielmkv.file_converter.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Linha de um relatório de resumo: os totais de um grupo de transações.
+ *
+ * @param category A categoria do grupo (nula para transações sem categoria ou sem agrupamento por categoria).
+ * @param period O primeiro dia do período do grupo, ou {@code null} sem agrupamento por período.
+ * @param count A quantidade de transações.
+ * @param sum A soma dos valores.
+ * @param min O menor valor.
+ * @param max O maior valor.
+ */
+public record TransactionSummary(String category, LocalDate period, long count, BigDecimal sum, BigDecimal min,
+        BigDecimal max) {
+
+    /**
+     * @return A média dos valores, com duas casas decimais (arredondamento bancário).
+     */
+    public BigDecimal average() {
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_EVEN);
+    }
+}
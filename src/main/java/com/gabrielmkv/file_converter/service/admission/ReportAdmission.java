@@ -0,0 +1,242 @@
+package com.gabrielmkv.file_converter.service.admission;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.ReportAdmissionProperties;
+import com.gabrielmkv.file_converter.exception.ReportOverloadedException;
+import com.gabrielmkv.file_converter.exception.ReportRateLimitedException;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Controle de admissão da geração de relatórios.
+ * <p>
+ * Cada formato tem um número de vagas ({@code report.admission.permits}); requisições sem vaga
+ * aguardam em ordem de chegada, até {@code queue-capacity} por formato e por no máximo
+ * {@code queue-timeout}, e depois disso recebem 503 com Retry-After. Antes de pedir a vaga, o tamanho
+ * do relatório é estimado pela quantidade de linhas selecionadas: relatórios grandes disputam antes uma
+ * vaga própria ({@code large-report-permits}), com a mesma fila e o mesmo tempo limite, de modo que poucos
+ * relatórios enormes não ocupem todas as vagas de um formato enquanto os pequenos esperam.
+ * </p>
+ * <p>
+ * Cada cliente (endereço de origem) também tem um limite de requisições por minuto, controlado por
+ * um token bucket; acima dele a resposta é 429 com Retry-After.
+ * </p>
+ */
+@Service
+public class ReportAdmission {
+
+    public static final String REJECTED = "report.admission.rejected";
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final ReportAdmissionProperties properties;
+    private final TransactionRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Lane largeReports;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public ReportAdmission(ReportAdmissionProperties properties, TransactionRepository repository,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.largeReports = new Lane("relatórios grandes", properties.largeReportPermits());
+    }
+
+    /**
+     * Consome uma requisição do limite do cliente.
+     *
+     * @param client O identificador do cliente (endereço de origem).
+     * @throws ReportRateLimitedException se o cliente excedeu o limite.
+     */
+    public void checkRateLimit(String client) {
+        ReportAdmissionProperties.RateLimit rateLimit = properties.rateLimit();
+        if (!properties.enabled() || rateLimit.requestsPerMinute() <= 0) {
+            return;
+        }
+        long wait = buckets.computeIfAbsent(client, key -> new TokenBucket(rateLimit)).tryTake(System.nanoTime());
+        if (wait > 0) {
+            reject("all", "rate-limit");
+            throw new ReportRateLimitedException("Limite de requisições de relatório excedido",
+                    Duration.ofSeconds(TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    /**
+     * Obtém uma vaga para gerar um relatório, aguardando na fila do formato (e, se o relatório for
+     * grande, antes na de relatórios grandes) se necessário. Deve ser chamado pela thread que gera o
+     * relatório, que libera a vaga ({@link Permit#close()}) ao final da geração.
+     *
+     * @param format O formato do relatório.
+     * @param filter Os critérios de seleção, usados para estimar a quantidade de linhas.
+     * @return A vaga obtida.
+     * @throws ReportOverloadedException se a fila estiver cheia ou a espera exceder o tempo limite.
+     */
+    public Permit admit(String format, TransactionFilter filter) {
+        if (!properties.enabled()) {
+            return Permit.NONE;
+        }
+        long deadline = System.nanoTime() + properties.queueTimeout().toNanos();
+        Lane lane = lanes.computeIfAbsent(format, key -> new Lane(key, properties.permitsFor(key)));
+
+        // A vaga de relatório grande vem antes da do formato: quem espera por ela não ocupa vaga do formato.
+        boolean large = estimateRows(filter) >= properties.largeReportRows();
+        if (large) {
+            largeReports.acquire(format, deadline);
+        }
+        try {
+            lane.acquire(format, deadline);
+        } catch (RuntimeException e) {
+            if (large) {
+                largeReports.release();
+            }
+            throw e;
+        }
+        return new Permit(lane, large ? largeReports : null);
+    }
+
+    /**
+     * Remove os limites de clientes que já recuperaram todas as requisições, que equivalem a um limite novo.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void removeIdleClients() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    /**
+     * Estima as linhas do relatório pela mesma consulta de agregação que planeja a leitura em faixas.
+     * Com {@code limit} menor que o limiar de relatório grande, a consulta é dispensada.
+     */
+    private long estimateRows(TransactionFilter filter) {
+        if (filter.limit() != null && filter.limit() < properties.largeReportRows()) {
+            return filter.limit();
+        }
+        long rows = repository.extent(filter).count();
+        return filter.limit() == null ? rows : Math.min(rows, filter.limit());
+    }
+
+    private void reject(String format, String reason) {
+        Counter.builder(REJECTED).tags("format", format, "reason", reason).register(meterRegistry).increment();
+    }
+
+    /**
+     * Vaga de geração de um relatório. Fechar mais de uma vez não tem efeito.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        static final Permit NONE = new Permit(null, null);
+
+        private final Lane lane;
+        private final Lane largeReports;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Lane lane, Lane largeReports) {
+            this.lane = lane;
+            this.largeReports = largeReports;
+        }
+
+        @Override
+        public void close() {
+            if (lane == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            lane.release();
+            if (largeReports != null) {
+                largeReports.release();
+            }
+        }
+    }
+
+    /**
+     * Vagas de um formato (ou dos relatórios grandes) com a fila de espera limitada.
+     */
+    private final class Lane {
+
+        private final String name;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        Lane(String name, int permits) {
+            this.name = name;
+            this.permits = new Semaphore(permits, true);
+        }
+
+        void acquire(String format, long deadline) {
+            if (permits.tryAcquire()) {
+                return;
+            }
+            if (waiting.incrementAndGet() > properties.queueCapacity()) {
+                waiting.decrementAndGet();
+                reject(format, "queue-full");
+                throw new ReportOverloadedException("Fila de " + name + " cheia", properties.retryAfter());
+            }
+            try {
+                if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    reject(format, "timeout");
+                    throw new ReportOverloadedException("Tempo de espera por vaga para " + name + " esgotado",
+                            properties.retryAfter());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReportOverloadedException("Espera por vaga para " + name + " interrompida",
+                        properties.retryAfter());
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+    }
+
+    /**
+     * Token bucket de um cliente: começa cheio com {@code burst} requisições e repõe
+     * {@code requestsPerMinute} por minuto.
+     */
+    private static final class TokenBucket {
+
+        private final long capacity;
+        private final long nanosPerToken;
+        // Tokens guardados como o instante em que o bucket estará cheio de novo (GCRA), sem ponto flutuante.
+        private long fullAt;
+
+        TokenBucket(ReportAdmissionProperties.RateLimit rateLimit) {
+            this.capacity = Math.max(1, rateLimit.burst());
+            this.nanosPerToken = NANOS_PER_MINUTE / rateLimit.requestsPerMinute();
+            this.fullAt = System.nanoTime();
+        }
+
+        /**
+         * @return Zero se a requisição foi aceita, ou o tempo em nanossegundos até o próximo token.
+         */
+        synchronized long tryTake(long now) {
+            long next = (now - fullAt > 0 ? now : fullAt) + nanosPerToken;
+            long excess = next - now - capacity * nanosPerToken;
+            if (excess > 0) {
+                return excess;
+            }
+            fullAt = next;
+            return 0;
+        }
+
+        synchronized boolean isFull(long now) {
+            return now - fullAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.gabrielmkv.file_converter.service.arrow;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Escritor Arrow (formato IPC de stream) dedicado às linhas {@link TransactionRow}.
+ * <p>
+ * As transações são acumuladas em vetores colunares e enviadas em record batches de até
+ * {@code batchRows} linhas; depois de cada batch os vetores são reaproveitados, de modo que a memória
+ * fora do heap fica limitada ao tamanho de um batch. A coluna {@code category} é codificada por
+ * dicionário: quando novas categorias aparecem, o {@link ArrowStreamWriter} envia o dicionário
+ * atualizado antes do batch seguinte.
+ * </p>
+ * <p>
+ * O {@link OutputStream} de destino não é fechado. Instâncias não são thread-safe: crie uma por relatório.
+ * </p>
+ */
+public final class TransactionArrowWriter implements AutoCloseable {
+
+    private static final long CATEGORY_DICTIONARY_ID = 1L;
+
+    private final int batchRows;
+    private final BufferAllocator allocator;
+    private final VarCharVector categories;
+    private final Map<String, Integer> categoryIndexes = new HashMap<>();
+    private final VectorSchemaRoot root;
+    private final DateDayVector date;
+    private final VarCharVector description;
+    private final DecimalVector value;
+    private final IntVector category;
+    private final ArrowStreamWriter writer;
+
+    private int rows;
+
+    /**
+     * Abre o escritor e envia o esquema.
+     *
+     * @param out O destino do stream Arrow.
+     * @param batchRows A quantidade máxima de linhas por record batch.
+     * @throws IOException se a escrita falhar.
+     */
+    public TransactionArrowWriter(OutputStream out, int batchRows) throws IOException {
+        this.batchRows = batchRows;
+        this.allocator = new RootAllocator();
+
+        // O vetor da coluna guarda os índices; no esquema enviado o tipo aparece como Utf8 com dicionário.
+        ArrowType.Int indexType = new ArrowType.Int(32, true);
+        DictionaryEncoding encoding = new DictionaryEncoding(CATEGORY_DICTIONARY_ID, false, indexType);
+        Schema schema = new Schema(List.of(
+                new Field("date", FieldType.notNullable(new ArrowType.Date(DateUnit.DAY)), null),
+                new Field("description", FieldType.notNullable(ArrowType.Utf8.INSTANCE), null),
+                new Field("value", FieldType.notNullable(new ArrowType.Decimal(10, 2, 128)), null),
+                new Field("category", new FieldType(true, indexType, encoding), null)));
+
+        this.categories = new VarCharVector("category", allocator);
+        this.categories.allocateNew();
+        this.root = VectorSchemaRoot.create(schema, allocator);
+        this.date = (DateDayVector) root.getVector("date");
+        this.description = (VarCharVector) root.getVector("description");
+        this.value = (DecimalVector) root.getVector("value");
+        this.category = (IntVector) root.getVector("category");
+
+        DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+        provider.put(new Dictionary(categories, encoding));
+
+        this.writer = new ArrowStreamWriter(root, provider, Channels.newChannel(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }));
+        this.writer.start();
+        root.allocateNew();
+    }
+
+    /**
+     * Adiciona uma transação ao batch corrente, enviando-o quando estiver completo.
+     *
+     * @param transaction A transação a ser escrita.
+     * @throws IOException se a escrita falhar.
+     */
+    public void write(TransactionRow transaction) throws IOException {
+        date.setSafe(rows, Math.toIntExact(transaction.date().toEpochDay()));
+        description.setSafe(rows, transaction.description().getBytes(StandardCharsets.UTF_8));
+        value.setSafe(rows, transaction.value().setScale(2));
+
+        String name = transaction.category();
+        if (name == null) {
+            category.setNull(rows);
+        } else {
+            category.setSafe(rows, categoryIndexes.computeIfAbsent(name, this::addCategory));
+        }
+
+        if (++rows == batchRows) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * Envia o último batch e a marca de fim do stream, liberando a memória dos vetores.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                flushBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            categories.close();
+            allocator.close();
+        }
+    }
+
+    private Integer addCategory(String name) {
+        int index = categoryIndexes.size();
+        categories.setSafe(index, name.getBytes(StandardCharsets.UTF_8));
+        categories.setValueCount(index + 1);
+        return index;
+    }
+
+    private void flushBatch() throws IOException {
+        root.setRowCount(rows);
+        writer.writeBatch();
+        for (var vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        rows = 0;
+    }
+}
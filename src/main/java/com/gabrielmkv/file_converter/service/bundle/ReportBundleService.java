@@ -0,0 +1,288 @@
+package com.gabrielmkv.file_converter.service.bundle;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gabrielmkv.file_converter.config.ReportBundleProperties;
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.partition.PartitionedTransactionReader;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+
+/**
+ * Gera um pacote ZIP com o mesmo relatório em vários formatos, lendo as transações do banco uma única vez.
+ * <p>
+ * A thread da requisição percorre o cursor e distribui lotes de {@code report.bundle.batch-rows} linhas
+ * para os formatos, cada um gerado na sua própria thread virtual a partir de um buffer limitado a
+ * {@code report.bundle.ring-batches} lotes. Um formato lento (como o PDF) só segura a leitura quando
+ * seu buffer enche; até lá os demais seguem no próprio ritmo. Assim, o custo total fica próximo de
+ * uma leitura mais o formato mais lento, em vez da soma de uma leitura e uma geração por formato.
+ * </p>
+ * <p>
+ * Como as entradas de um ZIP são sequenciais, apenas o primeiro formato é escrito diretamente na
+ * resposta enquanto é gerado. Os demais são gravados em {@code report.bundle.spool-dir} e
+ * acrescentados ao ZIP na ordem em que terminam; os arquivos são apagados em seguida.
+ * </p>
+ */
+@Service
+public class ReportBundleService {
+
+    // Sentinela de fim de dados; comparada por identidade.
+    private static final List<TransactionRow> END = new ArrayList<>();
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final PartitionedTransactionReader reader;
+    private final ReportBundleProperties properties;
+
+    public ReportBundleService(PartitionedTransactionReader reader, ReportBundleProperties properties) {
+        this.reader = reader;
+        this.properties = properties;
+
+        try {
+            Files.createDirectories(properties.spoolDir());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de spool: " + properties.spoolDir(), e);
+        }
+    }
+
+    /**
+     * Gera o pacote, com uma entrada {@code relatorio.<formato>} por formato.
+     *
+     * @param out O destino do ZIP; não é fechado.
+     * @param strategies As estratégias por formato, na ordem desejada. A primeira é escrita em fluxo.
+     * @param filter Os critérios de seleção das transações, aplicados pelo banco.
+     * @throws ReportGenerationException se não houver dados ou se algum formato falhar.
+     */
+    @Transactional(readOnly = true)
+    public void generateBundle(OutputStream out, Map<String, ReportGeneratorTemplate> strategies,
+            TransactionFilter filter) {
+        List<Renderer> renderers = new ArrayList<>();
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("report-bundle-", 0).factory());
+        // Fechar o ZIP não fecha a resposta. Em caso de falha ele não é fechado, para não gerar um pacote
+        // aparentemente válido com os formatos incompletos.
+        ZipOutputStream zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, StandardCharsets.UTF_8);
+        zip.setLevel(properties.compressionLevel());
+        boolean completed = false;
+
+        try (Stream<TransactionRow> transactions = reader.streamRows(filter)) {
+            Iterator<TransactionRow> iterator = transactions.iterator();
+            if (!iterator.hasNext()) {
+                throw new ReportGenerationException("Nenhuma transação encontrada!");
+            }
+
+            CompletionService<Renderer> spooled = new ExecutorCompletionService<>(executor);
+            for (Map.Entry<String, ReportGeneratorTemplate> entry : strategies.entrySet()) {
+                Renderer renderer;
+                if (renderers.isEmpty()) {
+                    zip.putNextEntry(new ZipEntry(entryName(entry.getKey())));
+                    renderer = new Renderer(entry.getKey(), entry.getValue(), zip, null);
+                    renderer.future = executor.submit(renderer);
+                } else {
+                    Path spool = Files.createTempFile(properties.spoolDir(), "bundle-", "." + entry.getKey());
+                    renderer = new Renderer(entry.getKey(), entry.getValue(), null, spool);
+                    renderer.future = spooled.submit(renderer);
+                }
+                renderers.add(renderer);
+            }
+
+            distribute(iterator, renderers);
+
+            await(renderers.getFirst().future);
+            zip.closeEntry();
+            for (int i = 1; i < renderers.size(); i++) {
+                Renderer renderer = await(spooled.take());
+                zip.putNextEntry(new ZipEntry(entryName(renderer.format)));
+                Files.copy(renderer.spool, zip);
+                zip.closeEntry();
+                renderer.deleteSpool();
+            }
+            zip.close();
+            completed = true;
+        } catch (IOException e) {
+            throw new ReportGenerationException("Falha ao escrever o pacote de relatórios: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Geração do pacote de relatórios interrompida", e);
+        } finally {
+            if (!completed) {
+                executor.shutdownNow();
+            }
+            executor.close();
+            for (Renderer renderer : renderers) {
+                renderer.deleteSpool();
+            }
+        }
+    }
+
+    /**
+     * Lê o cursor em lotes e entrega cada lote a todos os formatos, esperando quando o buffer de
+     * algum deles está cheio. Um formato que falhou interrompe a leitura.
+     */
+    private void distribute(Iterator<TransactionRow> iterator, List<Renderer> renderers) throws InterruptedException {
+        int batchRows = properties.batchRows();
+        List<TransactionRow> batch = new ArrayList<>(batchRows);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchRows) {
+                offer(batch, renderers);
+                batch = new ArrayList<>(batchRows);
+            }
+        }
+        if (!batch.isEmpty()) {
+            offer(batch, renderers);
+        }
+        offer(END, renderers);
+    }
+
+    private void offer(List<TransactionRow> batch, List<Renderer> renderers) throws InterruptedException {
+        for (Renderer renderer : renderers) {
+            while (!renderer.ring.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (renderer.future.isDone()) {
+                    await(renderer.future);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static Renderer await(Future<Renderer> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ReportGenerationException failure) {
+                throw failure;
+            }
+            throw new ReportGenerationException("Erro ao gerar o pacote de relatórios: " + e.getCause().getMessage(),
+                    e.getCause());
+        }
+    }
+
+    private static String entryName(String format) {
+        return "relatorio." + format;
+    }
+
+    /**
+     * Geração de um formato do pacote, alimentada pelo seu buffer de lotes.
+     */
+    private final class Renderer implements Callable<Renderer> {
+
+        private final String format;
+        private final ReportGeneratorTemplate strategy;
+        private final BlockingQueue<List<TransactionRow>> ring = new ArrayBlockingQueue<>(properties.ringBatches());
+        private final OutputStream direct;
+        private final Path spool;
+        private Future<Renderer> future;
+
+        Renderer(String format, ReportGeneratorTemplate strategy, OutputStream direct, Path spool) {
+            this.format = format;
+            this.strategy = strategy;
+            this.direct = direct;
+            this.spool = spool;
+        }
+
+        @Override
+        public Renderer call() throws IOException {
+            if (direct != null) {
+                strategy.generateReport(direct, new RingIterator(ring));
+                direct.flush();
+                return this;
+            }
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(spool), 64 * 1024)) {
+                strategy.generateReport(out, new RingIterator(ring));
+            }
+            return this;
+        }
+
+        void deleteSpool() {
+            if (spool == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                // O diretório de spool é temporário; um arquivo que não pôde ser apagado não afeta o pacote.
+            }
+        }
+    }
+
+    /**
+     * Percorre os lotes do buffer de um formato, aguardando os próximos até o sentinela de fim.
+     */
+    private static final class RingIterator implements Iterator<TransactionRow> {
+
+        private final BlockingQueue<List<TransactionRow>> ring;
+        private List<TransactionRow> batch = List.of();
+        private int index;
+        private boolean ended;
+
+        RingIterator(BlockingQueue<List<TransactionRow>> ring) {
+            this.ring = ring;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index == batch.size()) {
+                if (ended) {
+                    return false;
+                }
+                try {
+                    batch = ring.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ReportGenerationException("Geração do pacote de relatórios interrompida", e);
+                }
+                index = 0;
+                ended = batch == END;
+            }
+            return true;
+        }
+
+        @Override
+        public TransactionRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(index++);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.gabrielmkv.file_converter.service.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Relatório armazenado no cache, em memória ou em disco.
+ *
+ * @param content O conteúdo, quando mantido em memória.
+ * @param file O arquivo, quando armazenado em disco.
+ * @param size O tamanho do relatório em bytes.
+ */
+public record CachedReport(byte[] content, Path file, long size) {
+
+    static CachedReport inMemory(byte[] content) {
+        return new CachedReport(content, null, content.length);
+    }
+
+    static CachedReport onDisk(Path file, long size) {
+        return new CachedReport(null, file, size);
+    }
+
+    boolean isOnDisk() {
+        return file != null;
+    }
+
+    /**
+     * Abre o conteúdo para leitura. O arquivo é aberto imediatamente, de modo que uma
+     * remoção posterior pelo cache não afeta a leitura em andamento.
+     *
+     * @return O stream com o conteúdo, ou {@code null} se o arquivo já foi removido.
+     */
+    public InputStream openStream() throws IOException {
+        if (!isOnDisk()) {
+            return new ByteArrayInputStream(content);
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
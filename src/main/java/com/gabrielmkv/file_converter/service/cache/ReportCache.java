@@ -0,0 +1,277 @@
+package com.gabrielmkv.file_converter.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.ReportCacheProperties;
+
+/**
+ * Cache de relatórios gerados, endereçado pelo conteúdo da requisição.
+ * <p>
+ * A chave é o hash do formato, dos parâmetros e da {@link TransactionDataVersion versão dos dados};
+ * qualquer escrita na tabela produz novas chaves e as entradas antigas deixam de ser usadas
+ * até serem descartadas. As entradas ficam em um LRU limitado pelo total de bytes em memória
+ * e, opcionalmente, em disco para relatórios grandes (tipicamente PDFs).
+ * </p>
+ */
+@Service
+public class ReportCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportCache.class);
+
+    private final ReportCacheProperties properties;
+    private final TransactionDataVersion dataVersion;
+    private final LinkedHashMap<String, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long memoryBytes;
+    private long diskBytes;
+
+    public ReportCache(ReportCacheProperties properties, TransactionDataVersion dataVersion) {
+        this.properties = properties;
+        this.dataVersion = dataVersion;
+
+        if (properties.enabled() && properties.spillEnabled()) {
+            try {
+                Files.createDirectories(properties.spillDir());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível criar o diretório do cache: " + properties.spillDir(), e);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} se o cache estiver habilitado.
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Calcula a chave do relatório para a versão atual dos dados.
+     *
+     * @param format O formato do relatório.
+     * @param parameters Os parâmetros da consulta que alteram o conteúdo.
+     * @return A chave e o ETag correspondentes.
+     */
+    public ReportCacheKey key(String format, Map<String, ?> parameters) {
+        StringBuilder content = new StringBuilder(format).append('|');
+        new TreeMap<>(parameters).forEach((name, value) -> content.append(name).append('=').append(value).append('&'));
+        content.append('|').append(dataVersion.current());
+
+        String id = HexFormat.of().formatHex(sha256(content.toString()));
+        return new ReportCacheKey(id, "\"" + id.substring(0, 32) + "\"");
+    }
+
+    /**
+     * Busca um relatório no cache, contabilizando acerto ou falha.
+     *
+     * @param key A chave do relatório.
+     * @return O relatório em cache, ou {@code null} se não houver.
+     */
+    public synchronized CachedReport get(ReportCacheKey key) {
+        CachedReport report = entries.get(key.id());
+        (report != null ? hits : misses).incrementAndGet();
+        return report;
+    }
+
+    /**
+     * Gera o relatório escrevendo em {@code out} e, ao mesmo tempo, guarda uma cópia no cache.
+     * Se a geração falhar, nada é armazenado.
+     *
+     * @param key A chave do relatório.
+     * @param out O destino do relatório.
+     * @param generator A rotina que escreve o relatório.
+     */
+    public void generateAndCache(ReportCacheKey key, OutputStream out, Consumer<OutputStream> generator) {
+        CapturingOutputStream capture = new CapturingOutputStream(out, key.id());
+        try {
+            generator.accept(capture);
+            capture.flush();
+            CachedReport report = capture.toCachedReport();
+            if (report != null) {
+                put(key.id(), report);
+            }
+        } catch (IOException e) {
+            capture.discard();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            capture.discard();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Os contadores e tamanhos atuais do cache.
+     */
+    public synchronized ReportCacheStats stats() {
+        return new ReportCacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), memoryBytes, diskBytes);
+    }
+
+    private synchronized void put(String id, CachedReport report) {
+        CachedReport previous = entries.put(id, report);
+        if (previous != null) {
+            release(previous);
+        }
+        account(report, 1);
+
+        Iterator<CachedReport> eldest = entries.values().iterator();
+        while ((memoryBytes > properties.maxMemory().toBytes() || diskBytes > properties.maxDisk().toBytes())
+                && eldest.hasNext()) {
+            CachedReport evicted = eldest.next();
+            eldest.remove();
+            release(evicted);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void release(CachedReport report) {
+        account(report, -1);
+        if (report.isOnDisk()) {
+            try {
+                Files.deleteIfExists(report.file());
+            } catch (IOException e) {
+                log.warn("Não foi possível remover {}", report.file(), e);
+            }
+        }
+    }
+
+    private void account(CachedReport report, int signal) {
+        if (report.isOnDisk()) {
+            diskBytes += signal * report.size();
+        } else {
+            memoryBytes += signal * report.size();
+        }
+    }
+
+    private static byte[] sha256(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Repassa os bytes ao destino e mantém uma cópia: em memória até o tamanho máximo da entrada
+     * (ou o limite de spill, se menor) e, se o spill estiver habilitado, em um arquivo a partir daí.
+     * Sem spill, a cópia é abandonada assim que passa do tamanho máximo da entrada, e a memória
+     * capturada é liberada ainda durante a geração; com spill, quando excede o limite do disco.
+     */
+    private class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private final String id;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private OutputStream file;
+        private Path path;
+        private long size;
+        private boolean abandoned;
+
+        CapturingOutputStream(OutputStream delegate, String id) {
+            this.delegate = delegate;
+            this.id = id;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            if (abandoned) {
+                return;
+            }
+
+            size += len;
+            if (file == null && size > memoryLimit()) {
+                if (!properties.spillEnabled()) {
+                    abandon();
+                    return;
+                }
+                path = Files.createTempFile(properties.spillDir(), id, ".report");
+                file = Files.newOutputStream(path);
+                memory.writeTo(file);
+                memory = null;
+            } else if (file != null && size > properties.maxDisk().toBytes()) {
+                abandon();
+                return;
+            }
+
+            if (file != null) {
+                file.write(b, off, len);
+            } else {
+                memory.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+
+        /**
+         * @return A cópia capturada, ou {@code null} se ela foi abandonada.
+         */
+        CachedReport toCachedReport() throws IOException {
+            if (abandoned) {
+                return null;
+            }
+            if (file != null) {
+                file.close();
+                file = null;
+                return CachedReport.onDisk(path, size);
+            }
+            return CachedReport.inMemory(memory.toByteArray());
+        }
+
+        private long memoryLimit() {
+            long limit = Math.min(properties.maxEntrySize().toBytes(), properties.maxMemory().toBytes());
+            return properties.spillEnabled() ? Math.min(properties.spillThreshold().toBytes(), limit) : limit;
+        }
+
+        /**
+         * Descarta a cópia após uma falha na geração, sem propagar novos erros.
+         */
+        void discard() {
+            try {
+                abandon();
+            } catch (IOException e) {
+                log.warn("Não foi possível descartar a cópia do relatório {}", id, e);
+            }
+        }
+
+        private void abandon() throws IOException {
+            abandoned = true;
+            memory = null;
+            if (file != null) {
+                file.close();
+                file = null;
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
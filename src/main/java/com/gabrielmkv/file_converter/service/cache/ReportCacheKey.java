@@ -0,0 +1,28 @@
+package com.gabrielmkv.file_converter.service.cache;
+
+import com.gabrielmkv.file_converter.service.compression.ContentCoding;
+
+/**
+ * Chave de um relatório em cache, derivada do formato, dos parâmetros da consulta e
+ * da versão dos dados.
+ *
+ * @param id Hash SHA-256 (hexadecimal) do conteúdo da chave.
+ * @param etag O ETag correspondente, já entre aspas.
+ */
+public record ReportCacheKey(String id, String etag) {
+
+    /**
+     * O ETag da representação enviada com a compressão dada. Um ETag forte identifica os bytes do
+     * corpo, então cada codificação recebe o seu (ex.: {@code "<hash>-gzip"}); o cache guarda o
+     * relatório sem compressão, com uma única chave.
+     *
+     * @param coding A compressão aplicada à resposta, ou {@code null} se nenhuma.
+     * @return O ETag, já entre aspas.
+     */
+    public String etag(ContentCoding coding) {
+        if (coding == null) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + '-' + coding.token() + '"';
+    }
+}
@@ -0,0 +1,14 @@
+package com.gabrielmkv.file_converter.service.cache;
+
+/**
+ * Métricas do cache de relatórios.
+ *
+ * @param hits Requisições atendidas pelo cache.
+ * @param misses Requisições que precisaram gerar o relatório.
+ * @param evictions Entradas descartadas por falta de espaço.
+ * @param entries Quantidade de relatórios em cache.
+ * @param memoryBytes Bytes ocupados em memória.
+ * @param diskBytes Bytes ocupados em disco.
+ */
+public record ReportCacheStats(long hits, long misses, long evictions, int entries, long memoryBytes, long diskBytes) {
+}
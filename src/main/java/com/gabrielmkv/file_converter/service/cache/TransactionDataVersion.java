@@ -0,0 +1,52 @@
+package com.gabrielmkv.file_converter.service.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.gabrielmkv.file_converter.model.TransactionChangedEvent;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionRepository.TableStats;
+
+/**
+ * Versão dos dados da tabela de transações, usada para invalidar relatórios em cache.
+ * <p>
+ * Combina um contador incrementado a cada escrita feita pelo JPA com a quantidade de linhas,
+ * o maior id e a maior versão ({@code row_version}), que capturam inserções, remoções e
+ * alterações feitas por SQL direto: o banco atribui uma nova versão a cada UPDATE.
+ * </p>
+ */
+@Component
+public class TransactionDataVersion {
+
+    private final TransactionRepository repository;
+    private final AtomicLong writes = new AtomicLong();
+
+    public TransactionDataVersion(TransactionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Registra uma escrita na tabela de transações.
+     */
+    @EventListener(TransactionChangedEvent.class)
+    public void increment() {
+        writes.incrementAndGet();
+    }
+
+    /**
+     * @return A quantidade de escritas registradas desde a inicialização.
+     */
+    public long writes() {
+        return writes.get();
+    }
+
+    /**
+     * @return Uma representação da versão atual dos dados.
+     */
+    public String current() {
+        TableStats stats = repository.tableStats();
+        return writes.get() + "-" + stats.getRowCount() + "-" + stats.getMaxId() + "-" + stats.getMaxVersion();
+    }
+}
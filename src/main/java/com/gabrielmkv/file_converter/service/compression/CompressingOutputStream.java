@@ -0,0 +1,160 @@
+package com.gabrielmkv.file_converter.service.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+/**
+ * Stream que comprime, à medida que são escritos, os bytes enviados a um destino.
+ * <p>
+ * Os primeiros bytes ficam retidos até atingir o tamanho mínimo: se o conteúdo terminar antes disso,
+ * ele é repassado sem compressão; caso contrário, o callback {@code onCompress} é executado (para
+ * definir o Content-Encoding enquanto a resposta ainda não foi enviada) e a compressão começa.
+ * </p>
+ * <p>
+ * O conteúdo só é finalizado (rodapé gzip / fim do frame zstd) por {@link #finish()}. Um {@link #close()}
+ * sem {@code finish()} — após uma falha na geração — libera o compressor sem escrever o rodapé, de modo
+ * que o cliente não receba um arquivo truncado que pareça válido. O destino nunca é fechado.
+ * </p>
+ */
+public final class CompressingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DetachableOutputStream target;
+    private final ContentCoding coding;
+    private final int level;
+    private final Runnable onCompress;
+
+    private byte[] pending;
+    private int pendingSize;
+    private OutputStream encoder;
+    private boolean finished;
+
+    CompressingOutputStream(OutputStream target, ContentCoding coding, int level, int minSize, Runnable onCompress)
+            throws IOException {
+        this.target = new DetachableOutputStream(target);
+        this.coding = coding;
+        this.level = level;
+        this.onCompress = onCompress;
+
+        if (minSize > 0) {
+            this.pending = new byte[minSize];
+        } else {
+            startCompression();
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (encoder == null) {
+            if (pendingSize + len <= pending.length) {
+                System.arraycopy(b, off, pending, pendingSize, len);
+                pendingSize += len;
+                return;
+            }
+            startCompression();
+        }
+        encoder.write(b, off, len);
+    }
+
+    /**
+     * Repassa ao destino apenas o que o compressor já produziu: forçar a saída do compressor
+     * a cada flush encerraria blocos antes da hora e pioraria a taxa de compressão.
+     */
+    @Override
+    public void flush() throws IOException {
+        target.flush();
+    }
+
+    /**
+     * Conclui o conteúdo: envia os bytes retidos sem compressão, se o mínimo não foi atingido,
+     * ou finaliza o fluxo comprimido.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    public void finish() throws IOException {
+        if (encoder == null) {
+            target.write(pending, 0, pendingSize);
+        } else {
+            encoder.close();
+        }
+        finished = true;
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            target.detach();
+            if (encoder != null) {
+                encoder.close();
+            }
+        }
+    }
+
+    private void startCompression() throws IOException {
+        onCompress.run();
+        encoder = switch (coding) {
+            case GZIP -> new GZIPOutputStream(target, BUFFER_SIZE) {
+                {
+                    def.setLevel(level);
+                }
+            };
+            case ZSTD -> new ZstdOutputStream(target, level);
+        };
+        if (pendingSize > 0) {
+            encoder.write(pending, 0, pendingSize);
+        }
+        pending = null;
+    }
+
+    /**
+     * Protege o destino: nunca o fecha e, depois de desligado, descarta o que receber.
+     */
+    private static final class DetachableOutputStream extends FilterOutputStream {
+
+        private boolean detached;
+
+        DetachableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        void detach() {
+            detached = true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!detached) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!detached) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!detached) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
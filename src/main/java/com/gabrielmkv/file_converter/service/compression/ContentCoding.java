@@ -0,0 +1,56 @@
+package com.gabrielmkv.file_converter.service.compression;
+
+/**
+ * Codificações de compressão suportadas nos relatórios, em ordem de preferência do servidor.
+ */
+public enum ContentCoding {
+
+    ZSTD("zstd", ".zst", "application/zstd"),
+    GZIP("gzip", ".gz", "application/gzip");
+
+    private final String token;
+    private final String extension;
+    private final String mimeType;
+
+    ContentCoding(String token, String extension, String mimeType) {
+        this.token = token;
+        this.extension = extension;
+        this.mimeType = mimeType;
+    }
+
+    /**
+     * @return O nome usado nos cabeçalhos Accept-Encoding e Content-Encoding.
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * @return A extensão do arquivo comprimido, incluindo o ponto.
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @return O tipo MIME do arquivo comprimido, quando baixado como artefato.
+     */
+    public String mimeType() {
+        return mimeType;
+    }
+
+    /**
+     * Identifica a compressão pela extensão do formato solicitado (ex.: {@code csv.gz}).
+     *
+     * @param format O formato solicitado.
+     * @return A compressão correspondente à extensão, ou {@code null} se não houver.
+     */
+    public static ContentCoding fromExtension(String format) {
+        for (ContentCoding coding : values()) {
+            if (format.endsWith(coding.extension)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+}
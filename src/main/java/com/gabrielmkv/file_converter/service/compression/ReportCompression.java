@@ -0,0 +1,126 @@
+package com.gabrielmkv.file_converter.service.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.ReportCompressionProperties;
+
+/**
+ * Negocia e aplica a compressão dos relatórios.
+ * <p>
+ * A compressão acontece durante a renderização: o {@link CompressingOutputStream} fica entre a
+ * estratégia e a resposta HTTP, sem passar por um {@code byte[]} com o relatório completo.
+ * </p>
+ */
+@Service
+public class ReportCompression {
+
+    private final ReportCompressionProperties properties;
+
+    public ReportCompression(ReportCompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return Se a compressão negociada por Accept-Encoding está habilitada.
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * @return O tamanho abaixo do qual o relatório é enviado sem compressão.
+     */
+    public long minSize() {
+        return properties.minSize().toBytes();
+    }
+
+    /**
+     * Escolhe a compressão da resposta a partir do cabeçalho Accept-Encoding.
+     * <p>
+     * Vence a codificação com maior peso {@code q}; em caso de empate, zstd é preferido a gzip.
+     * Codificações com {@code q=0} são recusadas, e {@code *} vale para as não listadas.
+     * </p>
+     *
+     * @param acceptEncoding O valor do cabeçalho, possivelmente {@code null}.
+     * @return A compressão escolhida, ou {@code null} para enviar sem compressão.
+     */
+    public ContentCoding negotiate(String acceptEncoding) {
+        if (!properties.enabled() || acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+
+        ContentCoding best = null;
+        double bestWeight = 0;
+        for (ContentCoding coding : ContentCoding.values()) {
+            double weight = weight(acceptEncoding, coding.token());
+            if (weight > bestWeight) {
+                best = coding;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Abre um stream que comprime tudo o que receber, usado para os artefatos {@code .gz}/{@code .zst}.
+     *
+     * @param out O destino do conteúdo comprimido.
+     * @param coding A compressão a aplicar.
+     * @return O stream de compressão; chame {@link CompressingOutputStream#finish()} ao concluir.
+     * @throws IOException se a escrita do cabeçalho da compressão falhar.
+     */
+    public CompressingOutputStream compress(OutputStream out, ContentCoding coding) throws IOException {
+        return new CompressingOutputStream(out, coding, level(coding), 0, () -> { });
+    }
+
+    /**
+     * Abre um stream que só comprime se o conteúdo atingir o tamanho mínimo configurado.
+     *
+     * @param out O destino do conteúdo.
+     * @param coding A compressão negociada.
+     * @param onCompress Executado uma única vez, antes do primeiro byte comprimido.
+     * @return O stream de compressão; chame {@link CompressingOutputStream#finish()} ao concluir.
+     * @throws IOException se a escrita falhar.
+     */
+    public CompressingOutputStream compressAboveMinSize(OutputStream out, ContentCoding coding, Runnable onCompress)
+            throws IOException {
+        return new CompressingOutputStream(out, coding, level(coding), Math.toIntExact(minSize()), onCompress);
+    }
+
+    private int level(ContentCoding coding) {
+        return switch (coding) {
+            case GZIP -> properties.gzipLevel();
+            case ZSTD -> properties.zstdLevel();
+        };
+    }
+
+    private static double weight(String acceptEncoding, String token) {
+        double wildcard = 0;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equals(token)) {
+                return q;
+            }
+            if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return wildcard;
+    }
+}
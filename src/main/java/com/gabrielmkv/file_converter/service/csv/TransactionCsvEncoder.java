@@ -0,0 +1,407 @@
+package com.gabrielmkv.file_converter.service.csv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
+
+/**
+ * Codificador CSV dedicado às linhas {@link TransactionRow}.
+ * <p>
+ * Escreve cada linha diretamente em um buffer de bytes UTF-8 reutilizado, sem passar por
+ * serialização reflexiva nem criar Strings intermediárias. A saída é idêntica, byte a byte,
+ * à produzida pelo {@code CsvMapper} configurado em {@code ReportCSV}:
+ * <ul>
+ *   <li>Separador ';' e quebra de linha '\n', com cabeçalho.</li>
+ *   <li>Datas no formato yyyy-MM-dd e valores com vírgula decimal, sempre entre aspas.</li>
+ *   <li>Textos entre aspas apenas quando contêm caracteres abaixo de '&lt;', barra invertida ou mais de 24
+ *   caracteres (mesma regra "loose" do Jackson), com aspas internas duplicadas.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Também escreve linhas lidas do {@link TransactionSnapshot snapshot em memória}, a partir dos valores
+ * primitivos e dos bytes UTF-8 dos textos, com a mesma saída.
+ * </p>
+ * Instâncias não são thread-safe: crie uma por relatório.
+ */
+public final class TransactionCsvEncoder {
+
+    private static final byte[] HEADER = "date;description;value;category\n".getBytes(StandardCharsets.UTF_8);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final byte SEPARATOR = ';';
+    private static final byte QUOTE = '"';
+    private static final byte LINE_SEPARATOR = '\n';
+
+    // Regras de aspas equivalentes ao CsvEncoder do Jackson (maior caractere especial + 1, limite de 24 chars).
+    private static final char MIN_SAFE_CHAR = ';' + 1;
+    private static final char CONTROL_ESCAPE_CHAR = '\\';
+    private static final int MAX_QUOTE_CHECK = 24;
+
+    // Espaço suficiente para um caractere codificado (até 4 bytes) mais as aspas de fechamento.
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_FAST_SCALE = 64;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final byte[] digits = new byte[19];
+    private byte[] text = new byte[256];
+    private int position;
+
+    public TransactionCsvEncoder(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TransactionCsvEncoder(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 256)];
+    }
+
+    /**
+     * Escreve a linha de cabeçalho (date;description;value;category).
+     */
+    public void writeHeader() throws IOException {
+        ensureCapacity(HEADER.length);
+        System.arraycopy(HEADER, 0, buffer, position, HEADER.length);
+        position += HEADER.length;
+    }
+
+    /**
+     * Escreve uma transação como uma linha do CSV.
+     *
+     * @param transaction A transação a ser codificada.
+     */
+    public void writeRow(TransactionRow transaction) throws IOException {
+        writeDate(transaction.date());
+        writeByte(SEPARATOR);
+        writeText(transaction.description());
+        writeByte(SEPARATOR);
+        writeDecimal(transaction.value());
+        writeByte(SEPARATOR);
+        writeText(transaction.category());
+        writeByte(LINE_SEPARATOR);
+    }
+
+    /**
+     * Escreve a linha atual de um cursor do snapshot, sem criar objetos.
+     *
+     * @param transaction O cursor, posicionado na linha a ser codificada.
+     */
+    public void writeRow(TransactionSnapshot.Cursor transaction) throws IOException {
+        int year = transaction.year();
+        if (year < 1 || year > 9999) {
+            writeDate(LocalDate.ofEpochDay(transaction.epochDay()));
+        } else {
+            writeDate(year, transaction.month(), transaction.dayOfMonth());
+        }
+        writeByte(SEPARATOR);
+        int length = transaction.descriptionLength();
+        transaction.copyDescription(textBuffer(length), 0);
+        writeUtf8Text(length);
+        writeByte(SEPARATOR);
+        writeUnscaled(transaction.unscaledValue(), TransactionSnapshot.VALUE_SCALE);
+        writeByte(SEPARATOR);
+        length = transaction.categoryLength();
+        if (length >= 0) {
+            transaction.copyCategory(textBuffer(length), 0);
+            writeUtf8Text(length);
+        }
+        writeByte(LINE_SEPARATOR);
+    }
+
+    /**
+     * Descarrega o conteúdo do buffer no stream de saída, sem fechá-lo.
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeDate(LocalDate date) throws IOException {
+        if (date == null) {
+            return;
+        }
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            writeText(date.format(DATE_FORMAT));
+            return;
+        }
+        writeDate(year, date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    // Ano entre 1 e 9999; fora disso o padrão yyyy (ano da era) difere do ano proléptico.
+    private void writeDate(int year, int month, int day) throws IOException {
+        ensureCapacity(12);
+        byte[] b = buffer;
+        int p = position;
+        b[p++] = QUOTE;
+        b[p++] = (byte) ('0' + year / 1000);
+        b[p++] = (byte) ('0' + year / 100 % 10);
+        b[p++] = (byte) ('0' + year / 10 % 10);
+        b[p++] = (byte) ('0' + year % 10);
+        b[p++] = '-';
+        b[p++] = (byte) ('0' + month / 10);
+        b[p++] = (byte) ('0' + month % 10);
+        b[p++] = '-';
+        b[p++] = (byte) ('0' + day / 10);
+        b[p++] = (byte) ('0' + day % 10);
+        b[p++] = QUOTE;
+        position = p;
+    }
+
+    /**
+     * Escreve o valor como {@code toPlainString()} com vírgula decimal, usando aritmética
+     * sobre o valor não escalado. BigDecimal não expõe seu long compacto, então o único
+     * objeto criado é o BigInteger de {@code unscaledValue()}.
+     */
+    private void writeDecimal(BigDecimal value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int scale = value.scale();
+        BigInteger unscaled = value.unscaledValue();
+        if (scale < 0 || scale > MAX_FAST_SCALE || unscaled.bitLength() >= Long.SIZE - 1) {
+            writeText(value.toPlainString().replace('.', ','));
+            return;
+        }
+
+        writeUnscaled(unscaled.longValue(), scale);
+    }
+
+    /**
+     * Escreve um valor dado sem escala, como {@link #writeDecimal(BigDecimal)}.
+     */
+    private void writeUnscaled(long number, int scale) throws IOException {
+        boolean negative = number < 0;
+        if (negative) {
+            number = -number;
+        }
+
+        int count = 0;
+        do {
+            digits[digits.length - ++count] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+        int first = digits.length - count;
+
+        ensureCapacity(count + Math.max(scale, 0) + 5);
+        byte[] b = buffer;
+        int p = position;
+        b[p++] = QUOTE;
+        if (negative) {
+            b[p++] = '-';
+        }
+        if (scale == 0) {
+            System.arraycopy(digits, first, b, p, count);
+            p += count;
+        } else if (count > scale) {
+            int integerDigits = count - scale;
+            System.arraycopy(digits, first, b, p, integerDigits);
+            p += integerDigits;
+            b[p++] = ',';
+            System.arraycopy(digits, first + integerDigits, b, p, scale);
+            p += scale;
+        } else {
+            b[p++] = '0';
+            b[p++] = ',';
+            for (int i = count; i < scale; i++) {
+                b[p++] = '0';
+            }
+            System.arraycopy(digits, first, b, p, count);
+            p += count;
+        }
+        b[p++] = QUOTE;
+        position = p;
+    }
+
+    /**
+     * Escreve um texto decidindo sobre as aspas na mesma passada da codificação UTF-8.
+     * Textos curtos são codificados a partir da posição seguinte à aspa de abertura; se
+     * ao final não precisarem de aspas, os bytes são deslocados uma posição para trás.
+     */
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        if (length > MAX_QUOTE_CHECK) {
+            writeLongQuoted(value, length);
+            return;
+        }
+
+        ensureCapacity(length * 3 + 2);
+        byte[] b = buffer;
+        int start = position;
+        int p = start + 1;
+        boolean quote = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c < MIN_SAFE_CHAR) {
+                    quote = true;
+                    if (c == QUOTE) {
+                        b[p++] = QUOTE;
+                    }
+                } else if (c == CONTROL_ESCAPE_CHAR) {
+                    quote = true;
+                }
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                p = encodeCodePoint(b, p, Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        if (quote) {
+            b[start] = QUOTE;
+            b[p++] = QUOTE;
+            position = p;
+        } else {
+            System.arraycopy(b, start + 1, b, start, p - start - 1);
+            position = p - 1;
+        }
+    }
+
+    /**
+     * Escreve um texto já codificado em UTF-8, copiado para {@link #text}, com as mesmas regras de aspas
+     * de {@link #writeText(String)}: o limite de caracteres conta unidades UTF-16, então as sequências
+     * de 4 bytes (pares substitutos) contam dois.
+     */
+    private void writeUtf8Text(int length) throws IOException {
+        byte[] t = text;
+        int chars = 0;
+        int quotes = 0;
+        boolean quote = false;
+        for (int i = 0; i < length; i++) {
+            int c = t[i] & 0xFF;
+            if (c < 0x80) {
+                chars++;
+                if (c < MIN_SAFE_CHAR) {
+                    quote = true;
+                    if (c == QUOTE) {
+                        quotes++;
+                    }
+                } else if (c == CONTROL_ESCAPE_CHAR) {
+                    quote = true;
+                }
+            } else if (c >= 0xC0) {
+                chars += c >= 0xF0 ? 2 : 1;
+            }
+        }
+
+        if (!quote && chars <= MAX_QUOTE_CHECK) {
+            writeBytes(t, length);
+            return;
+        }
+        writeByte(QUOTE);
+        if (quotes == 0) {
+            writeBytes(t, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                if (t[i] == QUOTE) {
+                    writeByte(QUOTE);
+                }
+                writeByte(t[i]);
+            }
+        }
+        writeByte(QUOTE);
+    }
+
+    private byte[] textBuffer(int length) {
+        if (text.length < length) {
+            text = new byte[Math.max(length, text.length * 2)];
+        }
+        return text;
+    }
+
+    /**
+     * Textos acima do limite de verificação são sempre citados, então podem ser escritos
+     * em fluxo, descarregando o buffer quando necessário.
+     */
+    private void writeLongQuoted(String value, int length) throws IOException {
+        writeByte(QUOTE);
+        int limit = buffer.length - MAX_CHAR_BYTES;
+        for (int i = 0; i < length; i++) {
+            if (position > limit) {
+                flushBuffer();
+            }
+            byte[] b = buffer;
+            int p = position;
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == QUOTE) {
+                    b[p++] = QUOTE;
+                }
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                p = encodeCodePoint(b, p, Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+            position = p;
+        }
+        writeByte(QUOTE);
+    }
+
+    private static int encodeCodePoint(byte[] b, int p, int codePoint) {
+        b[p++] = (byte) (0xF0 | (codePoint >> 18));
+        b[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        b[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        b[p++] = (byte) (0x80 | (codePoint & 0x3F));
+        return p;
+    }
+
+    private void writeByte(byte value) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = value;
+    }
+
+    private void writeBytes(byte[] bytes, int length) throws IOException {
+        if (length > buffer.length) {
+            flushBuffer();
+            out.write(bytes, 0, length);
+            return;
+        }
+        ensureCapacity(length);
+        System.arraycopy(bytes, 0, buffer, position, length);
+        position += length;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
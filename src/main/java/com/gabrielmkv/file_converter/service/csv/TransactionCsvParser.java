@@ -0,0 +1,120 @@
+package com.gabrielmkv.file_converter.service.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV em fluxo, compatível com o layout gerado pelo {@link TransactionCsvEncoder}:
+ * separador ';', campos opcionalmente entre aspas, aspas internas duplicadas e quebras de
+ * linha permitidas dentro de campos citados.
+ * <p>
+ * Lê um registro por vez sobre um buffer fixo, de modo que o consumo de memória não depende
+ * do tamanho do arquivo. Instâncias não são thread-safe.
+ * </p>
+ */
+public final class TransactionCsvParser {
+
+    private static final char SEPARATOR = ';';
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+    private final char[] buffer = new char[16 * 1024];
+    private final List<String> fields = new ArrayList<>(4);
+    private final StringBuilder field = new StringBuilder(64);
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    public TransactionCsvParser(InputStream in) {
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lê o próximo registro do arquivo.
+     * <p>
+     * A lista retornada é reutilizada pela chamada seguinte.
+     * </p>
+     *
+     * @return Os campos do registro, ou {@code null} ao fim do arquivo.
+     * @throws IOException se a leitura falhar ou uma aspa não for fechada.
+     */
+    public List<String> nextRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        boolean quoted = false;
+        boolean inQuotes = false;
+
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new IOException("Aspas não fechadas no registro iniciado na linha " + recordLine);
+                }
+                if (c == QUOTE) {
+                    int next = read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                // Ignorado: finais de linha \r\n são tratados pelo \n.
+            } else if (c == QUOTE && field.isEmpty() && !quoted) {
+                quoted = true;
+                inQuotes = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return A linha do arquivo em que o último registro lido começa (a partir de 1).
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
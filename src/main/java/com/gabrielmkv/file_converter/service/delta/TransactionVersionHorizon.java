@@ -0,0 +1,70 @@
+package com.gabrielmkv.file_converter.service.delta;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.PriorityQueue;
+import java.util.function.LongUnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Limite seguro das versões visíveis às exportações incrementais.
+ * <p>
+ * A versão de uma linha é atribuída no insert, mas a linha só fica visível no commit. Se duas
+ * importações correm juntas, uma pode confirmar as versões 11 a 20 enquanto a outra ainda tem as
+ * versões 1 a 10 pendentes; entregar a marca d'água 20 faria a próxima exportação perder essas linhas.
+ * Por isso, cada trecho de importação ainda não confirmado reserva um piso (um valor da sequência,
+ * menor que todas as versões que o trecho vai gravar) e as exportações não passam do menor piso aberto.
+ * </p>
+ * <p>
+ * Reservar um piso e calcular a marca d'água são mutuamente exclusivos: um piso reservado depois
+ * do cálculo é maior que qualquer versão já existente naquele momento.
+ * </p>
+ */
+@Component
+public class TransactionVersionHorizon {
+
+    private static final String NEXT_VERSION_SQL = "SELECT NEXT VALUE FOR transactions_version_seq";
+
+    private final PriorityQueue<Long> floors = new PriorityQueue<>();
+
+    /**
+     * Reserva o piso das versões que a conexão vai gravar até o próximo commit ou rollback.
+     *
+     * @param connection A conexão da importação.
+     * @return O piso, que deve ser liberado com {@link #release(long)} após o commit ou rollback.
+     * @throws SQLException se a leitura da sequência falhar.
+     */
+    public synchronized long reserve(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(NEXT_VERSION_SQL)) {
+            result.next();
+            long floor = result.getLong(1);
+            floors.add(floor);
+            return floor;
+        }
+    }
+
+    /**
+     * Libera um piso reservado.
+     *
+     * @param floor O piso retornado por {@link #reserve(Connection)}.
+     */
+    public synchronized void release(long floor) {
+        floors.remove(floor);
+    }
+
+    /**
+     * Calcula uma marca d'água sem que novos pisos sejam reservados durante o cálculo.
+     *
+     * @param watermark Calcula a marca d'água, recebendo o limite seguro (o menor piso aberto, ou
+     *                  {@link Long#MAX_VALUE} se não houver importação em andamento).
+     * @return O resultado de {@code watermark}.
+     */
+    public synchronized long bounded(LongUnaryOperator watermark) {
+        Long floor = floors.peek();
+        return watermark.applyAsLong(floor == null ? Long.MAX_VALUE : floor);
+    }
+}
@@ -0,0 +1,63 @@
+package com.gabrielmkv.file_converter.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.arrow.TransactionArrowWriter;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+
+/**
+ * Implementação da estratégia de geração de relatórios em formato Apache Arrow (IPC de stream).
+ * <p>
+ * O stream é colunar e tipado (data como Date32, valor como Decimal(10,2)) e pode ser consumido
+ * diretamente por pyarrow, Polars ou DuckDB sem desserialização linha a linha. As transações são
+ * enviadas em record batches de tamanho fixo, o que mantém a memória limitada mesmo em relatórios grandes.
+ * </p>
+ * Esta classe é registrada no contexto Spring com o nome "arrow".
+ */
+@Lazy
+@Component("arrow")
+public class ReportArrow extends ReportGeneratorTemplate {
+
+    private final int batchRows;
+
+    /**
+     * Construtor da classe.
+     *
+     * @param batchRows A quantidade de linhas por record batch.
+     */
+    public ReportArrow(@Value("${report.arrow.batch-rows:65536}") int batchRows) {
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    public String getMimeType() {
+        return "application/vnd.apache.arrow.stream";
+    }
+
+    @Override
+    public String getContentDisposition() {
+        return "attachment";
+    }
+
+    @Override
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
+        try (TransactionArrowWriter writer = new TransactionArrowWriter(out, batchRows)) {
+            Iterator<TransactionRow> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        } catch (IOException e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o Arrow: " + e.getMessage(), e);
+        }
+    }
+
+}
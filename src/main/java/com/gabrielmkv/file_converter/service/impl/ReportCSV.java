@@ -1,17 +1,28 @@
 package com.gabrielmkv.file_converter.service.impl;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.SnapshotRenderer;
+import com.gabrielmkv.file_converter.service.template.SummaryRenderer;
 import com.gabrielmkv.file_converter.exception.ReportGenerationException;
-import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.repository.TransactionSummary;
+import com.gabrielmkv.file_converter.service.csv.TransactionCsvEncoder;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -20,55 +31,37 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 
 /**
  * Implementação da estratégia de geração de relatórios em formato CSV.
  * <p>
- * Utiliza a biblioteca Jackson (com o módulo CSV) para serializar objetos.
+ * Por padrão utiliza o {@link TransactionCsvEncoder}, que escreve as linhas diretamente
+ * em bytes. A serialização via Jackson (módulo CSV) continua disponível através da
+ * propriedade {@code report.csv.use-jackson=true}, produzindo exatamente o mesmo arquivo, inclusive a partir
+ * do snapshot em memória.
  * O arquivo gerado utiliza ponto e vírgula (;) como separador e segue o padrão
  * de formatação brasileiro para números e datas.
  * </p>
  */
+@Lazy
 @Component("csv")
-public class ReportCSV extends ReportGeneratorTemplate {
+public class ReportCSV extends ReportGeneratorTemplate implements SnapshotRenderer, SummaryRenderer {
 
-    // Mapper e Schema são configurados no construtor para serem reutilizados e thread-safe.
-    private final CsvMapper mapper;
-    private final CsvSchema schema;
+    private final boolean useJackson;
 
     /**
      * Construtor da classe.
      * <p>
-     * Configura o {@link CsvMapper} e o {@link CsvSchema} com as seguintes definições:
-     * <ul>
-     *   <li>Módulo JavaTimeModule para datas.</li>
-     *   <li>Serializer customizado para BigDecimal (formato brasileiro).</li>
-     *   <li>Schema com cabeçalho e separador ';'.</li>
-     * </ul>
+     * O {@link CsvMapper} não é criado aqui: ele só é usado pelo resumo e pelo modo
+     * {@code report.csv.use-jackson}, e é configurado em {@link JacksonCsv} no primeiro uso.
      * </p>
+     *
+     * @param useJackson Se verdadeiro, gera o CSV pelo CsvMapper em vez do codificador dedicado.
      */
-    public ReportCSV() {
-        SimpleModule decimalModule = new SimpleModule();
-        decimalModule.addSerializer(BigDecimal.class, new JsonSerializer<BigDecimal>() {
-            @Override
-            public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-                gen.writeString(value.toPlainString().replace(".", ","));
-            }
-        });
-
-        this.mapper = CsvMapper.builder()
-                .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
-                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
-                .addModule(new JavaTimeModule())
-                .addModule(decimalModule)
-                .defaultLocale(Locale.of("pt", "BR"))
-                .build();
-
-        this.schema = mapper.schemaFor(Transaction.class)
-                    .withHeader()
-                    .withColumnSeparator(';')
-                    .withLineSeparator("\n");
+    public ReportCSV(@Value("${report.csv.use-jackson:false}") boolean useJackson) {
+        this.useJackson = useJackson;
     }
 
     @Override
@@ -77,18 +70,136 @@ public class ReportCSV extends ReportGeneratorTemplate {
     }
 
     /**
-     * Gera o conteúdo do arquivo CSV.
+     * Gera o conteúdo do arquivo CSV, escrevendo uma linha por transação.
      * 
-     * @param transactions A lista de transações a serem serializadas.
-     * @return Um array de bytes representando o arquivo CSV.
-     * @throws ReportGenerationException Se ocorrer um erro na serialização (JsonProcessingException).
+     * @param transactions O stream de transações a serem serializadas.
+     * @param out O destino do arquivo CSV.
+     * @throws ReportGenerationException Se ocorrer um erro na serialização (IOException).
      */
     @Override
-    protected byte[] generateContent(List<Transaction> transactions) {
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
+        if (useJackson) {
+            generateWithJackson(transactions.iterator(), out);
+            return;
+        }
+
         try {
-            return mapper.writer(schema).writeValueAsBytes(transactions);
-        } catch (JsonProcessingException e) {
+            TransactionCsvEncoder encoder = new TransactionCsvEncoder(out);
+            encoder.writeHeader();
+            Iterator<TransactionRow> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                encoder.writeRow(iterator.next());
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw new ReportGenerationException("Falha ao escrever o CSV: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void generateSnapshotContent(TransactionSnapshot.Cursor transactions, OutputStream out) {
+        if (useJackson) {
+            generateWithJackson(transactions.rows(), out);
+            return;
+        }
+
+        try {
+            TransactionCsvEncoder encoder = new TransactionCsvEncoder(out);
+            encoder.writeHeader();
+            while (transactions.next()) {
+                encoder.writeRow(transactions);
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw new ReportGenerationException("Falha ao escrever o CSV: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gera o CSV de resumo pelo {@link CsvMapper}: as colunas de chave (categoria e/ou período)
+     * seguidas de count, sum, average, min e max, com a mesma formatação de valores do relatório
+     * de transações.
+     *
+     * @param summaries Os grupos calculados pelo banco.
+     * @param grouping O agrupamento dos totais.
+     * @param out O destino do arquivo CSV.
+     */
+    @Override
+    public void generateSummaryContent(List<TransactionSummary> summaries, TransactionGrouping grouping,
+            OutputStream out) {
+        CsvSchema.Builder summarySchema = CsvSchema.builder()
+                .setUseHeader(true)
+                .setColumnSeparator(';')
+                .setLineSeparator("\n");
+        if (grouping.byCategory()) {
+            summarySchema.addColumn("category");
+        }
+        if (grouping.period() != null) {
+            summarySchema.addColumn(grouping.period().label());
+        }
+        summarySchema.addColumn("count").addColumn("sum").addColumn("average").addColumn("min").addColumn("max");
+
+        try (SequenceWriter writer = JacksonCsv.MAPPER.writer(summarySchema.build()).writeValues(out)) {
+            for (TransactionSummary summary : summaries) {
+                List<Object> row = new ArrayList<>(7);
+                if (grouping.byCategory()) {
+                    row.add(summary.category());
+                }
+                if (grouping.period() != null) {
+                    row.add(grouping.period().format(summary.period()));
+                }
+                row.addAll(List.of(summary.count(), summary.sum(), summary.average(), summary.min(), summary.max()));
+                writer.write(row);
+            }
+        } catch (IOException e) {
             throw new ReportGenerationException("Falha ao processar os dados para o CSV: " + e.getMessage(), e);
         }
     }
+
+    private void generateWithJackson(Iterator<TransactionRow> iterator, OutputStream out) {
+        try (SequenceWriter writer = JacksonCsv.MAPPER.writer(JacksonCsv.SCHEMA).writeValues(out)) {
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        } catch (IOException e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o CSV: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@link CsvMapper} e {@link CsvSchema} compartilhados, reutilizáveis e thread-safe, criados quando a
+     * classe é carregada (no primeiro uso, e não na subida da aplicação). Configuração:
+     * <ul>
+     *   <li>Módulo JavaTimeModule para datas.</li>
+     *   <li>Serializer customizado para BigDecimal (formato brasileiro).</li>
+     *   <li>Schema com cabeçalho e separador ';'.</li>
+     * </ul>
+     */
+    private static final class JacksonCsv {
+
+        static final CsvMapper MAPPER = createMapper();
+        static final CsvSchema SCHEMA = MAPPER.schemaFor(TransactionRow.class)
+                .withHeader()
+                .withColumnSeparator(';')
+                .withLineSeparator("\n");
+
+        private static CsvMapper createMapper() {
+            SimpleModule decimalModule = new SimpleModule();
+            decimalModule.addSerializer(BigDecimal.class, new JsonSerializer<BigDecimal>() {
+                @Override
+                public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                    gen.writeString(value.toPlainString().replace(".", ","));
+                }
+            });
+
+            return CsvMapper.builder()
+                    .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .addModule(new JavaTimeModule())
+                    .addModule(decimalModule)
+                    .defaultLocale(Locale.of("pt", "BR"))
+                    .build();
+        }
+    }
 }
@@ -1,22 +1,36 @@
 package com.gabrielmkv.file_converter.service.impl;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.repository.TransactionSummary;
+import com.gabrielmkv.file_converter.service.json.TransactionJsonWriter;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
 import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.SnapshotRenderer;
+import com.gabrielmkv.file_converter.service.template.SummaryRenderer;
 
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
 import tools.jackson.databind.ObjectMapper;
 
 /**
  * Implementação da estratégia de geração de relatórios em formato JSON.
- * Utiliza o ObjectMapper do Jackson para serializar a lista de transações.
+ * Escreve as transações como um array JSON através de um {@link TransactionJsonWriter},
+ * um elemento por vez, diretamente no stream de saída.
  * Esta classe é registrada no contexto Spring com o nome "json".
  */
+@Lazy
 @Component("json")
-public class ReportJSON extends ReportGeneratorTemplate {
+public class ReportJSON extends ReportGeneratorTemplate implements SnapshotRenderer, SummaryRenderer {
 
     private final ObjectMapper objectMapper;
 
@@ -34,12 +48,59 @@ public class ReportJSON extends ReportGeneratorTemplate {
     }
 
     @Override
-    protected byte[] generateContent(List<Transaction> transactions) {
-        try {
-            return objectMapper.writeValueAsBytes(transactions);
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(objectMapper, out, false)) {
+            transactions.forEach(writer::write);
         } catch (Exception e) {
             throw new ReportGenerationException("Falha ao processar os dados para o JSON: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public void generateSnapshotContent(TransactionSnapshot.Cursor transactions, OutputStream out) {
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(objectMapper, out, false)) {
+            while (transactions.next()) {
+                writer.write(transactions);
+            }
+        } catch (Exception e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gera o JSON de resumo: um array com um objeto por grupo, com as chaves do agrupamento
+     * (category e/ou day, month ou year) seguidas de count, sum, average, min e max.
+     *
+     * @param summaries Os grupos calculados pelo banco.
+     * @param grouping O agrupamento dos totais.
+     * @param out O destino do arquivo JSON.
+     */
+    @Override
+    public void generateSummaryContent(List<TransactionSummary> summaries, TransactionGrouping grouping,
+            OutputStream out) {
+        try (JsonGenerator generator = objectMapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .createGenerator(out)) {
+            generator.writeStartArray();
+            for (TransactionSummary summary : summaries) {
+                generator.writeStartObject();
+                if (grouping.byCategory()) {
+                    generator.writeStringProperty("category", summary.category());
+                }
+                if (grouping.period() != null) {
+                    generator.writeStringProperty(grouping.period().label(), grouping.period().format(summary.period()));
+                }
+                generator.writeNumberProperty("count", summary.count());
+                generator.writeNumberProperty("sum", summary.sum());
+                generator.writeNumberProperty("average", summary.average());
+                generator.writeNumberProperty("min", summary.min());
+                generator.writeNumberProperty("max", summary.max());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (JacksonException e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o JSON: " + e.getMessage(), e);
+        }
+    }
+
 }
@@ -0,0 +1,71 @@
+package com.gabrielmkv.file_converter.service.impl;
+
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.json.TransactionJsonWriter;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.SnapshotRenderer;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Implementação da estratégia de geração de relatórios em formato NDJSON (JSON delimitado por linhas).
+ * <p>
+ * Cada transação é um objeto JSON completo em sua própria linha, com os mesmos campos e formatos
+ * do relatório JSON. Sem o array envolvente, o arquivo pode ser dividido em qualquer quebra de linha
+ * e carregado em paralelo por ferramentas como Spark ou ClickHouse.
+ * </p>
+ * Esta classe é registrada no contexto Spring com o nome "ndjson".
+ */
+@Lazy
+@Component("ndjson")
+public class ReportNDJSON extends ReportGeneratorTemplate implements SnapshotRenderer {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Construtor que injeta o ObjectMapper configurado pelo Spring Boot.
+     * @param objectMapper O mapper de onde vêm as configurações de escrita JSON.
+     */
+    public ReportNDJSON(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getMimeType() {
+        return "application/x-ndjson";
+    }
+
+    @Override
+    public String getContentDisposition() {
+        return "attachment";
+    }
+
+    @Override
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(objectMapper, out, true)) {
+            transactions.forEach(writer::write);
+        } catch (Exception e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o NDJSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void generateSnapshotContent(TransactionSnapshot.Cursor transactions, OutputStream out) {
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(objectMapper, out, true)) {
+            while (transactions.next()) {
+                writer.write(transactions);
+            }
+        } catch (Exception e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o NDJSON: " + e.getMessage(), e);
+        }
+    }
+
+}
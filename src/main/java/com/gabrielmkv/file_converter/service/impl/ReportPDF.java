@@ -2,9 +2,20 @@ package com.gabrielmkv.file_converter.service.impl;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import org.openpdf.text.Chunk;
 import org.openpdf.text.Document;
@@ -16,14 +27,25 @@ import org.openpdf.text.Paragraph;
 import org.openpdf.text.Phrase;
 import org.openpdf.text.Rectangle;
 import org.openpdf.text.pdf.PdfPCell;
+import org.openpdf.text.pdf.PdfCopy;
 import org.openpdf.text.pdf.PdfPTable;
+import org.openpdf.text.pdf.PdfReader;
 import org.openpdf.text.pdf.PdfWriter;
 import org.openpdf.text.pdf.draw.LineSeparator;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import com.gabrielmkv.file_converter.config.ReportPdfProperties;
+import com.gabrielmkv.file_converter.config.ReportPdfProperties.Mode;
 import com.gabrielmkv.file_converter.exception.ReportGenerationException;
-import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.repository.SummaryPeriod;
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.repository.TransactionSummary;
 import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.SummaryRenderer;
+
+import jakarta.annotation.PreDestroy;
 
 /**
  * Implementação da estratégia de geração de relatórios em formato PDF.
@@ -32,11 +54,60 @@ import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
  * O relatório gerado contém um cabeçalho com título e data, seguido por uma tabela
  * listando todas as transações com formatação zebrada para melhor leitura.
  * </p>
+ * <p>
+ * A forma de montar a tabela é definida por {@code report.pdf.mode}:
+ * <ul>
+ *   <li>{@code single}: uma única tabela, adicionada ao documento ao final;</li>
+ *   <li>{@code chunked}: a tabela é adicionada ao documento página a página, de modo que
+ *   apenas as linhas da página corrente ficam em memória;</li>
+ *   <li>{@code parallel}: faixas de pelo menos {@code report.pdf.segment-rows} linhas são renderizadas
+ *   como PDFs independentes num {@link ForkJoinPool} e concatenadas em ordem com {@link PdfCopy}.
+ *   As faixas terminam em quebras de página do modo {@code chunked} e o zebrado segue o índice global
+ *   da linha, então o documento tem as mesmas páginas dos outros modos.</li>
+ * </ul>
+ * Em todos os modos, a linha de títulos das colunas se repete no topo de cada página.
+ * </p>
+ * <p>
+ * Relatórios de resumo são uma única tabela com os totais de cada grupo e uma linha final com o total geral.
+ * </p>
  */
+@Lazy
 @Component("pdf")
-public class ReportPDF extends ReportGeneratorTemplate {
+public class ReportPDF extends ReportGeneratorTemplate implements SummaryRenderer {
 
+    // Estilos imutáveis na prática (nunca alterados após a criação), compartilhados entre relatórios.
+    private static final Font TITLE_FONT = new Font(Font.HELVETICA, 18, Font.BOLD);
+    private static final Font HEADER_FONT = new Font(Font.HELVETICA, 10, Font.BOLD);
     private static final Font BODY_FONT = new Font(Font.HELVETICA, 10, Font.NORMAL);
+    private static final Font TOTAL_FONT = new Font(Font.HELVETICA, 10, Font.BOLD);
+    private static final Color HEADER_BACKGROUND = new Color(240, 240, 240);
+    private static final Color EVEN_ROW_BACKGROUND = new Color(252, 252, 252);
+    private static final Color ODD_ROW_BACKGROUND = new Color(245, 245, 245);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+    private static final DateTimeFormatter YEAR_FORMAT = DateTimeFormatter.ofPattern("yyyy");
+    private static final String TITLE = "Relatório de Transações";
+    private static final String SUMMARY_TITLE = "Resumo de Transações";
+
+    private final ReportPdfProperties properties;
+    private final ForkJoinPool pool;
+
+    /**
+     * Construtor da classe.
+     *
+     * @param properties As configurações de geração do PDF.
+     */
+    public ReportPDF(ReportPdfProperties properties) {
+        this.properties = properties;
+        this.pool = properties.mode() == Mode.PARALLEL ? new ForkJoinPool(properties.parallelism()) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
 
     @Override
     public String getMimeType() {
@@ -55,29 +126,277 @@ public class ReportPDF extends ReportGeneratorTemplate {
      * o cabeçalho e a tabela de dados.
      * </p>
      * 
-     * @param transactions A lista de transações a serem incluídas no relatório.
-     * @return Um array de bytes representando o arquivo PDF.
+     * @param transactions O stream de transações a serem incluídas no relatório.
+     * @param out O destino do arquivo PDF.
      * @throws ReportGenerationException Se ocorrer um erro na biblioteca de PDF (DocumentException).
      */
     @Override
-    protected byte[] generateContent(List<Transaction> transactions) {
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
         try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (properties.mode() == Mode.PARALLEL) {
+                generateInSegments(transactions.iterator(), out);
+                return;
+            }
+
             Document document = new Document(PageSize.A4, 36, 36, 36, 36);
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
 
             document.open();
 
-            setHeaderDocument(document, "Relatório de Transações");
-            setTableInDocument(document, transactions);
+            setHeaderDocument(document, TITLE);
+            setTableInDocument(document, writer, transactions.iterator(), 0, true);
 
             document.close();
-            return out.toByteArray();
+        } catch (DocumentException | IOException e) {
+            throw new ReportGenerationException("Erro ao gerar o relatório PDF: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gera um PDF com a tabela de resumo: colunas de chave (categoria e/ou período), quantidade,
+     * soma, média, mínimo e máximo, seguidas da linha de total geral.
+     *
+     * @param summaries Os grupos calculados pelo banco.
+     * @param grouping O agrupamento dos totais.
+     * @param out O destino do arquivo PDF.
+     */
+    @Override
+    public void generateSummaryContent(List<TransactionSummary> summaries, TransactionGrouping grouping,
+            OutputStream out) {
+        try {
+            Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+
+            document.open();
+            setHeaderDocument(document, SUMMARY_TITLE);
+            document.add(createSummaryTable(summaries, grouping));
+            document.close();
         } catch (DocumentException e) {
             throw new ReportGenerationException("Erro ao gerar o relatório PDF: " + e.getMessage(), e);
         }
     }
 
+    private PdfPTable createSummaryTable(List<TransactionSummary> summaries, TransactionGrouping grouping) {
+        List<String> headers = new ArrayList<>();
+        List<Float> widths = new ArrayList<>();
+        if (grouping.period() != null) {
+            headers.add(switch (grouping.period()) {
+                case DAY -> "Dia";
+                case MONTH -> "Mês";
+                case YEAR -> "Ano";
+            });
+            widths.add(1.1f);
+        }
+        if (grouping.byCategory()) {
+            headers.add("Categoria");
+            widths.add(1.8f);
+        }
+        int keyColumns = headers.size();
+        headers.addAll(List.of("Qtde.", "Soma", "Média", "Mínimo", "Máximo"));
+        widths.addAll(List.of(0.9f, 1.8f, 1.2f, 1.2f, 1.2f));
+
+        PdfPTable table = new PdfPTable(headers.size());
+        table.setWidthPercentage(100);
+        float[] columnWidths = new float[widths.size()];
+        for (int i = 0; i < columnWidths.length; i++) {
+            columnWidths[i] = widths.get(i);
+        }
+        table.setWidths(columnWidths);
+        table.setSpacingBefore(15f);
+        table.setHeaderRows(1);
+        setBodyCellStyle(table.getDefaultCell());
+        headers.forEach(header -> table.addCell(createHeaderCell(header)));
+
+        long count = 0;
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        long rowIndex = 0;
+
+        for (TransactionSummary summary : summaries) {
+            table.getDefaultCell().setBackgroundColor(rowIndex++ % 2 == 0 ? EVEN_ROW_BACKGROUND : ODD_ROW_BACKGROUND);
+            table.getDefaultCell().setHorizontalAlignment(Element.ALIGN_LEFT);
+            if (grouping.period() != null) {
+                table.addCell(new Phrase(formatPeriod(summary.period(), grouping.period()), BODY_FONT));
+            }
+            if (grouping.byCategory()) {
+                table.addCell(new Phrase(summary.category(), BODY_FONT));
+            }
+            addSummaryMetrics(table, summary.count(), summary.sum(), summary.average(), summary.min(), summary.max(),
+                    BODY_FONT);
+
+            count += summary.count();
+            sum = sum.add(summary.sum());
+            min = min == null || summary.min().compareTo(min) < 0 ? summary.min() : min;
+            max = max == null || summary.max().compareTo(max) > 0 ? summary.max() : max;
+        }
+
+        table.getDefaultCell().setBackgroundColor(HEADER_BACKGROUND);
+        table.getDefaultCell().setHorizontalAlignment(Element.ALIGN_LEFT);
+        PdfPCell label = new PdfPCell(table.getDefaultCell());
+        label.setPhrase(new Phrase("Total", TOTAL_FONT));
+        label.setColspan(keyColumns);
+        table.addCell(label);
+        addSummaryMetrics(table, count, sum, new TransactionSummary(null, null, count, sum, min, max).average(), min, max,
+                TOTAL_FONT);
+
+        return table;
+    }
+
+    private void addSummaryMetrics(PdfPTable table, long count, BigDecimal sum, BigDecimal average, BigDecimal min,
+            BigDecimal max, Font font) {
+        table.getDefaultCell().setHorizontalAlignment(Element.ALIGN_RIGHT);
+        table.addCell(new Phrase(Long.toString(count), font));
+        for (BigDecimal value : List.of(sum, average, min, max)) {
+            table.addCell(new Phrase(value.toPlainString().replace('.', ','), font));
+        }
+    }
+
+    private static String formatPeriod(LocalDate start, SummaryPeriod period) {
+        return switch (period) {
+            case DAY -> start.format(DATE_FORMAT);
+            case MONTH -> start.format(MONTH_FORMAT);
+            case YEAR -> start.format(YEAR_FORMAT);
+        };
+    }
+
+    /**
+     * Divide as transações em segmentos, renderiza cada um em paralelo e concatena as páginas
+     * na ordem original.
+     * <p>
+     * A leitura do stream continua na thread chamadora (dentro da transação), que também acompanha a
+     * paginação: um segmento termina na primeira quebra de página depois de {@code segment-rows} linhas,
+     * e a linha que abre a página seguinte começa o próximo. No máximo {@code parallelism + 1}
+     * segmentos ficam em memória ao mesmo tempo: a leitura só avança depois que o segmento mais antigo
+     * é anexado à saída.
+     * </p>
+     */
+    private void generateInSegments(Iterator<TransactionRow> rows, OutputStream out) throws IOException {
+        Document merged = new Document(PageSize.A4, 36, 36, 36, 36);
+        PdfCopy copy = new PdfCopy(merged, out);
+        copy.setCloseStream(false);
+        merged.open();
+
+        Pagination pagination = new Pagination();
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        long firstRow = 0;
+        TransactionRow carried = null;
+        try {
+            while (carried != null || rows.hasNext()) {
+                List<TransactionRow> segment = new ArrayList<>(properties.segmentRows());
+                if (carried != null) {
+                    segment.add(carried);
+                    carried = null;
+                }
+                while (rows.hasNext()) {
+                    TransactionRow row = rows.next();
+                    if (pagination.startsPage(row, firstRow + segment.size())
+                            && segment.size() >= properties.segmentRows()) {
+                        carried = row;
+                        break;
+                    }
+                    segment.add(row);
+                }
+
+                long segmentFirstRow = firstRow;
+                pending.add(pool.submit(() -> renderSegment(segment, segmentFirstRow)));
+                firstRow += segment.size();
+
+                if (pending.size() > properties.parallelism()) {
+                    appendSegment(copy, pending.poll().get());
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                appendSegment(copy, pending.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Geração do relatório PDF interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ReportGenerationException("Erro ao gerar o relatório PDF: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        merged.close();
+    }
+
+    /**
+     * Renderiza uma faixa de linhas como um PDF independente. Apenas o primeiro segmento
+     * recebe o cabeçalho do relatório; os demais começam no topo de uma página, como a
+     * continuação da tabela nos outros modos.
+     */
+    private byte[] renderSegment(List<TransactionRow> segment, long firstRow) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+        PdfWriter writer = PdfWriter.getInstance(document, buffer);
+
+        document.open();
+        if (firstRow == 0) {
+            setHeaderDocument(document, TITLE);
+        }
+        setTableInDocument(document, writer, segment.iterator(), firstRow, firstRow == 0);
+        document.close();
+
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Reproduz, sem desenhar, a verificação de altura do modo {@code chunked}, para saber em que
+     * linhas a tabela muda de página. Só a linha de títulos e as linhas da página corrente ficam na
+     * tabela de medição.
+     */
+    private final class Pagination {
+
+        private final PdfPTable table;
+        private final float pageHeight;
+        private float available;
+
+        Pagination() {
+            // A primeira página começa abaixo do cabeçalho do relatório, medido num documento descartado.
+            Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+            PdfWriter writer = PdfWriter.getInstance(document, OutputStream.nullOutputStream());
+            document.open();
+            setHeaderDocument(document, TITLE);
+            table = createTransactionTable(document, true);
+            available = writer.getVerticalPosition(true) - document.bottom() - table.spacingBefore();
+            pageHeight = document.top() - document.bottom();
+            document.close();
+        }
+
+        /**
+         * @return {@code true} se a linha não cabe na página corrente e abre a próxima.
+         */
+        boolean startsPage(TransactionRow transaction, long rowIndex) {
+            addRow(table, transaction, rowIndex);
+            if (table.getTotalHeight() > available && table.size() > table.getHeaderRows() + 1) {
+                table.deleteBodyRows();
+                addRow(table, transaction, rowIndex);
+                available = pageHeight;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void appendSegment(PdfCopy copy, byte[] segment) throws IOException {
+        PdfReader reader = new PdfReader(segment);
+        try {
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                copy.addPage(copy.getImportedPage(reader, page));
+            }
+            copy.freeReader(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
     /**
      * Configura e adiciona o cabeçalho ao documento.
      * 
@@ -85,12 +404,11 @@ public class ReportPDF extends ReportGeneratorTemplate {
      * @param stringTitle O título do relatório.
      */
     private void setHeaderDocument(Document document, String stringTitle) {
-        Paragraph title = new Paragraph(stringTitle, new Font(Font.HELVETICA, 18, Font.BOLD));
+        Paragraph title = new Paragraph(stringTitle, TITLE_FONT);
         title.setAlignment(Element.ALIGN_LEFT);
         document.add(title);
 
-        Paragraph date = new Paragraph(LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                new Font(Font.HELVETICA, 10, Font.NORMAL));
+        Paragraph date = new Paragraph(LocalDate.now().format(DATE_FORMAT), BODY_FONT);
         date.setSpacingAfter(10);
         document.add(date);
 
@@ -102,32 +420,102 @@ public class ReportPDF extends ReportGeneratorTemplate {
      * Constrói e adiciona a tabela de transações ao documento.
      * <p>
      * A tabela possui 4 colunas (Data, Descrição, Valor, Categoria) e largura de 100%.
+     * Fora do modo {@code single}, a tabela é marcada como incompleta e enviada ao documento
+     * sempre que as linhas pendentes completam uma página; as linhas já escritas são descartadas
+     * pelo OpenPDF. O envio acontece exatamente na quebra de página, que é então forçada, para que a
+     * ordem de desenho (fundos, bordas e textos) de cada página seja a mesma da tabela única e para
+     * que as quebras dependam só das alturas medidas (ver {@link Pagination}).
      * </p>
      * @param document O documento PDF.
-     * @param transactions A lista de dados para preencher a tabela.
+     * @param writer O writer associado ao documento.
+     * @param transactions As transações que preenchem a tabela.
+     * @param firstRow O índice global da primeira linha (usado no zebrado).
+     * @param first Se a tabela abre o relatório, logo abaixo do cabeçalho (com o espaçamento).
+     */
+    private void setTableInDocument(Document document, PdfWriter writer, Iterator<TransactionRow> transactions,
+            long firstRow, boolean first) {
+        boolean chunked = properties.mode() != Mode.SINGLE;
+        PdfPTable table = chunked ? createTransactionTable(document, first) : createTransactionTable(first);
+        float available = 0;
+        if (chunked) {
+            table.setComplete(false);
+            available = writer.getVerticalPosition(true) - document.bottom() - table.spacingBefore();
+        }
+
+        long rowIndex = firstRow;
+
+        while (transactions.hasNext()) {
+            TransactionRow transaction = transactions.next();
+            addRow(table, transaction, rowIndex);
+
+            if (chunked && table.getTotalHeight() > available && table.size() > table.getHeaderRows() + 1) {
+                // A última linha não cabe mais: envia a página completa e a recomeça na próxima.
+                table.deleteLastRow();
+                document.add(table);
+                document.newPage();
+                // O OpenPDF omite os títulos no início de uma continuação; cada envio abre uma página.
+                table.setSkipFirstHeader(false);
+                table.setSpacingBefore(0f);
+                addRow(table, transaction, rowIndex);
+                available = document.top() - document.bottom();
+            }
+            rowIndex++;
+        }
+
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    /**
+     * Cria a tabela de transações com a linha de títulos das colunas, repetida em cada página.
+     *
+     * @param first Se a tabela abre o relatório, logo abaixo do cabeçalho (com o espaçamento).
+     * @return A tabela, ainda sem linhas de transação.
      */
-    private void setTableInDocument(Document document, List<Transaction> transactions) {
+    private PdfPTable createTransactionTable(boolean first) {
         PdfPTable table = new PdfPTable(4);
         table.setWidthPercentage(100);
-        table.setSpacingBefore(15f);
         table.setWidths(new float[] { 1.5f, 3f, 1.5f, 2f });
-
+        setBodyCellStyle(table.getDefaultCell());
+        if (first) {
+            table.setSpacingBefore(15f);
+        }
         table.addCell(createHeaderCell("Data"));
         table.addCell(createHeaderCell("Descrição"));
         table.addCell(createHeaderCell("Valor"));
         table.addCell(createHeaderCell("Categoria"));
+        table.setHeaderRows(1);
+        return table;
+    }
 
-        int rowIndex = 0;
+    /**
+     * Cria a tabela de transações com a largura fixada na do documento, para que as alturas
+     * medidas durante o preenchimento coincidam com as usadas ao adicioná-la.
+     */
+    private PdfPTable createTransactionTable(Document document, boolean first) {
+        PdfPTable table = createTransactionTable(first);
+        table.setTotalWidth((document.right() - document.left()) * table.getWidthPercentage() / 100);
+        return table;
+    }
 
-        for (Transaction transaction : transactions) {
-            table.addCell(createCell(transaction.getDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")), rowIndex));
-            table.addCell(createCell(transaction.getDescription(), rowIndex));
-            table.addCell(createCell(transaction.getValue().toString().replace(".", ","), rowIndex));
-            table.addCell(createCell(transaction.getCategory(), rowIndex));
-            rowIndex++;
-        }
+    /**
+     * Adiciona uma linha de transação à tabela.
+     * <p>
+     * As células são criadas pelo OpenPDF a partir da célula padrão da tabela (configurada em
+     * {@link #setBodyCellStyle(PdfPCell)}); por linha, só a cor de fundo do zebrado muda.
+     * </p>
+     *
+     * @param table A tabela de transações.
+     * @param transaction A transação da linha.
+     * @param rowIndex O índice global da linha (usado para alternar a cor de fundo).
+     */
+    private void addRow(PdfPTable table, TransactionRow transaction, long rowIndex) {
+        table.getDefaultCell().setBackgroundColor(rowIndex % 2 == 0 ? EVEN_ROW_BACKGROUND : ODD_ROW_BACKGROUND);
 
-        document.add(table);
+        table.addCell(new Phrase(transaction.date().format(DATE_FORMAT), BODY_FONT));
+        table.addCell(new Phrase(transaction.description(), BODY_FONT));
+        table.addCell(new Phrase(transaction.value().toString().replace('.', ','), BODY_FONT));
+        table.addCell(new Phrase(transaction.category(), BODY_FONT));
     }
 
     /**
@@ -137,8 +525,8 @@ public class ReportPDF extends ReportGeneratorTemplate {
      * @return Uma célula (PdfPCell) com fundo cinza e texto em negrito.
      */
     private PdfPCell createHeaderCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, new Font(Font.HELVETICA, 10, Font.BOLD)));
-        cell.setBackgroundColor(new Color(240, 240, 240));
+        PdfPCell cell = new PdfPCell(new Phrase(text, HEADER_FONT));
+        cell.setBackgroundColor(HEADER_BACKGROUND);
         cell.setPadding(8);
         cell.setHorizontalAlignment(Element.ALIGN_CENTER);
         cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
@@ -146,26 +534,16 @@ public class ReportPDF extends ReportGeneratorTemplate {
     }
 
     /**
-     * Cria uma célula de dados estilizada com cores alternadas (zebrado).
-     * 
-     * @param text O conteúdo da célula.
-     * @param rowIndex O índice da linha atual (usado para alternar a cor de fundo).
-     * @return Uma célula (PdfPCell) formatada.
+     * Aplica o estilo das células de dados: borda inferior fina, alinhamento à esquerda
+     * e centralizado na vertical.
+     *
+     * @param cell A célula padrão da tabela, usada como molde para as células de dados.
      */
-    private PdfPCell createCell(String text, int rowIndex) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, BODY_FONT));
+    private void setBodyCellStyle(PdfPCell cell) {
         cell.setPadding(6f);
         cell.setBorder(Rectangle.BOTTOM);
         cell.setBorderWidth(0.5f);
         cell.setHorizontalAlignment(Element.ALIGN_LEFT);
         cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
-
-        if (rowIndex % 2 == 0) {
-            cell.setBackgroundColor(new Color(252, 252, 252));
-        } else {
-            cell.setBackgroundColor(new Color(245, 245, 245));
-        }
-
-        return cell;
     }
 }
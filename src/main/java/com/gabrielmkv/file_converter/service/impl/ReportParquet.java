@@ -0,0 +1,67 @@
+package com.gabrielmkv.file_converter.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.parquet.TransactionParquetWriter;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+
+/**
+ * Implementação da estratégia de geração de relatórios em formato Apache Parquet.
+ * <p>
+ * O arquivo é colunar e tipado (data como DATE, valor como DECIMAL(10,2)), pronto para ser lido
+ * por ferramentas analíticas como DuckDB, Spark ou pandas sem conversões. As transações são gravadas
+ * em row groups de tamanho fixo, o que mantém a memória limitada mesmo em relatórios grandes.
+ * </p>
+ * Esta classe é registrada no contexto Spring com o nome "parquet".
+ */
+@Lazy
+@Component("parquet")
+public class ReportParquet extends ReportGeneratorTemplate {
+
+    private final int rowGroupRows;
+    private final TransactionParquetWriter.Codec codec;
+
+    /**
+     * Construtor da classe.
+     *
+     * @param rowGroupRows A quantidade de linhas por row group.
+     * @param codec A compressão aplicada às páginas (uncompressed ou gzip).
+     */
+    public ReportParquet(@Value("${report.parquet.row-group-rows:100000}") int rowGroupRows,
+                         @Value("${report.parquet.compression:uncompressed}") TransactionParquetWriter.Codec codec) {
+        this.rowGroupRows = rowGroupRows;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getMimeType() {
+        return "application/vnd.apache.parquet";
+    }
+
+    @Override
+    public String getContentDisposition() {
+        return "attachment";
+    }
+
+    @Override
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
+        try (TransactionParquetWriter writer = new TransactionParquetWriter(out, rowGroupRows, codec)) {
+            Iterator<TransactionRow> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o Parquet: " + e.getMessage(), e);
+        }
+    }
+
+}
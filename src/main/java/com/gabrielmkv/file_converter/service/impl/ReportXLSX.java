@@ -0,0 +1,68 @@
+package com.gabrielmkv.file_converter.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.xlsx.TransactionXlsxWriter;
+
+/**
+ * Implementação da estratégia de geração de relatórios em formato Excel (XLSX).
+ * <p>
+ * As células são tipadas (data como data do Excel, valor como número com formato de moeda em reais),
+ * de modo que a planilha já abre pronta para somas, filtros e tabelas dinâmicas. O arquivo é escrito
+ * em fluxo, linha a linha, com memória constante; relatórios com mais linhas do que cabem numa
+ * planilha continuam em planilhas seguintes.
+ * </p>
+ * Esta classe é registrada no contexto Spring com o nome "xlsx".
+ */
+@Lazy
+@Component("xlsx")
+public class ReportXLSX extends ReportGeneratorTemplate {
+
+    private final int sheetRows;
+    private final int compressionLevel;
+
+    /**
+     * Construtor da classe.
+     *
+     * @param sheetRows A quantidade máxima de linhas de dados por planilha.
+     * @param compressionLevel O nível de compressão do arquivo (0 a 9).
+     */
+    public ReportXLSX(@Value("${report.xlsx.sheet-rows:1048575}") int sheetRows,
+                      @Value("${report.xlsx.compression-level:1}") int compressionLevel) {
+        this.sheetRows = sheetRows;
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public String getMimeType() {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    @Override
+    public String getContentDisposition() {
+        return "attachment";
+    }
+
+    @Override
+    protected void generateContent(Stream<TransactionRow> transactions, OutputStream out) {
+        try (TransactionXlsxWriter writer = new TransactionXlsxWriter(out, sheetRows, compressionLevel)) {
+            Iterator<TransactionRow> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ReportGenerationException("Falha ao processar os dados para o XLSX: " + e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+/**
+ * Filtro de Bloom sobre impressões digitais de 64 bits.
+ * <p>
+ * As posições vêm do hash duplo (Kirsch–Mitzenmacher) das duas metades da impressão digital, que já é
+ * bem distribuída. Não é thread-safe: o {@link TransactionDedupIndex} só o acessa sob o seu lock.
+ * </p>
+ */
+final class BloomFilter {
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+    private final long capacity;
+    private long size;
+
+    /**
+     * @param capacity Quantidade de elementos para a qual a taxa de falsos positivos é garantida.
+     * @param falsePositiveRate A taxa de falsos positivos na capacidade.
+     */
+    BloomFilter(long capacity, double falsePositiveRate) {
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.words = new long[(int) Math.max(1, (optimalBits + 63) >>> 6)];
+        this.bits = (long) words.length << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        this.capacity = capacity;
+    }
+
+    void put(long fingerprint) {
+        int high = (int) (fingerprint >>> 32);
+        int low = (int) fingerprint;
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(high, low, i);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    /**
+     * @return {@code false} se a impressão digital certamente nunca foi adicionada.
+     */
+    boolean mightContain(long fingerprint) {
+        int high = (int) (fingerprint >>> 32);
+        int low = (int) fingerprint;
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(high, low, i);
+            if ((words[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Se já recebeu mais elementos que a capacidade, com taxa de falsos positivos acima da prevista.
+     */
+    boolean isSaturated() {
+        return size > capacity;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private long index(int high, int low, int i) {
+        return Math.floorMod(low + (long) i * high, bits);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Busca no banco, em uma consulta pela coluna indexada {@code fingerprint}, as chaves gravadas com as
+ * impressões digitais de um lote.
+ * <p>
+ * A consulta tem sempre {@code batchSize} parâmetros, para ser preparada uma única vez; lotes menores
+ * repetem a primeira impressão digital. Usa a conexão da importação, então enxerga também as linhas já
+ * enviadas e ainda não confirmadas.
+ * </p>
+ */
+class DuplicateLookup implements AutoCloseable {
+
+    private final PreparedStatement statement;
+    private final int batchSize;
+
+    DuplicateLookup(Connection connection, int batchSize) throws SQLException {
+        this.batchSize = batchSize;
+        StringBuilder sql = new StringBuilder(
+                "SELECT transaction_date, description, value_brl, category FROM transactions WHERE fingerprint IN (?");
+        sql.append(", ?".repeat(batchSize - 1)).append(')');
+        this.statement = connection.prepareStatement(sql.toString());
+    }
+
+    /**
+     * @param fingerprints As impressões digitais das chaves conferidas.
+     * @param count Quantas impressões digitais usar, até {@code batchSize}.
+     * @return As chaves já gravadas com essas impressões digitais, em um conjunto que o chamador pode alterar.
+     */
+    Set<TransactionKey> findExisting(long[] fingerprints, int count) throws SQLException {
+        for (int i = 0; i < batchSize; i++) {
+            statement.setLong(i + 1, fingerprints[i < count ? i : 0]);
+        }
+        Set<TransactionKey> existing = new HashSet<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                existing.add(new TransactionKey(rs.getObject(1, LocalDate.class), rs.getString(2), rs.getBigDecimal(3),
+                        rs.getString(4)));
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.close();
+    }
+}
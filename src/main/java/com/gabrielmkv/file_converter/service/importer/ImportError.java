@@ -0,0 +1,10 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+/**
+ * Erro de validação de uma linha do arquivo importado.
+ *
+ * @param row A posição da linha no arquivo (linha do CSV ou índice do elemento JSON, a partir de 1).
+ * @param message A descrição do problema.
+ */
+public record ImportError(long row, String message) {
+}
@@ -0,0 +1,13 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+/**
+ * Corpo da resposta de uma importação interrompida.
+ *
+ * @param message A causa da interrupção.
+ * @param rowsCommitted Linhas gravadas e confirmadas antes da falha, que permanecem no banco.
+ * @param lastCommittedRow A posição no arquivo (linha do CSV ou índice do elemento JSON, a partir de 1) da
+ *        última linha já processada e confirmada; a importação pode ser retomada a partir da seguinte. Zero
+ *        quando nada foi confirmado.
+ */
+public record ImportFailure(String message, long rowsCommitted, long lastCommittedRow) {
+}
@@ -0,0 +1,17 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.util.List;
+
+/**
+ * Resultado da importação de um arquivo de transações.
+ *
+ * @param rowsRead Linhas de dados lidas do arquivo.
+ * @param rowsInserted Linhas gravadas no banco.
+ * @param rowsDuplicated Linhas descartadas por já existirem no banco (ou antes no próprio arquivo).
+ * @param rowsRejected Linhas rejeitadas pela validação.
+ * @param errors Detalhes dos primeiros erros de validação.
+ * @param elapsedMillis Duração da importação em milissegundos.
+ */
+public record ImportResult(long rowsRead, long rowsInserted, long rowsDuplicated, long rowsRejected,
+        List<ImportError> errors, long elapsedMillis) {
+}
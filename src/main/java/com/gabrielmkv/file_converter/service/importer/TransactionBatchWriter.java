@@ -0,0 +1,190 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.service.delta.TransactionVersionHorizon;
+import com.gabrielmkv.file_converter.service.summary.TransactionRollup;
+
+/**
+ * Grava transações na tabela {@code transactions} por lotes JDBC.
+ * <p>
+ * O id da entidade usa {@code GenerationType.IDENTITY}, o que impede o Hibernate de agrupar
+ * inserts; por isso a importação usa JDBC diretamente, enviando um lote a cada
+ * {@code batchSize} linhas. A importação confirma a transação ({@link #commit()}) a cada
+ * {@code commitInterval} linhas, entre uma linha do arquivo e a seguinte, para que nem o driver
+ * nem o banco acumulem o arquivo inteiro e para que o ponto confirmado corresponda a uma posição
+ * do arquivo.
+ * </p>
+ * <p>
+ * Com os totais diários habilitados, cada confirmação aplica também os totais das linhas do
+ * trecho confirmado, na mesma transação.
+ * </p>
+ * <p>
+ * Cada trecho ainda não confirmado mantém um piso reservado no {@link TransactionVersionHorizon},
+ * para que as exportações incrementais não avancem a marca d'água além das versões pendentes.
+ * </p>
+ */
+class TransactionBatchWriter implements AutoCloseable {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category, fingerprint) VALUES (?, ?, ?, ?, ?)";
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private final int commitInterval;
+    private final boolean previousAutoCommit;
+    private final TransactionRollup.Batch rollup;
+    private final TransactionVersionHorizon horizon;
+    private long versionFloor = -1;
+    private int pendingBatch;
+    private int pendingCommit;
+    private long written;
+    private long committed;
+    private boolean aborted;
+
+    TransactionBatchWriter(DataSource dataSource, int batchSize, int commitInterval, TransactionRollup.Batch rollup,
+            TransactionVersionHorizon horizon) throws SQLException {
+        this.connection = dataSource.getConnection();
+        this.rollup = rollup;
+        this.horizon = horizon;
+        this.previousAutoCommit = connection.getAutoCommit();
+        this.batchSize = batchSize;
+        this.commitInterval = Math.max(commitInterval, batchSize);
+        try {
+            connection.setAutoCommit(false);
+            this.statement = connection.prepareStatement(INSERT_SQL);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adiciona uma transação ao lote atual, enviando-o quando completo.
+     *
+     * @param transaction A transação validada, com a impressão digital.
+     */
+    void add(Transaction transaction) throws SQLException {
+        if (versionFloor < 0) {
+            versionFloor = horizon.reserve(connection);
+        }
+        statement.setObject(1, transaction.getDate());
+        statement.setString(2, transaction.getDescription());
+        statement.setBigDecimal(3, transaction.getValue());
+        statement.setString(4, transaction.getCategory());
+        statement.setLong(5, transaction.getFingerprint());
+        statement.addBatch();
+        if (rollup != null) {
+            rollup.add(transaction);
+        }
+
+        if (++pendingBatch == batchSize) {
+            executeBatch();
+        }
+    }
+
+    /**
+     * Envia o lote atual, para que consultas nesta conexão enxerguem as linhas adicionadas até aqui.
+     */
+    void flush() throws SQLException {
+        executeBatch();
+    }
+
+    /**
+     * @return A conexão da importação, para consultas que devem enxergar as linhas ainda não confirmadas.
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * @return Quantidade de linhas já enviadas ao banco.
+     */
+    long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return Quantidade de linhas já confirmadas, que permanecem no banco mesmo se a importação falhar.
+     */
+    long getCommitted() {
+        return committed;
+    }
+
+    /**
+     * @return Se as linhas ainda não confirmadas já somam {@code commitInterval}.
+     */
+    boolean isCommitDue() {
+        return pendingCommit + pendingBatch >= commitInterval;
+    }
+
+    private void executeBatch() throws SQLException {
+        if (pendingBatch == 0) {
+            return;
+        }
+        statement.executeBatch();
+        written += pendingBatch;
+        pendingCommit += pendingBatch;
+        pendingBatch = 0;
+    }
+
+    /**
+     * Envia o lote atual e confirma todas as linhas adicionadas até aqui.
+     */
+    void commit() throws SQLException {
+        executeBatch();
+        if (rollup != null) {
+            rollup.commit(connection);
+        } else {
+            connection.commit();
+        }
+        committed += pendingCommit;
+        pendingCommit = 0;
+        releaseVersionFloor();
+    }
+
+    private void releaseVersionFloor() {
+        if (versionFloor >= 0) {
+            horizon.release(versionFloor);
+            versionFloor = -1;
+        }
+    }
+
+    /**
+     * Descarta as linhas ainda não confirmadas; o fechamento fará rollback em vez de commit.
+     */
+    void abort() {
+        aborted = true;
+    }
+
+    /**
+     * Envia o último lote, confirma a transação e libera a conexão.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (aborted) {
+                connection.rollback();
+                if (rollup != null) {
+                    rollup.discard();
+                }
+            } else {
+                commit();
+            }
+        } finally {
+            releaseVersionFloor();
+            try {
+                statement.close();
+                connection.setAutoCommit(previousAutoCommit);
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.TransactionImportProperties;
+import com.gabrielmkv.file_converter.model.TransactionChangedEvent;
+
+/**
+ * Filtro de Bloom das impressões digitais ({@link TransactionKey#fingerprint()}) de todas as transações
+ * gravadas, usado pela importação com deduplicação.
+ * <p>
+ * Uma linha cuja impressão digital o filtro nunca viu é certamente nova e vai direto para o lote de
+ * inserts, sem consulta ao banco; só as demais (repetidas ou falsos positivos) são conferidas, em lotes,
+ * pela coluna indexada {@code fingerprint}.
+ * </p>
+ * <p>
+ * O filtro é reconstruído na inicialização e atualizado pela própria importação com deduplicação. Importações
+ * sem deduplicação e escritas pelo JPA o marcam como desatualizado, assim como linhas sem impressão digital
+ * (inseridas por SQL direto, como as de exemplo) e um filtro acima da capacidade; nesses casos ele é
+ * reconstruído, preenchendo as impressões digitais ausentes, antes da próxima importação com deduplicação.
+ * As importações com deduplicação são serializadas pelo lock do filtro, para que duas importações
+ * simultâneas do mesmo arquivo não gravem as mesmas linhas.
+ * </p>
+ */
+@Service
+public class TransactionDedupIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionDedupIndex.class);
+
+    private static final String MISSING_SQL = "SELECT 1 FROM transactions WHERE fingerprint IS NULL LIMIT 1";
+
+    private static final String MISSING_ROWS_SQL =
+            "SELECT id, transaction_date, description, value_brl, category FROM transactions WHERE fingerprint IS NULL";
+
+    // Atribuir row_version explicitamente evita o ON UPDATE: a impressão digital não é uma alteração da linha.
+    private static final String BACKFILL_SQL =
+            "UPDATE transactions SET fingerprint = ?, row_version = row_version WHERE id = ?";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM transactions";
+
+    private static final String FINGERPRINTS_SQL = "SELECT fingerprint FROM transactions";
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int BACKFILL_BATCH_SIZE = 1_000;
+
+    private final DataSource dataSource;
+    private final TransactionImportProperties.Dedup properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private BloomFilter filter;
+
+    public TransactionDedupIndex(DataSource dataSource, TransactionImportProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties.dedup();
+    }
+
+    /**
+     * Marca o filtro como desatualizado, forçando a reconstrução antes da próxima importação com deduplicação.
+     */
+    @EventListener(TransactionChangedEvent.class)
+    public void invalidate() {
+        stale.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        if (properties.enabled()) {
+            lock.lock();
+            try {
+                rebuild();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Adquire o filtro para uma importação, reconstruindo-o se necessário. A importação seguinte com
+     * deduplicação aguarda o {@link Session#close() fechamento}.
+     *
+     * @return A sessão de uso exclusivo do filtro.
+     */
+    Session open() {
+        lock.lock();
+        try {
+            if (stale.get() || filter == null || filter.isSaturated() || hasMissingFingerprints()) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+        return new Session();
+    }
+
+    private boolean hasMissingFingerprints() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(MISSING_SQL)) {
+            return rs.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao verificar as impressões digitais: " + e.getMessage(), e);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            // Limpa antes de ler: escritas feitas durante a reconstrução a marcam de novo.
+            stale.set(false);
+            long backfilled = backfill(connection);
+
+            try (Statement statement = connection.createStatement()) {
+                long rows;
+                try (ResultSet rs = statement.executeQuery(COUNT_SQL)) {
+                    rs.next();
+                    rows = rs.getLong(1);
+                }
+                // Folga para o crescimento da tabela antes da próxima reconstrução.
+                BloomFilter rebuilt = new BloomFilter(Math.max(properties.expectedRows(), 2 * rows),
+                        properties.falsePositiveRate());
+                statement.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery(FINGERPRINTS_SQL)) {
+                    while (rs.next()) {
+                        rebuilt.put(rs.getLong(1));
+                    }
+                }
+                filter = rebuilt;
+                log.info("Filtro de deduplicação reconstruído: {} linhas, {} impressões digitais preenchidas, {} KB, {} ms",
+                        rows, backfilled, rebuilt.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (SQLException e) {
+            stale.set(true);
+            throw new IllegalStateException("Falha ao reconstruir o filtro de deduplicação: " + e.getMessage(), e);
+        }
+    }
+
+    private static long backfill(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long updated = 0;
+        try (Statement select = connection.createStatement();
+                PreparedStatement update = connection.prepareStatement(BACKFILL_SQL)) {
+            select.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = select.executeQuery(MISSING_ROWS_SQL)) {
+                while (rs.next()) {
+                    TransactionKey key = new TransactionKey(rs.getObject(2, LocalDate.class),
+                            rs.getString(3), rs.getBigDecimal(4), rs.getString(5));
+                    update.setLong(1, key.fingerprint());
+                    update.setLong(2, rs.getLong(1));
+                    update.addBatch();
+                    if (++updated % BACKFILL_BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return updated;
+    }
+
+    /**
+     * Uso exclusivo do filtro por uma importação.
+     */
+    final class Session implements AutoCloseable {
+
+        private boolean closed;
+
+        /**
+         * @return {@code false} se nenhuma transação gravada tem a impressão digital.
+         */
+        boolean mightContain(long fingerprint) {
+            return filter.mightContain(fingerprint);
+        }
+
+        /**
+         * Registra a impressão digital de uma transação enviada ao banco.
+         */
+        void put(long fingerprint) {
+            filter.put(fingerprint);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                lock.unlock();
+            }
+        }
+    }
+}
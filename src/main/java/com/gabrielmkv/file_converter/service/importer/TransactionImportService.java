@@ -0,0 +1,398 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.TransactionImportProperties;
+import com.gabrielmkv.file_converter.exception.ImportFailedException;
+import com.gabrielmkv.file_converter.exception.InvalidImportFileException;
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.service.cache.TransactionDataVersion;
+import com.gabrielmkv.file_converter.service.delta.TransactionVersionHorizon;
+import com.gabrielmkv.file_converter.service.summary.TransactionRollup;
+import com.gabrielmkv.file_converter.service.csv.TransactionCsvParser;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Importa arquivos de transações (CSV no layout do relatório ou array JSON) para o banco.
+ * <p>
+ * O arquivo é lido uma linha por vez e cada linha válida vai direto para um lote JDBC,
+ * então o consumo de memória é constante. Linhas inválidas são contabilizadas e descritas
+ * no resultado (até {@code transactions.import.max-errors}) sem interromper a importação.
+ * </p>
+ * <p>
+ * Uma falha de leitura ou do banco interrompe a importação: as linhas do trecho ainda não confirmado são
+ * descartadas, e as já confirmadas permanecem, informadas com a posição do arquivo até onde foram
+ * confirmadas ({@link ImportFailedException}).
+ * </p>
+ * <p>
+ * Com deduplicação, linhas iguais a uma transação já gravada (mesma {@link TransactionKey}) são descartadas
+ * e contadas à parte. As que o filtro de Bloom do {@link TransactionDedupIndex} nunca viu são gravadas sem
+ * consulta; as demais aguardam em um lote de até {@code transactions.import.dedup.check-batch-size} linhas,
+ * conferido no banco com uma consulta, e por isso podem ser gravadas depois de linhas que vêm após elas no
+ * arquivo. Repetições dentro do próprio arquivo também são descartadas.
+ * </p>
+ */
+@Service
+public class TransactionImportService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int VALUE_SCALE = 2;
+    private static final int VALUE_INTEGER_DIGITS = 8;
+
+    private final DataSource dataSource;
+    private final TransactionImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionRollup rollup;
+    private final TransactionVersionHorizon horizon;
+    private final TransactionDedupIndex dedupIndex;
+    private final TransactionDataVersion dataVersion;
+
+    public TransactionImportService(DataSource dataSource, TransactionImportProperties properties,
+            ObjectMapper objectMapper, TransactionRollup rollup, TransactionVersionHorizon horizon,
+            TransactionDedupIndex dedupIndex, TransactionDataVersion dataVersion) {
+        this.dataSource = dataSource;
+        this.dedupIndex = dedupIndex;
+        this.dataVersion = dataVersion;
+        this.properties = properties;
+        this.rollup = rollup;
+        this.horizon = horizon;
+        this.objectMapper = objectMapper.rebuild()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                // Cada elemento do array é lido isoladamente; o restante do array vem em seguida.
+                .disable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+                .build();
+    }
+
+    /**
+     * Importa um arquivo no formato informado.
+     *
+     * @param format O formato do arquivo: csv ou json.
+     * @param in O conteúdo do arquivo.
+     * @param deduplicate Se linhas já gravadas devem ser descartadas; {@code null} usa
+     *        {@code transactions.import.dedup.enabled}.
+     * @return As contagens de linhas lidas, gravadas, repetidas e rejeitadas, com os erros encontrados.
+     * @throws ImportFailedException se o formato não for suportado, o arquivo for ilegível ou a gravação
+     *         falhar, com as linhas confirmadas até a falha.
+     */
+    public ImportResult importFile(String format, InputStream in, Boolean deduplicate) {
+        long start = System.nanoTime();
+        Importer importer = new Importer();
+        boolean dedup = deduplicate != null ? deduplicate : properties.dedup().enabled();
+
+        try (TransactionDedupIndex.Session session = dedup ? dedupIndex.open() : null;
+                TransactionBatchWriter writer = new TransactionBatchWriter(
+                        dataSource, properties.batchSize(), properties.commitInterval(), rollup.newBatch(), horizon);
+                DuplicateLookup lookup = dedup
+                        ? new DuplicateLookup(writer.getConnection(), properties.dedup().checkBatchSize())
+                        : null) {
+            importer.writer = writer;
+            importer.session = session;
+            importer.lookup = lookup;
+            try {
+                switch (format) {
+                    case "csv" -> importer.readCsv(in);
+                    case "json" -> importer.readJson(in);
+                    default -> throw new InvalidImportFileException("Formato de importação não suportado: " + format);
+                }
+                importer.checkSuspects();
+            } catch (RuntimeException | IOException | SQLException e) {
+                writer.abort();
+                throw e;
+            }
+        } catch (InvalidImportFileException e) {
+            throw importer.failure(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IOException | JacksonException e) {
+            throw importer.failure(HttpStatus.BAD_REQUEST, "Não foi possível ler o arquivo: " + e.getMessage(), e);
+        } catch (SQLException | RuntimeException e) {
+            throw importer.failure(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Falha ao gravar as transações: " + e.getMessage(), e);
+        } finally {
+            if (importer.inserted > 0) {
+                dataVersion.increment();
+                if (!dedup) {
+                    dedupIndex.invalidate();
+                }
+            }
+        }
+
+        return new ImportResult(importer.read, importer.inserted, importer.duplicated,
+                importer.read - importer.inserted - importer.duplicated, List.copyOf(importer.errors),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Estado de uma importação em andamento.
+     */
+    private class Importer {
+
+        private TransactionBatchWriter writer;
+        private TransactionDedupIndex.Session session;
+        private DuplicateLookup lookup;
+        private final List<ImportError> errors = new ArrayList<>();
+        private long read;
+        private long inserted;
+        private long duplicated;
+        private long lastCommittedRow;
+
+        // Linhas que o filtro de Bloom não descartou, aguardando a conferência no banco.
+        private final List<Transaction> suspects = new ArrayList<>();
+        private final List<TransactionKey> suspectKeys = new ArrayList<>();
+        private long[] suspectFingerprints;
+
+        void readCsv(InputStream in) throws IOException, SQLException {
+            TransactionCsvParser parser = new TransactionCsvParser(in);
+            List<String> header = parser.nextRecord();
+            if (header == null) {
+                throw new InvalidImportFileException("Arquivo CSV vazio");
+            }
+
+            int dateColumn = column(header, "date", true);
+            int descriptionColumn = column(header, "description", true);
+            int valueColumn = column(header, "value", true);
+            int categoryColumn = column(header, "category", false);
+            // O parser reutiliza a lista a cada registro: o tamanho do cabeçalho é guardado antes.
+            int columns = header.size();
+
+            List<String> record;
+            while ((record = parser.nextRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                read++;
+                long row = parser.getRecordLine();
+
+                if (record.size() != columns) {
+                    reject(row, "Esperados " + columns + " campos, encontrados " + record.size());
+                    continue;
+                }
+
+                try {
+                    Transaction transaction = new Transaction();
+                    transaction.setDate(parseDate(record.get(dateColumn)));
+                    transaction.setDescription(emptyToNull(record.get(descriptionColumn)));
+                    transaction.setValue(parseValue(record.get(valueColumn)));
+                    transaction.setCategory(categoryColumn < 0 ? null : emptyToNull(record.get(categoryColumn)));
+                    accept(row, transaction);
+                } catch (IllegalArgumentException e) {
+                    reject(row, e.getMessage());
+                }
+            }
+        }
+
+        void readJson(InputStream in) throws SQLException {
+            try (JsonParser parser = objectMapper.createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new InvalidImportFileException("O JSON deve ser um array de transações");
+                }
+
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new InvalidImportFileException("Array JSON não foi fechado");
+                    }
+                    read++;
+
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        reject(read, "Elemento não é um objeto");
+                        continue;
+                    }
+
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        Transaction transaction = new Transaction();
+                        transaction.setDate(parseDate(text(node, "date")));
+                        transaction.setDescription(text(node, "description"));
+                        transaction.setValue(decimal(node, "value"));
+                        transaction.setCategory(text(node, "category"));
+                        accept(read, transaction);
+                    } catch (IllegalArgumentException e) {
+                        reject(read, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private void accept(long row, Transaction transaction) throws SQLException {
+            String error = validate(transaction);
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            TransactionKey key = TransactionKey.of(transaction);
+            long fingerprint = key.fingerprint();
+            transaction.setFingerprint(fingerprint);
+            if (session == null) {
+                insert(transaction);
+            } else if (!session.mightContain(fingerprint)) {
+                session.put(fingerprint);
+                insert(transaction);
+            } else {
+                if (suspectFingerprints == null) {
+                    suspectFingerprints = new long[properties.dedup().checkBatchSize()];
+                }
+                suspectFingerprints[suspects.size()] = fingerprint;
+                suspects.add(transaction);
+                suspectKeys.add(key);
+                if (suspects.size() == suspectFingerprints.length) {
+                    checkSuspects();
+                }
+            }
+            checkpoint(row);
+        }
+
+        /**
+         * Confirma o trecho quando completo. As linhas aguardando conferência são decididas antes, para que
+         * todas as linhas do arquivo até {@code row}, e nenhuma depois dela, fiquem confirmadas.
+         */
+        private void checkpoint(long row) throws SQLException {
+            if (writer.isCommitDue()) {
+                checkSuspects();
+                writer.commit();
+                lastCommittedRow = row;
+            }
+        }
+
+        ImportFailedException failure(HttpStatus status, String message, Throwable cause) {
+            return new ImportFailedException(status,
+                    new ImportFailure(message, writer == null ? 0 : writer.getCommitted(), lastCommittedRow), cause);
+        }
+
+        /**
+         * Confere no banco as linhas aguardando, gravando as que não existem. As linhas já enviadas nesta
+         * importação entram na conferência, assim como as anteriores do mesmo lote.
+         */
+        void checkSuspects() throws SQLException {
+            if (suspects.isEmpty()) {
+                return;
+            }
+            writer.flush();
+            Set<TransactionKey> existing = lookup.findExisting(suspectFingerprints, suspects.size());
+            for (int i = 0; i < suspects.size(); i++) {
+                if (existing.add(suspectKeys.get(i))) {
+                    insert(suspects.get(i));
+                } else {
+                    duplicated++;
+                }
+            }
+            suspects.clear();
+            suspectKeys.clear();
+        }
+
+        private void insert(Transaction transaction) throws SQLException {
+            writer.add(transaction);
+            inserted++;
+        }
+
+        private void reject(long row, String message) {
+            if (errors.size() < properties.maxErrors()) {
+                errors.add(new ImportError(row, message));
+            }
+        }
+    }
+
+    private static int column(List<String> header, String name, boolean required) {
+        int index = header.indexOf(name);
+        if (index < 0 && required) {
+            throw new InvalidImportFileException("Coluna obrigatória ausente no cabeçalho: " + name);
+        }
+        return index;
+    }
+
+    private static String validate(Transaction transaction) {
+        if (transaction.getDate() == null) {
+            return "Data ausente";
+        }
+        if (transaction.getDescription() == null || transaction.getDescription().isBlank()) {
+            return "Descrição ausente";
+        }
+        if (transaction.getDescription().length() > MAX_TEXT_LENGTH) {
+            return "Descrição com mais de " + MAX_TEXT_LENGTH + " caracteres";
+        }
+        if (transaction.getCategory() != null && transaction.getCategory().length() > MAX_TEXT_LENGTH) {
+            return "Categoria com mais de " + MAX_TEXT_LENGTH + " caracteres";
+        }
+        BigDecimal value = transaction.getValue();
+        if (value == null) {
+            return "Valor ausente";
+        }
+        if (value.scale() > VALUE_SCALE) {
+            return "Valor com mais de " + VALUE_SCALE + " casas decimais: " + value.toPlainString();
+        }
+        if (value.precision() - value.scale() > VALUE_INTEGER_DIGITS) {
+            return "Valor excede " + VALUE_INTEGER_DIGITS + " dígitos inteiros: " + value.toPlainString();
+        }
+        return null;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida (use yyyy-MM-dd): " + value);
+        }
+    }
+
+    // Aceita o formato do relatório CSV (vírgula decimal) e o do JSON (ponto decimal).
+    private static BigDecimal parseValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + value);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isString()) {
+            throw new IllegalArgumentException("Campo '" + field + "' deve ser texto");
+        }
+        return value.stringValue();
+    }
+
+    private static BigDecimal decimal(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isNumber()) {
+            return value.decimalValue();
+        }
+        if (value.isString()) {
+            return parseValue(value.stringValue());
+        }
+        throw new IllegalArgumentException("Campo '" + field + "' deve ser numérico");
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+
+/**
+ * Identidade natural de uma transação para a deduplicação: data, descrição, valor (com duas casas) e
+ * categoria.
+ * <p>
+ * A {@link #fingerprint() impressão digital} é gravada na coluna indexada {@code fingerprint} e alimenta o
+ * filtro de Bloom do {@link TransactionDedupIndex}. Como é persistida, o cálculo não pode mudar entre
+ * versões sem recalcular a coluna. Colisões são possíveis: a decisão final compara sempre a chave completa.
+ * </p>
+ *
+ * @param date A data.
+ * @param description A descrição.
+ * @param value O valor, com escala 2.
+ * @param category A categoria, ou {@code null}.
+ */
+public record TransactionKey(LocalDate date, String description, BigDecimal value, String category) {
+
+    private static final long SEED = 0x6A09E667F3BCC908L;
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long NULL_TEXT = 0xBB67AE8584CAA73BL;
+
+    public TransactionKey {
+        value = value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * @param transaction Uma transação validada.
+     * @return A chave da transação.
+     */
+    public static TransactionKey of(Transaction transaction) {
+        return new TransactionKey(transaction.getDate(), transaction.getDescription(), transaction.getValue(),
+                transaction.getCategory());
+    }
+
+    /**
+     * @return Um hash de 64 bits da chave, estável entre execuções.
+     */
+    public long fingerprint() {
+        long hash = SEED;
+        hash = combine(hash, date.toEpochDay());
+        hash = combine(hash, value.unscaledValue().longValue());
+        hash = combine(hash, text(description));
+        hash = combine(hash, category == null ? NULL_TEXT : text(category));
+        return mix(hash);
+    }
+
+    private static long combine(long hash, long value) {
+        return Long.rotateLeft(hash ^ mix(value), 27) * MULTIPLIER;
+    }
+
+    // FNV-1a de 64 bits sobre as unidades UTF-16, somado ao tamanho.
+    private static long text(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return hash + text.length();
+    }
+
+    // Finalizador do MurmurHash3: espalha cada bit de entrada por todos os bits de saída.
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,139 @@
+package com.gabrielmkv.file_converter.service.job;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Representa um relatório gerado de forma assíncrona.
+ * <p>
+ * O estado é atualizado pela thread do job e lido pelas requisições de acompanhamento,
+ * por isso as transições são sincronizadas e o contador de linhas é atômico.
+ * </p>
+ */
+@JsonPropertyOrder({"id", "format", "status", "rowsRendered", "totalRows", "createdAt", "finishedAt", "error"})
+public class ReportJob {
+
+    private final String id;
+    private final String format;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong rowsRendered = new AtomicLong();
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile long totalRows = -1;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Path file;
+    private volatile Future<?> future;
+
+    public ReportJob(String id, String format) {
+        this.id = id;
+        this.format = format;
+    }
+
+    /**
+     * Marca o job como em execução.
+     *
+     * @return {@code false} se o job foi cancelado antes de começar.
+     */
+    synchronized boolean start() {
+        if (status != ReportJobStatus.QUEUED) {
+            return false;
+        }
+        status = ReportJobStatus.RUNNING;
+        return true;
+    }
+
+    synchronized void complete(Path file) {
+        if (status == ReportJobStatus.RUNNING) {
+            this.file = file;
+            finish(ReportJobStatus.COMPLETED);
+        }
+    }
+
+    synchronized void fail(String error) {
+        if (status == ReportJobStatus.RUNNING) {
+            this.error = error;
+            finish(ReportJobStatus.FAILED);
+        }
+    }
+
+    /**
+     * Solicita o cancelamento do job. Um job em execução é interrompido na próxima linha.
+     *
+     * @return {@code false} se o job já havia terminado.
+     */
+    synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        finish(ReportJobStatus.CANCELLED);
+        if (future != null) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+    private void finish(ReportJobStatus status) {
+        this.status = status;
+        this.finishedAt = Instant.now();
+    }
+
+    void rowRendered() {
+        rowsRendered.incrementAndGet();
+    }
+
+    void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public long getRowsRendered() {
+        return rowsRendered.get();
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public Path getFile() {
+        return file;
+    }
+
+    @JsonIgnore
+    public boolean isCancelled() {
+        return status == ReportJobStatus.CANCELLED;
+    }
+}
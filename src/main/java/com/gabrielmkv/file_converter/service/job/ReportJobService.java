@@ -0,0 +1,217 @@
+package com.gabrielmkv.file_converter.service.job;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.ReportJobProperties;
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.exception.ReportJobNotFoundException;
+import com.gabrielmkv.file_converter.exception.ReportJobNotReadyException;
+import com.gabrielmkv.file_converter.exception.ReportJobRejectedException;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionSpecifications;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.ReportStrategies;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gerencia a geração assíncrona de relatórios.
+ * <p>
+ * Os jobs rodam em threads virtuais, limitados a {@code report.jobs.concurrency} execuções
+ * simultâneas e a {@code report.jobs.queue-capacity} jobs na fila; acima disso a submissão é
+ * rejeitada. Os arquivos gerados ficam em {@code report.jobs.spool-dir} e são removidos,
+ * junto com o job, após {@code report.jobs.ttl}.
+ * </p>
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final ReportStrategies strategies;
+    private final TransactionRepository repository;
+    private final ReportJobProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportStrategies strategies, TransactionRepository repository,
+            ReportJobProperties properties) {
+        this.strategies = strategies;
+        this.repository = repository;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+                properties.concurrency(), properties.concurrency(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofVirtual().name("report-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        try {
+            Files.createDirectories(properties.spoolDir());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de spool: " + properties.spoolDir(), e);
+        }
+    }
+
+    /**
+     * Cria e enfileira um job de relatório.
+     *
+     * @param format O formato do relatório.
+     * @param filter Os critérios de seleção das transações.
+     * @return O job criado, no estado {@link ReportJobStatus#QUEUED}.
+     * @throws ReportGenerationException se o formato não for suportado.
+     * @throws ReportJobRejectedException se a fila de jobs estiver cheia.
+     */
+    public ReportJob submit(String format, TransactionFilter filter) {
+        ReportGeneratorTemplate strategy = strategies.get(format);
+
+        if (strategy == null) {
+            throw new ReportGenerationException("Formato de relatório não suportado: " + format);
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.getId(), job);
+
+        try {
+            job.setFuture(executor.submit(() -> run(job, strategy, filter)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new ReportJobRejectedException("Fila de relatórios cheia, tente novamente mais tarde.", e);
+        }
+        return job;
+    }
+
+    /**
+     * @param id O identificador do job.
+     * @return O job correspondente.
+     * @throws ReportJobNotFoundException se o job não existir ou já tiver expirado.
+     */
+    public ReportJob get(String id) {
+        ReportJob job = jobs.get(id);
+
+        if (job == null) {
+            throw new ReportJobNotFoundException("Job de relatório não encontrado: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Retorna o arquivo de um job concluído.
+     *
+     * @param id O identificador do job.
+     * @return O caminho do arquivo no diretório de spool.
+     * @throws ReportJobNotReadyException se o job ainda não terminou com sucesso.
+     */
+    public Path getFile(String id) {
+        ReportJob job = get(id);
+
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ReportJobNotReadyException("Job de relatório " + id + " está " + job.getStatus());
+        }
+        return job.getFile();
+    }
+
+    /**
+     * Cancela um job na fila ou em execução.
+     *
+     * @param id O identificador do job.
+     * @return O job após o cancelamento.
+     */
+    public ReportJob cancel(String id) {
+        ReportJob job = get(id);
+
+        if (job.cancel()) {
+            executor.purge();
+        }
+        return job;
+    }
+
+    private void run(ReportJob job, ReportGeneratorTemplate strategy, TransactionFilter filter) {
+        if (!job.start()) {
+            return;
+        }
+
+        Path target = properties.spoolDir().resolve(job.getId() + "." + job.getFormat());
+        Path partial = properties.spoolDir().resolve(job.getId() + ".part");
+
+        try {
+            long total = repository.count(TransactionSpecifications.matching(filter));
+            job.setTotalRows(filter.limit() == null ? total : Math.min(total, filter.limit()));
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                strategy.generateReport(out, filter, () -> {
+                    if (job.isCancelled() || Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Job cancelado");
+                    }
+                    job.rowRendered();
+                });
+            }
+
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.complete(target);
+        } catch (Exception e) {
+            if (!job.isCancelled()) {
+                log.warn("Falha no job de relatório {}", job.getId(), e);
+            }
+            job.fail(e.getMessage());
+            deleteQuietly(partial);
+        }
+
+        if (job.isCancelled()) {
+            deleteQuietly(target);
+        }
+    }
+
+    /**
+     * Remove os jobs finalizados há mais de {@code report.jobs.ttl}, junto com seus arquivos.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval}")
+    public void removeExpiredJobs() {
+        Instant limit = Instant.now().minus(properties.ttl());
+
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.getFinishedAt();
+            if (finishedAt == null || finishedAt.isAfter(limit)) {
+                return false;
+            }
+            if (job.getFile() != null) {
+                deleteQuietly(job.getFile());
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.gabrielmkv.file_converter.service.job;
+
+/**
+ * Estados possíveis de um job de relatório.
+ */
+public enum ReportJobStatus {
+
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * @return {@code true} se o job não será mais executado.
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
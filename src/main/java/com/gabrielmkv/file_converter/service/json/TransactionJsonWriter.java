@@ -0,0 +1,194 @@
+package com.gabrielmkv.file_converter.service.json;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Escritor JSON em fluxo dedicado às linhas {@link TransactionRow}.
+ * <p>
+ * Escreve cada transação diretamente num {@link JsonGenerator}, sem passar pela serialização
+ * reflexiva do databind. A saída segue as anotações de {@link TransactionRow}: propriedades na ordem de
+ * {@code @JsonPropertyOrder} (date, description, value, category), data no padrão yyyy-MM-dd
+ * de {@code @JsonFormat} e {@code id} omitido. As configurações de escrita do mapper
+ * (por exemplo, {@code WRITE_BIGDECIMAL_AS_PLAIN}) continuam valendo.
+ * </p>
+ * <p>
+ * Dois layouts são suportados: um array JSON ou NDJSON (um objeto por linha, cada linha
+ * terminada por '\n'). O {@link OutputStream} de destino não é fechado. Linhas do
+ * {@link TransactionSnapshot snapshot em memória} são escritas a partir dos valores primitivos e dos
+ * bytes UTF-8 dos textos, com a mesma saída.
+ * Instâncias não são thread-safe: crie uma por relatório.
+ * </p>
+ */
+public final class TransactionJsonWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final SerializableString DATE = new SerializedString("date");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString VALUE = new SerializedString("value");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+
+    private final JsonGenerator generator;
+    private final boolean lineDelimited;
+    private final char[] chars = new char[24];
+    private byte[] text = new byte[256];
+
+    /**
+     * Abre o escritor e, no layout de array, já escreve o '[' inicial.
+     *
+     * @param objectMapper O mapper de onde vêm as configurações de escrita.
+     * @param out O destino do JSON.
+     * @param lineDelimited Se verdadeiro, escreve NDJSON em vez de um array.
+     */
+    public TransactionJsonWriter(ObjectMapper objectMapper, OutputStream out, boolean lineDelimited) {
+        this.generator = objectMapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator((String) null)
+                .createGenerator(out);
+        this.lineDelimited = lineDelimited;
+
+        if (!lineDelimited) {
+            generator.writeStartArray();
+        }
+    }
+
+    /**
+     * Escreve uma transação.
+     *
+     * @param transaction A transação a ser escrita.
+     */
+    public void write(TransactionRow transaction) {
+        generator.writeStartObject();
+
+        generator.writeName(DATE);
+        LocalDate date = transaction.date();
+        if (date == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(DATE_FORMAT.format(date));
+        }
+
+        generator.writeName(DESCRIPTION);
+        generator.writeString(transaction.description());
+        generator.writeName(VALUE);
+        generator.writeNumber(transaction.value());
+        generator.writeName(CATEGORY);
+        generator.writeString(transaction.category());
+
+        generator.writeEndObject();
+
+        if (lineDelimited) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Escreve a linha atual de um cursor do snapshot, sem criar objetos.
+     *
+     * @param transaction O cursor, posicionado na linha a ser escrita.
+     */
+    public void write(TransactionSnapshot.Cursor transaction) {
+        generator.writeStartObject();
+
+        generator.writeName(DATE);
+        int year = transaction.year();
+        if (year < 1 || year > 9999) {
+            generator.writeString(DATE_FORMAT.format(LocalDate.ofEpochDay(transaction.epochDay())));
+        } else {
+            generator.writeString(chars, 0, formatDate(year, transaction.month(), transaction.dayOfMonth()));
+        }
+
+        generator.writeName(DESCRIPTION);
+        int length = transaction.descriptionLength();
+        transaction.copyDescription(textBuffer(length), 0);
+        generator.writeUTF8String(text, 0, length);
+        generator.writeName(VALUE);
+        generator.writeNumber(chars, 0, formatUnscaled(transaction.unscaledValue()));
+        generator.writeName(CATEGORY);
+        length = transaction.categoryLength();
+        if (length < 0) {
+            generator.writeNull();
+        } else {
+            transaction.copyCategory(textBuffer(length), 0);
+            generator.writeUTF8String(text, 0, length);
+        }
+
+        generator.writeEndObject();
+
+        if (lineDelimited) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Fecha o array (se for o caso) e descarrega o buffer do gerador no destino.
+     */
+    @Override
+    public void close() {
+        if (!lineDelimited) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+
+    // yyyy-MM-dd, com o ano entre 1 e 9999; fora disso o padrão yyyy (ano da era) difere do ano proléptico.
+    private int formatDate(int year, int month, int day) {
+        char[] c = chars;
+        c[0] = (char) ('0' + year / 1000);
+        c[1] = (char) ('0' + year / 100 % 10);
+        c[2] = (char) ('0' + year / 10 % 10);
+        c[3] = (char) ('0' + year % 10);
+        c[4] = '-';
+        c[5] = (char) ('0' + month / 10);
+        c[6] = (char) ('0' + month % 10);
+        c[7] = '-';
+        c[8] = (char) ('0' + day / 10);
+        c[9] = (char) ('0' + day % 10);
+        return 10;
+    }
+
+    /**
+     * Formata o valor como {@code BigDecimal.toString()} na escala do snapshot, que nunca usa notação
+     * científica: sinal, parte inteira (ao menos um dígito), ponto e as casas decimais.
+     */
+    private int formatUnscaled(long unscaled) {
+        char[] c = chars;
+        int scale = TransactionSnapshot.VALUE_SCALE;
+        boolean negative = unscaled < 0;
+        long number = negative ? -unscaled : unscaled;
+        int p = c.length;
+        for (int i = 0; i < scale; i++) {
+            c[--p] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        c[--p] = '.';
+        do {
+            c[--p] = (char) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+        if (negative) {
+            c[--p] = '-';
+        }
+        int length = c.length - p;
+        System.arraycopy(c, p, c, 0, length);
+        return length;
+    }
+
+    private byte[] textBuffer(int length) {
+        if (text.length < length) {
+            text = new byte[Math.max(length, text.length * 2)];
+        }
+        return text;
+    }
+}
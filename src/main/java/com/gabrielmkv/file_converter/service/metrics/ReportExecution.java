@@ -0,0 +1,215 @@
+package com.gabrielmkv.file_converter.service.metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+
+/**
+ * Medição de um relatório em geração, criada por {@link ReportMetrics#start(String)}.
+ * <p>
+ * Como leitura, renderização e escrita acontecem intercaladas (uma linha é lida, renderizada e,
+ * quando o buffer do formato enche, escrita), as fases não são medidas em sequência: o tempo
+ * gasto avançando o cursor é somado em {@code extract}, o tempo dentro das escritas na saída em
+ * {@code write}, e o restante do tempo total é atribuído a {@code render}. As mesmas durações,
+ * junto com linhas e bytes, são anexadas ao span do relatório.
+ * </p>
+ * Instâncias não são thread-safe: a leitura e o fechamento devem ocorrer na thread que iniciou a medição.
+ */
+public final class ReportExecution implements AutoCloseable {
+
+    private final ReportMetrics metrics;
+    private final String format;
+    private final Observation observation;
+    private final Observation.Scope scope;
+    private final AtomicInteger inFlight;
+    private final long start;
+
+    private long extractNanos;
+    private long writeNanos;
+    private long rows;
+    private long bytes;
+    private Throwable failure;
+
+    ReportExecution(ReportMetrics metrics, String format, Observation observation, AtomicInteger inFlight) {
+        this.metrics = metrics;
+        this.format = format;
+        this.observation = observation.start();
+        this.scope = observation.openScope();
+        this.inFlight = inFlight;
+        this.inFlight.incrementAndGet();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Executa a abertura da consulta, somando seu tempo à leitura.
+     *
+     * @param <T> O tipo do resultado.
+     * @param query Abre o cursor da consulta.
+     * @return O resultado de {@code query}.
+     */
+    public <T> T measureQuery(Supplier<T> query) {
+        long begin = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            extractNanos += System.nanoTime() - begin;
+        }
+    }
+
+    /**
+     * Envolve o iterador das linhas lidas do banco, medindo o tempo de leitura e contando as
+     * linhas entregues à renderização.
+     *
+     * @param <T> O tipo das linhas.
+     * @param iterator O iterador do cursor.
+     * @return O iterador medido.
+     */
+    public <T> Iterator<T> measureExtraction(Iterator<T> iterator) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                long begin = System.nanoTime();
+                try {
+                    return iterator.hasNext();
+                } finally {
+                    extractNanos += System.nanoTime() - begin;
+                }
+            }
+
+            @Override
+            public T next() {
+                T next = iterator.next();
+                rows++;
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Soma linhas entregues à renderização sem passar por {@link #measureExtraction}, como as lidas do
+     * snapshot em memória.
+     *
+     * @param count A quantidade de linhas.
+     */
+    public void addRows(long count) {
+        rows += count;
+    }
+
+    /**
+     * Envolve a saída do relatório, medindo o tempo das escritas e contando os bytes produzidos.
+     *
+     * @param out A saída do relatório.
+     * @return A saída medida; fechá-la não fecha {@code out}.
+     */
+    public OutputStream measureWrites(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                long begin = System.nanoTime();
+                try {
+                    out.write(b);
+                    bytes++;
+                } finally {
+                    writeNanos += System.nanoTime() - begin;
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                long begin = System.nanoTime();
+                try {
+                    out.write(b, off, len);
+                    bytes += len;
+                } finally {
+                    writeNanos += System.nanoTime() - begin;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                long begin = System.nanoTime();
+                try {
+                    out.flush();
+                } finally {
+                    writeNanos += System.nanoTime() - begin;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * Registra a falha do relatório, contada em {@value ReportMetrics#FAILURES} pela causa raiz.
+     *
+     * @param failure O erro que interrompeu a geração.
+     */
+    public void failed(Throwable failure) {
+        this.failure = failure;
+        observation.error(failure);
+    }
+
+    /**
+     * Publica as métricas do relatório e encerra o span.
+     */
+    @Override
+    public void close() {
+        long totalNanos = System.nanoTime() - start;
+        long renderNanos = Math.max(0, totalNanos - extractNanos - writeNanos);
+        MeterRegistry registry = metrics.registry();
+
+        try {
+            Counter.builder(ReportMetrics.ROWS).tag("format", format).register(registry).increment(rows);
+            Counter.builder(ReportMetrics.BYTES).baseUnit("bytes").tag("format", format).register(registry)
+                    .increment(bytes);
+
+            if (failure == null) {
+                recordPhase(registry, "extract", extractNanos);
+                recordPhase(registry, "render", renderNanos);
+                recordPhase(registry, "write", writeNanos);
+            } else {
+                Counter.builder(ReportMetrics.FAILURES)
+                        .tags("format", format, "cause", rootCause(failure).getClass().getSimpleName())
+                        .register(registry)
+                        .increment();
+            }
+
+            observation.highCardinalityKeyValue("rows", Long.toString(rows))
+                    .highCardinalityKeyValue("bytes", Long.toString(bytes))
+                    .highCardinalityKeyValue("extract.ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(extractNanos)))
+                    .highCardinalityKeyValue("render.ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(renderNanos)))
+                    .highCardinalityKeyValue("write.ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(writeNanos)));
+        } finally {
+            inFlight.decrementAndGet();
+            scope.close();
+            observation.stop();
+        }
+    }
+
+    private void recordPhase(MeterRegistry registry, String phase, long nanos) {
+        Timer.builder(ReportMetrics.PHASE)
+                .tags("format", format, "phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gabrielmkv.file_converter.service.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Métricas da geração de relatórios, publicadas pelo Micrometer (e expostas pelo Actuator em
+ * {@code /actuator/prometheus}):
+ * <ul>
+ *   <li>{@value #GENERATION}: timer e span de cada relatório, por formato e resultado;</li>
+ *   <li>{@value #PHASE}: tempo de cada fase ({@code extract}, {@code render}, {@code write}) por formato;</li>
+ *   <li>{@value #ROWS} e {@value #BYTES}: linhas renderizadas e bytes produzidos;</li>
+ *   <li>{@value #FAILURES}: falhas por formato e causa;</li>
+ *   <li>{@value #IN_FLIGHT}: relatórios em geração no momento, por formato.</li>
+ * </ul>
+ * Os histogramas de percentis são habilitados pela configuração
+ * {@code management.metrics.distribution.percentiles-histogram.report}.
+ */
+@Service
+public class ReportMetrics {
+
+    public static final String GENERATION = "report.generation";
+    public static final String PHASE = "report.phase";
+    public static final String ROWS = "report.rows";
+    public static final String BYTES = "report.bytes";
+    public static final String FAILURES = "report.failures";
+    public static final String IN_FLIGHT = "report.in.flight";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public ReportMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Inicia a medição de um relatório: abre o span/timer {@value #GENERATION} na thread atual
+     * e incrementa o gauge de relatórios em geração.
+     *
+     * @param format O formato do relatório.
+     * @return A execução, que deve ser fechada na mesma thread ao final da geração.
+     */
+    public ReportExecution start(String format) {
+        Observation observation = Observation.createNotStarted(GENERATION, observationRegistry)
+                .contextualName("report " + format)
+                .lowCardinalityKeyValue("format", format);
+        return new ReportExecution(this, format, observation, inFlight(format));
+    }
+
+    MeterRegistry registry() {
+        return meterRegistry;
+    }
+
+    private AtomicInteger inFlight(String format) {
+        return inFlight.computeIfAbsent(format,
+                key -> meterRegistry.gauge(IN_FLIGHT, Tags.of("format", key), new AtomicInteger()));
+    }
+}
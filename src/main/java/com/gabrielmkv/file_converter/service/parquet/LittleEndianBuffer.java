@@ -0,0 +1,98 @@
+package com.gabrielmkv.file_converter.service.parquet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Buffer de bytes expansível com escrita em little-endian, usado para montar as páginas Parquet.
+ */
+final class LittleEndianBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+    LittleEndianBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+        ensureCapacity(4);
+        bytes[size++] = (byte) value;
+        bytes[size++] = (byte) (value >>> 8);
+        bytes[size++] = (byte) (value >>> 16);
+        bytes[size++] = (byte) (value >>> 24);
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 0; shift < 64; shift += 8) {
+            bytes[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    void write(byte[] value) {
+        write(value, 0, value.length);
+    }
+
+    void write(byte[] value, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(value, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * Escreve um inteiro sem sinal em ULEB128 (7 bits por byte), usado nos cabeçalhos RLE.
+     */
+    void writeUnsignedVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * Reserva 4 bytes para um tamanho que só será conhecido depois.
+     *
+     * @return A posição reservada, a ser preenchida com {@link #setInt(int, int)}.
+     */
+    int reserveInt() {
+        writeInt(0);
+        return size - 4;
+    }
+
+    void setInt(int position, int value) {
+        bytes[position] = (byte) value;
+        bytes[position + 1] = (byte) (value >>> 8);
+        bytes[position + 2] = (byte) (value >>> 16);
+        bytes[position + 3] = (byte) (value >>> 24);
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
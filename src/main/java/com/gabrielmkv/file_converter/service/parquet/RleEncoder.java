@@ -0,0 +1,85 @@
+package com.gabrielmkv.file_converter.service.parquet;
+
+/**
+ * Codificação híbrida RLE / bit-packing do Parquet, usada para os níveis de definição e para
+ * os índices de dicionário.
+ * <p>
+ * Sequências de 8 ou mais valores iguais viram um run RLE; o restante é empacotado em grupos
+ * de 8 valores. O último grupo pode ser completado com zeros, pois o leitor conhece a
+ * quantidade de valores da página.
+ * </p>
+ */
+final class RleEncoder {
+
+    private static final int GROUP_SIZE = 8;
+    private static final int MIN_REPEATED_RUN = 8;
+    // Limite de grupos por run bit-packed, para que o cabeçalho caiba em um único byte.
+    private static final int MAX_GROUPS_PER_RUN = 63;
+
+    private RleEncoder() {
+    }
+
+    /**
+     * Retorna a menor largura em bits capaz de representar {@code maxValue} (no mínimo 1).
+     */
+    static int bitWidth(int maxValue) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maxValue));
+    }
+
+    static void encode(int[] values, int count, int bitWidth, LittleEndianBuffer out) {
+        int i = 0;
+        while (i < count) {
+            int run = repeatedRun(values, count, i);
+            if (run >= MIN_REPEATED_RUN) {
+                out.writeUnsignedVarInt(run << 1);
+                writeRepeatedValue(values[i], bitWidth, out);
+                i += run;
+                continue;
+            }
+
+            int start = i;
+            int groups = 0;
+            do {
+                groups++;
+                i += GROUP_SIZE;
+            } while (i < count && groups < MAX_GROUPS_PER_RUN && repeatedRun(values, count, i) < MIN_REPEATED_RUN);
+
+            out.writeUnsignedVarInt(groups << 1 | 1);
+            bitPack(values, start, Math.min(i, count), groups * GROUP_SIZE, bitWidth, out);
+        }
+    }
+
+    private static int repeatedRun(int[] values, int count, int start) {
+        int end = start + 1;
+        while (end < count && values[end] == values[start]) {
+            end++;
+        }
+        return end - start;
+    }
+
+    private static void writeRepeatedValue(int value, int bitWidth, LittleEndianBuffer out) {
+        for (int bytes = (bitWidth + 7) / 8, shift = 0; bytes > 0; bytes--, shift += 8) {
+            out.writeByte(value >>> shift);
+        }
+    }
+
+    // Valores empacotados a partir do bit menos significativo de cada byte.
+    private static void bitPack(int[] values, int start, int end, int slots, int bitWidth, LittleEndianBuffer out) {
+        long buffer = 0;
+        int bits = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            int index = start + slot;
+            long value = index < end ? values[index] & 0xFFFFFFFFL : 0;
+            buffer |= value << bits;
+            bits += bitWidth;
+            while (bits >= 8) {
+                out.writeByte((int) buffer);
+                buffer >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0) {
+            out.writeByte((int) buffer);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.gabrielmkv.file_converter.service.parquet;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.ColumnOrder;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.DataPageHeader;
+import org.apache.parquet.format.DateType;
+import org.apache.parquet.format.DecimalType;
+import org.apache.parquet.format.DictionaryPageHeader;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FieldRepetitionType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.TypeDefinedOrder;
+import org.apache.parquet.format.Util;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Escritor Parquet em fluxo dedicado às linhas {@link TransactionRow}.
+ * <p>
+ * Gera o arquivo diretamente a partir da especificação (páginas de dados v1 e metadados Thrift),
+ * sem depender do parquet-hadoop e de todo o Hadoop que ele traz. O esquema é fixo:
+ * <ul>
+ *   <li>{@code date}: INT32 com tipo lógico DATE (dias desde a época);</li>
+ *   <li>{@code description}: BYTE_ARRAY UTF-8;</li>
+ *   <li>{@code value}: INT64 com tipo lógico DECIMAL(10,2), o mesmo de {@code value_brl};</li>
+ *   <li>{@code category}: BYTE_ARRAY UTF-8 opcional, codificado por dicionário.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * As linhas são acumuladas em memória até completar um row group de {@code rowGroupRows} linhas,
+ * que é então escrito (uma página por coluna) e descartado. O consumo de memória depende apenas
+ * do tamanho do row group. O {@link OutputStream} de destino não é fechado.
+ * Instâncias não são thread-safe: crie uma por relatório.
+ * </p>
+ */
+public final class TransactionParquetWriter implements AutoCloseable {
+
+    /**
+     * Compressão aplicada às páginas.
+     */
+    public enum Codec {
+        UNCOMPRESSED(CompressionCodec.UNCOMPRESSED),
+        GZIP(CompressionCodec.GZIP);
+
+        private final CompressionCodec codec;
+
+        Codec(CompressionCodec codec) {
+            this.codec = codec;
+        }
+    }
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    // No formato "<aplicação> version <versão>": leitores que não conseguem interpretar o campo descartam
+    // as estatísticas das colunas.
+    private static final String CREATED_BY = "file-converter version "
+            + Objects.requireNonNullElse(TransactionParquetWriter.class.getPackage().getImplementationVersion(), "dev");
+
+    private static final int VALUE_PRECISION = 10;
+    private static final int VALUE_SCALE = 2;
+    private static final long MAX_UNSCALED_VALUE = 9_999_999_999L;
+
+    private final PositionOutputStream out;
+    private final int rowGroupRows;
+    private final Codec codec;
+
+    private final LittleEndianBuffer dates;
+    private final LittleEndianBuffer descriptions;
+    private final LittleEndianBuffer values;
+    private final LittleEndianBuffer dictionaryValues;
+    private final LittleEndianBuffer page = new LittleEndianBuffer(4096);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final int[] definitionLevels;
+    private final int[] categoryIndexes;
+
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private long totalRows;
+
+    private int rows;
+    private int categories;
+    private int minDate;
+    private int maxDate;
+    private long minValue;
+    private long maxValue;
+
+    /**
+     * Abre o escritor e escreve o cabeçalho do arquivo.
+     *
+     * @param target O destino do arquivo Parquet.
+     * @param rowGroupRows A quantidade máxima de linhas por row group.
+     * @param codec A compressão das páginas.
+     * @throws IOException se a escrita falhar.
+     */
+    public TransactionParquetWriter(OutputStream target, int rowGroupRows, Codec codec) throws IOException {
+        this.out = new PositionOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        this.rowGroupRows = rowGroupRows;
+        this.codec = codec;
+
+        int capacity = Math.min(rowGroupRows, 1 << 16);
+        this.dates = new LittleEndianBuffer(capacity * 4);
+        this.descriptions = new LittleEndianBuffer(capacity * 32);
+        this.values = new LittleEndianBuffer(capacity * 8);
+        this.dictionaryValues = new LittleEndianBuffer(1024);
+        this.definitionLevels = new int[rowGroupRows];
+        this.categoryIndexes = new int[rowGroupRows];
+
+        out.write(MAGIC);
+    }
+
+    /**
+     * Adiciona uma transação ao row group corrente, escrevendo-o quando estiver completo.
+     *
+     * @param transaction A transação a ser escrita.
+     * @throws IOException se a escrita falhar.
+     * @throws IllegalArgumentException se o valor não couber em DECIMAL(10,2).
+     */
+    public void write(TransactionRow transaction) throws IOException {
+        int date = Math.toIntExact(transaction.date().toEpochDay());
+        long value = unscaled(transaction.value());
+
+        if (rows == 0) {
+            minDate = maxDate = date;
+            minValue = maxValue = value;
+        } else {
+            minDate = Math.min(minDate, date);
+            maxDate = Math.max(maxDate, date);
+            minValue = Math.min(minValue, value);
+            maxValue = Math.max(maxValue, value);
+        }
+
+        dates.writeInt(date);
+
+        byte[] description = transaction.description().getBytes(StandardCharsets.UTF_8);
+        descriptions.writeInt(description.length);
+        descriptions.write(description);
+
+        values.writeLong(value);
+
+        String category = transaction.category();
+        if (category == null) {
+            definitionLevels[rows] = 0;
+        } else {
+            definitionLevels[rows] = 1;
+            categoryIndexes[categories++] = dictionary.computeIfAbsent(category, this::addToDictionary);
+        }
+
+        if (++rows == rowGroupRows) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Escreve o último row group e o rodapé com os metadados do arquivo.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    @Override
+    public void close() throws IOException {
+        if (rows > 0) {
+            writeRowGroup();
+        }
+
+        FileMetaData metaData = new FileMetaData(1, schema(), totalRows, rowGroups);
+        metaData.setCreated_by(CREATED_BY);
+        List<ColumnOrder> columnOrders = new ArrayList<>();
+        for (int column = 0; column < 4; column++) {
+            columnOrders.add(ColumnOrder.TYPE_ORDER(new TypeDefinedOrder()));
+        }
+        metaData.setColumn_orders(columnOrders);
+
+        long footerStart = out.position();
+        Util.writeFileMetaData(metaData, out);
+        int footerLength = Math.toIntExact(out.position() - footerStart);
+
+        page.reset();
+        page.writeInt(footerLength);
+        page.write(MAGIC);
+        page.writeTo(out);
+        out.flush();
+    }
+
+    private Integer addToDictionary(String category) {
+        byte[] bytes = category.getBytes(StandardCharsets.UTF_8);
+        dictionaryValues.writeInt(bytes.length);
+        dictionaryValues.write(bytes);
+        return dictionary.size();
+    }
+
+    private static long unscaled(BigDecimal value) {
+        long unscaled = value.setScale(VALUE_SCALE).unscaledValue().longValueExact();
+        if (Math.abs(unscaled) > MAX_UNSCALED_VALUE) {
+            throw new IllegalArgumentException("Valor fora do intervalo de DECIMAL(10,2): " + value.toPlainString());
+        }
+        return unscaled;
+    }
+
+    private void writeRowGroup() throws IOException {
+        long start = out.position();
+        List<ColumnChunk> columns = new ArrayList<>(4);
+
+        columns.add(writePlainColumn("date", Type.INT32, dates, statistics(intBytes(minDate), intBytes(maxDate))));
+        columns.add(writePlainColumn("description", Type.BYTE_ARRAY, descriptions, statistics(null, null)));
+        columns.add(writePlainColumn("value", Type.INT64, values, statistics(longBytes(minValue), longBytes(maxValue))));
+        columns.add(writeCategoryColumn());
+
+        long uncompressed = 0;
+        long compressed = 0;
+        for (ColumnChunk column : columns) {
+            uncompressed += column.getMeta_data().getTotal_uncompressed_size();
+            compressed += column.getMeta_data().getTotal_compressed_size();
+        }
+
+        RowGroup rowGroup = new RowGroup(columns, uncompressed, rows);
+        rowGroup.setFile_offset(start);
+        rowGroup.setTotal_compressed_size(compressed);
+        rowGroups.add(rowGroup);
+        totalRows += rows;
+
+        dates.reset();
+        descriptions.reset();
+        values.reset();
+        dictionaryValues.reset();
+        dictionary.clear();
+        rows = 0;
+        categories = 0;
+    }
+
+    private ColumnChunk writePlainColumn(String name, Type type, LittleEndianBuffer data, Statistics statistics)
+            throws IOException {
+        long offset = out.position();
+        PageHeader header = new PageHeader(PageType.DATA_PAGE, 0, 0);
+        header.setData_page_header(new DataPageHeader(rows, Encoding.PLAIN, Encoding.RLE, Encoding.RLE));
+        long[] sizes = writePage(header, data);
+
+        ColumnMetaData metaData = new ColumnMetaData(type, List.of(Encoding.PLAIN), List.of(name), codec.codec,
+                rows, sizes[0], sizes[1], offset);
+        metaData.setStatistics(statistics);
+        return columnChunk(offset, metaData);
+    }
+
+    // Página de dicionário seguida de uma página com níveis de definição e índices RLE.
+    private ColumnChunk writeCategoryColumn() throws IOException {
+        long dictionaryOffset = out.position();
+        PageHeader dictionaryHeader = new PageHeader(PageType.DICTIONARY_PAGE, 0, 0);
+        dictionaryHeader.setDictionary_page_header(new DictionaryPageHeader(dictionary.size(), Encoding.PLAIN));
+        long[] dictionarySizes = writePage(dictionaryHeader, dictionaryValues);
+
+        page.reset();
+        int levelsLength = page.reserveInt();
+        RleEncoder.encode(definitionLevels, rows, 1, page);
+        page.setInt(levelsLength, page.size() - 4);
+
+        int bitWidth = RleEncoder.bitWidth(Math.max(dictionary.size() - 1, 0));
+        page.writeByte(bitWidth);
+        RleEncoder.encode(categoryIndexes, categories, bitWidth, page);
+
+        long dataOffset = out.position();
+        PageHeader dataHeader = new PageHeader(PageType.DATA_PAGE, 0, 0);
+        dataHeader.setData_page_header(new DataPageHeader(rows, Encoding.RLE_DICTIONARY, Encoding.RLE, Encoding.RLE));
+        long[] dataSizes = writePage(dataHeader, page);
+
+        ColumnMetaData metaData = new ColumnMetaData(Type.BYTE_ARRAY,
+                List.of(Encoding.PLAIN, Encoding.RLE, Encoding.RLE_DICTIONARY), List.of("category"), codec.codec,
+                rows, dictionarySizes[0] + dataSizes[0], dictionarySizes[1] + dataSizes[1], dataOffset);
+        metaData.setDictionary_page_offset(dictionaryOffset);
+        metaData.setStatistics(statistics(null, null).setNull_count(rows - categories));
+        return columnChunk(dictionaryOffset, metaData);
+    }
+
+    /**
+     * Escreve cabeçalho e conteúdo (comprimido, se for o caso) de uma página.
+     *
+     * @return Os tamanhos descomprimido e comprimido da página, incluindo o cabeçalho.
+     */
+    private long[] writePage(PageHeader header, LittleEndianBuffer data) throws IOException {
+        byte[] body = data.array();
+        int bodyLength = data.size();
+
+        if (codec == Codec.GZIP) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(bodyLength / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(body, 0, bodyLength);
+            }
+            header.setCompressed_page_size(buffer.size());
+            header.setUncompressed_page_size(bodyLength);
+            body = buffer.toByteArray();
+        } else {
+            header.setCompressed_page_size(bodyLength);
+            header.setUncompressed_page_size(bodyLength);
+        }
+
+        long start = out.position();
+        Util.writePageHeader(header, out);
+        long headerLength = out.position() - start;
+        out.write(body, 0, header.getCompressed_page_size());
+
+        return new long[] { headerLength + bodyLength, headerLength + header.getCompressed_page_size() };
+    }
+
+    private static ColumnChunk columnChunk(long offset, ColumnMetaData metaData) {
+        ColumnChunk chunk = new ColumnChunk(offset);
+        chunk.setMeta_data(metaData);
+        return chunk;
+    }
+
+    private Statistics statistics(byte[] min, byte[] max) {
+        Statistics statistics = new Statistics();
+        statistics.setNull_count(0);
+        if (min != null) {
+            statistics.setMin_value(min);
+            statistics.setMax_value(max);
+        }
+        return statistics;
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[] { (byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24) };
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (value >>> (8 * i));
+        }
+        return bytes;
+    }
+
+    private static List<SchemaElement> schema() {
+        SchemaElement root = new SchemaElement("schema");
+        root.setNum_children(4);
+
+        SchemaElement date = new SchemaElement("date");
+        date.setType(Type.INT32);
+        date.setRepetition_type(FieldRepetitionType.REQUIRED);
+        date.setConverted_type(ConvertedType.DATE);
+        date.setLogicalType(LogicalType.DATE(new DateType()));
+
+        SchemaElement value = new SchemaElement("value");
+        value.setType(Type.INT64);
+        value.setRepetition_type(FieldRepetitionType.REQUIRED);
+        value.setConverted_type(ConvertedType.DECIMAL);
+        value.setScale(VALUE_SCALE);
+        value.setPrecision(VALUE_PRECISION);
+        value.setLogicalType(LogicalType.DECIMAL(new DecimalType(VALUE_SCALE, VALUE_PRECISION)));
+
+        return List.of(root, date, string("description", FieldRepetitionType.REQUIRED), value,
+                string("category", FieldRepetitionType.OPTIONAL));
+    }
+
+    private static SchemaElement string(String name, FieldRepetitionType repetition) {
+        SchemaElement element = new SchemaElement(name);
+        element.setType(Type.BYTE_ARRAY);
+        element.setRepetition_type(repetition);
+        element.setConverted_type(ConvertedType.UTF8);
+        element.setLogicalType(LogicalType.STRING(new StringType()));
+        return element;
+    }
+
+    /**
+     * Conta os bytes escritos, para registrar os offsets das páginas nos metadados.
+     * Não fecha o stream de destino.
+     */
+    private static final class PositionOutputStream extends FilterOutputStream {
+
+        private long position;
+
+        PositionOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long position() {
+            return position;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
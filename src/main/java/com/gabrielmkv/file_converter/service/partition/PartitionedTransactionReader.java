@@ -0,0 +1,276 @@
+package com.gabrielmkv.file_converter.service.partition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gabrielmkv.file_converter.config.ReportPartitionProperties;
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionExtent;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionPartition;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Leitura das transações de um relatório dividida em faixas lidas em paralelo.
+ * <p>
+ * A faixa de ids (na ordem padrão) ou de datas (na ordem por data) das transações selecionadas é dividida
+ * em faixas de aproximadamente {@code report.partition.slice-rows} linhas. Até
+ * {@code report.partition.parallelism} faixas são lidas ao mesmo tempo, cada uma na sua própria thread,
+ * transação e conexão do pool, e entregues à renderização na ordem da consulta: a faixa atual é
+ * consumida enquanto as seguintes são lidas à frente, cada uma num buffer limitado a
+ * {@code report.partition.buffer-rows} linhas. As faixas começam na ordem, então a que está sendo
+ * consumida sempre tem uma thread lendo-a.
+ * </p>
+ * <p>
+ * Consultas pequenas (menos de {@code min-rows} linhas), paginadas ({@code limit}) ou incrementais
+ * continuam num único cursor, assim como os relatórios acima de {@code max-reports} leituras
+ * particionadas simultâneas, que limita as conexões ocupadas. Cada faixa é lida numa transação própria:
+ * as linhas gravadas durante a leitura podem aparecer em algumas faixas e não em outras, como numa
+ * leitura sem isolamento de snapshot.
+ * </p>
+ */
+@Service
+public class PartitionedTransactionReader {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedTransactionReader.class);
+
+    // Sentinela de fim de faixa; comparada por identidade.
+    private static final List<TransactionRow> END = new ArrayList<>();
+
+    private static final int BATCH_ROWS = 1024;
+    private static final int MAX_AUTO_PARALLELISM = 4;
+
+    private final TransactionRepository repository;
+    private final ReportPartitionProperties properties;
+    private final TransactionTemplate readOnly;
+    private final int parallelism;
+    private final Semaphore reports;
+
+    public PartitionedTransactionReader(TransactionRepository repository, ReportPartitionProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.reports = new Semaphore(Math.max(0, properties.maxReports()));
+        // Com 0, uma faixa por processador: o H2 em memória lê na CPU da própria aplicação, e com um único
+        // processador as faixas só disputariam o mesmo núcleo.
+        this.parallelism = properties.parallelism() > 0 ? properties.parallelism()
+                : Math.min(MAX_AUTO_PARALLELISM, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Percorre as transações selecionadas pelo filtro, na ordem definida por ele, lendo em paralelo
+     * quando a consulta comporta. O stream deve ser fechado ao final, o que interrompe as leituras
+     * em andamento; sem particionamento, deve ser consumido dentro de uma transação, como
+     * {@link TransactionRepository#streamRows(TransactionFilter)}.
+     *
+     * @param filter Os critérios de seleção.
+     * @return Stream com as transações selecionadas.
+     */
+    public Stream<TransactionRow> streamRows(TransactionFilter filter) {
+        if (parallelism <= 1 || filter.limit() != null || filter.isDelta() || !reports.tryAcquire()) {
+            return repository.streamRows(filter);
+        }
+
+        List<TransactionPartition> partitions;
+        try {
+            partitions = plan(filter, repository.extent(filter));
+        } catch (RuntimeException e) {
+            reports.release();
+            throw e;
+        }
+        if (partitions.size() <= 1) {
+            reports.release();
+            return repository.streamRows(filter);
+        }
+
+        log.debug("Leitura particionada em {} faixas de {}", partitions.size(), partitions.getFirst().key());
+        Merge merge = new Merge(filter, partitions);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(merge, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(merge::close);
+    }
+
+    /**
+     * Divide a consulta em faixas de ids ou datas com aproximadamente {@code slice-rows} linhas, e ao
+     * menos uma faixa por leitura paralela. Retorna uma lista vazia se a consulta for pequena demais.
+     */
+    private List<TransactionPartition> plan(TransactionFilter filter, TransactionExtent extent) {
+        if (extent.count() < Math.max(1, properties.minRows())) {
+            return List.of();
+        }
+
+        TransactionPartition.Key key;
+        long lower;
+        long upper;
+        if (filter.isKeysetOrdered()) {
+            key = TransactionPartition.Key.DATE;
+            lower = extent.minDate().toEpochDay();
+            upper = extent.maxDate().toEpochDay() + 1;
+        } else {
+            key = TransactionPartition.Key.ID;
+            lower = extent.minId();
+            upper = extent.maxId() + 1;
+        }
+
+        long slices = Math.max(parallelism, Math.ceilDiv(extent.count(), Math.max(1, properties.sliceRows())));
+        long step = Math.ceilDiv(upper - lower, Math.min(slices, upper - lower));
+        List<TransactionPartition> partitions = new ArrayList<>();
+        for (long start = lower; start < upper; start += step) {
+            partitions.add(new TransactionPartition(key, start, Math.min(upper, start + step)));
+        }
+        if (filter.isDescending()) {
+            Collections.reverse(partitions);
+        }
+        return partitions;
+    }
+
+    /**
+     * Leitura de uma faixa, com o buffer de lotes consumido pela {@link Merge}.
+     */
+    private final class Slice implements Runnable {
+
+        private final TransactionFilter filter;
+        private final TransactionPartition partition;
+        private final BlockingQueue<List<TransactionRow>> buffer =
+                new ArrayBlockingQueue<>(Math.max(1, Math.ceilDiv(properties.bufferRows(), BATCH_ROWS)));
+        private volatile RuntimeException failure;
+
+        Slice(TransactionFilter filter, TransactionPartition partition) {
+            this.filter = filter;
+            this.partition = partition;
+        }
+
+        @Override
+        public void run() {
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<TransactionRow> rows = repository.streamRows(filter, partition)) {
+                        Iterator<TransactionRow> iterator = rows.iterator();
+                        List<TransactionRow> batch = new ArrayList<>(BATCH_ROWS);
+                        while (iterator.hasNext()) {
+                            batch.add(iterator.next());
+                            if (batch.size() == BATCH_ROWS) {
+                                put(batch);
+                                batch = new ArrayList<>(BATCH_ROWS);
+                            }
+                        }
+                        if (!batch.isEmpty()) {
+                            put(batch);
+                        }
+                    }
+                });
+            } catch (CancellationException e) {
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            try {
+                put(END);
+            } catch (CancellationException e) {
+                // A leitura foi cancelada: ninguém mais consome o buffer.
+            }
+        }
+
+        private void put(List<TransactionRow> batch) {
+            try {
+                buffer.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Leitura da faixa cancelada");
+            }
+        }
+    }
+
+    /**
+     * Entrega as linhas das faixas na ordem da consulta, aguardando a leitura da faixa atual.
+     * Fechar interrompe as leituras em andamento e libera a vaga de leitura particionada.
+     */
+    private final class Merge implements Iterator<TransactionRow>, AutoCloseable {
+
+        private final List<Slice> slices = new ArrayList<>();
+        private final ExecutorService executor;
+        private List<TransactionRow> batch = List.of();
+        private int index;
+        private int current;
+        private boolean closed;
+
+        Merge(TransactionFilter filter, List<TransactionPartition> partitions) {
+            // A fila do executor é FIFO: as faixas começam na ordem em que são consumidas.
+            this.executor = Executors.newFixedThreadPool(parallelism,
+                    Thread.ofVirtual().name("report-partition-", 0).factory());
+            for (TransactionPartition partition : partitions) {
+                Slice slice = new Slice(filter, partition);
+                slices.add(slice);
+                executor.execute(slice);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index == batch.size()) {
+                if (current == slices.size()) {
+                    return false;
+                }
+                Slice slice = slices.get(current);
+                List<TransactionRow> next;
+                try {
+                    next = slice.buffer.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ReportGenerationException("Leitura das transações interrompida", e);
+                }
+                if (next == END) {
+                    if (slice.failure != null) {
+                        throw slice.failure;
+                    }
+                    current++;
+                    continue;
+                }
+                batch = next;
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public TransactionRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(index++);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            executor.shutdownNow();
+            executor.close();
+            reports.release();
+        }
+    }
+}
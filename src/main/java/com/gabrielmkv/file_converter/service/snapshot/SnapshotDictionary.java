@@ -0,0 +1,188 @@
+package com.gabrielmkv.file_converter.service.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Dicionário de textos de uma coluna do snapshot, inteiramente fora do heap.
+ * <p>
+ * Cada texto distinto recebe um código sequencial e é guardado uma única vez, em UTF-8, numa área de
+ * blocos de bytes. Uma tabela de entradas (posição, tamanho e hash de cada código) permite ler o texto
+ * de um código sem decodificá-lo, e uma tabela hash de endereçamento aberto encontra o código de um
+ * texto já visto durante a carga.
+ * </p>
+ * <p>
+ * A escrita ({@link #encode}) é feita por uma única thread, a da atualização do snapshot. As leituras
+ * podem ocorrer ao mesmo tempo, desde que só usem códigos publicados antes pelo snapshot: as entradas e
+ * os bytes de um código nunca mudam depois de escritos, e os blocos só são acrescentados.
+ * </p>
+ */
+final class SnapshotDictionary {
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int ENTRY_CHUNK_SHIFT = 16;
+    private static final int ENTRY_CHUNK_MASK = (1 << ENTRY_CHUNK_SHIFT) - 1;
+    private static final int ARENA_CHUNK_BYTES = 1 << 20;
+    private static final int INITIAL_SLOTS = 1 << 10;
+    private static final int MAX_SLOTS = 1 << 28;
+
+    private final SnapshotStorage storage;
+
+    // Blocos de entradas e de bytes; substituídos por cópias maiores ao crescer, para leitura sem trava.
+    private volatile ByteBuffer[] entries = new ByteBuffer[0];
+    private volatile ByteBuffer[] arena = new ByteBuffer[0];
+
+    // Estado da escrita, usado apenas pela thread de atualização.
+    private ByteBuffer table;
+    private int mask;
+    private int size;
+    private int arenaOffset;
+
+    SnapshotDictionary(SnapshotStorage storage) {
+        this.storage = storage;
+        this.table = storage.allocate(INITIAL_SLOTS * Integer.BYTES);
+        this.mask = INITIAL_SLOTS - 1;
+    }
+
+    /**
+     * Retorna o código do texto, acrescentando-o ao dicionário se ainda não existir.
+     *
+     * @param value O texto.
+     * @return O código do texto.
+     */
+    int encode(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = value.hashCode();
+        int slot = spread(hash) & mask;
+        int stored;
+        while ((stored = table.getInt(slot * Integer.BYTES)) != 0) {
+            int code = stored - 1;
+            if (hash(code) == hash && matches(code, bytes)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int code = append(bytes, hash);
+        table.putInt(slot * Integer.BYTES, code + 1);
+        if (size * 2 > mask + 1) {
+            rehash();
+        }
+        return code;
+    }
+
+    /**
+     * @return A quantidade de textos distintos já escritos.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param code Um código publicado.
+     * @return O tamanho do texto em bytes UTF-8.
+     */
+    int length(int code) {
+        return entries[code >>> ENTRY_CHUNK_SHIFT].getInt(entryOffset(code) + Long.BYTES);
+    }
+
+    /**
+     * Copia os bytes UTF-8 do texto.
+     *
+     * @param code Um código publicado.
+     * @param target O destino, com ao menos {@link #length(int)} bytes a partir de {@code offset}.
+     * @param offset A posição inicial no destino.
+     */
+    void copy(int code, byte[] target, int offset) {
+        ByteBuffer entry = entries[code >>> ENTRY_CHUNK_SHIFT];
+        int base = entryOffset(code);
+        long position = entry.getLong(base);
+        int length = entry.getInt(base + Long.BYTES);
+        arena[(int) (position >>> 32)].get((int) position, target, offset, length);
+    }
+
+    /**
+     * @param code Um código publicado.
+     * @return O texto do código.
+     */
+    String decode(int code) {
+        byte[] bytes = new byte[length(code)];
+        copy(code, bytes, 0);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int append(byte[] bytes, int hash) {
+        ByteBuffer[] chunks = arena;
+        if (chunks.length == 0 || arenaOffset + bytes.length > chunks[chunks.length - 1].capacity()) {
+            chunks = grow(chunks, storage.allocate(Math.max(ARENA_CHUNK_BYTES, bytes.length)));
+            arena = chunks;
+            arenaOffset = 0;
+        }
+        int chunk = chunks.length - 1;
+        chunks[chunk].put(arenaOffset, bytes);
+
+        int code = size;
+        if ((code & ENTRY_CHUNK_MASK) == 0) {
+            entries = grow(entries, storage.allocate((ENTRY_CHUNK_MASK + 1) * ENTRY_BYTES));
+        }
+        ByteBuffer entry = entries[code >>> ENTRY_CHUNK_SHIFT];
+        int base = entryOffset(code);
+        entry.putLong(base, (long) chunk << 32 | arenaOffset);
+        entry.putInt(base + Long.BYTES, bytes.length);
+        entry.putInt(base + Long.BYTES + Integer.BYTES, hash);
+
+        arenaOffset += bytes.length;
+        size++;
+        return code;
+    }
+
+    private boolean matches(int code, byte[] bytes) {
+        ByteBuffer entry = entries[code >>> ENTRY_CHUNK_SHIFT];
+        int base = entryOffset(code);
+        if (entry.getInt(base + Long.BYTES) != bytes.length) {
+            return false;
+        }
+        long position = entry.getLong(base);
+        return arena[(int) (position >>> 32)].slice((int) position, bytes.length).equals(ByteBuffer.wrap(bytes));
+    }
+
+    private int hash(int code) {
+        return entries[code >>> ENTRY_CHUNK_SHIFT].getInt(entryOffset(code) + Long.BYTES + Integer.BYTES);
+    }
+
+    private void rehash() {
+        int slots = (mask + 1) * 2;
+        if (slots > MAX_SLOTS) {
+            throw new IllegalStateException("Dicionário do snapshot excedeu " + MAX_SLOTS / 2 + " textos distintos");
+        }
+        ByteBuffer grown = storage.allocate(slots * Integer.BYTES);
+        int grownMask = slots - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = spread(hash(code)) & grownMask;
+            while (grown.getInt(slot * Integer.BYTES) != 0) {
+                slot = (slot + 1) & grownMask;
+            }
+            grown.putInt(slot * Integer.BYTES, code + 1);
+        }
+        // A tabela hash só é lida pela escrita; a anterior fica para o coletor.
+        storage.release(table);
+        table = grown;
+        mask = grownMask;
+    }
+
+    private static int entryOffset(int code) {
+        return (code & ENTRY_CHUNK_MASK) * ENTRY_BYTES;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static ByteBuffer[] grow(ByteBuffer[] chunks, ByteBuffer chunk) {
+        ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+        grown[chunks.length] = chunk;
+        return grown;
+    }
+}
@@ -0,0 +1,78 @@
+package com.gabrielmkv.file_converter.service.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gabrielmkv.file_converter.config.ReportSnapshotProperties.Storage;
+
+/**
+ * Aloca os blocos de memória fora do heap usados pelas colunas e dicionários de um snapshot.
+ * <p>
+ * No modo {@code direct}, cada bloco é um buffer direto. No modo {@code mapped}, é um arquivo temporário
+ * mapeado em memória e removido logo em seguida: o mapeamento continua válido até ser desfeito. A memória
+ * de um bloco volta ao sistema quando o coletor recolhe o buffer, o que só acontece depois que nenhuma
+ * leitura o referencia; o armazenamento apenas contabiliza os blocos em uso ({@link #release}).
+ * </p>
+ */
+final class SnapshotStorage {
+
+    private final Storage storage;
+    private final Path directory;
+    private final AtomicLong allocated = new AtomicLong();
+
+    SnapshotStorage(Storage storage, Path directory) {
+        this.storage = storage == null ? Storage.DIRECT : storage;
+        this.directory = directory;
+    }
+
+    /**
+     * Aloca um bloco zerado, na ordem de bytes nativa.
+     *
+     * @param bytes O tamanho do bloco.
+     * @return O bloco alocado.
+     */
+    ByteBuffer allocate(int bytes) {
+        ByteBuffer buffer = storage == Storage.MAPPED ? map(bytes) : ByteBuffer.allocateDirect(bytes);
+        allocated.addAndGet(bytes);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Deixa de contabilizar um bloco que o snapshot não usa mais. Leituras já abertas podem continuar a lê-lo:
+     * a memória é devolvida quando o coletor recolher o buffer. Cada bloco deve ser devolvido uma única vez.
+     *
+     * @param buffer Um bloco alocado por este armazenamento.
+     */
+    void release(ByteBuffer buffer) {
+        allocated.addAndGet(-buffer.capacity());
+    }
+
+    /**
+     * @return O total de bytes dos blocos em uso.
+     */
+    long allocated() {
+        return allocated.get();
+    }
+
+    private ByteBuffer map(int bytes) {
+        try {
+            Files.createDirectories(directory);
+            Path file = Files.createTempFile(directory, "snapshot-", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao mapear o bloco do snapshot em " + directory, e);
+        }
+    }
+
+}
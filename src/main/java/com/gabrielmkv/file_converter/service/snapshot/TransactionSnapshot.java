@@ -0,0 +1,590 @@
+package com.gabrielmkv.file_converter.service.snapshot;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Cópia colunar da tabela de transações, guardada fora do heap.
+ * <p>
+ * As linhas ficam em blocos de {@value #CHUNK_ROWS} linhas, em ordem de id, cada bloco com uma região por
+ * coluna: id e valor (não escalado, escala {@value #VALUE_SCALE}) como long, data como dia epoch e os
+ * códigos de descrição e categoria (ou -1 para categoria nula) como int. Os textos ficam em
+ * {@link SnapshotDictionary dicionários}, uma cópia por texto distinto. O heap guarda apenas os
+ * arrays de blocos, de modo que nem o heap nem o trabalho do coletor crescem com a tabela.
+ * </p>
+ * <p>
+ * As escritas são feitas por uma única thread e ficam visíveis às leituras a partir de {@link #publish()}.
+ * Linhas novas são acrescentadas ao final ({@link #append}); linhas alteradas ou removidas no banco são
+ * corrigidas no lugar ({@link #update}, {@link #delete}), numa cópia do bloco afetado, e as removidas
+ * ficam marcadas e são puladas nas leituras. Cada {@link Cursor} lê as linhas publicadas quando foi aberto,
+ * então leituras e atualizações podem ocorrer ao mesmo tempo.
+ * </p>
+ * <p>
+ * Os blocos substituídos por cópias e o snapshot inteiro, depois de {@link #retire() aposentado}, continuam
+ * referenciados pelos cursores que ainda os leem; a memória fora do heap volta ao sistema quando o coletor
+ * recolhe os buffers, sem liberação explícita que um cursor atrasado pudesse ler depois.
+ * </p>
+ */
+public final class TransactionSnapshot {
+
+    /**
+     * Escala dos valores não escalados, a mesma da coluna {@code value_brl}.
+     */
+    public static final int VALUE_SCALE = 2;
+
+    static final int CHUNK_ROWS = 1 << 16;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+
+    // Regiões de cada bloco: id (long), valor (long), data (int), categoria (int), descrição (int).
+    private static final int VALUE_REGION = CHUNK_ROWS * Long.BYTES;
+    private static final int DATE_REGION = VALUE_REGION + CHUNK_ROWS * Long.BYTES;
+    private static final int CATEGORY_REGION = DATE_REGION + CHUNK_ROWS * Integer.BYTES;
+    private static final int DESCRIPTION_REGION = CATEGORY_REGION + CHUNK_ROWS * Integer.BYTES;
+    private static final int CHUNK_BYTES = DESCRIPTION_REGION + CHUNK_ROWS * Integer.BYTES;
+
+    private static final int NULL_CODE = -1;
+    // Código de descrição das linhas removidas.
+    private static final int DELETED_CODE = -1;
+
+    private final SnapshotStorage storage;
+    private final SnapshotDictionary descriptions;
+    private final SnapshotDictionary categories;
+
+    private volatile State published = new State(new ByteBuffer[0], 0, 0, 0, 0, 0);
+    private volatile boolean retired;
+
+    // Estado da escrita, usado apenas pela thread de atualização.
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private final List<ByteBuffer> replaced = new ArrayList<>();
+    private int rows;
+    private int deleted;
+    private long lastId;
+    private long maxVersion;
+
+    /**
+     * Estado publicado: os blocos e as linhas visíveis e o que elas representam da tabela.
+     */
+    private record State(ByteBuffer[] chunks, int rows, int deleted, long lastId, long maxVersion, int categories) {
+    }
+
+    TransactionSnapshot(SnapshotStorage storage) {
+        this.storage = storage;
+        this.descriptions = new SnapshotDictionary(storage);
+        this.categories = new SnapshotDictionary(storage);
+    }
+
+    /**
+     * Acrescenta uma linha, com id maior que todos os anteriores. A linha só fica visível após {@link #publish()}.
+     *
+     * @param id O id da transação.
+     * @param date A data.
+     * @param description A descrição.
+     * @param value O valor, com escala {@value #VALUE_SCALE}.
+     * @param category A categoria, ou {@code null}.
+     * @param version A versão da linha ({@code row_version}).
+     */
+    void append(long id, LocalDate date, String description, BigDecimal value, String category, long version) {
+        if (rows == Integer.MAX_VALUE) {
+            throw new IllegalStateException("O snapshot excedeu " + Integer.MAX_VALUE + " linhas");
+        }
+        if ((rows & CHUNK_MASK) == 0) {
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = storage.allocate(CHUNK_BYTES);
+            chunks = grown;
+        }
+        ByteBuffer chunk = chunks[rows >>> CHUNK_SHIFT];
+        int row = rows & CHUNK_MASK;
+        chunk.putLong(row * Long.BYTES, id);
+        write(chunk, row, date, description, value, category);
+
+        rows++;
+        lastId = id;
+        maxVersion = Math.max(maxVersion, version);
+    }
+
+    /**
+     * Substitui os campos de uma linha já acrescentada. A alteração só fica visível após {@link #publish()}.
+     *
+     * @param index A posição da linha ({@link #indexOf(long)}).
+     * @param date A data.
+     * @param description A descrição.
+     * @param value O valor, com escala {@value #VALUE_SCALE}.
+     * @param category A categoria, ou {@code null}.
+     * @param version A nova versão da linha ({@code row_version}).
+     */
+    void update(int index, LocalDate date, String description, BigDecimal value, String category, long version) {
+        if (isDeleted(index)) {
+            deleted--;
+        }
+        write(writable(index >>> CHUNK_SHIFT), index & CHUNK_MASK, date, description, value, category);
+        maxVersion = Math.max(maxVersion, version);
+    }
+
+    /**
+     * Marca uma linha como removida; as leituras passam a pulá-la após {@link #publish()}.
+     *
+     * @param index A posição da linha ({@link #indexOf(long)}).
+     */
+    void delete(int index) {
+        if (!isDeleted(index)) {
+            writable(index >>> CHUNK_SHIFT).putInt(DESCRIPTION_REGION + (index & CHUNK_MASK) * Integer.BYTES,
+                    DELETED_CODE);
+            deleted++;
+        }
+    }
+
+    /**
+     * @return A quantidade de linhas acrescentadas, inclusive as removidas, do ponto de vista da escrita.
+     */
+    int size() {
+        return rows;
+    }
+
+    /**
+     * @return A quantidade de linhas marcadas como removidas, do ponto de vista da escrita.
+     */
+    int deletedRows() {
+        return deleted;
+    }
+
+    /**
+     * @param index A posição de uma linha acrescentada.
+     * @return O id da linha.
+     */
+    long idAt(int index) {
+        return chunks[index >>> CHUNK_SHIFT].getLong((index & CHUNK_MASK) * Long.BYTES);
+    }
+
+    /**
+     * @param index A posição de uma linha acrescentada.
+     * @return Se a linha foi marcada como removida.
+     */
+    boolean isDeleted(int index) {
+        return chunks[index >>> CHUNK_SHIFT].getInt(DESCRIPTION_REGION + (index & CHUNK_MASK) * Integer.BYTES)
+                == DELETED_CODE;
+    }
+
+    /**
+     * Busca a posição de uma linha pelo id, pela ordem crescente dos ids acrescentados.
+     *
+     * @param id O id da transação.
+     * @return A posição da linha, ou -1 se o id não foi acrescentado.
+     */
+    int indexOf(long id) {
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long candidate = idAt(middle);
+            if (candidate < id) {
+                low = middle + 1;
+            } else if (candidate > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private void write(ByteBuffer chunk, int row, LocalDate date, String description, BigDecimal value,
+            String category) {
+        chunk.putLong(VALUE_REGION + row * Long.BYTES, value.setScale(VALUE_SCALE).unscaledValue().longValueExact());
+        chunk.putInt(DATE_REGION + row * Integer.BYTES, Math.toIntExact(date.toEpochDay()));
+        chunk.putInt(CATEGORY_REGION + row * Integer.BYTES, category == null ? NULL_CODE : categories.encode(category));
+        chunk.putInt(DESCRIPTION_REGION + row * Integer.BYTES, descriptions.encode(description));
+    }
+
+    /**
+     * Retorna o bloco para escrita, copiando-o antes se ele for visível às leituras: os cursores abertos
+     * continuam lendo o bloco original.
+     */
+    private ByteBuffer writable(int chunkIndex) {
+        ByteBuffer chunk = chunks[chunkIndex];
+        ByteBuffer[] visible = published.chunks;
+        if (chunkIndex < visible.length && visible[chunkIndex] == chunk) {
+            ByteBuffer copy = storage.allocate(CHUNK_BYTES);
+            copy.put(0, chunk, 0, CHUNK_BYTES);
+            chunks[chunkIndex] = copy;
+            replaced.add(chunk);
+            chunk = copy;
+        }
+        return chunk;
+    }
+
+    /**
+     * Torna visíveis às novas leituras as linhas acrescentadas, alteradas e removidas até aqui. Os blocos
+     * substituídos deixam de contar em {@link #offHeapBytes()} e ficam com os cursores abertos antes.
+     */
+    void publish() {
+        published = new State(Arrays.copyOf(chunks, chunks.length), rows, deleted, lastId, maxVersion,
+                categories.size());
+        replaced.forEach(storage::release);
+        replaced.clear();
+    }
+
+    /**
+     * Aposenta o snapshot, substituído por outro: nenhum cursor novo é aberto, e a memória volta ao sistema
+     * quando o coletor recolher os blocos que os cursores abertos deixarem de ler.
+     */
+    void retire() {
+        retired = true;
+    }
+
+    /**
+     * @return A quantidade de linhas publicadas, sem as removidas.
+     */
+    public long rows() {
+        State state = published;
+        return state.rows() - state.deleted();
+    }
+
+    /**
+     * @return O maior id acrescentado e publicado, ou 0 se o snapshot estiver vazio.
+     */
+    public long lastId() {
+        return published.lastId();
+    }
+
+    /**
+     * @return A maior versão ({@code row_version}) entre as linhas publicadas, atuais ou já alteradas.
+     */
+    public long maxVersion() {
+        return published.maxVersion();
+    }
+
+    /**
+     * @return Os bytes fora do heap dos blocos publicados e do dicionário em uso pela escrita.
+     */
+    public long offHeapBytes() {
+        return storage.allocated();
+    }
+
+    /**
+     * Indica se o snapshot responde à consulta: filtros de data, categoria e valor na ordem de id.
+     * Consultas ordenadas por data, paginadas ou incrementais continuam no banco.
+     *
+     * @param filter Os critérios de seleção.
+     * @return {@code true} se {@link #cursor(TransactionFilter)} pode atender o filtro.
+     */
+    public static boolean supports(TransactionFilter filter) {
+        return !filter.isKeysetOrdered() && !filter.isDelta();
+    }
+
+    /**
+     * Abre uma leitura das linhas publicadas que atendem ao filtro, em ordem de id. O cursor deve ser
+     * {@link Cursor#close() fechado} ao fim da leitura.
+     *
+     * @param filter Os critérios de seleção; deve ser suportado ({@link #supports(TransactionFilter)}).
+     * @return O cursor, posicionado antes da primeira linha, ou {@code null} se o snapshot foi aposentado.
+     */
+    public Cursor cursor(TransactionFilter filter) {
+        return retired ? null : new Cursor(published, filter);
+    }
+
+    private static long unscaled(BigDecimal value, RoundingMode rounding) {
+        BigInteger unscaled = value.setScale(VALUE_SCALE, rounding).unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            return unscaled.longValue();
+        }
+        return unscaled.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    private static int dayBound(LocalDate date, int unbounded) {
+        if (date == null) {
+            return unbounded;
+        }
+        long day = date.toEpochDay();
+        return (int) Math.clamp(day, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Leitura das linhas de um snapshot, uma por vez, sem criar objetos por linha.
+     * <p>
+     * Os textos são lidos como bytes UTF-8, copiados para um array de quem escreve o relatório, e a
+     * data pode ser lida já decomposta em ano, mês e dia. Instâncias não são thread-safe.
+     * </p>
+     */
+    public final class Cursor implements AutoCloseable {
+
+        private ByteBuffer[] rowChunks;
+        private final int limit;
+        private final int minDay;
+        private final int maxDay;
+        private final long minValue;
+        private final long maxValue;
+        private final boolean filtered;
+        private final boolean skipDeleted;
+        // Categorias aceitas, por código; null aceita todas (inclusive a nula).
+        private final boolean[] acceptedCategories;
+
+        private Runnable onRow = () -> { };
+        private ByteBuffer chunk;
+        private int row;
+        private int scan = -1;
+        private boolean pending;
+        private long delivered;
+
+        private int decodedDay = Integer.MIN_VALUE;
+        private int year;
+        private int month;
+        private int dayOfMonth;
+
+        private Cursor(State state, TransactionFilter filter) {
+            this.rowChunks = state.chunks();
+            this.limit = state.rows();
+            this.minDay = dayBound(filter.from(), Integer.MIN_VALUE);
+            this.maxDay = dayBound(filter.to(), Integer.MAX_VALUE);
+            this.minValue = filter.minValue() == null ? Long.MIN_VALUE : unscaled(filter.minValue(), RoundingMode.CEILING);
+            this.maxValue = filter.maxValue() == null ? Long.MAX_VALUE : unscaled(filter.maxValue(), RoundingMode.FLOOR);
+            if (filter.category() == null) {
+                this.acceptedCategories = null;
+            } else {
+                this.acceptedCategories = new boolean[state.categories()];
+                for (int code = 0; code < acceptedCategories.length; code++) {
+                    acceptedCategories[code] = filter.category().contains(categories.decode(code));
+                }
+            }
+            this.filtered = filter.from() != null || filter.to() != null || filter.minValue() != null
+                    || filter.maxValue() != null || acceptedCategories != null;
+            this.skipDeleted = state.deleted() > 0;
+        }
+
+        /**
+         * Define uma ação executada a cada linha entregue por {@link #next()}.
+         *
+         * @param action A ação; exceções lançadas por ela interrompem a leitura.
+         */
+        public void onRow(Runnable action) {
+            this.onRow = action;
+        }
+
+        /**
+         * @return {@code true} se ainda houver uma linha a ser entregue por {@link #next()}.
+         */
+        public boolean hasNext() {
+            if (!pending) {
+                pending = seek();
+            }
+            return pending;
+        }
+
+        /**
+         * Avança para a próxima linha selecionada.
+         *
+         * @return {@code false} se não houver mais linhas.
+         */
+        public boolean next() {
+            if (!hasNext()) {
+                return false;
+            }
+            pending = false;
+            chunk = rowChunks[scan >>> CHUNK_SHIFT];
+            row = scan & CHUNK_MASK;
+            delivered++;
+            onRow.run();
+            return true;
+        }
+
+        /**
+         * @return A quantidade de linhas entregues até aqui.
+         */
+        public long delivered() {
+            return delivered;
+        }
+
+        /**
+         * @return O id da linha atual.
+         */
+        public long id() {
+            return chunk.getLong(row * Long.BYTES);
+        }
+
+        /**
+         * @return A data da linha atual, em dias desde 1970-01-01.
+         */
+        public int epochDay() {
+            return chunk.getInt(DATE_REGION + row * Integer.BYTES);
+        }
+
+        /**
+         * @return O ano da data da linha atual.
+         */
+        public int year() {
+            decodeDate();
+            return year;
+        }
+
+        /**
+         * @return O mês (1 a 12) da data da linha atual.
+         */
+        public int month() {
+            decodeDate();
+            return month;
+        }
+
+        /**
+         * @return O dia do mês da data da linha atual.
+         */
+        public int dayOfMonth() {
+            decodeDate();
+            return dayOfMonth;
+        }
+
+        /**
+         * @return O valor da linha atual sem escala (centavos, escala {@value TransactionSnapshot#VALUE_SCALE}).
+         */
+        public long unscaledValue() {
+            return chunk.getLong(VALUE_REGION + row * Long.BYTES);
+        }
+
+        /**
+         * @return O tamanho da descrição da linha atual, em bytes UTF-8.
+         */
+        public int descriptionLength() {
+            return descriptions.length(chunk.getInt(DESCRIPTION_REGION + row * Integer.BYTES));
+        }
+
+        /**
+         * Copia a descrição da linha atual, em UTF-8.
+         *
+         * @param target O destino, com ao menos {@link #descriptionLength()} bytes a partir de {@code offset}.
+         * @param offset A posição inicial no destino.
+         */
+        public void copyDescription(byte[] target, int offset) {
+            descriptions.copy(chunk.getInt(DESCRIPTION_REGION + row * Integer.BYTES), target, offset);
+        }
+
+        /**
+         * @return O tamanho da categoria da linha atual em bytes UTF-8, ou -1 se for nula.
+         */
+        public int categoryLength() {
+            int code = chunk.getInt(CATEGORY_REGION + row * Integer.BYTES);
+            return code == NULL_CODE ? -1 : categories.length(code);
+        }
+
+        /**
+         * Copia a categoria (não nula) da linha atual, em UTF-8.
+         *
+         * @param target O destino, com ao menos {@link #categoryLength()} bytes a partir de {@code offset}.
+         * @param offset A posição inicial no destino.
+         */
+        public void copyCategory(byte[] target, int offset) {
+            categories.copy(chunk.getInt(CATEGORY_REGION + row * Integer.BYTES), target, offset);
+        }
+
+        /**
+         * Percorre as linhas restantes como {@link TransactionRow}, criando os objetos de cada linha, para
+         * quem não escreve a partir dos valores primitivos.
+         *
+         * @return As linhas restantes; avançar o iterador avança este cursor.
+         */
+        public Iterator<TransactionRow> rows() {
+            return new Iterator<>() {
+
+                @Override
+                public boolean hasNext() {
+                    return Cursor.this.hasNext();
+                }
+
+                @Override
+                public TransactionRow next() {
+                    if (!Cursor.this.next()) {
+                        throw new NoSuchElementException();
+                    }
+                    int category = chunk.getInt(CATEGORY_REGION + row * Integer.BYTES);
+                    return new TransactionRow(id(), LocalDate.ofEpochDay(epochDay()),
+                            descriptions.decode(chunk.getInt(DESCRIPTION_REGION + row * Integer.BYTES)),
+                            BigDecimal.valueOf(unscaledValue(), VALUE_SCALE),
+                            category == NULL_CODE ? null : categories.decode(category));
+                }
+            };
+        }
+
+        /**
+         * Encerra a leitura e solta os blocos lidos, que o coletor pode recolher se já foram substituídos.
+         * Depois disso, o cursor não pode ser usado.
+         */
+        @Override
+        public void close() {
+            rowChunks = null;
+            chunk = null;
+            pending = false;
+        }
+
+        private boolean seek() {
+            if (rowChunks == null) {
+                return false;
+            }
+            while (++scan < limit) {
+                if (!filtered && !skipDeleted || matches(rowChunks[scan >>> CHUNK_SHIFT], scan & CHUNK_MASK)) {
+                    return true;
+                }
+            }
+            scan = limit;
+            return false;
+        }
+
+        private boolean matches(ByteBuffer candidate, int index) {
+            if (skipDeleted && candidate.getInt(DESCRIPTION_REGION + index * Integer.BYTES) == DELETED_CODE) {
+                return false;
+            }
+            int day = candidate.getInt(DATE_REGION + index * Integer.BYTES);
+            if (day < minDay || day > maxDay) {
+                return false;
+            }
+            long value = candidate.getLong(VALUE_REGION + index * Long.BYTES);
+            if (value < minValue || value > maxValue) {
+                return false;
+            }
+            if (acceptedCategories != null) {
+                int code = candidate.getInt(CATEGORY_REGION + index * Integer.BYTES);
+                return code != NULL_CODE && acceptedCategories[code];
+            }
+            return true;
+        }
+
+        /**
+         * Decompõe o dia epoch em ano, mês e dia (mesmo cálculo de {@link LocalDate#ofEpochDay}),
+         * reaproveitando o resultado quando linhas seguidas têm a mesma data.
+         */
+        private void decodeDate() {
+            int epochDay = epochDay();
+            if (epochDay == decodedDay) {
+                return;
+            }
+            long zeroDay = epochDay + 719528L - 60;
+            long adjust = 0;
+            if (zeroDay < 0) {
+                long cycles = (zeroDay + 1) / 146097 - 1;
+                adjust = cycles * 400;
+                zeroDay += -cycles * 146097;
+            }
+            long yearEst = (400 * zeroDay + 591) / 146097;
+            long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+            if (doyEst < 0) {
+                yearEst--;
+                doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+            }
+            yearEst += adjust;
+            int marchDoy0 = (int) doyEst;
+            int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+            month = (marchMonth0 + 2) % 12 + 1;
+            dayOfMonth = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+            year = (int) (yearEst + marchMonth0 / 10);
+            decodedDay = epochDay;
+        }
+    }
+}
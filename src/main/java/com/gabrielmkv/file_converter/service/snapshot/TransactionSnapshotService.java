@@ -0,0 +1,329 @@
+package com.gabrielmkv.file_converter.service.snapshot;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.config.ReportSnapshotProperties;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.service.cache.TransactionDataVersion;
+
+/**
+ * Mantém o {@link TransactionSnapshot} da tabela de transações, habilitado por {@code report.snapshot.enabled}.
+ * <p>
+ * O snapshot é carregado na inicialização, em segundo plano, e conferido com a tabela por uma única
+ * consulta (quantidade de linhas, maior id e maior versão, respondidas pelos índices), feita na conexão do
+ * próprio relatório. A consulta é dispensada enquanto nenhuma escrita da aplicação
+ * ({@link TransactionDataVersion}) acontecer e a última conferência tiver menos de
+ * {@code report.snapshot.check-interval}; alterações feitas por fora da aplicação aparecem dentro desse
+ * intervalo.
+ * </p>
+ * <p>
+ * Quando a tabela mudou, o snapshot é corrigido no lugar: linhas de id novo são acrescentadas, linhas
+ * alteradas (versão acima da maior já lida) são substituídas, e, se a contagem não fechar, os ids da
+ * tabela são comparados com os do snapshot para marcar as linhas removidas. Só linhas confirmadas fora da
+ * ordem de id, por importações simultâneas, ou um snapshot com mais da metade das linhas removidas levam a
+ * uma nova carga completa, feita ao lado do snapshot atual; o anterior é recolhido pelo coletor quando
+ * terminam as leituras que ainda o usam.
+ * </p>
+ * <p>
+ * Enquanto o snapshot não corresponde à tabela (carga em andamento, atualização feita por outro relatório
+ * ou tabela mudando durante a atualização), os relatórios são lidos do banco, como sem o snapshot.
+ * </p>
+ */
+@Service
+public class TransactionSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSnapshotService.class);
+
+    private static final String STATS_SQL =
+            "SELECT COUNT(*), COALESCE(MAX(id), 0), COALESCE(MAX(row_version), 0) FROM transactions";
+
+    // Em ordem de versão: uma correção interrompida deixa aplicadas exatamente as versões até a maior lida.
+    private static final String MODIFIED_SQL =
+            "SELECT id, transaction_date, description, value_brl, category, row_version FROM transactions "
+            + "WHERE row_version > ? AND id <= ? ORDER BY row_version";
+
+    private static final String IDS_SQL = "SELECT id FROM transactions WHERE id <= ? ORDER BY id";
+
+    private static final String LOAD_SQL =
+            "SELECT id, transaction_date, description, value_brl, category, row_version FROM transactions "
+            + "WHERE id > ? AND id <= ? ORDER BY id";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final DataSource dataSource;
+    private final ReportSnapshotProperties properties;
+    private final TransactionDataVersion dataVersion;
+
+    // Serializa as atualizações; quem encontra uma em andamento lê do banco em vez de esperar.
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile TransactionSnapshot current;
+    private volatile Verification verified;
+
+    /**
+     * Quantidade de linhas, maior id e maior versão da tabela.
+     */
+    private record TableState(long rows, long maxId, long maxVersion) {
+
+        // Ids e versões só crescem: um id ou versão acima dos do snapshot é uma escrita ainda não lida.
+        boolean matches(TransactionSnapshot snapshot) {
+            return snapshot != null && snapshot.rows() == rows && maxId <= snapshot.lastId()
+                    && maxVersion <= snapshot.maxVersion();
+        }
+    }
+
+    /**
+     * Última conferência em que o snapshot correspondia à tabela: o contador de escritas da aplicação lido
+     * antes dela e o instante.
+     */
+    private record Verification(TransactionSnapshot snapshot, long writes, long nanos) {
+    }
+
+    public TransactionSnapshotService(DataSource dataSource, ReportSnapshotProperties properties,
+            TransactionDataVersion dataVersion) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * @return Se o snapshot está habilitado.
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        if (isEnabled()) {
+            Thread.ofVirtual().name("report-snapshot").start(() -> {
+                try {
+                    refresh();
+                } catch (SQLException | RuntimeException e) {
+                    log.warn("Falha ao carregar o snapshot das transações: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Abre uma leitura do snapshot para o filtro, atualizando-o antes se a tabela mudou. O cursor deve ser
+     * fechado ao final da leitura.
+     *
+     * @param filter Os critérios de seleção.
+     * @return O cursor, ou {@code null} se o relatório deve ser lido do banco: snapshot desabilitado, filtro
+     *         não suportado ou snapshot indisponível no momento.
+     */
+    public TransactionSnapshot.Cursor open(TransactionFilter filter) {
+        if (!isEnabled() || !TransactionSnapshot.supports(filter)) {
+            return null;
+        }
+        try {
+            TransactionSnapshot snapshot = current;
+            if (!isCurrent(snapshot)) {
+                snapshot = refresh();
+            }
+            return snapshot == null ? null : snapshot.cursor(filter);
+        } catch (SQLException | DataAccessException e) {
+            log.warn("Falha ao atualizar o snapshot das transações, lendo do banco: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Indica se o snapshot corresponde à tabela, sem consultá-la se nada foi escrito pela aplicação desde a
+     * última conferência, feita há menos de {@code report.snapshot.check-interval}.
+     */
+    private boolean isCurrent(TransactionSnapshot snapshot) throws SQLException {
+        if (snapshot == null) {
+            return false;
+        }
+        long writes = dataVersion.writes();
+        long now = System.nanoTime();
+        Verification last = verified;
+        if (last != null && last.snapshot() == snapshot && last.writes() == writes
+                && now - last.nanos() < properties.checkInterval().toNanos()) {
+            return true;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (tableState(connection).matches(snapshot)) {
+                verified = new Verification(snapshot, writes, now);
+                return true;
+            }
+            return false;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Atualiza o snapshot até que ele corresponda à tabela, usando a conexão do relatório, se houver.
+     *
+     * @return O snapshot atualizado, ou {@code null} se outra atualização estiver em andamento ou a tabela
+     *         continuar mudando após algumas tentativas.
+     */
+    private TransactionSnapshot refresh() throws SQLException {
+        if (!lock.tryLock()) {
+            return null;
+        }
+        Connection connection = null;
+        try {
+            connection = DataSourceUtils.getConnection(dataSource);
+            long writes = dataVersion.writes();
+            TransactionSnapshot snapshot = current;
+            for (int attempt = 0; attempt <= MAX_ATTEMPTS; attempt++) {
+                TableState table = tableState(connection);
+                if (table.matches(snapshot)) {
+                    verified = new Verification(snapshot, writes, System.nanoTime());
+                    return snapshot;
+                }
+                if (attempt < MAX_ATTEMPTS && (snapshot == null || !patch(connection, snapshot, table))) {
+                    snapshot = reload(connection, table.maxId());
+                }
+            }
+            return null;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Corrige o snapshot no lugar e publica o resultado.
+     *
+     * @return {@code false} se for preciso recarregar: linhas confirmadas fora da ordem de id ou mais da
+     *         metade das linhas do snapshot removidas.
+     */
+    private boolean patch(Connection connection, TransactionSnapshot snapshot, TableState table) throws SQLException {
+        int before = snapshot.size();
+        int updated = 0;
+        try {
+            try (PreparedStatement statement = connection.prepareStatement(MODIFIED_SQL)) {
+                statement.setFetchSize(properties.fetchSize());
+                statement.setLong(1, snapshot.maxVersion());
+                statement.setLong(2, snapshot.lastId());
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        int index = snapshot.indexOf(result.getLong(1));
+                        if (index < 0) {
+                            return false;
+                        }
+                        snapshot.update(index, result.getObject(2, LocalDate.class), result.getString(3),
+                                result.getBigDecimal(4), result.getString(5), result.getLong(6));
+                        updated++;
+                    }
+                }
+            }
+            append(connection, snapshot, table.maxId());
+            int appended = snapshot.size() - before;
+
+            int deleted = snapshot.deletedRows();
+            if (snapshot.size() - snapshot.deletedRows() != table.rows() && !reconcile(connection, snapshot)) {
+                return false;
+            }
+            log.debug("Snapshot das transações atualizado: {} linhas novas, {} alteradas, {} removidas, {} KB fora do heap",
+                    appended, updated, snapshot.deletedRows() - deleted, snapshot.offHeapBytes() / 1024);
+            return snapshot.deletedRows() <= snapshot.size() / 2;
+        } finally {
+            snapshot.publish();
+        }
+    }
+
+    /**
+     * Compara os ids da tabela com os do snapshot, marcando como removidas as linhas que não existem mais.
+     *
+     * @return {@code false} se a tabela tiver ids que o snapshot não tem, confirmados fora de ordem.
+     */
+    private boolean reconcile(Connection connection, TransactionSnapshot snapshot) throws SQLException {
+        int size = snapshot.size();
+        if (size == 0) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(IDS_SQL)) {
+            statement.setFetchSize(properties.fetchSize());
+            statement.setLong(1, snapshot.idAt(size - 1));
+            int index = 0;
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    long id = result.getLong(1);
+                    while (index < size && snapshot.idAt(index) < id) {
+                        snapshot.delete(index++);
+                    }
+                    if (index == size || snapshot.idAt(index) != id) {
+                        return false;
+                    }
+                    index++;
+                }
+            }
+            while (index < size) {
+                snapshot.delete(index++);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Carrega um novo snapshot até {@code maxId} e o coloca no lugar do atual, que é aposentado.
+     */
+    private TransactionSnapshot reload(Connection connection, long maxId) throws SQLException {
+        long start = System.nanoTime();
+        TransactionSnapshot snapshot = new TransactionSnapshot(
+                new SnapshotStorage(properties.storage(), properties.directory()));
+        try {
+            append(connection, snapshot, maxId);
+        } catch (SQLException | RuntimeException e) {
+            snapshot.retire();
+            throw e;
+        }
+        snapshot.publish();
+        TransactionSnapshot previous = current;
+        current = snapshot;
+        if (previous != null) {
+            previous.retire();
+        }
+        log.info("Snapshot das transações carregado: {} linhas, {} KB fora do heap, em {} ms",
+                snapshot.rows(), snapshot.offHeapBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * Acrescenta ao snapshot as linhas com id entre o último carregado e {@code maxId}, sem publicá-las.
+     */
+    private void append(Connection connection, TransactionSnapshot snapshot, long maxId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOAD_SQL)) {
+            statement.setFetchSize(properties.fetchSize());
+            statement.setLong(1, snapshot.size() == 0 ? 0 : snapshot.idAt(snapshot.size() - 1));
+            statement.setLong(2, maxId);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    snapshot.append(result.getLong(1), result.getObject(2, LocalDate.class), result.getString(3),
+                            result.getBigDecimal(4), result.getString(5), result.getLong(6));
+                }
+            }
+        }
+    }
+
+    private static TableState tableState(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(STATS_SQL)) {
+            result.next();
+            return new TableState(result.getLong(1), result.getLong(2), result.getLong(3));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.gabrielmkv.file_converter.service.summary;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.model.TransactionChangedEvent;
+import com.gabrielmkv.file_converter.model.TransactionDailyRollup;
+
+/**
+ * Mantém a tabela de totais diários ({@link TransactionDailyRollup}), habilitada por
+ * {@code report.summary.rollup-enabled}.
+ * <p>
+ * A tabela é reconstruída na inicialização e atualizada incrementalmente pela importação: cada lote
+ * confirmado aplica, na mesma transação, os totais das linhas inseridas ({@code MERGE} por dia e
+ * categoria). Escritas pelo JPA marcam a tabela como desatualizada, e divergência entre a quantidade
+ * de linhas somada na tabela e a da tabela de transações (SQL direto) também; nesses casos ela é
+ * reconstruída antes do próximo resumo.
+ * </p>
+ */
+@Service
+public class TransactionRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollup.class);
+
+    private static final String DELETE_SQL = "DELETE FROM transaction_daily_rollup";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO transaction_daily_rollup (rollup_date, category, tx_count, value_sum, value_min, value_max) "
+            + "SELECT transaction_date, category, COUNT(*), SUM(value_brl), MIN(value_brl), MAX(value_brl) "
+            + "FROM transactions GROUP BY transaction_date, category";
+
+    private static final String MERGE_SQL =
+            "MERGE INTO transaction_daily_rollup r "
+            + "USING (VALUES (CAST(? AS DATE), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), "
+            + "CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(10, 2)), CAST(? AS NUMERIC(10, 2)))) "
+            + "AS d (rollup_date, category, tx_count, value_sum, value_min, value_max) "
+            + "ON r.rollup_date = d.rollup_date AND r.category IS NOT DISTINCT FROM d.category "
+            + "WHEN MATCHED THEN UPDATE SET tx_count = r.tx_count + d.tx_count, value_sum = r.value_sum + d.value_sum, "
+            + "value_min = LEAST(r.value_min, d.value_min), value_max = GREATEST(r.value_max, d.value_max) "
+            + "WHEN NOT MATCHED THEN INSERT (rollup_date, category, tx_count, value_sum, value_min, value_max) "
+            + "VALUES (d.rollup_date, d.category, d.tx_count, d.value_sum, d.value_min, d.value_max)";
+
+    private static final String TOTALS_SQL =
+            "SELECT (SELECT COALESCE(SUM(tx_count), 0) FROM transaction_daily_rollup), (SELECT COUNT(*) FROM transactions)";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    // Serializa reconstruções e confirmações de lotes, para que um lote nunca seja contado duas vezes.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TransactionRollup(DataSource dataSource, @Value("${report.summary.rollup-enabled:false}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Marca os totais diários como desatualizados, forçando a reconstrução antes do próximo uso.
+     */
+    @EventListener(TransactionChangedEvent.class)
+    public void invalidate() {
+        stale.set(true);
+    }
+
+    /**
+     * @return Se a tabela de totais diários está habilitada.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Garante que os totais diários reflitam a tabela de transações, reconstruindo-os se necessário.
+     *
+     * @return {@code true} se os totais podem ser usados; {@code false} se a tabela estiver desabilitada.
+     */
+    public boolean ensureCurrent() {
+        if (!enabled) {
+            return false;
+        }
+        if (stale.get() || !totalsMatch()) {
+            rebuild();
+        }
+        return true;
+    }
+
+    /**
+     * Recalcula todos os totais diários a partir da tabela de transações.
+     */
+    public void rebuild() {
+        lock.lock();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Limpa antes de ler: escritas do JPA feitas durante a reconstrução a marcam de novo.
+                stale.set(false);
+                statement.executeUpdate(DELETE_SQL);
+                int rows = statement.executeUpdate(REBUILD_SQL);
+                connection.commit();
+                log.info("Totais diários reconstruídos: {} linhas", rows);
+            } catch (SQLException e) {
+                stale.set(true);
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new ReportGenerationException("Falha ao reconstruir os totais diários: " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cria o acumulador dos totais de um lote de importação.
+     *
+     * @return O acumulador, ou {@code null} se a tabela estiver desabilitada.
+     */
+    public Batch newBatch() {
+        return enabled ? new Batch() : null;
+    }
+
+    private boolean totalsMatch() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet totals = statement.executeQuery(TOTALS_SQL)) {
+            totals.next();
+            return totals.getLong(1) == totals.getLong(2);
+        } catch (SQLException e) {
+            throw new ReportGenerationException("Falha ao verificar os totais diários: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Totais, por dia e categoria, das transações inseridas e ainda não confirmadas de uma importação.
+     * Instâncias não são thread-safe.
+     */
+    public final class Batch {
+
+        private final Map<Key, Totals> pending = new HashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Acumula uma transação inserida.
+         *
+         * @param transaction A transação inserida.
+         */
+        public void add(Transaction transaction) {
+            pending.computeIfAbsent(new Key(transaction.getDate(), transaction.getCategory()), key -> new Totals())
+                    .add(transaction.getValue());
+        }
+
+        /**
+         * Aplica os totais acumulados e confirma a transação da conexão, de modo que as linhas e seus
+         * totais fiquem visíveis ao mesmo tempo.
+         *
+         * @param connection A conexão da importação, com auto-commit desligado.
+         * @throws SQLException se a atualização ou a confirmação falharem.
+         */
+        public void commit(Connection connection) throws SQLException {
+            lock.lock();
+            try {
+                if (!pending.isEmpty()) {
+                    try (PreparedStatement statement = connection.prepareStatement(MERGE_SQL)) {
+                        for (Map.Entry<Key, Totals> entry : pending.entrySet()) {
+                            Totals totals = entry.getValue();
+                            statement.setObject(1, entry.getKey().date());
+                            statement.setString(2, entry.getKey().category());
+                            statement.setLong(3, totals.count);
+                            statement.setBigDecimal(4, totals.sum);
+                            statement.setBigDecimal(5, totals.min);
+                            statement.setBigDecimal(6, totals.max);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                connection.commit();
+            } finally {
+                pending.clear();
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Descarta os totais acumulados, quando as linhas correspondentes sofrem rollback.
+         */
+        public void discard() {
+            pending.clear();
+        }
+    }
+
+    private record Key(LocalDate date, String category) {
+    }
+
+    private static final class Totals {
+
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+
+        void add(BigDecimal value) {
+            count++;
+            sum = sum.add(value);
+            min = min == null || value.compareTo(min) < 0 ? value : min;
+            max = max == null || value.compareTo(max) > 0 ? value : max;
+        }
+    }
+}
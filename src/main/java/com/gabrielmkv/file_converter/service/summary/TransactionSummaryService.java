@@ -0,0 +1,44 @@
+package com.gabrielmkv.file_converter.service.summary;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionSummary;
+
+/**
+ * Calcula os relatórios de resumo (totais agrupados por categoria e/ou período).
+ * <p>
+ * Quando os totais diários estão habilitados e o filtro usa apenas datas e categorias, o resumo é
+ * calculado sobre eles; filtros por valor exigem as linhas originais e vão à tabela de transações.
+ * Nos dois casos a agregação é feita pelo banco.
+ * </p>
+ */
+@Service
+public class TransactionSummaryService {
+
+    private final TransactionRepository repository;
+    private final TransactionRollup rollup;
+
+    public TransactionSummaryService(TransactionRepository repository, TransactionRollup rollup) {
+        this.repository = repository;
+        this.rollup = rollup;
+    }
+
+    /**
+     * @param filter Os critérios de seleção das transações.
+     * @param grouping O agrupamento dos totais.
+     * @return Os grupos, ordenados por período e categoria.
+     */
+    public List<TransactionSummary> summarize(TransactionFilter filter, TransactionGrouping grouping) {
+        // Os totais diários não guardam valores nem versões: esses filtros exigem as linhas.
+        boolean rowFiltered = filter.minValue() != null || filter.maxValue() != null || filter.isDelta();
+        if (!rowFiltered && rollup.ensureCurrent()) {
+            return repository.summarizeRollup(filter, grouping);
+        }
+        return repository.summarize(filter, grouping);
+    }
+}
@@ -1,25 +1,72 @@
 package com.gabrielmkv.file_converter.service.template;
 
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.gabrielmkv.file_converter.model.Transaction;
-import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.repository.TransactionSummary;
 import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.service.metrics.ReportExecution;
+import com.gabrielmkv.file_converter.service.metrics.ReportMetrics;
+import com.gabrielmkv.file_converter.service.partition.PartitionedTransactionReader;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshotService;
+import com.gabrielmkv.file_converter.service.summary.TransactionSummaryService;
 
 /**
  * Classe abstrata que define o template (Template Method) para a geração de relatórios.
  * Estrutura o algoritmo de geração, permitindo que subclasses (Strategies)
  * implementem os detalhes específicos de cada formato de arquivo.
+ * <p>
+ * Os dados são lidos do banco através de um cursor, como projeções {@link TransactionRow} em uma
+ * transação somente leitura, e escritos diretamente na saída, de modo que o consumo de memória
+ * não depende da quantidade de transações. Relatórios grandes são lidos em faixas paralelas pelo
+ * {@link PartitionedTransactionReader}, com a mesma ordem e o consumo de memória limitado pelos buffers das faixas.
+ * </p>
+ * <p>
+ * Com {@code report.snapshot.enabled}, os formatos que implementam {@link SnapshotRenderer} são gerados a
+ * partir do {@link TransactionSnapshot snapshot colunar em memória}, sem consultar as linhas no banco.
+ * </p>
+ * <p>
+ * Cada geração é medida pelo {@link ReportMetrics}, com o nome do bean (o formato) como tag.
+ * </p>
  */
-public abstract class ReportGeneratorTemplate {
-    
+public abstract class ReportGeneratorTemplate implements BeanNameAware {
+
+    private String format;
+
+    @Autowired
+    private PartitionedTransactionReader reader;
+
     @Autowired
-    private TransactionRepository repository;
+    private TransactionSnapshotService snapshots;
 
-    private final List<Transaction> extractData() {
-        return repository.findAll();
+    @Autowired
+    private TransactionSummaryService summaryService;
+
+    @Autowired
+    private ReportMetrics metrics;
+
+    @Override
+    public void setBeanName(String name) {
+        this.format = name;
+    }
+
+    private final Stream<TransactionRow> extractData(TransactionFilter filter) {
+        // Projeções em vez de entidades: nada é guardado no contexto de persistência durante a leitura.
+        // Relatórios grandes são lidos em faixas paralelas, entregues na ordem da consulta.
+        return reader.streamRows(filter);
     }
 
     /**
@@ -42,29 +89,148 @@ public abstract class ReportGeneratorTemplate {
     /**
      * Método abstrato a ser implementado pelas subclasses para gerar o conteúdo
      * específico do relatório (PDF, CSV, JSON, etc.).
+     * <p>
+     * As transações devem ser consumidas uma a uma e escritas em {@code out} à medida
+     * que são lidas. O stream de saída não deve ser fechado pela implementação.
+     * </p>
+     * 
+     * @param transactions O stream de transações a serem incluídas no relatório.
+     * @param out O destino onde o conteúdo do arquivo será escrito.
+     */
+    protected abstract void generateContent(Stream<TransactionRow> transactions, OutputStream out);
+
+    /**
+     * Orquestra a geração do relatório com todas as transações. Este é o Template Method.
      * 
-     * @param transactions A lista de transações a serem incluídas no relatório.
-     * @return Um array de bytes representando o conteúdo do arquivo.
+     * @param out O destino onde o relatório será escrito.
+     * @throws ReportGenerationException se não houver dados ou se ocorrer um erro na geração.
      */
-    protected abstract byte[] generateContent(List<Transaction> transactions);
+    @Transactional(readOnly = true)
+    public void generateReport(OutputStream out) {
+        generateReport(out, TransactionFilter.ALL, ReportProgressListener.NONE);
+    }
 
     /**
-     * Orquestra a geração do relatório. Este é o Template Method.
+     * Orquestra a geração do relatório com as transações selecionadas pelo filtro.
      * 
-     * @return Um array de bytes contendo o relatório completo.
+     * @param out O destino onde o relatório será escrito.
+     * @param filter Os critérios de seleção, aplicados pelo banco.
      * @throws ReportGenerationException se não houver dados ou se ocorrer um erro na geração.
      */
-    public byte[] generateReport() {
+    @Transactional(readOnly = true)
+    public void generateReport(OutputStream out, TransactionFilter filter) {
+        generateReport(out, filter, ReportProgressListener.NONE);
+    }
+
+    /**
+     * Orquestra a geração do relatório notificando o progresso a cada transação
+     * entregue à renderização.
+     * 
+     * @param out O destino onde o relatório será escrito.
+     * @param filter Os critérios de seleção, aplicados pelo banco.
+     * @param listener Recebe um aviso por linha; pode interromper a geração lançando uma exceção.
+     * @throws ReportGenerationException se não houver dados ou se ocorrer um erro na geração.
+     */
+    @Transactional(readOnly = true)
+    public void generateReport(OutputStream out, TransactionFilter filter, ReportProgressListener listener) {
+        ReportExecution execution = metrics.start(format);
+        try {
+            TransactionSnapshot.Cursor snapshot = this instanceof SnapshotRenderer
+                    ? execution.measureQuery(() -> snapshots.open(filter))
+                    : null;
+            if (snapshot != null) {
+                snapshot.onRow(listener::rowRendered);
+                try {
+                    render((SnapshotRenderer) this, snapshot, execution.measureWrites(out));
+                } finally {
+                    execution.addRows(snapshot.delivered());
+                    snapshot.close();
+                }
+                return;
+            }
+            try (Stream<TransactionRow> transactions = execution.measureQuery(() -> extractData(filter))
+                    .peek(transaction -> listener.rowRendered())) {
+                render(execution.measureExtraction(transactions.iterator()), execution.measureWrites(out));
+            }
+        } catch (Exception e) {
+            execution.failed(e);
+            throw new ReportGenerationException("Erro ao gerar o relatório: " + e.getMessage(), e);
+        } finally {
+            execution.close();
+        }
+    }
+
+    /**
+     * Gera o relatório a partir de transações já lidas por quem chama, sem consultar o banco.
+     * Permite que uma única leitura alimente vários formatos (ver {@code ReportBundleService});
+     * o tempo de espera por novas linhas é medido como leitura.
+     *
+     * @param out O destino onde o relatório será escrito.
+     * @param transactions As transações, na ordem do relatório.
+     * @throws ReportGenerationException se não houver dados ou se ocorrer um erro na geração.
+     */
+    public void generateReport(OutputStream out, Iterator<TransactionRow> transactions) {
+        ReportExecution execution = metrics.start(format);
+        try {
+            render(execution.measureExtraction(transactions), execution.measureWrites(out));
+        } catch (Exception e) {
+            execution.failed(e);
+            throw new ReportGenerationException("Erro ao gerar o relatório: " + e.getMessage(), e);
+        } finally {
+            execution.close();
+        }
+    }
+
+    private void render(Iterator<TransactionRow> iterator, OutputStream out) {
+        if (!iterator.hasNext()) {
+            throw new ReportGenerationException("Nenhuma transação encontrada!");
+        }
+
+        generateContent(StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false),
+                out);
+    }
+
+    private static void render(SnapshotRenderer renderer, TransactionSnapshot.Cursor snapshot, OutputStream out) {
+        if (!snapshot.hasNext()) {
+            throw new ReportGenerationException("Nenhuma transação encontrada!");
+        }
+
+        renderer.generateSnapshotContent(snapshot, out);
+    }
+
+    /**
+     * Orquestra a geração de um relatório de resumo: os totais são agrupados pelo banco
+     * e apenas os grupos são entregues à renderização, medida como os demais relatórios (a
+     * agregação conta como leitura e cada grupo como uma linha). Só os formatos que implementam
+     * {@link SummaryRenderer} geram resumos.
+     *
+     * @param out O destino onde o relatório será escrito.
+     * @param filter Os critérios de seleção, aplicados pelo banco.
+     * @param grouping O agrupamento dos totais.
+     * @throws ReportGenerationException se não houver dados ou se ocorrer um erro na geração.
+     * @throws UnsupportedOperationException se o formato não gerar resumos.
+     */
+    @Transactional(readOnly = true)
+    public void generateSummaryReport(OutputStream out, TransactionFilter filter, TransactionGrouping grouping) {
+        if (!(this instanceof SummaryRenderer renderer)) {
+            throw new UnsupportedOperationException("Formato sem relatório de resumo");
+        }
+        ReportExecution execution = metrics.start(format);
         try {
-            List<Transaction> transactions = extractData();
+            List<TransactionSummary> summaries = execution.measureQuery(() -> summaryService.summarize(filter, grouping));
 
-            if (transactions == null || transactions.isEmpty()) {
+            if (summaries.isEmpty()) {
                 throw new ReportGenerationException("Nenhuma transação encontrada!");
             }
 
-            return generateContent(transactions);
+            execution.addRows(summaries.size());
+            renderer.generateSummaryContent(summaries, grouping, execution.measureWrites(out));
         } catch (Exception e) {
+            execution.failed(e);
             throw new ReportGenerationException("Erro ao gerar o relatório: " + e.getMessage(), e);
+        } finally {
+            execution.close();
         }
     }
 
@@ -0,0 +1,20 @@
+package com.gabrielmkv.file_converter.service.template;
+
+/**
+ * Recebe notificações de progresso durante a geração de um relatório.
+ */
+@FunctionalInterface
+public interface ReportProgressListener {
+
+    /**
+     * Listener que ignora as notificações.
+     */
+    ReportProgressListener NONE = () -> { };
+
+    /**
+     * Chamado a cada transação entregue à renderização. Lançar uma exceção aqui
+     * interrompe a geração do relatório.
+     */
+    void rowRendered();
+
+}
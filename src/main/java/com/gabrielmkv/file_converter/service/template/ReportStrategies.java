@@ -0,0 +1,38 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro das estratégias de relatório, indexadas pelo nome do bean (o formato).
+ * <p>
+ * As estratégias são declaradas {@code @Lazy}: apenas os nomes são lidos das definições de bean
+ * na inicialização, e cada estratégia (com seus mappers, fontes e buffers) é criada pelo container
+ * no primeiro relatório do formato. Injetar um {@code Map<String, ReportGeneratorTemplate>}
+ * criaria todas de uma vez, durante a subida da aplicação.
+ * </p>
+ */
+@Component
+public class ReportStrategies {
+
+    private final ListableBeanFactory beanFactory;
+    private final Set<String> formats;
+
+    public ReportStrategies(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        // allowEagerInit = false: o tipo vem da definição do bean, sem instanciá-lo.
+        this.formats = Set.of(beanFactory.getBeanNamesForType(ReportGeneratorTemplate.class, false, false));
+    }
+
+    /**
+     * Retorna a estratégia de um formato, criando-a no primeiro uso.
+     *
+     * @param format O formato do relatório.
+     * @return A estratégia, ou {@code null} se o formato não for suportado.
+     */
+    public ReportGeneratorTemplate get(String format) {
+        return formats.contains(format) ? beanFactory.getBean(format, ReportGeneratorTemplate.class) : null;
+    }
+}
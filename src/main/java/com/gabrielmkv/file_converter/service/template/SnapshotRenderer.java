@@ -0,0 +1,25 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.io.OutputStream;
+
+import com.gabrielmkv.file_converter.service.snapshot.TransactionSnapshot;
+
+/**
+ * Capacidade opcional de uma estratégia de relatório: gerar o conteúdo a partir do
+ * {@link TransactionSnapshot snapshot colunar em memória}, com a mesma saída da leitura do banco.
+ * <p>
+ * O {@link ReportGeneratorTemplate} usa o snapshot, quando habilitado, para as estratégias que
+ * implementam esta interface.
+ * </p>
+ */
+public interface SnapshotRenderer {
+
+    /**
+     * Gera o conteúdo do relatório a partir do snapshot. O stream de saída não deve ser fechado.
+     *
+     * @param transactions O cursor das transações selecionadas, a ser percorrido com {@code next()}.
+     * @param out O destino onde o conteúdo do arquivo será escrito.
+     */
+    void generateSnapshotContent(TransactionSnapshot.Cursor transactions, OutputStream out);
+
+}
@@ -0,0 +1,24 @@
+package com.gabrielmkv.file_converter.service.template;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import com.gabrielmkv.file_converter.repository.TransactionGrouping;
+import com.gabrielmkv.file_converter.repository.TransactionSummary;
+
+/**
+ * Capacidade opcional de uma estratégia de relatório: gerar relatórios de resumo, com uma linha por grupo
+ * (ver {@link ReportGeneratorTemplate#generateSummaryReport}).
+ */
+public interface SummaryRenderer {
+
+    /**
+     * Gera o conteúdo de um relatório de resumo. O stream de saída não deve ser fechado.
+     *
+     * @param summaries Os grupos calculados pelo banco, já ordenados.
+     * @param grouping O agrupamento, que define as colunas de chave do relatório.
+     * @param out O destino onde o conteúdo do arquivo será escrito.
+     */
+    void generateSummaryContent(List<TransactionSummary> summaries, TransactionGrouping grouping, OutputStream out);
+
+}
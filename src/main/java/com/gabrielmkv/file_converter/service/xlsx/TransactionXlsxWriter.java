@@ -0,0 +1,518 @@
+package com.gabrielmkv.file_converter.service.xlsx;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Escritor XLSX (SpreadsheetML) em fluxo dedicado às linhas {@link TransactionRow}.
+ * <p>
+ * Escreve o pacote diretamente num {@link ZipOutputStream}, sem manter a planilha em memória nem
+ * depender do Apache POI: cada linha é codificada como XML num buffer de bytes UTF-8 reutilizado
+ * (como em {@code TransactionCsvEncoder}) e comprimida assim que o buffer enche, de modo que o
+ * consumo de memória não depende da quantidade de linhas. As células omitem a referência
+ * ({@code r="B2"}), que é opcional e só aumentaria o XML a comprimir. As células são tipadas:
+ * <ul>
+ *   <li>{@code Data}: número serial do Excel com formato dd/mm/aaaa;</li>
+ *   <li>{@code Descrição}: texto inline;</li>
+ *   <li>{@code Valor}: número com formato de moeda em reais;</li>
+ *   <li>{@code Categoria}: texto compartilhado (a tabela de textos só guarda as categorias e os títulos).</li>
+ * </ul>
+ * O cabeçalho e o zebrado seguem as cores do relatório PDF, com a primeira linha congelada e filtro
+ * automático. Ao atingir {@code sheetRows} linhas de dados (no máximo {@value #MAX_SHEET_ROWS} linhas
+ * por planilha, contando o cabeçalho), a planilha é encerrada e as linhas seguintes vão para uma nova.
+ * </p>
+ * <p>
+ * O {@link OutputStream} de destino não é fechado. Instâncias não são thread-safe: crie uma por relatório.
+ * </p>
+ */
+public final class TransactionXlsxWriter implements AutoCloseable {
+
+    /**
+     * Limite de linhas de uma planilha do Excel.
+     */
+    public static final int MAX_SHEET_ROWS = 1_048_576;
+
+    private static final String SHEET_NAME = "Transações";
+    private static final String[] HEADERS = { "Data", "Descrição", "Valor", "Categoria" };
+
+    // Dias entre a data base do Excel (30/12/1899, compensando o 29/02/1900 inexistente) e 01/01/1970.
+    private static final long EXCEL_EPOCH_OFFSET = 25_569;
+    // Seriais anteriores a 01/03/1900 são deslocados pelo 29/02/1900 do Excel; essas datas vão como texto.
+    private static final long FIRST_EXACT_SERIAL = 61;
+
+    // Índices em cellXfs (ver STYLES): cabeçalho e, para linhas pares e ímpares, data, texto e valor.
+    private static final int HEADER_STYLE = 1;
+    private static final int EVEN_ROW_STYLE = 2;
+    private static final int ODD_ROW_STYLE = 5;
+    private static final int DATE_OFFSET = 0;
+    private static final int TEXT_OFFSET = 1;
+    private static final int VALUE_OFFSET = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Espaço suficiente para um caractere escapado ou codificado (até 5 bytes em "&amp;").
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int MAX_FAST_SCALE = 64;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    // Partes .xml sem Override são planilhas, então o [Content_Types].xml não depende da quantidade delas.
+    private static final String CONTENT_TYPES = XML_HEADER
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+            + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+            + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+            + "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+            + "</Types>";
+
+    private static final String ROOT_RELATIONSHIPS = XML_HEADER
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>";
+
+    // Cores de ReportPDF: cabeçalho (240, 240, 240), linhas pares (252, 252, 252) e ímpares (245, 245, 245).
+    private static final String STYLES = XML_HEADER
+            + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+            + "<numFmts count=\"2\">"
+            + "<numFmt numFmtId=\"164\" formatCode=\"dd/mm/yyyy\"/>"
+            + "<numFmt numFmtId=\"165\" formatCode=\"&quot;R$&quot;\\ #,##0.00;[Red]\\-&quot;R$&quot;\\ #,##0.00\"/>"
+            + "</numFmts>"
+            + "<fonts count=\"2\">"
+            + "<font><sz val=\"10\"/><name val=\"Arial\"/><family val=\"2\"/></font>"
+            + "<font><b/><sz val=\"10\"/><name val=\"Arial\"/><family val=\"2\"/></font>"
+            + "</fonts>"
+            + "<fills count=\"5\">"
+            + "<fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill>"
+            + "<fill><patternFill patternType=\"solid\"><fgColor rgb=\"FFF0F0F0\"/><bgColor indexed=\"64\"/></patternFill></fill>"
+            + "<fill><patternFill patternType=\"solid\"><fgColor rgb=\"FFFCFCFC\"/><bgColor indexed=\"64\"/></patternFill></fill>"
+            + "<fill><patternFill patternType=\"solid\"><fgColor rgb=\"FFF5F5F5\"/><bgColor indexed=\"64\"/></patternFill></fill>"
+            + "</fills>"
+            + "<borders count=\"2\">"
+            + "<border><left/><right/><top/><bottom/><diagonal/></border>"
+            + "<border><left/><right/><top/><bottom style=\"thin\"><color auto=\"1\"/></bottom><diagonal/></border>"
+            + "</borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"8\">"
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"2\" borderId=\"1\" xfId=\"0\" applyFont=\"1\" applyFill=\"1\" applyBorder=\"1\" applyAlignment=\"1\"><alignment horizontal=\"center\" vertical=\"center\"/></xf>"
+            + bodyStyles(3)
+            + bodyStyles(4)
+            + "</cellXfs>"
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+            + "</styleSheet>";
+
+    private static final String SHEET_START = XML_HEADER
+            + "<worksheet xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + RELATIONSHIPS_NS + "\">"
+            + "<sheetViews><sheetView workbookViewId=\"0\">"
+            + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+            + "</sheetView></sheetViews>"
+            + "<sheetFormatPr defaultRowHeight=\"15\"/>"
+            + "<cols>"
+            + "<col min=\"1\" max=\"1\" width=\"12.7\" customWidth=\"1\"/>"
+            + "<col min=\"2\" max=\"2\" width=\"48.7\" customWidth=\"1\"/>"
+            + "<col min=\"3\" max=\"3\" width=\"16.7\" customWidth=\"1\"/>"
+            + "<col min=\"4\" max=\"4\" width=\"20.7\" customWidth=\"1\"/>"
+            + "</cols>"
+            + "<sheetData>";
+
+    private static final byte[] ROW_START = ascii("<row r=\"");
+    private static final byte[] ROW_END = ascii("</row>");
+    private static final byte[] TAG_END = ascii("\">");
+    private static final byte[] VALUE_END = ascii("</v></c>");
+    private static final byte[] TEXT_END = ascii("</t></is></c>");
+    private static final byte[] PRESERVE = ascii("<t xml:space=\"preserve\">");
+    private static final byte[] TEXT_START = ascii("<t>");
+
+    // Aberturas de célula por estilo, indexadas pela paridade da linha (0 = par, 1 = ímpar).
+    private static final byte[][] DATE_CELL = cells(DATE_OFFSET, "<c s=\"%d\"><v>");
+    private static final byte[][] TEXT_CELL = cells(TEXT_OFFSET, "<c s=\"%d\" t=\"inlineStr\"><is>");
+    private static final byte[][] VALUE_CELL = cells(VALUE_OFFSET, "<c s=\"%d\"><v>");
+    private static final byte[][] SHARED_CELL = cells(TEXT_OFFSET, "<c s=\"%d\" t=\"s\"><v>");
+    private static final byte[][] EMPTY_CELL = cells(TEXT_OFFSET, "<c s=\"%d\"/>");
+    private static final byte[] HEADER_CELL = ascii("<c s=\"" + HEADER_STYLE + "\" t=\"s\"><v>");
+
+    private final ZipOutputStream zip;
+    private final int sheetRows;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] digits = new byte[20];
+    private final Map<String, Integer> sharedStrings = new LinkedHashMap<>();
+    private final List<Integer> lastRows = new ArrayList<>();
+
+    private int position;
+    private long sharedStringReferences;
+    private int row;
+    private long rowIndex;
+
+    /**
+     * Abre o pacote e a primeira planilha, já com o cabeçalho.
+     *
+     * @param out O destino do arquivo XLSX.
+     * @param sheetRows A quantidade máxima de linhas de dados por planilha.
+     * @param compressionLevel O nível de compressão do ZIP (0 a 9).
+     * @throws IOException se a escrita falhar.
+     */
+    public TransactionXlsxWriter(OutputStream out, int sheetRows, int compressionLevel) throws IOException {
+        if (sheetRows < 1 || sheetRows > MAX_SHEET_ROWS - 1) {
+            throw new IllegalArgumentException("Linhas por planilha devem estar entre 1 e " + (MAX_SHEET_ROWS - 1));
+        }
+        this.sheetRows = sheetRows;
+        this.zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, StandardCharsets.UTF_8);
+        this.zip.setLevel(compressionLevel);
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", ROOT_RELATIONSHIPS);
+        writeEntry("xl/styles.xml", STYLES);
+        for (String header : HEADERS) {
+            sharedString(header);
+        }
+        startSheet();
+    }
+
+    /**
+     * Escreve uma transação como uma linha, abrindo uma nova planilha se a atual estiver cheia.
+     *
+     * @param transaction A transação a ser escrita.
+     * @throws IOException se a escrita falhar.
+     */
+    public void write(TransactionRow transaction) throws IOException {
+        if (row > sheetRows) {
+            endSheet();
+            startSheet();
+        }
+        row++;
+        int parity = (int) (rowIndex++ & 1);
+
+        writeBytes(ROW_START);
+        writeLong(row);
+        writeBytes(TAG_END);
+
+        long serial = transaction.date().toEpochDay() + EXCEL_EPOCH_OFFSET;
+        if (serial >= FIRST_EXACT_SERIAL) {
+            writeBytes(DATE_CELL[parity]);
+            writeLong(serial);
+            writeBytes(VALUE_END);
+        } else {
+            writeBytes(TEXT_CELL[parity]);
+            writeText(transaction.date().toString());
+            writeBytes(TEXT_END);
+        }
+
+        writeBytes(TEXT_CELL[parity]);
+        writeText(transaction.description());
+        writeBytes(TEXT_END);
+
+        writeBytes(VALUE_CELL[parity]);
+        writeDecimal(transaction.value());
+        writeBytes(VALUE_END);
+
+        String category = transaction.category();
+        if (category == null) {
+            // Célula vazia, apenas com o fundo do zebrado.
+            writeBytes(EMPTY_CELL[parity]);
+        } else {
+            writeBytes(SHARED_CELL[parity]);
+            writeLong(sharedString(category));
+            writeBytes(VALUE_END);
+        }
+
+        writeBytes(ROW_END);
+    }
+
+    /**
+     * Encerra a última planilha e escreve as partes que dependem do conteúdo: a tabela de textos,
+     * o workbook com a lista de planilhas e seus relacionamentos.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            endSheet();
+            writeSharedStrings();
+            writeWorkbook();
+            zip.finish();
+        } finally {
+            zip.close();
+        }
+    }
+
+    private void startSheet() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + (lastRows.size() + 1) + ".xml"));
+        writeString(SHEET_START);
+        row = 1;
+        writeString("<row r=\"1\">");
+        for (String header : HEADERS) {
+            writeBytes(HEADER_CELL);
+            writeLong(sharedString(header));
+            writeBytes(VALUE_END);
+        }
+        writeBytes(ROW_END);
+    }
+
+    private void endSheet() throws IOException {
+        writeString("</sheetData><autoFilter ref=\"A1:D" + row + "\"/></worksheet>");
+        closeEntry();
+        lastRows.add(row);
+    }
+
+    private void writeSharedStrings() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        writeString(XML_HEADER + "<sst xmlns=\"" + MAIN_NS + "\" count=\"" + sharedStringReferences
+                + "\" uniqueCount=\"" + sharedStrings.size() + "\">");
+        for (String text : sharedStrings.keySet()) {
+            writeString("<si>");
+            writeText(text);
+            writeString("</t></si>");
+        }
+        writeString("</sst>");
+        closeEntry();
+    }
+
+    private void writeWorkbook() throws IOException {
+        int sheets = lastRows.size();
+
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(RELATIONSHIPS_NS)
+                .append("\"><sheets>");
+        for (int i = 1; i <= sheets; i++) {
+            workbook.append("<sheet name=\"").append(sheetName(i)).append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        workbook.append("</sheets><definedNames>");
+        for (int i = 1; i <= sheets; i++) {
+            workbook.append("<definedName name=\"_xlnm._FilterDatabase\" localSheetId=\"").append(i - 1)
+                    .append("\" hidden=\"1\">'").append(sheetName(i)).append("'!$A$1:$D$").append(lastRows.get(i - 1))
+                    .append("</definedName>");
+        }
+        workbook.append("</definedNames></workbook>");
+        writeEntry("xl/workbook.xml", workbook.toString());
+
+        StringBuilder relationships = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheets; i++) {
+            relationships.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(RELATIONSHIPS_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        relationships.append("<Relationship Id=\"rId").append(sheets + 1).append("\" Type=\"").append(RELATIONSHIPS_NS)
+                .append("/styles\" Target=\"styles.xml\"/>")
+                .append("<Relationship Id=\"rId").append(sheets + 2).append("\" Type=\"").append(RELATIONSHIPS_NS)
+                .append("/sharedStrings\" Target=\"sharedStrings.xml\"/>")
+                .append("</Relationships>");
+        writeEntry("xl/_rels/workbook.xml.rels", relationships.toString());
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writeString(content);
+        closeEntry();
+    }
+
+    private void closeEntry() throws IOException {
+        flushBuffer();
+        zip.closeEntry();
+    }
+
+    private int sharedString(String text) {
+        sharedStringReferences++;
+        return sharedStrings.computeIfAbsent(text, key -> sharedStrings.size());
+    }
+
+    /**
+     * Escreve o valor como {@code toPlainString()}, a partir do valor não escalado (mesma técnica
+     * de {@code TransactionCsvEncoder}, com ponto decimal).
+     */
+    private void writeDecimal(BigDecimal value) throws IOException {
+        int scale = value.scale();
+        BigInteger unscaled = value.unscaledValue();
+        if (scale < 0 || scale > MAX_FAST_SCALE || unscaled.bitLength() >= Long.SIZE - 1) {
+            writeString(value.toPlainString());
+            return;
+        }
+
+        long number = unscaled.longValue();
+        boolean negative = number < 0;
+        if (negative) {
+            number = -number;
+        }
+        int count = 0;
+        do {
+            digits[digits.length - ++count] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+        int first = digits.length - count;
+
+        ensureCapacity(count + scale + 3);
+        byte[] b = buffer;
+        int p = position;
+        if (negative) {
+            b[p++] = '-';
+        }
+        if (scale == 0) {
+            System.arraycopy(digits, first, b, p, count);
+            p += count;
+        } else if (count > scale) {
+            int integerDigits = count - scale;
+            System.arraycopy(digits, first, b, p, integerDigits);
+            p += integerDigits;
+            b[p++] = '.';
+            System.arraycopy(digits, first + integerDigits, b, p, scale);
+            p += scale;
+        } else {
+            b[p++] = '0';
+            b[p++] = '.';
+            for (int i = count; i < scale; i++) {
+                b[p++] = '0';
+            }
+            System.arraycopy(digits, first, b, p, count);
+            p += count;
+        }
+        position = p;
+    }
+
+    private void writeLong(long value) throws IOException {
+        int count = 0;
+        do {
+            digits[digits.length - ++count] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensureCapacity(count);
+        System.arraycopy(digits, digits.length - count, buffer, position, count);
+        position += count;
+    }
+
+    /**
+     * Abre o elemento {@code <t>} (preservando espaços nas pontas, se houver) e escreve o texto em UTF-8,
+     * escapando os caracteres especiais do XML e descartando os caracteres de controle, que o XML 1.0 não
+     * admite.
+     */
+    private void writeText(String text) throws IOException {
+        int length = text.length();
+        boolean preserve = length > 0 && (text.charAt(0) <= ' ' || text.charAt(length - 1) <= ' ');
+        writeBytes(preserve ? PRESERVE : TEXT_START);
+
+        int limit = buffer.length - MAX_CHAR_BYTES;
+        byte[] b = buffer;
+        int p = position;
+        for (int i = 0; i < length; i++) {
+            if (p > limit) {
+                position = p;
+                flushBuffer();
+                p = position;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (c == '&') {
+                    b[p++] = '&';
+                    b[p++] = 'a';
+                    b[p++] = 'm';
+                    b[p++] = 'p';
+                    b[p++] = ';';
+                } else if (c == '<') {
+                    b[p++] = '&';
+                    b[p++] = 'l';
+                    b[p++] = 't';
+                    b[p++] = ';';
+                } else if (c == '>') {
+                    b[p++] = '&';
+                    b[p++] = 'g';
+                    b[p++] = 't';
+                    b[p++] = ';';
+                } else if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                    b[p++] = (byte) c;
+                }
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                b[p++] = (byte) (0xF0 | (codePoint >> 18));
+                b[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';
+            } else if (c < 0xFFFE) {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = p;
+    }
+
+    private void writeString(String text) throws IOException {
+        writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                zip.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            zip.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static String sheetName(int sheet) {
+        return sheet == 1 ? SHEET_NAME : SHEET_NAME + " " + sheet;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] cells(int offset, String format) {
+        return new byte[][] {
+                ascii(format.formatted(EVEN_ROW_STYLE + offset)),
+                ascii(format.formatted(ODD_ROW_STYLE + offset)) };
+    }
+
+    private static String bodyStyles(int fillId) {
+        String common = " fontId=\"0\" fillId=\"" + fillId + "\" borderId=\"1\" xfId=\"0\" applyFill=\"1\" applyBorder=\"1\""
+                + " applyAlignment=\"1\"";
+        return "<xf numFmtId=\"164\"" + common + " applyNumberFormat=\"1\"><alignment horizontal=\"left\" vertical=\"center\"/></xf>"
+                + "<xf numFmtId=\"0\"" + common + "><alignment vertical=\"center\"/></xf>"
+                + "<xf numFmtId=\"165\"" + common + " applyNumberFormat=\"1\"><alignment vertical=\"center\"/></xf>";
+    }
+}
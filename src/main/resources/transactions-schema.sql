@@ -0,0 +1,8 @@
+-- Versão das linhas, usada nas exportações incrementais (GET /report?sinceVersion=...).
+-- Executado após a criação das tabelas pelo Hibernate: cada insert e cada update recebem o
+-- próximo valor da sequência, inclusive os feitos por JDBC ou SQL direto.
+CREATE SEQUENCE IF NOT EXISTS transactions_version_seq;
+
+ALTER TABLE transactions ALTER COLUMN row_version SET DEFAULT NEXT VALUE FOR transactions_version_seq;
+
+ALTER TABLE transactions ALTER COLUMN row_version SET ON UPDATE NEXT VALUE FOR transactions_version_seq;
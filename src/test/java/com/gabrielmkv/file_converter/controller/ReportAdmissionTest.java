@@ -0,0 +1,180 @@
+package com.gabrielmkv.file_converter.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.service.admission.ReportAdmission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Controle de admissão pelo {@code GET /report}, com poucas vagas e fila curta: sem vaga, a requisição
+ * recebe 503 quando a fila está cheia ou a espera se esgota; relatórios grandes disputam antes a vaga
+ * própria, sem bloquear os pequenos; e acima do limite de requisições a resposta é 429. Ambas as
+ * recusas trazem Retry-After.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql",
+        "report.cache.enabled=false",
+        "report.admission.permits.csv=2",
+        "report.admission.queue-capacity=1",
+        "report.admission.queue-timeout=2s",
+        "report.admission.large-report-rows=100",
+        "report.admission.large-report-permits=1",
+        "report.admission.retry-after=7s",
+        "report.admission.rate-limit.requests-per-minute=6",
+        "report.admission.rate-limit.burst=12" })
+class ReportAdmissionTest {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    private static final TransactionFilter SMALL = new TransactionFilter(null, null, null, null, null, null, 10,
+            null, null, null);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReportAdmission admission;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void insertRows() {
+        jdbc.update("DELETE FROM transactions");
+        jdbc.batchUpdate(INSERT_SQL, IntStream.range(0, 150)
+                .mapToObj(i -> new Object[] { Date.valueOf(LocalDate.of(2024, 1, 1)), "Compra " + i,
+                        new BigDecimal("1.00"), "Lazer" })
+                .toList());
+    }
+
+    @Test
+    void timesOutWithoutPermit() throws Exception {
+        double timeouts = rejected("timeout");
+        try (ReportAdmission.Permit first = admission.admit("csv", SMALL);
+                ReportAdmission.Permit second = admission.admit("csv", SMALL)) {
+            HttpResponse<String> response = get("/report?format=csv&limit=10");
+
+            assertOverloaded(response);
+            assertEquals(timeouts + 1, rejected("timeout"));
+        }
+        assertEquals(200, get("/report?format=csv&limit=10").statusCode());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        double queueFull = rejected("queue-full");
+        try (ReportAdmission.Permit first = admission.admit("csv", SMALL);
+                ReportAdmission.Permit second = admission.admit("csv", SMALL)) {
+            // Ocupa o único lugar da fila, até o tempo limite.
+            CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> admission.admit("csv", SMALL).close());
+            awaitQueued();
+
+            HttpResponse<String> response = get("/report?format=csv&limit=10");
+
+            assertOverloaded(response);
+            assertEquals(queueFull + 1, rejected("queue-full"));
+            assertThrows(CompletionException.class, waiting::join);
+        }
+    }
+
+    @Test
+    void largeReportsWaitForTheirOwnPermit() throws Exception {
+        try (ReportAdmission.Permit large = admission.admit("pdf", TransactionFilter.ALL)) {
+            // 150 linhas: acima do limiar, disputa a única vaga de relatório grande, que está ocupada.
+            assertOverloaded(get("/report?format=csv"));
+            // Com limit abaixo do limiar, nem consulta a estimativa: só a vaga do formato.
+            HttpResponse<String> small = get("/report?format=csv&limit=10");
+            assertEquals(200, small.statusCode());
+            assertEquals(11, small.body().lines().count());
+        }
+        assertEquals(200, get("/report?format=csv").statusCode());
+    }
+
+    @Test
+    void rateLimitsClient() throws Exception {
+        // Outro endereço de origem, com o limite inteiro à disposição.
+        HttpClient other = HttpClient.newBuilder().localAddress(InetAddress.getByName("127.0.0.2")).build();
+        for (int request = 0; request < 12; request++) {
+            assertEquals(200, get(other, "/report?format=csv&limit=1").statusCode(), "requisição " + request);
+        }
+
+        HttpResponse<String> limited = get(other, "/report?format=csv&limit=1");
+        assertEquals(429, limited.statusCode());
+        // Seis requisições por minuto: um token a cada 10 segundos.
+        long retryAfter = Long.parseLong(limited.headers().firstValue("Retry-After").orElseThrow());
+        assertTrue(retryAfter >= 1 && retryAfter <= 10, () -> "Retry-After: " + retryAfter);
+
+        // O limite é por cliente.
+        assertEquals(200, get("/report?format=csv&limit=1").statusCode());
+    }
+
+    private void assertOverloaded(HttpResponse<String> response) {
+        assertEquals(503, response.statusCode(), response::body);
+        assertEquals("7", response.headers().firstValue("Retry-After").orElseThrow());
+    }
+
+    /**
+     * Aguarda uma thread entrar na fila de vagas, onde ela espera com tempo limite.
+     */
+    private static void awaitQueued() throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            boolean queued = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getState() == Thread.State.TIMED_WAITING)
+                    .anyMatch(thread -> Arrays.stream(thread.getStackTrace())
+                            .anyMatch(frame -> frame.getClassName().startsWith(ReportAdmission.class.getName())));
+            if (queued) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Nenhuma requisição entrou na fila");
+    }
+
+    private double rejected(String reason) {
+        Counter counter = meterRegistry.find(ReportAdmission.REJECTED).tags("format", "csv", "reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return get(client, path);
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,148 @@
+package com.gabrielmkv.file_converter.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.model.Transaction;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.service.cache.ReportCache;
+import com.gabrielmkv.file_converter.service.cache.TransactionDataVersion;
+
+/**
+ * Verifica o ETag do {@code GET /report}: 304 para o mesmo ETag enquanto os dados não mudam, relatório
+ * servido do cache na repetição, e ETag novo depois de escritas pelo JPA ou por SQL direto.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:report-http;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql",
+        "report.admission.rate-limit.requests-per-minute=0" })
+class ReportCacheTest {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private TransactionDataVersion dataVersion;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void insertRows() {
+        jdbc.update("DELETE FROM transactions");
+        jdbc.batchUpdate(INSERT_SQL, IntStream.range(0, 50)
+                .mapToObj(i -> new Object[] { Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i)), "Compra " + i,
+                        BigDecimal.valueOf(i * 101L, 2), "Categoria " + i % 3 })
+                .toList());
+    }
+
+    @Test
+    void notModifiedWhileDataIsUnchanged() throws Exception {
+        HttpResponse<String> first = get("/report?format=csv", null);
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        assertNotNull(etag);
+
+        HttpResponse<String> notModified = get("/report?format=csv", etag);
+        assertEquals(304, notModified.statusCode());
+        assertEquals("", notModified.body());
+        assertEquals(etag, notModified.headers().firstValue("ETag").orElse(null));
+
+        long hits = reportCache.stats().hits();
+        HttpResponse<String> cached = get("/report?format=csv", null);
+        assertEquals(200, cached.statusCode());
+        assertEquals(etag, cached.headers().firstValue("ETag").orElse(null));
+        assertEquals(first.body(), cached.body());
+        assertEquals(hits + 1, reportCache.stats().hits());
+
+        // Outro formato ou outro filtro é outro relatório.
+        assertNotEquals(etag, get("/report?format=ndjson", null).headers().firstValue("ETag").orElse(null));
+        assertNotEquals(etag, get("/report?format=csv&category=Categoria%201", null).headers().firstValue("ETag").orElse(null));
+    }
+
+    @Test
+    void jpaWriteChangesEtag() throws Exception {
+        HttpResponse<String> before = get("/report?format=csv", null);
+        String etag = before.headers().firstValue("ETag").orElseThrow();
+
+        long writes = dataVersion.writes();
+        Transaction transaction = new Transaction();
+        transaction.setDate(LocalDate.of(2024, 6, 1));
+        transaction.setDescription("Gravada pelo JPA");
+        transaction.setValue(new BigDecimal("12.34"));
+        transaction.setCategory("Lazer");
+        transaction = repository.save(transaction);
+        assertEquals(writes + 1, dataVersion.writes());
+
+        HttpResponse<String> after = get("/report?format=csv", etag);
+        assertEquals(200, after.statusCode());
+        String changed = after.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etag, changed);
+        assertTrue(after.body().contains("Gravada pelo JPA"));
+
+        // Alteração de uma entidade existente: mesma quantidade de linhas e mesmo maior id.
+        transaction.setDescription("Alterada pelo JPA");
+        repository.save(transaction);
+        HttpResponse<String> updated = get("/report?format=csv", changed);
+        assertEquals(200, updated.statusCode());
+        assertTrue(updated.body().contains("Alterada pelo JPA"));
+    }
+
+    @Test
+    void sqlWritesChangeEtag() throws Exception {
+        String etag = get("/report?format=csv", null).headers().firstValue("ETag").orElseThrow();
+
+        // UPDATE direto não passa pelo JPA: a mudança aparece pela versão atribuída pelo banco.
+        jdbc.update("UPDATE transactions SET description = 'Alterada por SQL' WHERE description = 'Compra 7'");
+        HttpResponse<String> updated = get("/report?format=csv", etag);
+        assertEquals(200, updated.statusCode());
+        assertTrue(updated.body().contains("Alterada por SQL"));
+        String changed = updated.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etag, changed);
+
+        jdbc.update("DELETE FROM transactions WHERE description = 'Compra 3'");
+        HttpResponse<String> deleted = get("/report?format=csv", changed);
+        assertEquals(200, deleted.statusCode());
+        assertEquals(updated.body().lines().count() - 1, deleted.body().lines().count());
+        assertEquals(304, get("/report?format=csv", deleted.headers().firstValue("ETag").orElseThrow()).statusCode());
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
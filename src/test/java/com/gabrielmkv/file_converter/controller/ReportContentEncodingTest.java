@@ -0,0 +1,162 @@
+package com.gabrielmkv.file_converter.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+/**
+ * Compressão dos relatórios: a codificação negociada pelo Accept-Encoding (pesos {@code q}, {@code *} e
+ * recusas), o tamanho mínimo, a resposta servida do cache e os formatos {@code .gz}/{@code .zst}, baixados
+ * como arquivo comprimido. O conteúdo descomprimido deve ser idêntico ao da resposta sem compressão.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:report-http;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql",
+        "report.admission.rate-limit.requests-per-minute=0" })
+class ReportContentEncodingTest {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void insertRows() {
+        // Bem acima do tamanho mínimo de compressão (2 KB) no CSV completo.
+        jdbc.update("DELETE FROM transactions");
+        jdbc.batchUpdate(INSERT_SQL, IntStream.range(0, 300)
+                .mapToObj(i -> new Object[] { Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 90)), "Compra " + i,
+                        BigDecimal.valueOf(i * 101L, 2), "Categoria " + i % 4 })
+                .toList());
+    }
+
+    @Test
+    void negotiatesAcceptEncoding() throws Exception {
+        byte[] identity = get("/report?format=csv", null).body();
+        assertTrue(identity.length > 2048);
+
+        assertEncoding("gzip", identity, "gzip");
+        assertEncoding("zstd", identity, "zstd");
+        // Empate: zstd é preferido; peso maior vence; q=0 recusa; * vale para as não listadas.
+        assertEncoding("gzip, zstd", identity, "zstd");
+        assertEncoding("zstd;q=0.5, gzip", identity, "gzip");
+        assertEncoding("zstd;q=0, *", identity, "gzip");
+        assertEncoding("br, *;q=0.1", identity, "zstd");
+        assertEncoding("gzip;q=0, zstd;q=0", identity, null);
+        assertEncoding("identity", identity, null);
+        assertEncoding("br", identity, null);
+    }
+
+    @Test
+    void compressesCachedReports() throws Exception {
+        byte[] identity = get("/report?format=ndjson", null).body();
+
+        // A primeira resposta comprimida vem da geração e a segunda, do cache.
+        assertEncoding("gzip", "/report?format=ndjson", identity, "gzip");
+        assertEncoding("gzip", "/report?format=ndjson", identity, "gzip");
+        assertEncoding("zstd", "/report?format=ndjson", identity, "zstd");
+    }
+
+    @Test
+    void smallReportsAreNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/report?format=csv&limit=3", "gzip, zstd");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(Optional.empty(), response.headers().firstValue("Content-Encoding"));
+        assertTrue(response.headers().allValues("Vary").stream().anyMatch(vary -> vary.contains("Accept-Encoding")));
+        assertArrayEquals(get("/report?format=csv&limit=3", null).body(), response.body());
+    }
+
+    @Test
+    void compressedArtifacts() throws Exception {
+        for (String format : new String[] { "csv", "ndjson" }) {
+            for (String query : new String[] { "", "&limit=3" }) {
+                byte[] identity = get("/report?format=" + format + query, null).body();
+
+                // O artefato é sempre comprimido, inclusive abaixo do tamanho mínimo, e nunca duas vezes.
+                HttpResponse<byte[]> gz = get("/report?format=" + format + ".gz" + query, "gzip, zstd");
+                assertArtifact(gz, "application/gzip", "relatorio." + format + ".gz");
+                assertArrayEquals(identity, gunzip(gz.body()));
+
+                HttpResponse<byte[]> zst = get("/report?format=" + format + ".zst" + query, "gzip");
+                assertArtifact(zst, "application/zstd", "relatorio." + format + ".zst");
+                assertArrayEquals(identity, unzstd(zst.body()));
+            }
+        }
+    }
+
+    private void assertEncoding(String acceptEncoding, byte[] identity, String expected) throws Exception {
+        assertEncoding(acceptEncoding, "/report?format=csv", identity, expected);
+    }
+
+    private void assertEncoding(String acceptEncoding, String path, byte[] identity, String expected) throws Exception {
+        HttpResponse<byte[]> response = get(path, acceptEncoding);
+        assertEquals(200, response.statusCode());
+        assertEquals(Optional.ofNullable(expected), response.headers().firstValue("Content-Encoding"), acceptEncoding);
+
+        byte[] body = expected == null ? response.body()
+                : expected.equals("gzip") ? gunzip(response.body()) : unzstd(response.body());
+        assertArrayEquals(identity, body, acceptEncoding);
+        if (expected != null) {
+            assertTrue(response.headers().firstValue("ETag").orElseThrow().endsWith("-" + expected + "\""));
+        }
+    }
+
+    private static void assertArtifact(HttpResponse<byte[]> response, String contentType, String filename) {
+        assertEquals(200, response.statusCode());
+        assertEquals(contentType, response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("attachment; filename=" + filename,
+                response.headers().firstValue("Content-Disposition").orElseThrow());
+        assertEquals(Optional.empty(), response.headers().firstValue("Content-Encoding"));
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] content) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] unzstd(byte[] content) throws IOException {
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+}
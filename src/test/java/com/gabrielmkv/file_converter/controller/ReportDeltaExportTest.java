@@ -0,0 +1,142 @@
+package com.gabrielmkv.file_converter.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.service.delta.TransactionVersionHorizon;
+
+/**
+ * Exportações incrementais pelo {@code GET /report?sinceVersion=...}: cada resposta traz a marca d'água da
+ * próxima consulta, que entrega só as linhas inseridas ou alteradas depois dela, sem repetir nem perder
+ * linhas, inclusive em páginas com {@code limit} e com uma importação ainda não confirmada.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:report-http;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql",
+        "report.admission.rate-limit.requests-per-minute=0" })
+class ReportDeltaExportTest {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionVersionHorizon versionHorizon;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void insertRows() {
+        jdbc.update("DELETE FROM transactions");
+        insert(IntStream.range(0, 30).mapToObj(i -> "Compra " + i).toList());
+    }
+
+    @Test
+    void exportsOnlyChangesSinceWatermark() throws Exception {
+        HttpResponse<String> full = get("/report?format=ndjson&sinceVersion=0");
+        assertEquals(200, full.statusCode());
+        assertEquals(30, full.body().lines().count());
+        long watermark = watermark(full);
+        assertEquals(jdbc.queryForObject("SELECT MAX(row_version) FROM transactions", Long.class), watermark);
+
+        HttpResponse<String> unchanged = get("/report?format=ndjson&sinceVersion=" + watermark);
+        assertEquals(204, unchanged.statusCode());
+        assertEquals(watermark, watermark(unchanged));
+
+        jdbc.update("UPDATE transactions SET value_brl = 99.99 WHERE description = 'Compra 4'");
+        insert(List.of("Nova compra"));
+
+        HttpResponse<String> delta = get("/report?format=ndjson&sinceVersion=" + watermark);
+        assertEquals(200, delta.statusCode());
+        List<String> lines = delta.body().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("Compra 4") && lines.get(0).contains("99.99"), lines::toString);
+        assertTrue(lines.get(1).contains("Nova compra"), lines::toString);
+        assertTrue(watermark(delta) > watermark);
+    }
+
+    @Test
+    void pagesWithLimitCoverEveryRowOnce() throws Exception {
+        List<String> lines = new ArrayList<>();
+        long watermark = 0;
+        int pages = 0;
+        HttpResponse<String> page;
+        while ((page = get("/report?format=ndjson&limit=7&sinceVersion=" + watermark)).statusCode() == 200) {
+            assertTrue(page.body().lines().count() <= 7);
+            lines.addAll(page.body().lines().toList());
+            watermark = watermark(page);
+            pages++;
+        }
+        assertEquals(204, page.statusCode());
+        assertEquals(5, pages);
+        assertEquals(IntStream.range(0, 30).mapToObj(i -> "Compra " + i).toList(),
+                lines.stream().map(ReportDeltaExportTest::description).toList());
+    }
+
+    @Test
+    void watermarkStopsBeforeUncommittedImport() throws Exception {
+        long watermark = watermark(get("/report?format=ndjson&sinceVersion=0"));
+
+        // Um trecho de importação em andamento reservou um piso; linhas gravadas depois dele ficam para depois.
+        long floor = jdbc.execute((ConnectionCallback<Long>) versionHorizon::reserve);
+        try {
+            insert(List.of("Depois do piso"));
+            HttpResponse<String> bounded = get("/report?format=ndjson&sinceVersion=" + watermark);
+            assertEquals(204, bounded.statusCode());
+            assertEquals(watermark, watermark(bounded));
+        } finally {
+            versionHorizon.release(floor);
+        }
+
+        HttpResponse<String> released = get("/report?format=ndjson&sinceVersion=" + watermark);
+        assertEquals(200, released.statusCode());
+        assertTrue(released.body().contains("Depois do piso"), released::body);
+    }
+
+    private void insert(List<String> descriptions) {
+        jdbc.batchUpdate(INSERT_SQL, descriptions.stream()
+                .map(description -> new Object[] { Date.valueOf(LocalDate.of(2024, 1, 1)), description,
+                        new BigDecimal("10.00"), "Categoria" })
+                .toList());
+    }
+
+    private static long watermark(HttpResponse<?> response) {
+        return Long.parseLong(response.headers().firstValue(ReportGeneratorController.NEXT_WATERMARK_HEADER).orElseThrow());
+    }
+
+    private static String description(String line) {
+        int start = line.indexOf("\"description\":\"") + "\"description\":\"".length();
+        return line.substring(start, line.indexOf('"', start));
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
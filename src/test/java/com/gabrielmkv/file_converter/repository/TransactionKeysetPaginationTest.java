@@ -0,0 +1,138 @@
+package com.gabrielmkv.file_converter.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Percorre as transações página a página, seguindo o cursor de {@link TransactionRepository#nextCursor}
+ * em {@code after}, e compara com a ordem (data, id) calculada direto no banco. Cada data tem várias
+ * transações, inseridas fora de ordem, para que os limites das páginas caiam no meio de uma mesma data.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql" })
+class TransactionKeysetPaginationTest {
+
+    private static final int DATES = 30;
+    private static final int ROWS_PER_DATE = 4;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @BeforeEach
+    void insertRows() {
+        List<Object[]> rows = new ArrayList<>(IntStream.range(0, DATES * ROWS_PER_DATE)
+                .mapToObj(i -> new Object[] { Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % DATES)),
+                        "Compra " + i, BigDecimal.valueOf(i * 37L, 2), "Categoria " + i % 3 })
+                .toList());
+        Collections.shuffle(rows, new Random(7));
+        jdbc.update("DELETE FROM transactions");
+        jdbc.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Test
+    void ascendingPages() {
+        List<Long> expected = jdbc.queryForList(
+                "SELECT id FROM transactions ORDER BY transaction_date, id", Long.class);
+        for (int limit : new int[] { 1, 3, 4, 7, 50 }) {
+            assertEquals(expected, ids(pages("asc", limit, null)), "limit " + limit);
+        }
+    }
+
+    @Test
+    void descendingPages() {
+        List<Long> expected = jdbc.queryForList(
+                "SELECT id FROM transactions ORDER BY transaction_date DESC, id DESC", Long.class);
+        for (int limit : new int[] { 1, 3, 4, 7, 50 }) {
+            assertEquals(expected, ids(pages("desc", limit, null)), "limit " + limit);
+        }
+    }
+
+    @Test
+    void pagesSplitEqualDates() {
+        List<List<TransactionRow>> pages = pages("asc", 3, null);
+
+        // As páginas ficam cheias; sem linha seguinte, a última não traz cursor.
+        assertEquals(DATES * ROWS_PER_DATE / 3, pages.size());
+        pages.forEach(page -> assertEquals(3, page.size()));
+
+        long splits = IntStream.range(1, pages.size())
+                .filter(i -> pages.get(i - 1).getLast().date().equals(pages.get(i).getFirst().date()))
+                .count();
+        assertTrue(splits > 0, "nenhuma página começou no meio de uma data");
+    }
+
+    @Test
+    void cursorWithFilters() {
+        List<String> category = List.of("Categoria 1");
+        List<Long> expected = jdbc.queryForList("SELECT id FROM transactions WHERE category = 'Categoria 1'"
+                + " ORDER BY transaction_date DESC, id DESC", Long.class);
+
+        assertEquals(expected, ids(pages("desc", 5, category)));
+    }
+
+    @Test
+    void noNextPageWhenLimitCoversAllRows() {
+        TransactionFilter filter = new TransactionFilter(null, null, null, null, null, "asc",
+                DATES * ROWS_PER_DATE, null, null, null);
+
+        assertEquals(DATES * ROWS_PER_DATE, read(filter).size());
+        assertNull(repository.nextCursor(filter));
+    }
+
+    private List<List<TransactionRow>> pages(String sort, int limit, List<String> category) {
+        List<List<TransactionRow>> pages = new ArrayList<>();
+        String after = null;
+        do {
+            TransactionFilter filter = new TransactionFilter(null, null, category, null, null, sort, limit, after,
+                    null, null);
+            List<TransactionRow> page = read(filter);
+            TransactionCursor next = repository.nextCursor(filter);
+            if (next != null) {
+                assertEquals(new TransactionCursor(page.getLast().date(), page.getLast().id()), next);
+            }
+            pages.add(page);
+            after = next == null ? null : next.toString();
+        } while (after != null);
+        return pages;
+    }
+
+    private List<TransactionRow> read(TransactionFilter filter) {
+        return transactions.execute(status -> {
+            try (Stream<TransactionRow> rows = repository.streamRows(filter)) {
+                return rows.toList();
+            }
+        });
+    }
+
+    private static List<Long> ids(List<List<TransactionRow>> pages) {
+        return pages.stream().flatMap(List::stream).map(TransactionRow::id).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.gabrielmkv.file_converter.service.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.Test;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Lê de volta, com o {@link ArrowStreamReader}, os streams gerados pelo {@link TransactionArrowWriter}:
+ * esquema, datas, Decimal(10,2), categorias nulas e o dicionário de categorias reenviado quando surgem
+ * categorias novas entre os batches.
+ */
+class TransactionArrowWriterTest {
+
+    private static final int BATCH_ROWS = 64;
+
+    @Test
+    void readsBackSchema() throws IOException {
+        byte[] stream = write(rows(10));
+
+        try (BufferAllocator allocator = new RootAllocator();
+                ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(stream), allocator)) {
+            Schema schema = reader.getVectorSchemaRoot().getSchema();
+            List<Field> fields = schema.getFields();
+            assertEquals(List.of("date", "description", "value", "category"),
+                    fields.stream().map(Field::getName).toList());
+            assertEquals(new ArrowType.Date(DateUnit.DAY), fields.get(0).getType());
+            assertEquals(ArrowType.Utf8.INSTANCE, fields.get(1).getType());
+            assertEquals(new ArrowType.Decimal(10, 2, 128), fields.get(2).getType());
+            assertEquals(false, fields.get(2).isNullable());
+
+            // A coluna traz os índices; o tipo dos textos fica no vetor do dicionário.
+            Field category = fields.get(3);
+            DictionaryEncoding encoding = category.getDictionary();
+            assertNotNull(encoding);
+            assertEquals(new ArrowType.Int(32, true), category.getType());
+            assertEquals(true, category.isNullable());
+            assertEquals(ArrowType.Utf8.INSTANCE,
+                    reader.getDictionaryVectors().get(encoding.getId()).getVector().getField().getType());
+        }
+    }
+
+    @Test
+    void readsBackRowsAcrossBatches() throws IOException {
+        List<TransactionRow> rows = rows(1000);
+
+        List<TransactionRow> read = new ArrayList<>();
+        int batches = 0;
+        try (BufferAllocator allocator = new RootAllocator();
+                ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(write(rows)), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            long dictionaryId = root.getSchema().findField("category").getDictionary().getId();
+            while (reader.loadNextBatch()) {
+                batches++;
+                DateDayVector date = (DateDayVector) root.getVector("date");
+                VarCharVector description = (VarCharVector) root.getVector("description");
+                DecimalVector value = (DecimalVector) root.getVector("value");
+                IntVector category = (IntVector) root.getVector("category");
+                // O dicionário carregado é o mais recente enviado antes deste batch.
+                VarCharVector categories = (VarCharVector) reader.getDictionaryVectors().get(dictionaryId).getVector();
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    read.add(new TransactionRow(0, LocalDate.ofEpochDay(date.get(row)),
+                            description.getObject(row).toString(), value.getObject(row),
+                            category.isNull(row) ? null : categories.getObject(category.get(row)).toString()));
+                }
+            }
+        }
+
+        assertEquals(Math.ceilDiv(1000, BATCH_ROWS), batches);
+        assertEquals(rows, read);
+    }
+
+    /**
+     * Linhas com datas antes e depois de 1970, valores nos limites de Decimal(10,2), textos não ASCII,
+     * categorias nulas e categorias novas aparecendo ao longo do stream.
+     */
+    private static List<TransactionRow> rows(int count) {
+        LocalDate start = LocalDate.of(1969, 12, 20);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TransactionRow(0, start.plusDays(i * 3L),
+                        i % 9 == 0 ? "Café ☕ nº " + i : "Compra " + i,
+                        switch (i % 4) {
+                            case 0 -> new BigDecimal("99999999.99");
+                            case 1 -> new BigDecimal("-99999999.99");
+                            default -> BigDecimal.valueOf(i * 137L - 40_000, 2);
+                        },
+                        i % 13 == 0 ? null : "Categoria " + i % (1 + i / 100)))
+                .toList();
+    }
+
+    private static byte[] write(List<TransactionRow> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TransactionArrowWriter writer = new TransactionArrowWriter(out, BATCH_ROWS)) {
+            for (TransactionRow row : rows) {
+                writer.write(row);
+            }
+        }
+        return out.toByteArray();
+    }
+}
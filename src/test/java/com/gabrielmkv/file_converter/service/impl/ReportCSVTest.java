@@ -0,0 +1,101 @@
+package com.gabrielmkv.file_converter.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Compara o {@link com.gabrielmkv.file_converter.service.csv.TransactionCsvEncoder} com o CsvMapper de
+ * {@code report.csv.use-jackson=true}: os dois devem gerar o mesmo arquivo, byte a byte.
+ */
+class ReportCSVTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 7);
+    private static final BigDecimal VALUE = new BigDecimal("10.50");
+
+    @Test
+    void quotesAndLineBreaks() {
+        assertSameOutput(
+                row("Compra \"especial\"", "Lazer"),
+                row("linha 1\nlinha 2", "quebra\r\nwindows"),
+                row("\"", "\"\""),
+                row("separador; no meio", "a;b"),
+                row("", null));
+    }
+
+    @Test
+    void textsLongerThanTheQuoteCheckAndLowCharacters() {
+        assertSameOutput(
+                row("a".repeat(24), "b".repeat(25)),
+                row("x".repeat(300), "c".repeat(23) + ";"),
+                row(" espaço inicial", "\ttab"),
+                row(":dois pontos", "0123"),
+                row("!exclamação", "<menor"),
+                row("=igual", "#cerquilha"));
+    }
+
+    @Test
+    void backslashAndSurrogatePairs() {
+        assertSameOutput(
+                row("C:\\pasta\\arquivo", "\\"),
+                row("Pizza 🍕", "😀😀😀"),
+                row("𝄞 clave de sol", "ç ã é ü ß € 中文"),
+                row("🍕".repeat(30), "\\\"🍕"));
+    }
+
+    @Test
+    void negativeZeroAndLargeValues() {
+        assertSameOutput(
+                row(DATE, new BigDecimal("-0.05")),
+                row(DATE, new BigDecimal("-1.00")),
+                row(DATE, new BigDecimal("0.00")),
+                row(DATE, BigDecimal.ZERO),
+                row(DATE, new BigDecimal("-0.00")),
+                row(DATE, new BigDecimal("99999999.99")),
+                row(DATE, new BigDecimal("-99999999.99")),
+                row(DATE, new BigDecimal("92233720368547758.07")),
+                row(DATE, new BigDecimal("123456789012345678901234567890.12")),
+                row(DATE, new BigDecimal("-7")),
+                row(DATE, new BigDecimal("1E+3")),
+                row(DATE, new BigDecimal("1.5E-10")));
+    }
+
+    @Test
+    void yearsOutsideFourDigits() {
+        assertSameOutput(
+                row(LocalDate.of(9999, 12, 31), VALUE),
+                row(LocalDate.of(10000, 1, 1), VALUE),
+                row(LocalDate.of(123456, 6, 15), VALUE),
+                row(LocalDate.of(1, 1, 1), VALUE),
+                row(LocalDate.of(0, 1, 1), VALUE),
+                row(LocalDate.of(-44, 3, 15), VALUE));
+    }
+
+    private static TransactionRow row(String description, String category) {
+        return new TransactionRow(1, DATE, description, VALUE, category);
+    }
+
+    private static TransactionRow row(LocalDate date, BigDecimal value) {
+        return new TransactionRow(1, date, "Descrição", value, "Categoria");
+    }
+
+    private static void assertSameOutput(TransactionRow... rows) {
+        String expected = generate(new ReportCSV(true), List.of(rows));
+        String actual = generate(new ReportCSV(false), List.of(rows));
+        assertEquals(expected, actual);
+    }
+
+    private static String generate(ReportCSV report, List<TransactionRow> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        report.generateContent(rows.stream(), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
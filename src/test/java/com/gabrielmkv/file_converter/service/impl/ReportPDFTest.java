@@ -0,0 +1,76 @@
+package com.gabrielmkv.file_converter.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.openpdf.text.pdf.PdfReader;
+import org.openpdf.text.pdf.parser.PdfTextExtractor;
+
+import com.gabrielmkv.file_converter.config.ReportPdfProperties;
+import com.gabrielmkv.file_converter.config.ReportPdfProperties.Mode;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Compara os modos de montagem da tabela do PDF: os três devem gerar as mesmas páginas, com o mesmo
+ * texto em cada uma e a linha de títulos das colunas no topo de todas.
+ */
+class ReportPDFTest {
+
+    // Segmentos bem menores que o padrão, para que o relatório tenha vários.
+    private static final int SEGMENT_ROWS = 100;
+
+    @Test
+    void parallelSegmentsEndOnPageBreaks() throws IOException {
+        List<TransactionRow> rows = rows(1500);
+
+        List<String> chunked = pages(Mode.CHUNKED, rows);
+        List<String> parallel = pages(Mode.PARALLEL, rows);
+        List<String> single = pages(Mode.SINGLE, rows);
+
+        assertTrue(chunked.size() > 1500 / SEGMENT_ROWS);
+        assertEquals(chunked, parallel);
+        assertEquals(chunked, single);
+        chunked.forEach(page -> assertTrue(page.contains("Data Descrição Valor Categoria"), page));
+    }
+
+    // Descrições de uma a três linhas, para que as páginas não tenham todas a mesma quantidade de linhas.
+    private static List<TransactionRow> rows(int count) {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TransactionRow(i + 1, start.plusDays(i % 365),
+                        ("Compra " + i + " ").repeat(i % 7 == 0 ? 12 : i % 5 == 0 ? 6 : 1).trim(),
+                        BigDecimal.valueOf(i * 37L - 5_000, 2), i % 11 == 0 ? null : "Categoria " + i % 6))
+                .toList();
+    }
+
+    private static List<String> pages(Mode mode, List<TransactionRow> rows) throws IOException {
+        ReportPDF report = new ReportPDF(new ReportPdfProperties(mode, SEGMENT_ROWS, 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            report.generateContent(rows.stream(), out);
+        } finally {
+            report.shutdown();
+        }
+
+        PdfReader reader = new PdfReader(out.toByteArray());
+        try {
+            PdfTextExtractor extractor = new PdfTextExtractor(reader);
+            List<String> pages = new ArrayList<>();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                pages.add(extractor.getTextFromPage(page));
+            }
+            return pages;
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.gabrielmkv.file_converter.service.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gabrielmkv.file_converter.exception.ImportFailedException;
+
+/**
+ * Importa arquivos CSV e JSON com trechos de confirmação, limite de erros e lotes de conferência pequenos:
+ * linhas inválidas são rejeitadas e descritas sem interromper a importação, uma falha no meio do arquivo
+ * mantém gravados exatamente os trechos já confirmados, e a deduplicação descarta tanto as repetições no
+ * próprio arquivo quanto as linhas já gravadas, inclusive as gravadas sem deduplicação.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql",
+        "transactions.import.batch-size=4",
+        "transactions.import.commit-interval=10",
+        "transactions.import.max-errors=3",
+        "transactions.import.dedup.check-batch-size=4" })
+class TransactionImportServiceTest {
+
+    private static final String HEADER = "date;description;value;category\n";
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void clearTable() {
+        jdbc.update("DELETE FROM transactions");
+    }
+
+    @Test
+    void collectsErrorsWithoutStopping() {
+        String csv = HEADER
+                + "2024-01-01;Válida 1;10.00;Lazer\n"
+                + "2024-13-01;Data inválida;10.00;Lazer\n"
+                + "2024-01-05;Campos a menos;10.00\n"
+                + "2024-01-02;;10.00;Lazer\n"
+                + "2024-01-03;Válida 2;1,50;\n"
+                + "2024-01-04;Três casas;1.005;Lazer\n"
+                + "2024-01-06;Válida 3;-0.05;Lazer\n"
+                + "2024-01-07;Valor inválido;abc;Lazer\n";
+
+        ImportResult result = importService.importFile("csv", stream(csv), false);
+
+        assertEquals(8, result.rowsRead());
+        assertEquals(3, result.rowsInserted());
+        assertEquals(5, result.rowsRejected());
+        assertEquals(0, result.rowsDuplicated());
+        // Só os primeiros erros são descritos; a linha é a do arquivo, contando o cabeçalho.
+        assertEquals(List.of(
+                new ImportError(3, "Data inválida (use yyyy-MM-dd): 2024-13-01"),
+                new ImportError(4, "Esperados 4 campos, encontrados 3"),
+                new ImportError(5, "Descrição ausente")), result.errors());
+
+        assertEquals(List.of("Válida 1", "Válida 2", "Válida 3"), descriptions());
+        assertEquals(List.of("10.00", "1.50", "-0.05"),
+                jdbc.queryForList("SELECT value_brl FROM transactions ORDER BY id", String.class));
+    }
+
+    @Test
+    void jsonErrors() {
+        String json = """
+                [
+                  {"date": "2024-01-01", "description": "Válida", "value": 12.34, "category": "Lazer"},
+                  {"date": "2024-01-02", "description": 5, "value": 1},
+                  "texto",
+                  {"date": "2024-01-03", "description": "Sem valor"},
+                  {"date": "2024-01-04", "description": "Valor em texto", "value": "7,25"}
+                ]
+                """;
+
+        ImportResult result = importService.importFile("json", stream(json), false);
+
+        assertEquals(5, result.rowsRead());
+        assertEquals(2, result.rowsInserted());
+        assertEquals(List.of(
+                new ImportError(2, "Campo 'description' deve ser texto"),
+                new ImportError(3, "Elemento não é um objeto"),
+                new ImportError(4, "Valor ausente")), result.errors());
+        assertEquals(List.of("Válida", "Valor em texto"), descriptions());
+    }
+
+    @Test
+    void readFailureKeepsCommittedRows() {
+        // 25 linhas completas antes da falha: dois trechos de 10 confirmados, os 5 seguintes descartados.
+        byte[] content = (csv(0, 25) + "2024-01-01;Compra interrompida").getBytes(StandardCharsets.UTF_8);
+
+        ImportFailedException e = assertThrows(ImportFailedException.class,
+                () -> importService.importFile("csv", failingAfter(content), false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals(20, e.getFailure().rowsCommitted());
+        assertEquals(21, e.getFailure().lastCommittedRow());
+        assertEquals(IntStream.range(0, 20).mapToObj(i -> "Compra " + i).toList(), descriptions());
+    }
+
+    @Test
+    void unclosedJsonKeepsCommittedRows() {
+        String json = IntStream.range(0, 14)
+                .mapToObj(i -> "{\"date\": \"2024-01-01\", \"description\": \"Compra " + i + "\", \"value\": 1}")
+                .collect(Collectors.joining(",", "[", ""));
+
+        ImportFailedException e = assertThrows(ImportFailedException.class,
+                () -> importService.importFile("json", stream(json), false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals(10, e.getFailure().rowsCommitted());
+        assertEquals(10, e.getFailure().lastCommittedRow());
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "Compra " + i).toList(), descriptions());
+    }
+
+    @Test
+    void rejectsMissingColumns() {
+        ImportFailedException e = assertThrows(ImportFailedException.class,
+                () -> importService.importFile("csv", stream("date;value\n2024-01-01;1.00\n"), false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals("Coluna obrigatória ausente no cabeçalho: description", e.getMessage());
+        assertEquals(0, e.getFailure().rowsCommitted());
+    }
+
+    @Test
+    void deduplicatesWithinFile() {
+        String csv = HEADER
+                + "2024-01-01;Mercado;10.00;Alimentação\n"
+                + "2024-01-01;Mercado;10,0;Alimentação\n"
+                + "2024-01-01;Mercado;10.00;\n"
+                + "2024-01-01;Mercado;10.00;Alimentação\n"
+                + "2024-01-02;Mercado;10.00;Alimentação\n"
+                + "2024-01-01;Mercado;10.00;\n";
+
+        ImportResult result = importService.importFile("csv", stream(csv), true);
+
+        // O valor é comparado com duas casas, e categoria vazia é uma categoria nula.
+        assertEquals(6, result.rowsRead());
+        assertEquals(3, result.rowsInserted());
+        assertEquals(3, result.rowsDuplicated());
+        assertEquals(0, result.rowsRejected());
+        assertEquals(3, count());
+    }
+
+    @Test
+    void deduplicatesAgainstStoredRows() {
+        importService.importFile("csv", stream(csv(0, 30)), true);
+
+        // Metade repetida, metade nova, intercaladas: várias conferências no banco e vários trechos confirmados.
+        String csv = HEADER + IntStream.range(20, 50)
+                .mapToObj(i -> i % 2 == 0 ? row(i - 20) : row(i + 20))
+                .collect(Collectors.joining());
+        ImportResult result = importService.importFile("csv", stream(csv), true);
+
+        assertEquals(30, result.rowsRead());
+        assertEquals(15, result.rowsDuplicated());
+        assertEquals(15, result.rowsInserted());
+        assertEquals(45, count());
+        assertEquals(45, jdbc.queryForObject("SELECT COUNT(DISTINCT description) FROM transactions", Long.class));
+    }
+
+    @Test
+    void deduplicatesAgainstRowsWrittenOutsideDeduplication() {
+        // Linhas sem impressão digital, gravadas por SQL, e linhas de uma importação sem deduplicação.
+        jdbc.update("INSERT INTO transactions (transaction_date, description, value_brl, category)"
+                + " VALUES (DATE '2024-01-01', 'Compra 0', 1.00, 'Lazer')");
+        importService.importFile("csv", stream(csv(1, 10)), false);
+        ImportResult repeated = importService.importFile("csv", stream(csv(1, 10)), false);
+        assertEquals(9, repeated.rowsInserted());
+        assertEquals(19, count());
+
+        ImportResult result = importService.importFile("csv", stream(csv(0, 12)), true);
+
+        assertEquals(10, result.rowsDuplicated());
+        assertEquals(2, result.rowsInserted());
+        assertEquals(21, count());
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE fingerprint IS NULL", Long.class));
+    }
+
+    private List<String> descriptions() {
+        return jdbc.queryForList("SELECT description FROM transactions ORDER BY id", String.class);
+    }
+
+    private long count() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+    }
+
+    private static String csv(int from, int to) {
+        return HEADER + IntStream.range(from, to).mapToObj(TransactionImportServiceTest::row).collect(Collectors.joining());
+    }
+
+    private static String row(int i) {
+        return "2024-01-01;Compra " + i + ";1.00;Lazer\n";
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Entrega o conteúdo e, em vez do fim do arquivo, falha como uma conexão interrompida.
+     */
+    private static InputStream failingAfter(byte[] content) {
+        return new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int read() throws IOException {
+                return check(super.read());
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return check(super.read(b, off, len));
+            }
+
+            private int check(int read) throws IOException {
+                if (read < 0) {
+                    throw new IOException("Conexão interrompida");
+                }
+                return read;
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.gabrielmkv.file_converter.service.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compara o {@link TransactionJsonWriter} com a serialização do databind ({@code ObjectMapper.writeValue}):
+ * cada objeto escrito deve ser idêntico, byte a byte.
+ */
+class TransactionJsonWriterTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+    private static final ObjectMapper PLAIN_MAPPER = JsonMapper.builder()
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 7);
+    private static final BigDecimal VALUE = new BigDecimal("10.50");
+
+    @Test
+    void controlCharactersAndSurrogates() {
+        assertSameOutput(MAPPER,
+                row("tab\tquebra\nretorno\r", "\u0000\u0001\u001f\u007f"),
+                row("aspas \" e barra \\ e / ", "\b\f"),
+                row("Pizza 🍕 e 𝄞", "ç ã é € 中文   "),
+                row("<script>&amp;</script>", "'"));
+    }
+
+    @Test
+    void loneSurrogates() {
+        // O gerador UTF-8 rejeita surrogates isolados; o escritor deve falhar da mesma forma que o databind.
+        for (String text : List.of("alto \ud83d sozinho", "baixo \udc00 sozinho", "\udc00\ud83d")) {
+            assertEquals(databind(MAPPER, row(text, "c")), written(MAPPER, row(text, "c")));
+            assertEquals(databind(MAPPER, row("d", text)), written(MAPPER, row("d", text)));
+        }
+    }
+
+    @Test
+    void nullFields() {
+        assertSameOutput(MAPPER,
+                row("Sem categoria", null),
+                new TransactionRow(1, null, null, null, null));
+    }
+
+    @Test
+    void yearsOutsideFourDigits() {
+        assertSameOutput(MAPPER,
+                row(LocalDate.of(9999, 12, 31), VALUE),
+                row(LocalDate.of(10000, 1, 1), VALUE),
+                row(LocalDate.of(123456, 6, 15), VALUE),
+                row(LocalDate.of(1, 1, 1), VALUE),
+                row(LocalDate.of(0, 1, 1), VALUE),
+                row(LocalDate.of(-44, 3, 15), VALUE));
+    }
+
+    @Test
+    void valuesWithAndWithoutPlainBigDecimals() {
+        TransactionRow[] rows = {
+                row(DATE, new BigDecimal("-0.05")),
+                row(DATE, new BigDecimal("0.00")),
+                row(DATE, BigDecimal.ZERO),
+                row(DATE, new BigDecimal("99999999.99")),
+                row(DATE, new BigDecimal("-99999999.99")),
+                row(DATE, new BigDecimal("123456789012345678901234567890.12")),
+                row(DATE, new BigDecimal("1E+3")),
+                row(DATE, new BigDecimal("-2.5E+10")),
+                row(DATE, new BigDecimal("1.5E-10")) };
+        assertSameOutput(MAPPER, rows);
+        assertSameOutput(PLAIN_MAPPER, rows);
+    }
+
+    @Test
+    void ndjsonHasOneTerminatedObjectPerRow() {
+        List<TransactionRow> rows = List.of(
+                row("linha 1\nlinha 2", "quebra\r\n"),
+                row("Sem categoria", null),
+                row(LocalDate.of(10000, 1, 1), new BigDecimal("1E+3")),
+                row("Pizza 🍕", " "));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(MAPPER, out, true)) {
+            rows.forEach(writer::write);
+        }
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.split("\n", -1);
+        assertEquals(rows.size() + 1, lines.length);
+        assertEquals("", lines[rows.size()]);
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(MAPPER.writeValueAsString(rows.get(i)), lines[i]);
+        }
+    }
+
+    @Test
+    void arrayMatchesTheListSerialization() {
+        List<TransactionRow> rows = List.of(row("a", "b"), row("Sem categoria", null), row(DATE, VALUE.negate()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(MAPPER, out, false)) {
+            rows.forEach(writer::write);
+        }
+        assertEquals(MAPPER.writeValueAsString(rows), out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static TransactionRow row(String description, String category) {
+        return new TransactionRow(1, DATE, description, VALUE, category);
+    }
+
+    private static TransactionRow row(LocalDate date, BigDecimal value) {
+        return new TransactionRow(1, date, "Descrição", value, "Categoria");
+    }
+
+    private static void assertSameOutput(ObjectMapper mapper, TransactionRow... rows) {
+        for (TransactionRow row : rows) {
+            assertEquals(databind(mapper, row), written(mapper, row), row::toString);
+        }
+    }
+
+    // O objeto serializado pelo databind, ou a classe da exceção lançada.
+    private static String databind(ObjectMapper mapper, TransactionRow row) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            mapper.writeValue(out, row);
+        } catch (JacksonException e) {
+            return e.getClass().getName();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // O objeto escrito pelo TransactionJsonWriter em NDJSON, sem a quebra de linha, ou a classe da exceção.
+    private static String written(ObjectMapper mapper, TransactionRow row) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TransactionJsonWriter writer = new TransactionJsonWriter(mapper, out, true)) {
+            writer.write(row);
+        } catch (JacksonException e) {
+            return e.getClass().getName();
+        }
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.endsWith("\n"));
+        return json.substring(0, json.length() - 1);
+    }
+}
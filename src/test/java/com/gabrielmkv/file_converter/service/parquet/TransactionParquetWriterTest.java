@@ -0,0 +1,165 @@
+package com.gabrielmkv.file_converter.service.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.VersionParser;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.parquet.TransactionParquetWriter.Codec;
+
+/**
+ * Lê de volta, com o leitor do parquet-hadoop, os arquivos gerados pelo {@link TransactionParquetWriter}:
+ * esquema, datas, DECIMAL(10,2), categorias nulas e a coluna codificada por dicionário em vários row groups.
+ */
+class TransactionParquetWriterTest {
+
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("""
+            message schema {
+              required int32 date (DATE);
+              required binary description (STRING);
+              required int64 value (DECIMAL(10,2));
+              optional binary category (STRING);
+            }
+            """);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackRowsAcrossRowGroups() throws Exception {
+        List<TransactionRow> rows = rows(1000, 12);
+        Path file = write(rows, 128, Codec.UNCOMPRESSED);
+
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            assertEquals(SCHEMA, reader.getFooter().getFileMetaData().getSchema());
+            assertEquals("file-converter",
+                    VersionParser.parse(reader.getFooter().getFileMetaData().getCreatedBy()).application);
+            assertEquals(1000, reader.getRecordCount());
+            assertEquals(8, reader.getRowGroups().size());
+        }
+        assertEquals(rows, read(file));
+    }
+
+    @Test
+    void categoryIsDictionaryEncodedInEveryRowGroup() throws IOException {
+        Path file = write(rows(1000, 12), 128, Codec.GZIP);
+
+        int dataPages = 0;
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            for (BlockMetaData block : reader.getRowGroups()) {
+                ColumnChunkMetaData category = block.getColumns().get(3);
+                assertTrue(category.hasDictionaryPage());
+                assertTrue(category.getEncodings().contains(Encoding.RLE_DICTIONARY), category.getEncodings()::toString);
+            }
+
+            ColumnDescriptor category = SCHEMA.getColumns().get(3);
+            PageReadStore pages;
+            while ((pages = reader.readNextRowGroup()) != null) {
+                PageReader pageReader = pages.getPageReader(category);
+                assertNotNull(pageReader.readDictionaryPage());
+                while (pageReader.readPage() != null) {
+                    dataPages++;
+                }
+            }
+        }
+        assertEquals(8, dataPages);
+    }
+
+    @Test
+    void wideDictionaryIndexes() throws IOException {
+        // 300 categorias distintas num único row group: índices de 9 bits, em runs RLE e bit-packed.
+        List<TransactionRow> rows = rows(2000, 300);
+        Path file = write(rows, 4096, Codec.GZIP);
+
+        assertEquals(rows, read(file));
+    }
+
+    @Test
+    void rejectsValuesOutsideDecimalRange() throws IOException {
+        try (TransactionParquetWriter writer = new TransactionParquetWriter(OutputStream.nullOutputStream(), 16,
+                Codec.UNCOMPRESSED)) {
+            TransactionRow row = new TransactionRow(1, LocalDate.of(2024, 1, 1), "Grande",
+                    new BigDecimal("100000000.00"), null);
+            assertThrows(IllegalArgumentException.class, () -> writer.write(row));
+        }
+    }
+
+    /**
+     * Linhas com datas antes e depois de 1970, valores nos limites de DECIMAL(10,2), textos não ASCII,
+     * categorias nulas e sequências da mesma categoria longas o bastante para virar runs RLE.
+     */
+    private static List<TransactionRow> rows(int count, int categories) {
+        LocalDate start = LocalDate.of(1969, 12, 20);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TransactionRow(0, start.plusDays(i * 3L),
+                        i % 9 == 0 ? "Café ☕ nº " + i : "Compra " + i,
+                        switch (i % 4) {
+                            case 0 -> new BigDecimal("99999999.99");
+                            case 1 -> new BigDecimal("-99999999.99");
+                            default -> BigDecimal.valueOf(i * 137L - 40_000, 2);
+                        },
+                        i % 13 == 0 ? null : "Categoria " + (i / 20 % 2 == 0 ? i / 20 % categories : i % categories)))
+                .toList();
+    }
+
+    private Path write(List<TransactionRow> rows, int rowGroupRows, Codec codec) throws IOException {
+        Path file = Files.createTempFile(directory, "transactions-", ".parquet");
+        try (OutputStream out = Files.newOutputStream(file);
+                TransactionParquetWriter writer = new TransactionParquetWriter(out, rowGroupRows, codec)) {
+            for (TransactionRow row : rows) {
+                writer.write(row);
+            }
+        }
+        return file;
+    }
+
+    private static List<TransactionRow> read(Path file) throws IOException {
+        List<TransactionRow> rows = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            PageReadStore pages;
+            while ((pages = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(pages, new GroupRecordConverter(schema));
+                for (long row = 0; row < pages.getRowCount(); row++) {
+                    Group group = records.read();
+                    String category = group.getFieldRepetitionCount("category") == 0 ? null
+                            : group.getBinary("category", 0).toStringUsingUTF8();
+                    rows.add(new TransactionRow(0, LocalDate.ofEpochDay(group.getInteger("date", 0)),
+                            group.getBinary("description", 0).toStringUsingUTF8(),
+                            BigDecimal.valueOf(group.getLong("value", 0), 2), category));
+                }
+            }
+        }
+        return rows;
+    }
+}
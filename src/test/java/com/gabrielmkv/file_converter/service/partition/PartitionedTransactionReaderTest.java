@@ -0,0 +1,133 @@
+package com.gabrielmkv.file_converter.service.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gabrielmkv.file_converter.config.ReportPartitionProperties;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * A leitura em faixas deve entregar as mesmas linhas, na mesma ordem, que um único cursor: por id e por
+ * (data, id), crescente e decrescente, com filtros e cursor, e com datas repetidas e ids fora da ordem das
+ * datas. As faixas e os buffers são bem menores que o padrão, para que cada leitura tenha várias faixas e
+ * espere pela renderização.
+ * <p>
+ * As leituras particionadas são consumidas fora de transação, o que o cursor único não admite: se a
+ * consulta deixasse de ser particionada, o teste falharia.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql" })
+class PartitionedTransactionReaderTest {
+
+    private static final int ROWS = 3_000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private PartitionedTransactionReader reader;
+
+    @BeforeEach
+    void insertRows() {
+        Random random = new Random(21);
+        jdbc.update("DELETE FROM transactions");
+        jdbc.batchUpdate(INSERT_SQL, IntStream.range(0, ROWS)
+                .mapToObj(i -> new Object[] { Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60))),
+                        "Compra " + i, BigDecimal.valueOf(random.nextInt(100_000) - 50_000, 2),
+                        i % 10 == 0 ? null : "Categoria " + i % 4 })
+                .toList());
+        // Lacunas nos ids, inclusive no início da tabela.
+        jdbc.update("DELETE FROM transactions WHERE MOD(id, 7) = 0 OR id < (SELECT MIN(id) + 40 FROM transactions)");
+
+        // Três faixas em paralelo, de ~400 linhas, cada uma com um único lote à frente da renderização.
+        reader = new PartitionedTransactionReader(repository, new ReportPartitionProperties(3, 1, 400, 100, 2),
+                transactionManager);
+    }
+
+    @Test
+    void idOrder() {
+        assertSameRows(TransactionFilter.ALL);
+        assertSameRows(filter(null, List.of("Categoria 1", "Categoria 2"), null));
+    }
+
+    @Test
+    void dateOrderAscending() {
+        assertSameRows(filter("asc", null, null));
+        assertSameRows(filter("asc", List.of("Categoria 3"), null));
+    }
+
+    @Test
+    void dateOrderDescending() {
+        assertSameRows(filter("desc", null, null));
+        assertSameRows(filter("desc", List.of("Categoria 0", "Categoria 3"), null));
+    }
+
+    @Test
+    void cursorWithoutLimit() {
+        // O cursor cai no meio de uma data repetida.
+        List<TransactionRow> rows = single(filter("asc", null, null));
+        TransactionRow middle = rows.get(rows.size() / 2);
+        assertSameRows(filter("asc", null, middle.date() + ":" + middle.id()));
+        assertSameRows(filter("desc", null, middle.date() + ":" + middle.id()));
+    }
+
+    @Test
+    void closingEarlyStopsSlices() {
+        for (int report = 0; report < 5; report++) {
+            try (Stream<TransactionRow> rows = reader.streamRows(filter("desc", null, null))) {
+                assertEquals(single(filter("desc", null, null)).subList(0, 10), rows.limit(10).toList());
+            }
+        }
+        // As vagas de leitura particionada foram devolvidas.
+        assertSameRows(TransactionFilter.ALL);
+    }
+
+    private void assertSameRows(TransactionFilter filter) {
+        List<TransactionRow> expected = single(filter);
+        List<TransactionRow> partitioned;
+        try (Stream<TransactionRow> rows = reader.streamRows(filter)) {
+            partitioned = rows.toList();
+        }
+        assertEquals(expected.size(), partitioned.size());
+        assertEquals(expected, partitioned);
+    }
+
+    private List<TransactionRow> single(TransactionFilter filter) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<TransactionRow> rows = repository.streamRows(filter)) {
+                return rows.toList();
+            }
+        });
+    }
+
+    private static TransactionFilter filter(String sort, List<String> category, String after) {
+        return new TransactionFilter(null, null, category, null, null, sort, null, after, null, null);
+    }
+}
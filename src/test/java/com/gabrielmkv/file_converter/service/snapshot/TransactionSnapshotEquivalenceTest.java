@@ -0,0 +1,190 @@
+package com.gabrielmkv.file_converter.service.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gabrielmkv.file_converter.exception.ReportGenerationException;
+import com.gabrielmkv.file_converter.repository.TransactionFilter;
+import com.gabrielmkv.file_converter.repository.TransactionRepository;
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+import com.gabrielmkv.file_converter.service.template.ReportGeneratorTemplate;
+import com.gabrielmkv.file_converter.service.template.SnapshotRenderer;
+
+/**
+ * Os relatórios CSV, JSON e NDJSON gerados do snapshot devem ser idênticos, byte a byte, aos gerados da
+ * consulta ao banco com o mesmo filtro, inclusive depois de o snapshot ser corrigido por alterações,
+ * remoções e inserções na tabela.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot-equivalence;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.data-locations=optional:classpath:none.sql",
+        "report.snapshot.enabled=true",
+        "report.snapshot.check-interval=0s" })
+class TransactionSnapshotEquivalenceTest {
+
+    private static final List<String> FORMATS = List.of("csv", "json", "ndjson");
+
+    // Mais textos distintos que as posições iniciais da tabela hash dos dicionários (INITIAL_SLOTS).
+    private static final int DESCRIPTIONS = 3_000;
+    private static final int CATEGORIES = 1_500;
+    private static final int ROWS = 6_000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (transaction_date, description, value_brl, category) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TransactionSnapshotService snapshots;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Test
+    void snapshotMatchesDatabase() throws InterruptedException {
+        Random random = new Random(42);
+        jdbc.batchUpdate(INSERT_SQL, rows(random, ROWS, 0));
+
+        assertSameReports(filters());
+
+        // Alterações de todos os campos, inclusive para textos novos e categoria nula, e remoções.
+        jdbc.update("UPDATE transactions SET value_brl = -value_brl WHERE MOD(id, 7) = 0");
+        jdbc.update("UPDATE transactions SET description = CONCAT('Alterada \"', id, '\"') WHERE MOD(id, 11) = 0");
+        jdbc.update("UPDATE transactions SET category = NULL WHERE MOD(id, 13) = 0");
+        jdbc.update("UPDATE transactions SET category = CONCAT('Nova ', MOD(id, 700)) WHERE MOD(id, 17) = 0");
+        jdbc.update("UPDATE transactions SET transaction_date = DATEADD(DAY, 400, transaction_date) WHERE MOD(id, 19) = 0");
+        jdbc.update("DELETE FROM transactions WHERE MOD(id, 5) = 0");
+        jdbc.batchUpdate(INSERT_SQL, rows(random, 500, ROWS));
+
+        assertSameReports(filters());
+
+        // Remoção da última linha e de todas as demais.
+        jdbc.update("DELETE FROM transactions WHERE id = (SELECT MAX(id) FROM transactions)");
+        assertSameReports(filters());
+        jdbc.update("DELETE FROM transactions");
+        assertSameReports(List.of(TransactionFilter.ALL));
+    }
+
+    private static List<TransactionFilter> filters() {
+        List<TransactionFilter> filters = new ArrayList<>();
+        filters.add(TransactionFilter.ALL);
+        filters.add(filter(LocalDate.of(2021, 3, 1), LocalDate.of(2022, 6, 30), null, null, null));
+        filters.add(filter(LocalDate.of(2023, 1, 1), null, null, null, null));
+        filters.add(filter(null, LocalDate.of(2020, 12, 31), null, null, null));
+        filters.add(filter(LocalDate.of(2022, 2, 2), LocalDate.of(2022, 2, 2), null, null, null));
+        // Limites com mais casas que a coluna: o snapshot arredonda o mínimo para cima e o máximo para baixo.
+        filters.add(filter(null, null, null, new BigDecimal("10.005"), null));
+        filters.add(filter(null, null, null, null, new BigDecimal("-5.555")));
+        filters.add(filter(null, null, null, new BigDecimal("-0.001"), new BigDecimal("0.009")));
+        filters.add(filter(null, null, null, new BigDecimal("-250.50"), new BigDecimal("250.50")));
+        filters.add(filter(null, null, null, new BigDecimal("1E+30"), null));
+        filters.add(filter(null, null, null, null, new BigDecimal("-1E+30")));
+        filters.add(filter(null, null, List.of("Categoria 1", "Categoria 1499", "Inexistente"), null, null));
+        filters.add(filter(null, null, List.of("Nova 3", "Nova 699"), null, null));
+        filters.add(filter(LocalDate.of(2021, 1, 1), LocalDate.of(2023, 12, 31), List.of("Categoria 7", "Categoria 900"),
+                new BigDecimal("-100"), new BigDecimal("500.999")));
+        return filters;
+    }
+
+    private static TransactionFilter filter(LocalDate from, LocalDate to, List<String> category, BigDecimal minValue,
+            BigDecimal maxValue) {
+        return new TransactionFilter(from, to, category, minValue, maxValue, null, null, null, null, null);
+    }
+
+    private static List<Object[]> rows(Random random, int count, int offset) {
+        String[] special = { "Compra \"especial\"", "linha 1\nlinha 2", "a;b", "C:\\pasta", "Pizza 🍕", "ç ã é € 中文",
+                "x".repeat(200), " espaço" };
+        List<Object[]> rows = new ArrayList<>(count);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = i % 997 == 0 ? LocalDate.of(10_000 + i % 3, 1, 1) : start.plusDays(random.nextInt(4 * 365));
+            String description = i % 50 == 0 ? special[i / 50 % special.length]
+                    : "Descrição " + random.nextInt(DESCRIPTIONS);
+            long cents = random.nextLong(-100_000, 100_000);
+            String category = random.nextInt(10) == 0 ? null : "Categoria " + random.nextInt(CATEGORIES);
+            rows.add(new Object[] { Date.valueOf(date), description + (offset > 0 ? " nova" : ""),
+                    BigDecimal.valueOf(cents, 2), category });
+        }
+        return rows;
+    }
+
+    private void assertSameReports(List<TransactionFilter> filters) throws InterruptedException {
+        for (TransactionFilter filter : filters) {
+            for (String format : FORMATS) {
+                ReportGeneratorTemplate strategy = context.getBean(format, ReportGeneratorTemplate.class);
+                String database = transactions.execute(status -> {
+                    try (Stream<TransactionRow> rows = repository.streamRows(filter)) {
+                        return render(out -> strategy.generateReport(out, rows.iterator()));
+                    }
+                });
+                String snapshot;
+                try (TransactionSnapshot.Cursor cursor = open(filter)) {
+                    snapshot = render(out -> {
+                        if (!cursor.hasNext()) {
+                            throw new ReportGenerationException("Nenhuma transação encontrada!");
+                        }
+                        ((SnapshotRenderer) strategy).generateSnapshotContent(cursor, out);
+                    });
+                }
+                assertEquals(database, snapshot, () -> format + " " + filter);
+            }
+        }
+    }
+
+    // A carga inicial roda em segundo plano; até terminar, o snapshot não é oferecido.
+    private TransactionSnapshot.Cursor open(TransactionFilter filter) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        TransactionSnapshot.Cursor cursor;
+        while ((cursor = snapshots.open(filter)) == null && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertNotNull(cursor, "snapshot indisponível");
+        return cursor;
+    }
+
+    // O relatório gerado, ou a mensagem do erro, para que resultados vazios também sejam comparados.
+    private static String render(Renderer renderer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            renderer.render(out);
+        } catch (ReportGenerationException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage().contains("Nenhuma transação"), cause::getMessage);
+            return "vazio";
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Renderer {
+        void render(ByteArrayOutputStream out);
+    }
+}
@@ -0,0 +1,172 @@
+package com.gabrielmkv.file_converter.service.xlsx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+import com.gabrielmkv.file_converter.repository.TransactionRow;
+
+/**
+ * Lê de volta, com o Apache POI, as planilhas geradas pelo {@link TransactionXlsxWriter}: tipos e formatos
+ * das células, textos compartilhados e inline, escape do XML e a divisão em várias planilhas.
+ */
+class TransactionXlsxWriterTest {
+
+    private static final String DATE_FORMAT = "dd/mm/yyyy";
+    private static final String BRL_FORMAT = "\"R$\"\\ #,##0.00;[Red]\\-\"R$\"\\ #,##0.00";
+    private static final List<String> HEADERS = List.of("Data", "Descrição", "Valor", "Categoria");
+
+    @Test
+    void typedCells() throws IOException {
+        List<TransactionRow> rows = List.of(
+                row(LocalDate.of(2024, 3, 7), "Mercado", "1234.56", "Alimentação"),
+                row(LocalDate.of(1969, 12, 31), "Estorno", "-0.05", null),
+                row(LocalDate.of(1900, 1, 15), "Antes de março de 1900", "99999999.99", "Alimentação"));
+
+        try (XSSFWorkbook workbook = read(rows, 100)) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+            for (int index = 0; index < 2; index++) {
+                TransactionRow expected = rows.get(index);
+                Row row = sheet.getRow(index + 1);
+
+                XSSFCell date = (XSSFCell) row.getCell(0);
+                assertEquals(CellType.NUMERIC, date.getCellType());
+                assertTrue(DateUtil.isCellDateFormatted(date));
+                assertEquals(DATE_FORMAT, date.getCellStyle().getDataFormatString());
+                assertEquals(expected.date(), date.getLocalDateTimeCellValue().toLocalDate());
+
+                XSSFCell value = (XSSFCell) row.getCell(2);
+                assertEquals(CellType.NUMERIC, value.getCellType());
+                assertEquals(BRL_FORMAT, value.getCellStyle().getDataFormatString());
+                assertEquals(expected.value().doubleValue(), value.getNumericCellValue());
+            }
+
+            // Sem categoria, a célula existe só com o estilo do zebrado.
+            assertEquals(CellType.BLANK, sheet.getRow(2).getCell(3).getCellType());
+
+            // O Excel desloca as datas antes de 01/03/1900; elas vão como texto.
+            XSSFCell early = sheet.getRow(3).getCell(0);
+            assertEquals(CellType.STRING, early.getCellType());
+            assertEquals("1900-01-15", early.getStringCellValue());
+            assertEquals(99999999.99, sheet.getRow(3).getCell(2).getNumericCellValue());
+        }
+    }
+
+    @Test
+    void sharedAndInlineStrings() throws IOException {
+        List<TransactionRow> rows = List.of(
+                row(LocalDate.of(2024, 1, 1), "Primeira", "1.00", "Transporte"),
+                row(LocalDate.of(2024, 1, 2), "Segunda", "2.00", "Lazer"),
+                row(LocalDate.of(2024, 1, 3), "Terceira", "3.00", "Transporte"));
+
+        try (XSSFWorkbook workbook = read(rows, 100)) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+            for (int column = 0; column < HEADERS.size(); column++) {
+                XSSFCell header = sheet.getRow(0).getCell(column);
+                assertEquals(STCellType.S, header.getCTCell().getT());
+                assertEquals(HEADERS.get(column), header.getStringCellValue());
+            }
+            for (int index = 0; index < rows.size(); index++) {
+                Row row = sheet.getRow(index + 1);
+                XSSFCell description = (XSSFCell) row.getCell(1);
+                assertEquals(STCellType.INLINE_STR, description.getCTCell().getT());
+                assertEquals(rows.get(index).description(), description.getStringCellValue());
+
+                XSSFCell category = (XSSFCell) row.getCell(3);
+                assertEquals(STCellType.S, category.getCTCell().getT());
+                assertEquals(rows.get(index).category(), category.getStringCellValue());
+            }
+
+            // Só os títulos e as categorias distintas vão para a tabela de textos.
+            assertEquals(HEADERS.size() + 2, workbook.getSharedStringSource().getUniqueCount());
+            assertEquals(sheet.getRow(1).getCell(3).getCTCell().getV(), sheet.getRow(3).getCell(3).getCTCell().getV());
+        }
+    }
+
+    @Test
+    void escapesXml() throws IOException {
+        List<TransactionRow> rows = List.of(
+                row(LocalDate.of(2024, 1, 1), "a < b && c > \"d\" 'e'", "1.00", "<&\">"),
+                row(LocalDate.of(2024, 1, 2), "controle\u0000\u0001\u001f\u007f fim\ttab", "2.00", "sino\u0007"),
+                row(LocalDate.of(2024, 1, 3), "  espaços nas pontas ", "3.00", " Lazer"),
+                row(LocalDate.of(2024, 1, 4), "Pizza 🍕 ç € 中文", "4.00", "Café ☕"));
+
+        try (XSSFWorkbook workbook = read(rows, 100)) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+            assertEquals("a < b && c > \"d\" 'e'", sheet.getRow(1).getCell(1).getStringCellValue());
+            assertEquals("<&\">", sheet.getRow(1).getCell(3).getStringCellValue());
+            // Caracteres de controle não admitidos pelo XML 1.0 são descartados; tabulação é mantida.
+            assertEquals("controle\u007f fim\ttab", sheet.getRow(2).getCell(1).getStringCellValue());
+            assertEquals("sino", sheet.getRow(2).getCell(3).getStringCellValue());
+            assertEquals("  espaços nas pontas ", sheet.getRow(3).getCell(1).getStringCellValue());
+            assertEquals(" Lazer", sheet.getRow(3).getCell(3).getStringCellValue());
+            assertEquals("Pizza 🍕 ç € 中文", sheet.getRow(4).getCell(1).getStringCellValue());
+            assertEquals("Café ☕", sheet.getRow(4).getCell(3).getStringCellValue());
+        }
+    }
+
+    @Test
+    void splitsSheets() throws IOException {
+        List<TransactionRow> rows = IntStream.range(0, 12)
+                .mapToObj(i -> row(LocalDate.of(2024, 1, 1).plusDays(i), "Compra " + i, i + ".00", "Categoria " + i % 3))
+                .toList();
+
+        try (XSSFWorkbook workbook = read(rows, 5)) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals(List.of("Transações", "Transações 2", "Transações 3"),
+                    IntStream.range(0, 3).mapToObj(workbook::getSheetName).toList());
+
+            int[] dataRows = { 5, 5, 2 };
+            int next = 0;
+            for (int index = 0; index < dataRows.length; index++) {
+                XSSFSheet sheet = workbook.getSheetAt(index);
+                assertEquals(dataRows[index], sheet.getLastRowNum());
+                assertEquals(HEADERS, IntStream.range(0, HEADERS.size())
+                        .mapToObj(column -> sheet.getRow(0).getCell(column).getStringCellValue()).toList());
+                assertTrue(sheet.getPaneInformation().isFreezePane());
+                assertEquals("A1:D" + (dataRows[index] + 1), sheet.getCTWorksheet().getAutoFilter().getRef());
+                int sheetIndex = index;
+                assertEquals(List.of("'" + workbook.getSheetName(index) + "'!$A$1:$D$" + (dataRows[index] + 1)),
+                        workbook.getNames("_xlnm._FilterDatabase").stream()
+                                .filter(name -> name.getSheetIndex() == sheetIndex)
+                                .map(Name::getRefersToFormula).toList());
+
+                for (int row = 1; row <= dataRows[index]; row++) {
+                    assertEquals(rows.get(next++).description(), sheet.getRow(row).getCell(1).getStringCellValue());
+                }
+            }
+            assertEquals(rows.size(), next);
+        }
+    }
+
+    private static TransactionRow row(LocalDate date, String description, String value, String category) {
+        return new TransactionRow(0, date, description, new BigDecimal(value), category);
+    }
+
+    private static XSSFWorkbook read(List<TransactionRow> rows, int sheetRows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TransactionXlsxWriter writer = new TransactionXlsxWriter(out, sheetRows, 6)) {
+            for (TransactionRow row : rows) {
+                writer.write(row);
+            }
+        }
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+}